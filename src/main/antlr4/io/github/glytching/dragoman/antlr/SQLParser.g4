@@ -583,6 +583,15 @@ nonparenthesized_value_expression_primary
 
 unsigned_value_specification
   : unsigned_literal
+  | parameter_marker
+  ;
+
+/*
+  A named bind parameter e.g. :asOf, the value for which is supplied when the translated clause is
+  applied rather than when it is parsed
+*/
+parameter_marker
+  : COLON identifier
   ;
 
 unsigned_numeric_literal
@@ -1298,6 +1307,14 @@ query_specification
   : SELECT set_qualifier? select_list table_expression?
   ;
 
+/*
+  The entry point for a select expression: a select list, optionally followed by a group by clause
+  e.g. a, count(*) group by a
+*/
+select_expression
+  : select_list groupby_clause?
+  ;
+
 select_list
   : select_sublist (COMMA select_sublist)*
   ;
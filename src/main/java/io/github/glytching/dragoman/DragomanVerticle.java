@@ -18,6 +18,7 @@ package io.github.glytching.dragoman;
 
 import com.google.inject.Inject;
 import io.github.glytching.dragoman.configuration.ApplicationConfiguration;
+import io.github.glytching.dragoman.ql.parser.ParserWarmer;
 import io.github.glytching.dragoman.store.mongo.EmbeddedMongoVerticle;
 import io.github.glytching.dragoman.web.WebServerVerticle;
 import io.vertx.core.*;
@@ -44,6 +45,7 @@ public class DragomanVerticle extends AbstractVerticle {
   private final EmbeddedMongoVerticle embeddedMongoVerticle;
   private final DeploymentOptions deploymentOptions;
   private final ApplicationConfiguration configuration;
+  private final ParserWarmer parserWarmer;
   private List<String> deploymentIds;
 
   @Inject
@@ -51,11 +53,13 @@ public class DragomanVerticle extends AbstractVerticle {
       WebServerVerticle webServerVerticle,
       EmbeddedMongoVerticle embeddedMongoVerticle,
       DeploymentOptions deploymentOptions,
-      ApplicationConfiguration configuration) {
+      ApplicationConfiguration configuration,
+      ParserWarmer parserWarmer) {
     this.webServerVerticle = webServerVerticle;
     this.embeddedMongoVerticle = embeddedMongoVerticle;
     this.deploymentOptions = deploymentOptions;
     this.configuration = configuration;
+    this.parserWarmer = parserWarmer;
   }
 
   @Override
@@ -67,7 +71,8 @@ public class DragomanVerticle extends AbstractVerticle {
   @Override
   public void start(Future<Void> future) {
 
-    CompositeFuture.all(deployEmbeddedMongo(), deployWebServer())
+    // warm up the parsers before the web server starts accepting requests
+    CompositeFuture.all(deployEmbeddedMongo(), warmUpParsers().compose(v -> deployWebServer()))
         .setHandler(future.<CompositeFuture>map(c -> null).completer());
   }
 
@@ -107,6 +112,25 @@ public class DragomanVerticle extends AbstractVerticle {
     return future;
   }
 
+  /**
+   * Parses the configured warm up corpus (if any) on a worker thread. A failed warm up is logged
+   * but does not prevent startup.
+   *
+   * @return
+   */
+  private Future<Void> warmUpParsers() {
+    Future<Void> future = Future.future();
+    vertx.<Integer>executeBlocking(
+        blocking -> blocking.complete(parserWarmer.warmUp()),
+        resultHandler -> {
+          if (resultHandler.failed()) {
+            logger.warn("Failed to warm up the parsers", resultHandler.cause());
+          }
+          future.complete();
+        });
+    return future;
+  }
+
   private Future<String> deployWebServer() {
     Future<String> future = Future.future();
     vertx.deployVerticle(
@@ -33,6 +33,16 @@ public interface ApplicationConfiguration {
 
   int getHttpPort();
 
+  int getHttpResponseChunkSize();
+
+  int getHttpResponsePrefetch();
+
+  boolean isHttpCompressionEnabled();
+
+  int getHttpCompressionLevel();
+
+  int getHttpCompressionMinSize();
+
   String getMongoHost();
 
   int getMongoPort();
@@ -43,6 +53,10 @@ public interface ApplicationConfiguration {
 
   int getMongoReadTimeout();
 
+  int getMongoIndexBuildThreshold();
+
+  int getMongoIndexMaxPerDataset();
+
   int getConnectionPoolMinSize();
 
   int getConnectionPoolMaxSize();
@@ -89,6 +103,24 @@ public interface ApplicationConfiguration {
 
   boolean isLaunchBrowser();
 
+  int getParserCacheSize();
+
+  boolean isParserTraceEnabled();
+
+  String getParserWarmUpCorpus();
+
+  String getQueryEngine();
+
+  int getQueryCompileThreads();
+
+  String getQueryCompileCacheDirectory();
+
+  int getQuerySortSpillThreshold();
+
+  int getQueryPageCacheSize();
+
+  long getQueryPageCacheTtlSeconds();
+
   /**
    * The non specific form of 'property getter'. Typically, the specific getters (e.g. {@link
    * #isMongoEmbedded()}, {@link #getHttpPort()} etc) are facades over this method.
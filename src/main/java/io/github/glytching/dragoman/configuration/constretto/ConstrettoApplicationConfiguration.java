@@ -63,6 +63,31 @@ public class ConstrettoApplicationConfiguration implements ApplicationConfigurat
     return httpPort;
   }
 
+  @Override
+  public int getHttpResponseChunkSize() {
+    return get(() -> constretto.evaluateToInt("http.response.chunk.size.bytes"));
+  }
+
+  @Override
+  public int getHttpResponsePrefetch() {
+    return get(() -> constretto.evaluateToInt("http.response.prefetch.rows"));
+  }
+
+  @Override
+  public boolean isHttpCompressionEnabled() {
+    return get(() -> constretto.evaluateToBoolean("http.compression.enabled"));
+  }
+
+  @Override
+  public int getHttpCompressionLevel() {
+    return get(() -> constretto.evaluateToInt("http.compression.level"));
+  }
+
+  @Override
+  public int getHttpCompressionMinSize() {
+    return get(() -> constretto.evaluateToInt("http.compression.min.size.bytes"));
+  }
+
   @Override
   public String getMongoHost() {
     return get(() -> constretto.evaluateToString("mongo.host"));
@@ -91,6 +116,16 @@ public class ConstrettoApplicationConfiguration implements ApplicationConfigurat
     return get(() -> constretto.evaluateToInt("mongo.read.timeout.millis"));
   }
 
+  @Override
+  public int getMongoIndexBuildThreshold() {
+    return get(() -> constretto.evaluateToInt("mongo.index.build.threshold"));
+  }
+
+  @Override
+  public int getMongoIndexMaxPerDataset() {
+    return get(() -> constretto.evaluateToInt("mongo.index.max.per.dataset"));
+  }
+
   @Override
   public int getConnectionPoolMinSize() {
     return get(() -> constretto.evaluateToInt("connection.pool.min.size"));
@@ -209,7 +244,52 @@ public class ConstrettoApplicationConfiguration implements ApplicationConfigurat
         return get(() -> constretto.evaluateToBoolean("launch.browser"));
     }
 
-    @Override
+  @Override
+  public int getParserCacheSize() {
+    return get(() -> constretto.evaluateToInt("parser.cache.size"));
+  }
+
+  @Override
+  public boolean isParserTraceEnabled() {
+    return get(() -> constretto.evaluateToBoolean("parser.trace.enabled"));
+  }
+
+  @Override
+  public String getParserWarmUpCorpus() {
+    return get(() -> constretto.evaluateToString("parser.warmup.corpus"));
+  }
+
+  @Override
+  public String getQueryEngine() {
+    return get(() -> constretto.evaluateToString("query.engine"));
+  }
+
+  @Override
+  public int getQueryCompileThreads() {
+    return get(() -> constretto.evaluateToInt("query.compile.threads"));
+  }
+
+  @Override
+  public String getQueryCompileCacheDirectory() {
+    return get(() -> constretto.evaluateToString("query.compile.cache.directory"));
+  }
+
+  @Override
+  public int getQuerySortSpillThreshold() {
+    return get(() -> constretto.evaluateToInt("query.sort.spill.threshold"));
+  }
+
+  @Override
+  public int getQueryPageCacheSize() {
+    return get(() -> constretto.evaluateToInt("query.page.cache.size"));
+  }
+
+  @Override
+  public long getQueryPageCacheTtlSeconds() {
+    return get(() -> constretto.evaluateToLong("query.page.cache.ttl.seconds"));
+  }
+
+  @Override
   public <T> T getPropertyValue(Class<T> clazz, String propertyName) {
     return get(() -> constretto.evaluateTo(clazz, propertyName));
   }
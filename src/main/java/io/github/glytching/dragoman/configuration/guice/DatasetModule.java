@@ -17,13 +17,22 @@
 package io.github.glytching.dragoman.configuration.guice;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
 import io.github.glytching.dragoman.dataset.DatasetDao;
+import io.github.glytching.dragoman.dataset.PrecompilingDatasetDao;
+import io.github.glytching.dragoman.repository.QueryPrecompiler;
 import io.github.glytching.dragoman.store.mongo.dataset.MongoDatasetDao;
 
 public class DatasetModule extends AbstractModule {
 
   @Override
   protected void configure() {
-    bind(DatasetDao.class).to(MongoDatasetDao.class);
+    // the dataset dao is supplied by provideDatasetDao
+  }
+
+  @Provides
+  public DatasetDao provideDatasetDao(
+      MongoDatasetDao mongoDatasetDao, QueryPrecompiler queryPrecompiler) {
+    return new PrecompilingDatasetDao(mongoDatasetDao, queryPrecompiler);
   }
 }
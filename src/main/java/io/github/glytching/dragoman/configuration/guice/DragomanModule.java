@@ -41,6 +41,7 @@ public class DragomanModule extends AbstractModule {
     install(new HttpModule());
     install(new WebModule());
     install(new HealthCheckModule());
+    install(new MetricsModule());
     install(new RestModule());
   }
 
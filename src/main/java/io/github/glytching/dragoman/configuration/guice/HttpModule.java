@@ -17,10 +17,22 @@
 package io.github.glytching.dragoman.configuration.guice;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import io.github.glytching.dragoman.configuration.ApplicationConfiguration;
 import io.github.glytching.dragoman.http.HttpClient;
 import io.github.glytching.dragoman.http.HttpClientAdapter;
 import io.github.glytching.dragoman.http.HttpClientAdapterImpl;
 import io.github.glytching.dragoman.http.okhttp.OkHttpClient;
+import io.github.glytching.dragoman.ql.engine.ExpressionEngine;
+import io.github.glytching.dragoman.ql.engine.closure.ClosureEngine;
+import io.github.glytching.dragoman.ql.engine.janino.JaninoFactory;
+import io.github.glytching.dragoman.ql.listener.groovy.GroovyFactory;
+
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import java.util.Arrays;
+
+import static java.lang.String.format;
 
 public class HttpModule extends AbstractModule {
 
@@ -29,4 +41,30 @@ public class HttpModule extends AbstractModule {
     bind(HttpClientAdapter.class).to(HttpClientAdapterImpl.class);
     bind(HttpClient.class).to(OkHttpClient.class);
   }
+
+  @Provides
+  @Singleton
+  public ExpressionEngine provideExpressionEngine(
+      ApplicationConfiguration applicationConfiguration,
+      Provider<GroovyFactory> groovyFactory,
+      Provider<JaninoFactory> janinoFactory,
+      Provider<ClosureEngine> closureEngine) {
+    String queryEngine = applicationConfiguration.getQueryEngine();
+    for (ExpressionEngine.Type type : ExpressionEngine.Type.values()) {
+      if (type.name().equalsIgnoreCase(queryEngine)) {
+        switch (type) {
+          case JANINO:
+            return janinoFactory.get();
+          case CLOSURE:
+            return closureEngine.get();
+          default:
+            return groovyFactory.get();
+        }
+      }
+    }
+    throw new IllegalArgumentException(
+        format(
+            "Query engine: '%s' is not supported, the supported engines are: %s",
+            queryEngine, Arrays.toString(ExpressionEngine.Type.values())));
+  }
 }
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.configuration.guice;
+
+import com.codahale.metrics.MetricSet;
+import com.google.inject.AbstractModule;
+import com.google.inject.multibindings.Multibinder;
+import io.github.glytching.dragoman.ql.engine.ExpressionEngine;
+import io.github.glytching.dragoman.ql.parser.ParseTracer;
+import io.github.glytching.dragoman.ql.parser.ParsedClauseCache;
+
+/**
+ * Binds the application's own metrics (as distinct from those which Vert.x gathers for us) so that
+ * they can be exposed alongside the Vert.x metrics.
+ */
+public class MetricsModule extends AbstractModule {
+
+  @Override
+  protected void configure() {
+    Multibinder<MetricSet> multibinder = Multibinder.newSetBinder(binder(), MetricSet.class);
+    multibinder.addBinding().to(ParsedClauseCache.class);
+    multibinder.addBinding().to(ParseTracer.class);
+    // only the configured engine (see HttpModule) so an unused engine is never created
+    multibinder.addBinding().to(ExpressionEngine.class);
+  }
+}
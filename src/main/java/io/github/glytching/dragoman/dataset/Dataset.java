@@ -20,6 +20,9 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /** Domain object for the dataset record in our dataset store. */
 public class Dataset {
 
@@ -29,6 +32,10 @@ public class Dataset {
   private String source;
   private String subscriptionControlField;
   private String subscriptionControlFieldPattern;
+  private boolean autoIndex;
+  private ReadProfile readProfile;
+  private ReadProfile subscriptionReadProfile;
+  private List<SavedQuery> savedQueries = new ArrayList<>();
 
   public Dataset() {}
 
@@ -101,6 +108,68 @@ public class Dataset {
     this.subscriptionControlFieldPattern = subscriptionControlFieldPattern;
   }
 
+  /**
+   * @return true if the indexes recommended for this dataset's source may be built automatically,
+   *     this is only relevant to MongoDB sources
+   */
+  public boolean isAutoIndex() {
+    return autoIndex;
+  }
+
+  public void setAutoIndex(boolean autoIndex) {
+    this.autoIndex = autoIndex;
+  }
+
+  /** @return the profile for reads of this dataset, null if the source's defaults are used */
+  public ReadProfile getReadProfile() {
+    return readProfile;
+  }
+
+  public void setReadProfile(ReadProfile readProfile) {
+    this.readProfile = readProfile;
+  }
+
+  /**
+   * @return the profile for a subscription's reads of this dataset, null if a subscription uses
+   *     the same profile as any other read
+   */
+  public ReadProfile getSubscriptionReadProfile() {
+    return subscriptionReadProfile;
+  }
+
+  public void setSubscriptionReadProfile(ReadProfile subscriptionReadProfile) {
+    this.subscriptionReadProfile = subscriptionReadProfile;
+  }
+
+  /**
+   * A subscription's reads are made against the dataset returned by this method so that they can
+   * be tuned separately from interactive reads e.g. to move polling load to secondaries.
+   *
+   * @return this dataset if it has no subscription read profile, otherwise a copy of this dataset
+   *     whose read profile is this dataset's subscription read profile
+   */
+  public Dataset forSubscription() {
+    if (subscriptionReadProfile == null) {
+      return this;
+    }
+    Dataset copy =
+        new Dataset(owner, name, source, subscriptionControlField, subscriptionControlFieldPattern);
+    copy.setId(id);
+    copy.setAutoIndex(autoIndex);
+    copy.setReadProfile(subscriptionReadProfile);
+    copy.setSubscriptionReadProfile(subscriptionReadProfile);
+    copy.setSavedQueries(savedQueries);
+    return copy;
+  }
+
+  public List<SavedQuery> getSavedQueries() {
+    return savedQueries;
+  }
+
+  public void setSavedQueries(List<SavedQuery> savedQueries) {
+    this.savedQueries = savedQueries == null ? new ArrayList<>() : savedQueries;
+  }
+
   @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
   @Override
   public boolean equals(Object obj) {
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.dataset;
+
+import io.github.glytching.dragoman.repository.QueryPrecompiler;
+import rx.Observable;
+
+/**
+ * Decorates a {@link DatasetDao}, handing each written {@link Dataset} to the {@link
+ * QueryPrecompiler} so that the dataset's saved queries are compiled before they are first run.
+ */
+public class PrecompilingDatasetDao implements DatasetDao {
+
+  private final DatasetDao delegate;
+  private final QueryPrecompiler queryPrecompiler;
+
+  public PrecompilingDatasetDao(DatasetDao delegate, QueryPrecompiler queryPrecompiler) {
+    this.delegate = delegate;
+    this.queryPrecompiler = queryPrecompiler;
+  }
+
+  @Override
+  public Observable<Dataset> getAll(String userName) {
+    return delegate.getAll(userName);
+  }
+
+  @Override
+  public Dataset get(String id) {
+    return delegate.get(id);
+  }
+
+  @Override
+  public boolean exists(String id) {
+    return delegate.exists(id);
+  }
+
+  @Override
+  public long delete(String id) {
+    return delegate.delete(id);
+  }
+
+  @Override
+  public Dataset write(Dataset dataset) {
+    Dataset written = delegate.write(dataset);
+    // the compilation is asynchronous, the writer does not wait for it
+    queryPrecompiler.precompile(written);
+    return written;
+  }
+}
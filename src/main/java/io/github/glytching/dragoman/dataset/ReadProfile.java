@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.dataset;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Tunes the reads made against a {@link Dataset}'s source. Every attribute is optional, an absent
+ * attribute leaves the source's default in place. This is only relevant to MongoDB sources.
+ */
+public class ReadProfile {
+
+  private Integer batchSize;
+  private String readPreference;
+  private String readConcern;
+  private Long maxTimeMillis;
+  private String hint;
+
+  public ReadProfile() {}
+
+  public ReadProfile(
+      Integer batchSize,
+      String readPreference,
+      String readConcern,
+      Long maxTimeMillis,
+      String hint) {
+    this.batchSize = batchSize;
+    this.readPreference = readPreference;
+    this.readConcern = readConcern;
+    this.maxTimeMillis = maxTimeMillis;
+    this.hint = hint;
+  }
+
+  /** @return the number of documents to read from the source in each batch */
+  public Integer getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(Integer batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  /** @return the read preference mode e.g. primary, secondaryPreferred, nearest */
+  public String getReadPreference() {
+    return readPreference;
+  }
+
+  public void setReadPreference(String readPreference) {
+    this.readPreference = readPreference;
+  }
+
+  /** @return the read concern level e.g. local, majority */
+  public String getReadConcern() {
+    return readConcern;
+  }
+
+  public void setReadConcern(String readConcern) {
+    this.readConcern = readConcern;
+  }
+
+  /** @return the time after which the source should abandon a read */
+  public Long getMaxTimeMillis() {
+    return maxTimeMillis;
+  }
+
+  public void setMaxTimeMillis(Long maxTimeMillis) {
+    this.maxTimeMillis = maxTimeMillis;
+  }
+
+  /** @return the keys of the index which the source should use, as JSON e.g. {"a": 1, "b": -1} */
+  public String getHint() {
+    return hint;
+  }
+
+  public void setHint(String hint) {
+    this.hint = hint;
+  }
+
+  @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+  @Override
+  public boolean equals(Object obj) {
+    return EqualsBuilder.reflectionEquals(this, obj);
+  }
+
+  @Override
+  public int hashCode() {
+    return HashCodeBuilder.reflectionHashCode(this);
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.reflectionToString(this);
+  }
+}
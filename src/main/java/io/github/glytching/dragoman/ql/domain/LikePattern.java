@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.domain;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+/**
+ * Class representation of the operand of a {@code like} predicate. The pattern is classified by
+ * its shape so that the translators can use something cheaper than a regular expression for the
+ * common cases:
+ *
+ * <ul>
+ *   <li>{@code 'abc'}: {@link Shape#EXACT}
+ *   <li>{@code 'abc%'}: {@link Shape#PREFIX}
+ *   <li>{@code '%abc'}: {@link Shape#SUFFIX}
+ *   <li>{@code '%abc%'}: {@link Shape#CONTAINS}
+ *   <li>Anything with a wildcard in the middle e.g. {@code 'a%c'}: {@link Shape#REGEX}
+ * </ul>
+ */
+public class LikePattern {
+  private static final String WILDCARD = "%";
+  private static final String REGEX_SPECIAL_CHARACTERS = "\\^$.|?*+()[]{}";
+
+  private final Shape shape;
+  private final String literal;
+  private final String regex;
+
+  private LikePattern(Shape shape, String literal, String regex) {
+    this.shape = shape;
+    this.literal = literal;
+    this.regex = regex;
+  }
+
+  /**
+   * @param pattern the operand of a {@code like} predicate, without the enclosing quotes
+   * @return the classified pattern
+   */
+  public static LikePattern of(String pattern) {
+    boolean leadingWildcard = pattern.startsWith(WILDCARD);
+    String body = leadingWildcard ? pattern.substring(WILDCARD.length()) : pattern;
+    boolean trailingWildcard = body.endsWith(WILDCARD);
+    if (trailingWildcard) {
+      body = body.substring(0, body.length() - WILDCARD.length());
+    }
+
+    String regex = (leadingWildcard ? "" : "^") + toRegex(body) + (trailingWildcard ? "" : "$");
+    if (body.contains(WILDCARD)) {
+      return new LikePattern(Shape.REGEX, null, regex);
+    }
+
+    Shape shape;
+    if (leadingWildcard && trailingWildcard) {
+      shape = Shape.CONTAINS;
+    } else if (leadingWildcard) {
+      shape = Shape.SUFFIX;
+    } else if (trailingWildcard) {
+      shape = Shape.PREFIX;
+    } else {
+      shape = Shape.EXACT;
+    }
+    return new LikePattern(shape, body, regex);
+  }
+
+  private static String toRegex(String body) {
+    StringBuilder sb = new StringBuilder(body.length() + 8);
+    String[] literalParts = body.split(WILDCARD, -1);
+    for (int i = 0; i < literalParts.length; i++) {
+      if (i > 0) {
+        sb.append(".*");
+      }
+      escape(sb, literalParts[i]);
+    }
+    return sb.toString();
+  }
+
+  private static void escape(StringBuilder sb, String literalPart) {
+    for (int i = 0; i < literalPart.length(); i++) {
+      char c = literalPart.charAt(i);
+      if (REGEX_SPECIAL_CHARACTERS.indexOf(c) >= 0) {
+        sb.append('\\');
+      }
+      sb.append(c);
+    }
+  }
+
+  public Shape getShape() {
+    return shape;
+  }
+
+  /**
+   * @return the text which a matching value must equal, start with, end with or contain; this is
+   *     null for {@link Shape#REGEX}
+   */
+  public String getLiteral() {
+    return literal;
+  }
+
+  /**
+   * @return a regular expression which is equivalent to this pattern, anchored at either end
+   *     unless the pattern has a wildcard at that end
+   */
+  public String getRegex() {
+    return regex;
+  }
+
+  @Override
+  public int hashCode() {
+    return HashCodeBuilder.reflectionHashCode(this);
+  }
+
+  @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+  @Override
+  public boolean equals(Object obj) {
+    return EqualsBuilder.reflectionEquals(this, obj);
+  }
+
+  @Override
+  public String toString() {
+    return shape + ": " + (literal != null ? literal : regex);
+  }
+
+  public enum Shape {
+    EXACT,
+    PREFIX,
+    SUFFIX,
+    CONTAINS,
+    REGEX
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.domain;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.regex.Pattern;
+
+/**
+ * A typed right hand side element of a {@link Predicate}. Literals are typed once, when the {@code
+ * where} expression is parsed, so the translators (Mongo, Groovy etc) can switch on the {@link
+ * Type} rather than re-discovering the type of each literal every time they render it.
+ *
+ * <ul>
+ *   <li>Quoted literals are strings unless they look like an ISO8601 date or date/time in which
+ *       case they are dates
+ *   <li>Unquoted literals are booleans or numbers, numbers are narrowed to the smallest of {@code
+ *       Integer}, {@code Long} and {@code Double} which can hold them
+ *   <li>Bind parameters (e.g. {@code :asOf}) are named placeholders, their value is only known at
+ *       query time
+ * </ul>
+ */
+public class Operand {
+  private static final Pattern INTEGRAL_PATTERN = Pattern.compile("[-+]?\\d+");
+  private static final Pattern DECIMAL_PATTERN =
+      Pattern.compile("[-+]?(\\d+\\.?\\d*|\\.\\d+)([eE][-+]?\\d+)?");
+  private static final Pattern DATE_PATTERN = Pattern.compile("\\d{4}-\\d\\d-\\d\\d.*");
+  private static final Pattern ISO_DATE_PATTERN = Pattern.compile("\\d{4}-\\d\\d-\\d\\d");
+  private static final Pattern ISO_DATE_TIME_PATTERN =
+      Pattern.compile("\\d{4}-\\d\\d-\\d\\dT\\d\\d:\\d\\d(:\\d\\d(\\.\\d{1,9})?)?");
+  // an int holds any number with up to 9 digits, a long holds any number with up to 18 digits
+  private static final int MAX_INT_DIGITS = 9;
+  private static final int MAX_LONG_DIGITS = 18;
+
+  private final Type type;
+  private final String text;
+  private final Object value;
+
+  private Operand(Type type, String text, Object value) {
+    this.type = type;
+    this.text = text;
+    this.value = value;
+  }
+
+  /**
+   * @param literal a literal as written in the {@code where} expression i.e. a string literal is
+   *     enclosed in single quotes
+   * @return a typed operand for the given literal
+   */
+  public static Operand literal(String literal) {
+    if (literal.length() > 1 && literal.startsWith("'") && literal.endsWith("'")) {
+      return literal(literal.substring(1, literal.length() - 1), true);
+    }
+    return literal(literal, false);
+  }
+
+  /**
+   * @param text the literal, without any enclosing quotes
+   * @param quoted true if the literal was quoted in the {@code where} expression
+   * @return a typed operand for the given literal
+   */
+  public static Operand literal(String text, boolean quoted) {
+    if (quoted) {
+      return DATE_PATTERN.matcher(text).matches() ? date(text) : string(text);
+    }
+    Operand operand = unquoted(text);
+    return operand != null ? operand : string(text);
+  }
+
+  /**
+   * Types a value which was supplied as a string at query time (e.g. a bind parameter value) using
+   * the same rules as those used for an unquoted literal, falling back to the rules for a quoted
+   * literal if the value is neither a boolean nor a number.
+   *
+   * @param text the value
+   * @return a typed operand for the given value
+   */
+  public static Operand infer(String text) {
+    Operand operand = unquoted(text);
+    return operand != null ? operand : literal(text, true);
+  }
+
+  /**
+   * @param name the name of a bind parameter, without the leading colon
+   * @return an operand which stands in for the value of the named parameter
+   */
+  public static Operand parameter(String name) {
+    return new Operand(Type.PARAMETER, name, null);
+  }
+
+  private static Operand string(String text) {
+    return new Operand(Type.STRING, text, text);
+  }
+
+  private static Operand unquoted(String text) {
+    if ("true".equalsIgnoreCase(text) || "false".equalsIgnoreCase(text)) {
+      return new Operand(Type.BOOLEAN, text, Boolean.valueOf(text));
+    }
+    if (INTEGRAL_PATTERN.matcher(text).matches()) {
+      return integral(text);
+    }
+    if (DECIMAL_PATTERN.matcher(text).matches()) {
+      return new Operand(Type.DOUBLE, text, Double.parseDouble(text));
+    }
+    return null;
+  }
+
+  private static Operand integral(String text) {
+    int digits = Character.isDigit(text.charAt(0)) ? text.length() : text.length() - 1;
+    if (digits <= MAX_INT_DIGITS) {
+      return new Operand(Type.INTEGER, text, Integer.parseInt(text));
+    }
+    if (digits <= MAX_LONG_DIGITS) {
+      long value = Long.parseLong(text);
+      return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE
+          ? new Operand(Type.INTEGER, text, (int) value)
+          : new Operand(Type.LONG, text, value);
+    }
+    BigInteger value = new BigInteger(text);
+    if (value.bitLength() < Integer.SIZE) {
+      return new Operand(Type.INTEGER, text, value.intValue());
+    }
+    if (value.bitLength() < Long.SIZE) {
+      return new Operand(Type.LONG, text, value.longValue());
+    }
+    return new Operand(Type.DOUBLE, text, value.doubleValue());
+  }
+
+  private static Operand date(String text) {
+    // the patterns guard the parse so an exception here is only raised for out of range values
+    // such as month 13
+    Date value = null;
+    try {
+      if (ISO_DATE_PATTERN.matcher(text).matches()) {
+        value = Date.from(LocalDate.parse(text).atStartOfDay().toInstant(ZoneOffset.UTC));
+      } else if (ISO_DATE_TIME_PATTERN.matcher(text).matches()) {
+        value = Date.from(LocalDateTime.parse(text).toInstant(ZoneOffset.UTC));
+      }
+    } catch (DateTimeParseException ex) {
+      value = null;
+    }
+    return new Operand(Type.DATE, text, value);
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * @return the literal as written in the {@code where} expression (without any enclosing quotes)
+   *     or, for a bind parameter, the parameter's name
+   */
+  public String getText() {
+    return text;
+  }
+
+  /**
+   * @return the typed value of this operand; this is null for a bind parameter and for a date
+   *     literal which is not a valid ISO8601 date or date/time (see {@link #isValid()})
+   */
+  public Object getValue() {
+    return value;
+  }
+
+  public boolean isParameter() {
+    return type == Type.PARAMETER;
+  }
+
+  public boolean isNumeric() {
+    return type == Type.INTEGER || type == Type.LONG || type == Type.DOUBLE;
+  }
+
+  /** @return true if this operand was, or should be, written as a quoted literal */
+  public boolean isQuoted() {
+    return type == Type.STRING || type == Type.DATE;
+  }
+
+  /** @return false if this operand looks like a date but is not a valid ISO8601 date/time */
+  public boolean isValid() {
+    return type != Type.DATE || value != null;
+  }
+
+  @Override
+  public int hashCode() {
+    return HashCodeBuilder.reflectionHashCode(this);
+  }
+
+  @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+  @Override
+  public boolean equals(Object obj) {
+    return EqualsBuilder.reflectionEquals(this, obj);
+  }
+
+  @Override
+  public String toString() {
+    if (isParameter()) {
+      return ":" + text;
+    }
+    return isQuoted() ? "'" + text + "'" : text;
+  }
+
+  public enum Type {
+    STRING,
+    INTEGER,
+    LONG,
+    DOUBLE,
+    BOOLEAN,
+    DATE,
+    PARAMETER
+  }
+}
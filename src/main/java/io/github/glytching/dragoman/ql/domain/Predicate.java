@@ -20,34 +20,36 @@ import com.google.common.collect.Lists;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+import java.util.Collections;
 import java.util.List;
 
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
-/** Class representation of an {@code where} expression. */
+/**
+ * Class representation of an {@code where} expression. The right hand side is a list of typed
+ * {@link Operand}s, an operand may be a bind parameter (e.g. {@code :asOf}).
+ *
+ * <p>A predicate is built up, part by part, as its expression is parsed and it is frozen once it
+ * becomes part of a {@link WhereClause}. Where clauses are cached and shared between callers (see
+ * {@code ParsedClauseCache}) so any attempt to change a frozen predicate is rejected.
+ */
 public class Predicate {
 
-  private final List<String> rhs;
+  private final List<Operand> operands;
   private String lhs;
-  private String operator;
+  private Operator operator;
   private boolean negated;
-  private boolean quoted;
+  // excluded from equals and hashCode since it is not part of the predicate's value
+  private transient boolean frozen;
 
   public Predicate() {
-    rhs = Lists.newArrayList();
+    operands = Lists.newArrayList();
   }
 
-  public Predicate(String lhs, String operator, String... rhs) {
-    this(lhs, operator, false, false, rhs);
-  }
-
-  @SuppressWarnings("SameParameterValue")
-  Predicate(String lhs, String operator, boolean quoted, boolean negated, String... rhs) {
+  public Predicate(String lhs, Operator operator, Operand... operands) {
     this.lhs = lhs;
     this.operator = operator;
-    this.quoted = quoted;
-    this.negated = negated;
-    this.rhs = Lists.newArrayList(rhs);
+    this.operands = Lists.newArrayList(operands);
   }
 
   public String getLhs() {
@@ -55,6 +57,7 @@ public class Predicate {
   }
 
   public void appendLhsPart(String lhsPart) {
+    checkNotFrozen();
     if (isNotBlank(lhs)) {
       this.lhs = this.lhs + "." + lhsPart;
     } else {
@@ -62,110 +65,84 @@ public class Predicate {
     }
   }
 
-  public String getOperator() {
+  public Operator getOperator() {
     return this.operator;
   }
 
-  public void setOperator(String operator) {
+  public void setOperator(Operator operator) {
+    checkNotFrozen();
     this.operator = operator;
   }
 
-  public List<String> getRhs() {
-    return rhs;
+  public List<Operand> getOperands() {
+    return Collections.unmodifiableList(operands);
   }
 
-  public void addRhs(String rhsValue) {
-    if (isQuoted(rhsValue)) {
-      quoted = true;
-      rhsValue = rhsValue.substring(1, rhsValue.length() - 1);
-    }
-    rhs.add(rhsValue);
+  public Operand getOperand(int position) {
+    return operands.get(position);
+  }
+
+  /**
+   * Adds a literal to the right hand side of this predicate, the literal is typed as it is added.
+   *
+   * @param literal a literal as written in the {@code where} expression i.e. a string literal is
+   *     enclosed in single quotes
+   */
+  public void addRhs(String literal) {
+    addRhs(Operand.literal(literal));
+  }
+
+  /** @param operand a typed literal, see {@link Operand#literal(String)} */
+  public void addRhs(Operand operand) {
+    checkNotFrozen();
+    operands.add(operand);
   }
 
-  public boolean isQuoted() {
-    return quoted;
+  public void addParameter(String parameterName) {
+    addRhs(Operand.parameter(parameterName));
   }
 
-  private boolean isQuoted(String value) {
-    return value.matches("'.*'");
+  public boolean hasParameters() {
+    return operands.stream().anyMatch(Operand::isParameter);
   }
 
   public boolean isNegated() {
-    return negated || "!=".equals(operator);
+    return negated || operator == Operator.NOT_EQUALS;
   }
 
   @SuppressWarnings("UnusedReturnValue")
   public Predicate negate() {
+    checkNotFrozen();
     this.negated = true;
     return this;
   }
 
   public void betweenOperator() {
-    this.operator = (negated ? "not " : "").concat("between");
+    setOperator(negated ? Operator.NOT_BETWEEN : Operator.BETWEEN);
   }
 
   public void nullOperator() {
-    this.operator = (negated ? "is not " : "is ").concat("null");
+    setOperator(negated ? Operator.IS_NOT_NULL : Operator.IS_NULL);
   }
 
   public void inOperator() {
-    this.operator = (negated ? "not " : "").concat("in");
+    setOperator(negated ? Operator.NOT_IN : Operator.IN);
   }
 
-  public boolean isGreaterThan() {
-    return ">".equals(operator);
+  public void likeOperator() {
+    setOperator(negated ? Operator.NOT_LIKE : Operator.LIKE);
   }
 
-  public boolean isGreaterThanOrEqualTo() {
-    return ">=".equals(operator);
+  /** Prevents any further changes to this predicate, see {@link WhereClause}. */
+  void freeze() {
+    this.frozen = true;
   }
 
-  public boolean isLessThan() {
-    return "<".equals(operator);
-  }
-
-  public boolean isLessThanOrEqualTo() {
-    return "<=".equals(operator);
-  }
-
-  public boolean isEquals() {
-    return "=".equals(operator);
-  }
-
-  public boolean isNotEquals() {
-    return "!=".equals(operator);
-  }
-
-  public boolean isIn() {
-    return "in".equalsIgnoreCase(operator);
-  }
-
-  public boolean isNotIn() {
-    return "not in".equalsIgnoreCase(operator);
-  }
-
-  public boolean isBetween() {
-    return "between".equalsIgnoreCase(operator);
-  }
-
-  public boolean isNotBetween() {
-    return "not between".equalsIgnoreCase(operator);
-  }
-
-  public boolean isLike() {
-    return "like".equalsIgnoreCase(operator);
-  }
-
-  public boolean isNotLike() {
-    return "not like".equalsIgnoreCase(operator);
-  }
-
-  public boolean isNull() {
-    return "is null".equalsIgnoreCase(operator);
-  }
-
-  public boolean isNotNull() {
-    return "is not null".equalsIgnoreCase(operator);
+  private void checkNotFrozen() {
+    if (frozen) {
+      throw new IllegalStateException(
+          "The predicate: " + this + " is part of a where clause and cannot be changed");
+    }
   }
 
   @Override
@@ -182,35 +159,62 @@ public class Predicate {
   @Override
   public String toString() {
     StringBuilder sb = new StringBuilder(lhs).append(" ").append(operator);
-    if (!rhs.isEmpty()) {
+    if (!operands.isEmpty()) {
       sb.append(" ");
-      if (isIn() | isNotIn()) {
-        sb.append("(");
-        for (String value : rhs) {
-          quoteStringIfNecessary(sb, value);
-          sb.append(", ");
-        }
-        if (sb.length() > 0) {
-          sb.setLength(sb.length() - 2);
-        }
-        sb.append(")");
-      } else if (isBetween() || isNotBetween()) {
-        sb.append(rhs.get(0)).append(" and ").append(rhs.get(1));
-      } else {
-        quoteStringIfNecessary(sb, rhs.get(0));
+      switch (operator) {
+        case IN:
+        case NOT_IN:
+          sb.append("(");
+          for (int i = 0; i < operands.size(); i++) {
+            if (i > 0) {
+              sb.append(", ");
+            }
+            sb.append(operands.get(i));
+          }
+          sb.append(")");
+          break;
+        case BETWEEN:
+        case NOT_BETWEEN:
+          sb.append(operands.get(0)).append(" and ").append(operands.get(1));
+          break;
+        default:
+          sb.append(operands.get(0));
       }
     }
 
     return sb.toString();
   }
 
-  private void quoteStringIfNecessary(StringBuilder sb, String value) {
-    if (quoted) {
-      sb.append("'");
+  /** The comparison which a {@link Predicate} applies to its left hand side. */
+  public enum Operator {
+    EQUALS("="),
+    NOT_EQUALS("!="),
+    GREATER_THAN(">"),
+    GREATER_THAN_OR_EQUAL_TO(">="),
+    LESS_THAN("<"),
+    LESS_THAN_OR_EQUAL_TO("<="),
+    IN("in"),
+    NOT_IN("not in"),
+    BETWEEN("between"),
+    NOT_BETWEEN("not between"),
+    LIKE("like"),
+    NOT_LIKE("not like"),
+    IS_NULL("is null"),
+    IS_NOT_NULL("is not null");
+
+    private final String symbol;
+
+    Operator(String symbol) {
+      this.symbol = symbol;
+    }
+
+    public String getSymbol() {
+      return symbol;
     }
-    sb.append(value);
-    if (quoted) {
-      sb.append("'");
+
+    @Override
+    public String toString() {
+      return symbol;
     }
   }
 }
@@ -19,22 +19,92 @@ package io.github.glytching.dragoman.ql.domain;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
-/** Class representation of an {@code select} expression. */
+import java.util.Locale;
+
+/**
+ * Class representation of an {@code select} expression. A projection is either an attribute e.g.
+ * {@code a.b} or an aggregate over an attribute e.g. {@code sum(a.b)}. An aggregate can be given
+ * an alias e.g. {@code sum(a.b) as total}, a plain attribute cannot.
+ *
+ * <p>A projection is built up as its expression is parsed and it is frozen once it becomes part of
+ * a {@link SelectClause}, any attempt to change a frozen projection is rejected.
+ */
 public class Projection {
+  /** The name given to the attribute of a {@code count(*)}. */
+  public static final String ALL = "*";
+
   private String name;
+  private final Function function;
+  private String alias;
+  // excluded from equals and hashCode since it is not part of the projection's value
+  private transient boolean frozen;
 
   public Projection(String name) {
+    this(name, null);
+  }
+
+  public Projection(String name, Function function) {
     this.name = name;
+    this.function = function;
   }
 
   public void appendNamePart(String namePart) {
+    checkNotFrozen();
     this.name = this.name + '.' + namePart;
   }
 
+  /** @return the attribute which is projected (or aggregated) */
   public String getName() {
     return name;
   }
 
+  /** @return the aggregate function applied to the attribute, null if this is not an aggregate */
+  public Function getFunction() {
+    return function;
+  }
+
+  public boolean isAggregate() {
+    return function != null;
+  }
+
+  public String getAlias() {
+    return alias;
+  }
+
+  public void setAlias(String alias) {
+    checkNotFrozen();
+    this.alias = alias;
+  }
+
+  /**
+   * @return the name of this projection in a result row; the alias if there is one, otherwise the
+   *     attribute name for a plain projection or, for an aggregate, the function and attribute
+   *     joined by underscores e.g. {@code sum(a.b)} becomes {@code sum_a_b}, {@code count(*)}
+   *     becomes {@code count}
+   */
+  public String getOutputName() {
+    if (alias != null) {
+      return alias;
+    }
+    if (function == null) {
+      return name;
+    }
+    String functionName = function.name().toLowerCase(Locale.ENGLISH);
+    return ALL.equals(name) ? functionName : functionName + "_" + name.replace('.', '_');
+  }
+
+  /** Prevents any further changes to this projection, see {@link SelectClause}. */
+  void freeze() {
+    this.frozen = true;
+  }
+
+  private void checkNotFrozen() {
+    if (frozen) {
+      throw new IllegalStateException(
+          "The projection: " + this + " is part of a select clause and cannot be changed");
+    }
+  }
+
   @Override
   public int hashCode() {
     return HashCodeBuilder.reflectionHashCode(this);
@@ -48,6 +118,30 @@ public class Projection {
 
   @Override
   public String toString() {
-    return this.name;
+    String projection =
+        function == null ? name : function.name().toLowerCase(Locale.ENGLISH) + "(" + name + ")";
+    return alias == null ? projection : projection + " as " + alias;
+  }
+
+  /** The aggregate functions which can be applied in a {@code select} expression. */
+  public enum Function {
+    COUNT,
+    SUM,
+    AVG,
+    MIN,
+    MAX;
+
+    /**
+     * @param name the name of a function, as it appears in a {@code select} expression
+     * @return the function with the given {@code name} or null if there is no such function
+     */
+    public static Function of(String name) {
+      for (Function function : values()) {
+        if (function.name().equalsIgnoreCase(name)) {
+          return function;
+        }
+      }
+      return null;
+    }
   }
 }
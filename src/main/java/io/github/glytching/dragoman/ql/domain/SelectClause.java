@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.domain;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class representation of a {@code select} expression i.e. a list of {@link Projection}s and,
+ * optionally, the attributes by which aggregate projections are grouped. An empty list of
+ * projections means: select everything.
+ *
+ * <p>A select clause is immutable, as are its projections, so it can be cached and shared between
+ * callers.
+ */
+public class SelectClause {
+  private final List<Projection> projections;
+  private final List<String> groupBy;
+
+  public SelectClause(List<Projection> projections) {
+    this(projections, Collections.emptyList());
+  }
+
+  public SelectClause(List<Projection> projections, List<String> groupBy) {
+    this.projections = Collections.unmodifiableList(new ArrayList<>(projections));
+    this.groupBy = Collections.unmodifiableList(new ArrayList<>(groupBy));
+    this.projections.forEach(Projection::freeze);
+  }
+
+  public List<Projection> getProjections() {
+    return projections;
+  }
+
+  /** @return the attributes named in the {@code group by} clause, if any */
+  public List<String> getGroupBy() {
+    return groupBy;
+  }
+
+  /**
+   * @return true if this select clause aggregates i.e. it contains an aggregate function or a
+   *     {@code group by}
+   */
+  public boolean isAggregate() {
+    return !groupBy.isEmpty() || projections.stream().anyMatch(Projection::isAggregate);
+  }
+
+  /** @return true if this select clause selects everything i.e. it is empty or {@code *} */
+  public boolean isSelectAll() {
+    return projections.isEmpty();
+  }
+
+  @Override
+  public int hashCode() {
+    return HashCodeBuilder.reflectionHashCode(this);
+  }
+
+  @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+  @Override
+  public boolean equals(Object obj) {
+    return EqualsBuilder.reflectionEquals(this, obj);
+  }
+
+  @Override
+  public String toString() {
+    return groupBy.isEmpty() ? projections.toString() : projections + " group by " + groupBy;
+  }
+}
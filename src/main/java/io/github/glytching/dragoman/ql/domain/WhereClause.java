@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.domain;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class representation of a normalised {@code where} expression i.e. a conjunction of {@link
+ * Predicate}s which has been simplified by the {@link WhereClauseNormaliser}. If the normaliser
+ * proved that no document can ever match the expression then the expression is unsatisfiable and
+ * the predicates are those which were originally supplied.
+ *
+ * <p>A where clause is immutable, as are its predicates, so it can be cached and shared between
+ * callers.
+ */
+public class WhereClause {
+  private final List<Predicate> predicates;
+  private final boolean unsatisfiable;
+
+  private WhereClause(List<Predicate> predicates, boolean unsatisfiable) {
+    this.predicates = Collections.unmodifiableList(new ArrayList<>(predicates));
+    this.predicates.forEach(Predicate::freeze);
+    this.unsatisfiable = unsatisfiable;
+  }
+
+  public static WhereClause satisfiable(List<Predicate> predicates) {
+    return new WhereClause(predicates, false);
+  }
+
+  public static WhereClause unsatisfiable(List<Predicate> predicates) {
+    return new WhereClause(predicates, true);
+  }
+
+  public List<Predicate> getPredicates() {
+    return predicates;
+  }
+
+  /** @return true if no document can ever match this where clause */
+  public boolean isUnsatisfiable() {
+    return unsatisfiable;
+  }
+
+  @Override
+  public int hashCode() {
+    return HashCodeBuilder.reflectionHashCode(this);
+  }
+
+  @SuppressWarnings("EqualsWhichDoesntCheckParameterClass")
+  @Override
+  public boolean equals(Object obj) {
+    return EqualsBuilder.reflectionEquals(this, obj);
+  }
+
+  @Override
+  public String toString() {
+    return (unsatisfiable ? "unsatisfiable: " : "") + predicates;
+  }
+}
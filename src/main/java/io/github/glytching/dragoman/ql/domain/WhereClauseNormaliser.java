@@ -0,0 +1,488 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.domain;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A logical optimisation pass over the conjunction of {@link Predicate}s in a where clause. The
+ * predicates for each field are considered together and are:
+ *
+ * <ul>
+ *   <li>De-duplicated e.g. {@code a = 1 and a = 1} becomes {@code a = 1}
+ *   <li>Merged into a single range e.g. {@code a > 10 and a > 20 and a < 30} becomes {@code a > 20
+ *       and a < 30}
+ *   <li>Folded into the narrowest in list or equality e.g. {@code a in (1, 2, 3) and a > 2} becomes
+ *       {@code a = 3}
+ *   <li>Checked for contradictions e.g. {@code a = 1 and a = 2} can never be satisfied
+ * </ul>
+ *
+ * <p>Only numeric literals and (non date) string literals are compared. A field whose predicates
+ * use bind parameters, date literals, a mix of numeric and string literals or operators such as
+ * {@code like} are passed through as written since we cannot safely reason about them here.
+ *
+ * <p>The folding and contradiction rules assume that each field holds a single value. A store
+ * which matches an array field element by element (e.g. MongoDB) can satisfy each predicate with a
+ * different element, for example {@code {a: [1, 2]}} matches {@code a = 1 and a = 2}. For such a
+ * store use {@link #forArrayFields()}, this only de-duplicates and merges bounds which point in the
+ * same direction (since any element above the higher of two lower bounds is also above the lower)
+ * and it never declares a where clause unsatisfiable.
+ */
+public class WhereClauseNormaliser {
+  private final boolean arrayFields;
+
+  public WhereClauseNormaliser() {
+    this(false);
+  }
+
+  private WhereClauseNormaliser(boolean arrayFields) {
+    this.arrayFields = arrayFields;
+  }
+
+  /**
+   * @return a normaliser whose rewrites are safe for a store which matches an array field element
+   *     by element
+   */
+  public static WhereClauseNormaliser forArrayFields() {
+    return new WhereClauseNormaliser(true);
+  }
+
+  /**
+   * @param predicates the conjunction of predicates in a where clause
+   * @return a normalised form of the given {@code predicates}, this may be unsatisfiable
+   */
+  public WhereClause normalise(List<Predicate> predicates) {
+    Map<String, FieldConstraints> byField = new LinkedHashMap<>();
+    for (Predicate predicate : predicates) {
+      byField
+          .computeIfAbsent(predicate.getLhs(), field -> new FieldConstraints(field, arrayFields))
+          .add(predicate);
+    }
+
+    List<Predicate> normalised = new ArrayList<>();
+    for (FieldConstraints fieldConstraints : byField.values()) {
+      Optional<List<Predicate>> reduced = fieldConstraints.reduce();
+      if (!reduced.isPresent()) {
+        return WhereClause.unsatisfiable(predicates);
+      }
+      normalised.addAll(reduced.get());
+    }
+    return WhereClause.satisfiable(normalised);
+  }
+
+  /** Gathers the constraints which a conjunction of predicates places on a single field. */
+  private static class FieldConstraints {
+    private final String field;
+    private final boolean arrayField;
+    private final Set<Predicate> original = new LinkedHashSet<>();
+    private final List<Predicate> unanalysed = new ArrayList<>();
+    private final List<Predicate> bounds = new ArrayList<>();
+    private final List<Value> notIn = new ArrayList<>();
+
+    private Boolean numeric;
+    private boolean mixed;
+    private boolean contradiction;
+    private boolean inListFolded;
+
+    private Value equalTo;
+    private List<Value> in;
+    private Bound lower;
+    private Bound upper;
+    private Predicate isNull;
+    private Predicate isNotNull;
+
+    private FieldConstraints(String field, boolean arrayField) {
+      this.field = field;
+      this.arrayField = arrayField;
+    }
+
+    private void add(Predicate predicate) {
+      if (!original.add(predicate)) {
+        // a duplicate adds nothing
+        return;
+      }
+
+      if (predicate.getOperator() == Predicate.Operator.IS_NULL) {
+        isNull = predicate;
+        return;
+      }
+      if (predicate.getOperator() == Predicate.Operator.IS_NOT_NULL) {
+        isNotNull = predicate;
+        return;
+      }
+
+      List<Value> values = toValues(predicate);
+      if (values == null) {
+        unanalysed.add(predicate);
+        return;
+      }
+      for (Value value : values) {
+        if (numeric == null) {
+          numeric = value.isNumeric();
+        } else if (numeric != value.isNumeric()) {
+          mixed = true;
+        }
+      }
+      if (mixed) {
+        // the predicates will be passed through as written so there's no point in going further
+        return;
+      }
+
+      if (isBound(predicate)) {
+        bounds.add(predicate);
+      }
+      switch (predicate.getOperator()) {
+        case EQUALS:
+          if (equalTo == null) {
+            equalTo = values.get(0);
+          } else if (!equalTo.equals(values.get(0))) {
+            contradiction = true;
+          }
+          break;
+        case NOT_EQUALS:
+        case NOT_IN:
+          values.stream().filter(v -> !notIn.contains(v)).forEach(notIn::add);
+          break;
+        case IN:
+          List<Value> distinct = distinct(values);
+          inListFolded = inListFolded || in != null || distinct.size() < values.size();
+          if (in == null) {
+            in = distinct;
+          } else {
+            in.retainAll(distinct);
+          }
+          break;
+        case GREATER_THAN:
+          tightenLower(new Bound(values.get(0), false));
+          break;
+        case GREATER_THAN_OR_EQUAL_TO:
+          tightenLower(new Bound(values.get(0), true));
+          break;
+        case LESS_THAN:
+          tightenUpper(new Bound(values.get(0), false));
+          break;
+        case LESS_THAN_OR_EQUAL_TO:
+          tightenUpper(new Bound(values.get(0), true));
+          break;
+        case BETWEEN:
+          // 'x between 5 and 10' means: x >= 5 and x < 10
+          tightenLower(new Bound(values.get(0), true));
+          tightenUpper(new Bound(values.get(1), false));
+          break;
+        default:
+          break;
+      }
+    }
+
+    /**
+     * @return the simplest conjunction of predicates which is equivalent to the predicates added
+     *     to this instance or empty if those predicates can never be satisfied
+     */
+    private Optional<List<Predicate>> reduce() {
+      if (arrayField) {
+        return Optional.of(reduceBounds());
+      }
+      if (isNull != null && isNotNull != null) {
+        return Optional.empty();
+      }
+      if (mixed) {
+        // we cannot compare across types so leave well alone
+        return Optional.of(new ArrayList<>(original));
+      }
+
+      List<Predicate> reduced = new ArrayList<>();
+      if (equalTo != null) {
+        if (contradiction
+            || isNull != null
+            || (in != null && !in.contains(equalTo))
+            || notIn.contains(equalTo)
+            || !isWithinBounds(equalTo)) {
+          return Optional.empty();
+        }
+        reduced.add(predicate(Predicate.Operator.EQUALS, equalTo));
+      } else if (in != null) {
+        List<Value> remaining = new ArrayList<>();
+        for (Value value : in) {
+          if (!notIn.contains(value) && isWithinBounds(value)) {
+            remaining.add(value);
+          }
+        }
+        if (remaining.isEmpty() || isNull != null) {
+          return Optional.empty();
+        }
+        reduced.add(
+            remaining.size() == 1
+                ? predicate(Predicate.Operator.EQUALS, remaining.get(0))
+                : predicate(Predicate.Operator.IN, remaining.toArray(new Value[remaining.size()])));
+      } else {
+        if (lower != null && upper != null) {
+          int comparison = lower.value.compareTo(upper.value);
+          if (comparison > 0 || (comparison == 0 && !(lower.inclusive && upper.inclusive))) {
+            return Optional.empty();
+          }
+          if (comparison == 0) {
+            // 'x >= 5 and x <= 5' means: x = 5
+            Value value = lower.value;
+            if (notIn.contains(value)) {
+              return Optional.empty();
+            }
+            reduced.add(predicate(Predicate.Operator.EQUALS, value));
+            return Optional.of(finish(reduced));
+          }
+        }
+        addBounds(reduced);
+        List<Value> excluded = new ArrayList<>();
+        for (Value value : notIn) {
+          if (isWithinBounds(value)) {
+            excluded.add(value);
+          }
+        }
+        if (excluded.size() == 1) {
+          reduced.add(predicate(Predicate.Operator.NOT_EQUALS, excluded.get(0)));
+        } else if (excluded.size() > 1) {
+          reduced.add(
+              predicate(Predicate.Operator.NOT_IN, excluded.toArray(new Value[excluded.size()])));
+        }
+      }
+
+      return Optional.of(finish(reduced));
+    }
+
+    /**
+     * @return the predicates added to this instance, as written, except that the bounds in each
+     *     direction are merged into the tightest bound in that direction
+     */
+    private List<Predicate> reduceBounds() {
+      if (mixed || bounds.size() < 2) {
+        return new ArrayList<>(original);
+      }
+
+      List<Predicate> reduced = new ArrayList<>();
+      for (Predicate predicate : original) {
+        if (bounds.contains(predicate)) {
+          if (predicate == bounds.get(0)) {
+            // the merged bounds take the place of the first bound
+            addBounds(reduced);
+          }
+        } else {
+          reduced.add(predicate);
+        }
+      }
+      return reduced;
+    }
+
+    private void addBounds(List<Predicate> reduced) {
+      if (lower != null) {
+        reduced.add(
+            predicate(
+                lower.inclusive
+                    ? Predicate.Operator.GREATER_THAN_OR_EQUAL_TO
+                    : Predicate.Operator.GREATER_THAN,
+                lower.value));
+      }
+      if (upper != null) {
+        reduced.add(
+            predicate(
+                upper.inclusive
+                    ? Predicate.Operator.LESS_THAN_OR_EQUAL_TO
+                    : Predicate.Operator.LESS_THAN,
+                upper.value));
+      }
+    }
+
+    private boolean isBound(Predicate predicate) {
+      switch (predicate.getOperator()) {
+        case GREATER_THAN:
+        case GREATER_THAN_OR_EQUAL_TO:
+        case LESS_THAN:
+        case LESS_THAN_OR_EQUAL_TO:
+        case BETWEEN:
+          return true;
+        default:
+          return false;
+      }
+    }
+
+    private List<Predicate> finish(List<Predicate> reduced) {
+      // a lone predicate is left as written unless it has been simplified
+      if (original.size() == 1 && !inListFolded) {
+        return new ArrayList<>(original);
+      }
+
+      if (isNull != null) {
+        reduced.add(isNull);
+      }
+      if (isNotNull != null) {
+        reduced.add(isNotNull);
+      }
+      reduced.addAll(unanalysed);
+      return reduced;
+    }
+
+    private void tightenLower(Bound candidate) {
+      if (lower == null) {
+        lower = candidate;
+      } else {
+        int comparison = candidate.value.compareTo(lower.value);
+        if (comparison > 0 || (comparison == 0 && !candidate.inclusive)) {
+          lower = candidate;
+        }
+      }
+    }
+
+    private void tightenUpper(Bound candidate) {
+      if (upper == null) {
+        upper = candidate;
+      } else {
+        int comparison = candidate.value.compareTo(upper.value);
+        if (comparison < 0 || (comparison == 0 && !candidate.inclusive)) {
+          upper = candidate;
+        }
+      }
+    }
+
+    private boolean isWithinBounds(Value value) {
+      if (lower != null) {
+        int comparison = value.compareTo(lower.value);
+        if (comparison < 0 || (comparison == 0 && !lower.inclusive)) {
+          return false;
+        }
+      }
+      if (upper != null) {
+        int comparison = value.compareTo(upper.value);
+        if (comparison > 0 || (comparison == 0 && !upper.inclusive)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private Predicate predicate(Predicate.Operator operator, Value... values) {
+      Operand[] operands = new Operand[values.length];
+      for (int i = 0; i < values.length; i++) {
+        operands[i] = values[i].operand;
+      }
+      return new Predicate(field, operator, operands);
+    }
+
+    private List<Value> toValues(Predicate predicate) {
+      switch (predicate.getOperator()) {
+        case EQUALS:
+        case NOT_EQUALS:
+        case IN:
+        case NOT_IN:
+        case GREATER_THAN:
+        case GREATER_THAN_OR_EQUAL_TO:
+        case LESS_THAN:
+        case LESS_THAN_OR_EQUAL_TO:
+        case BETWEEN:
+          break;
+        default:
+          return null;
+      }
+
+      List<Value> values = new ArrayList<>(predicate.getOperands().size());
+      for (Operand operand : predicate.getOperands()) {
+        Value value = Value.of(operand);
+        if (value == null) {
+          return null;
+        }
+        values.add(value);
+      }
+      return values.isEmpty() ? null : values;
+    }
+
+    private List<Value> distinct(List<Value> values) {
+      List<Value> distinct = new ArrayList<>(values.size());
+      for (Value value : values) {
+        if (!distinct.contains(value)) {
+          distinct.add(value);
+        }
+      }
+      return distinct;
+    }
+  }
+
+  private static class Bound {
+    private final Value value;
+    private final boolean inclusive;
+
+    private Bound(Value value, boolean inclusive) {
+      this.value = value;
+      this.inclusive = inclusive;
+    }
+  }
+
+  /** A literal which can be compared with other literals of the same type. */
+  private static class Value implements Comparable<Value> {
+    private final Operand operand;
+    private final BigDecimal number;
+
+    private Value(Operand operand, BigDecimal number) {
+      this.operand = operand;
+      this.number = number;
+    }
+
+    /**
+     * @return a comparable value or null if the given {@code operand} cannot be safely compared
+     */
+    private static Value of(Operand operand) {
+      switch (operand.getType()) {
+        case STRING:
+          return new Value(operand, null);
+        case INTEGER:
+        case LONG:
+          return new Value(operand, BigDecimal.valueOf(((Number) operand.getValue()).longValue()));
+        case DOUBLE:
+          // use the literal rather than the double so that e.g. 0.1 is exactly 0.1
+          return new Value(operand, new BigDecimal(operand.getText()));
+        default:
+          // date literals are coerced to dates by some stores and compared as strings by others,
+          // parameters are not known until query time
+          return null;
+      }
+    }
+
+    private boolean isNumeric() {
+      return number != null;
+    }
+
+    @Override
+    public int compareTo(Value other) {
+      return number != null
+          ? number.compareTo(other.number)
+          : operand.getText().compareTo(other.operand.getText());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Value && compareTo((Value) obj) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+      return number != null ? number.stripTrailingZeros().hashCode() : operand.getText().hashCode();
+    }
+  }
+}
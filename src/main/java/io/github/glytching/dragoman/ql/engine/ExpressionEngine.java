@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine;
+
+import com.codahale.metrics.MetricSet;
+
+import java.util.Optional;
+
+/**
+ * Compiles {@code where} and {@code select} expressions into {@link Filter} and {@link Mapper}
+ * implementations which are applied, in memory, to data which cannot be filtered or projected at
+ * source (e.g. data read from a HTTP source). The engine used by a deployment is chosen by the
+ * {@code query.engine} property.
+ *
+ * <p>Each engine publishes its own metrics e.g. compile counts and latencies, only the configured
+ * engine's metrics are published.
+ */
+public interface ExpressionEngine extends MetricSet {
+
+  /**
+   * @param expression a {@code where} expression
+   * @return a {@link Filter} which applies the given {@code expression}
+   */
+  Filter createFilter(String expression);
+
+  /**
+   * @param expression a {@code select} expression
+   * @return a {@link Mapper} which applies the given {@code expression}
+   */
+  Mapper createProjector(String expression);
+
+  /**
+   * Creates a {@link RowOperator} which applies both of the given expressions. By default this
+   * simply chains the engine's {@link Filter} and {@link Mapper}, engines which can do better (e.g.
+   * by reading each attribute once per row) override this.
+   *
+   * @param select a {@code select} expression
+   * @param where a {@code where} expression
+   * @return a {@link RowOperator} which applies the given {@code where} and {@code select}
+   */
+  default RowOperator createOperator(String select, String where) {
+    Filter filter = createFilter(where);
+    Mapper mapper = createProjector(select);
+    return (incoming, parameters) ->
+        filter.filter(incoming, parameters) ? mapper.map(incoming) : null;
+  }
+
+  /**
+   * Describes the {@link Filter} this engine creates for the given {@code where}, this is a
+   * diagnostic aid and does not compile anything.
+   *
+   * @param expression a {@code where} expression
+   * @return the source generated for the given {@code expression}, empty if this engine does not
+   *     generate source
+   */
+  default Optional<String> describeFilter(String expression) {
+    return Optional.empty();
+  }
+
+  /**
+   * Describes the {@link Mapper} this engine creates for the given {@code select}, this is a
+   * diagnostic aid and does not compile anything.
+   *
+   * @param expression a {@code select} expression
+   * @return the source generated for the given {@code expression}, empty if this engine does not
+   *     generate source
+   */
+  default Optional<String> describeProjector(String expression) {
+    return Optional.empty();
+  }
+
+  /** The engines which are available to a deployment. */
+  enum Type {
+    /** Generates Groovy classes, see {@code GroovyFactory}. */
+    GROOVY,
+    /** Generates statically typed Java classes, see {@code JaninoFactory}. */
+    JANINO,
+    /** Generates no classes at all, see {@code ClosureEngine}. */
+    CLOSURE
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Interface which defines the filter feature for the classes generated by an {@link
+ * ExpressionEngine}.
+ */
+public interface Filter {
+
+  /**
+   * Assess whether the given {@code object} matches the terms of this filter
+   *
+   * @param incoming an object to be filtered
+   * @return true if the given {@code object} matches the filter
+   */
+  default boolean filter(Object incoming) {
+    return filter(incoming, Collections.emptyMap());
+  }
+
+  /**
+   * Assess whether the given {@code object} matches the terms of this filter, resolving any bind
+   * parameters (e.g. {@code :asOf}) against the given {@code parameters}.
+   *
+   * @param incoming an object to be filtered
+   * @param parameters the values for any bind parameters in this filter, keyed by parameter name
+   * @return true if the given {@code object} matches the filter
+   */
+  boolean filter(Object incoming, Map<String, Object> parameters);
+}
@@ -14,11 +14,14 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package io.github.glytching.dragoman.ql.listener.groovy;
+package io.github.glytching.dragoman.ql.engine;
 
 import java.util.Map;
 
-/** Interface which defines the map feature for dynamically generated Groovy classes. */
+/**
+ * Interface which defines the map feature for the classes generated by an {@link
+ * ExpressionEngine}.
+ */
 public interface Mapper {
 
   /**
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Applies a {@code where} and a {@code select} expression to a row in a single step, this is the
+ * fused equivalent of a {@link Filter} followed by a {@link Mapper}.
+ */
+public interface RowOperator {
+
+  /**
+   * @param incoming the row to be filtered and projected
+   * @return the projected row or null if the given {@code incoming} does not match the filter
+   */
+  default Map<String, Object> apply(Object incoming) {
+    return apply(incoming, Collections.emptyMap());
+  }
+
+  /**
+   * @param incoming the row to be filtered and projected
+   * @param parameters the values for any bind parameters in the filter, keyed by parameter name
+   * @return the projected row or null if the given {@code incoming} does not match the filter
+   */
+  Map<String, Object> apply(Object incoming, Map<String, Object> parameters);
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Statically typed navigation and comparison functions for use by the classes generated by an
+ * {@link ExpressionEngine}. The comparison functions are overloaded on the type of the literal they
+ * compare against so the generated code is bound, at compile time, to the comparison which suits
+ * the literal's type.
+ *
+ * <p>A value which cannot be compared with a literal (e.g. a missing attribute or a string compared
+ * with a number) does not satisfy any comparison other than {@link #NE}.
+ */
+public final class Values {
+  public static final int EQ = 0;
+  public static final int NE = 1;
+  public static final int GT = 2;
+  public static final int GE = 3;
+  public static final int LT = 4;
+  public static final int LE = 5;
+
+  private Values() {}
+
+  /**
+   * @param incoming the root of a document, typically a {@link Map}
+   * @param path the attribute names which lead from the root to the required attribute e.g. {@code
+   *     ["a", "b"]} for {@code a.b}
+   * @return the value at the given {@code path} or null if there is no such value
+   */
+  public static Object navigate(Object incoming, String[] path) {
+    Object current = incoming;
+    for (String name : path) {
+      if (!(current instanceof Map)) {
+        return null;
+      }
+      current = ((Map<?, ?>) current).get(name);
+    }
+    return current;
+  }
+
+  public static boolean test(Object value, int operator, long literal) {
+    if (value instanceof Integer
+        || value instanceof Long
+        || value instanceof Short
+        || value instanceof Byte) {
+      return test(operator, Long.compare(((Number) value).longValue(), literal));
+    }
+    if (value instanceof BigDecimal) {
+      return test(operator, ((BigDecimal) value).compareTo(BigDecimal.valueOf(literal)));
+    }
+    if (value instanceof BigInteger) {
+      return test(operator, ((BigInteger) value).compareTo(BigInteger.valueOf(literal)));
+    }
+    if (value instanceof Number) {
+      return test(operator, Double.compare(((Number) value).doubleValue(), (double) literal));
+    }
+    return incomparable(operator);
+  }
+
+  public static boolean test(Object value, int operator, double literal) {
+    if (value instanceof Number) {
+      return test(operator, Double.compare(((Number) value).doubleValue(), literal));
+    }
+    return incomparable(operator);
+  }
+
+  public static boolean test(Object value, int operator, boolean literal) {
+    if (value instanceof Boolean) {
+      return test(operator, Boolean.compare((Boolean) value, literal));
+    }
+    return incomparable(operator);
+  }
+
+  public static boolean test(Object value, int operator, String literal) {
+    if (value instanceof CharSequence) {
+      return test(operator, value.toString().compareTo(literal));
+    }
+    return incomparable(operator);
+  }
+
+  /**
+   * Compares against a value whose type is only known at evaluation time e.g. the value of a bind
+   * parameter.
+   */
+  @SuppressWarnings("unchecked")
+  public static boolean test(Object value, int operator, Object literal) {
+    if (literal == null) {
+      return operator == EQ ? value == null : operator == NE && value != null;
+    }
+    if (literal instanceof Integer || literal instanceof Long) {
+      return test(value, operator, ((Number) literal).longValue());
+    }
+    if (literal instanceof Number) {
+      return test(value, operator, ((Number) literal).doubleValue());
+    }
+    if (literal instanceof Boolean) {
+      return test(value, operator, ((Boolean) literal).booleanValue());
+    }
+    if (literal instanceof CharSequence) {
+      return test(value, operator, literal.toString());
+    }
+    if (value != null
+        && literal instanceof Comparable
+        && literal.getClass().isAssignableFrom(value.getClass())) {
+      return test(operator, ((Comparable<Object>) value).compareTo(literal));
+    }
+    return incomparable(operator);
+  }
+
+  public static boolean startsWith(Object value, String literal) {
+    return value != null && value.toString().startsWith(literal);
+  }
+
+  public static boolean endsWith(Object value, String literal) {
+    return value != null && value.toString().endsWith(literal);
+  }
+
+  public static boolean contains(Object value, String literal) {
+    return value != null && value.toString().contains(literal);
+  }
+
+  public static boolean matches(Object value, String literal) {
+    return value != null && value.toString().equals(literal);
+  }
+
+  public static boolean matches(Object value, Pattern pattern) {
+    return value != null && pattern.matcher(value.toString()).find();
+  }
+
+  private static boolean test(int operator, int comparison) {
+    switch (operator) {
+      case EQ:
+        return comparison == 0;
+      case NE:
+        return comparison != 0;
+      case GT:
+        return comparison > 0;
+      case GE:
+        return comparison >= 0;
+      case LT:
+        return comparison < 0;
+      case LE:
+        return comparison <= 0;
+      default:
+        throw new IllegalArgumentException("Unsupported operator: " + operator);
+    }
+  }
+
+  private static boolean incomparable(int operator) {
+    return operator == NE;
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine.aggregate;
+
+import io.github.glytching.dragoman.ql.domain.Projection;
+
+/**
+ * Accumulates the values of one aggregate projection for one group. The running state is held in
+ * primitives so accumulating a value allocates nothing. Integral values (int, long etc) are
+ * accumulated as longs until the first non integral value is seen after which the accumulator
+ * switches to doubles.
+ *
+ * <p>The semantics follow MongoDB's accumulators:
+ *
+ * <ul>
+ *   <li>{@code count(*)} counts rows, {@code count(a)} counts rows in which {@code a} is not null
+ *   <li>{@code sum} and {@code avg} ignore non numeric values, the sum of no values is zero and
+ *       the average of no values is null
+ *   <li>{@code min} and {@code max} prefer numeric values, if there are none they fall back to
+ *       comparing any {@link Comparable} values (e.g. strings)
+ * </ul>
+ */
+final class Accumulator {
+  private final Projection.Function function;
+  private final boolean countAll;
+
+  private long count;
+  private boolean integral = true;
+  private long longValue;
+  private double doubleValue;
+  private Comparable<Object> comparableValue;
+
+  Accumulator(Projection projection) {
+    this.function = projection.getFunction();
+    this.countAll = Projection.ALL.equals(projection.getName());
+  }
+
+  void accept(Object value) {
+    if (function == Projection.Function.COUNT) {
+      if (countAll || value != null) {
+        count++;
+      }
+    } else if (value instanceof Number) {
+      if (isIntegral(value)) {
+        acceptLong(((Number) value).longValue());
+      } else {
+        acceptDouble(((Number) value).doubleValue());
+      }
+    } else if (value instanceof Comparable && count == 0) {
+      acceptComparable(value);
+    }
+  }
+
+  Object get() {
+    switch (function) {
+      case COUNT:
+        return count;
+      case SUM:
+        return integral ? (Object) longValue : (Object) doubleValue;
+      case AVG:
+        return count == 0 ? null : (integral ? (double) longValue : doubleValue) / count;
+      default:
+        if (count == 0) {
+          return comparableValue;
+        }
+        return integral ? (Object) longValue : (Object) doubleValue;
+    }
+  }
+
+  private void acceptLong(long value) {
+    if (!integral) {
+      acceptDouble(value);
+      return;
+    }
+    if (count == 0) {
+      longValue = value;
+    } else if (function == Projection.Function.MIN) {
+      longValue = Math.min(longValue, value);
+    } else if (function == Projection.Function.MAX) {
+      longValue = Math.max(longValue, value);
+    } else {
+      longValue += value;
+    }
+    count++;
+  }
+
+  private void acceptDouble(double value) {
+    if (integral) {
+      // switch to doubles, carrying over whatever has been accumulated so far
+      integral = false;
+      doubleValue = longValue;
+    }
+    if (count == 0) {
+      doubleValue = value;
+    } else if (function == Projection.Function.MIN) {
+      doubleValue = Math.min(doubleValue, value);
+    } else if (function == Projection.Function.MAX) {
+      doubleValue = Math.max(doubleValue, value);
+    } else {
+      doubleValue += value;
+    }
+    count++;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void acceptComparable(Object value) {
+    if (function != Projection.Function.MIN && function != Projection.Function.MAX) {
+      return;
+    }
+    if (comparableValue == null) {
+      comparableValue = (Comparable<Object>) value;
+    } else if (comparableValue.getClass() == value.getClass()) {
+      int comparison = comparableValue.compareTo(value);
+      if (function == Projection.Function.MIN ? comparison > 0 : comparison < 0) {
+        comparableValue = (Comparable<Object>) value;
+      }
+    }
+  }
+
+  private boolean isIntegral(Object value) {
+    return value instanceof Integer
+        || value instanceof Long
+        || value instanceof Short
+        || value instanceof Byte;
+  }
+}
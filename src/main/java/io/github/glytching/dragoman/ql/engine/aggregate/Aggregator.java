@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine.aggregate;
+
+import com.google.common.collect.Maps;
+import io.github.glytching.dragoman.ql.domain.Projection;
+import io.github.glytching.dragoman.ql.domain.SelectClause;
+import io.github.glytching.dragoman.ql.engine.Values;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Applies an aggregate {@link SelectClause} to a stream of rows in a single pass. Each row is
+ * folded into the {@link Accumulator}s for its group as it arrives and is then discarded so the
+ * memory used by an aggregator is bounded by the number of groups rather than the number of rows.
+ *
+ * <p>Instances are not thread safe, use one instance per stream. Create instances via the {@link
+ * AggregatorFactory}.
+ */
+public class Aggregator {
+  private final List<Projection> projections;
+  private final List<String> groupBy;
+  private final String[][] groupByPaths;
+  private final String[][] aggregatePaths;
+  private final Projection[] aggregates;
+  private final Map<Object, Accumulator[]> groups;
+  private final IntConsumer cardinalityListener;
+
+  Aggregator(SelectClause selectClause, int expectedGroups, IntConsumer cardinalityListener) {
+    this.projections = selectClause.getProjections();
+    this.groupBy = selectClause.getGroupBy();
+    this.groupByPaths = toPaths(groupBy);
+    this.aggregates =
+        projections.stream().filter(Projection::isAggregate).toArray(Projection[]::new);
+    this.aggregatePaths = new String[aggregates.length][];
+    for (int i = 0; i < aggregates.length; i++) {
+      // count(*) reads nothing
+      aggregatePaths[i] =
+          Projection.ALL.equals(aggregates[i].getName()) ? null : toPath(aggregates[i].getName());
+    }
+    this.groups = Maps.newLinkedHashMapWithExpectedSize(expectedGroups);
+    this.cardinalityListener = cardinalityListener;
+  }
+
+  /**
+   * Folds the given {@code incoming} row into the accumulators for its group.
+   *
+   * @param incoming a row, typically a {@link Map}
+   */
+  public void accept(Object incoming) {
+    Accumulator[] accumulators = groups.computeIfAbsent(toKey(incoming), key -> newAccumulators());
+    for (int i = 0; i < accumulators.length; i++) {
+      String[] path = aggregatePaths[i];
+      accumulators[i].accept(path == null ? incoming : Values.navigate(incoming, path));
+    }
+  }
+
+  /**
+   * @return one row per group, in the order in which the groups were first seen, each row contains
+   *     the projections of the select clause keyed by their output name (see {@link
+   *     Projection#getOutputName()})
+   */
+  public List<Map<String, Object>> getResults() {
+    cardinalityListener.accept(groups.size());
+
+    List<Map<String, Object>> results = new ArrayList<>(groups.size());
+    for (Map.Entry<Object, Accumulator[]> group : groups.entrySet()) {
+      results.add(toRow(group.getKey(), group.getValue()));
+    }
+    return results;
+  }
+
+  private Map<String, Object> toRow(Object key, Accumulator[] accumulators) {
+    Map<String, Object> row = new LinkedHashMap<>();
+    int aggregateIndex = 0;
+    for (Projection projection : projections) {
+      if (projection.isAggregate()) {
+        row.put(projection.getOutputName(), accumulators[aggregateIndex++].get());
+      } else {
+        row.put(projection.getOutputName(), toGroupValue(key, projection.getName()));
+      }
+    }
+    return row;
+  }
+
+  private Object toKey(Object incoming) {
+    if (groupByPaths.length == 0) {
+      // a single group
+      return Boolean.TRUE;
+    }
+    if (groupByPaths.length == 1) {
+      return Values.navigate(incoming, groupByPaths[0]);
+    }
+    Object[] key = new Object[groupByPaths.length];
+    for (int i = 0; i < groupByPaths.length; i++) {
+      key[i] = Values.navigate(incoming, groupByPaths[i]);
+    }
+    return Arrays.asList(key);
+  }
+
+  private Object toGroupValue(Object key, String attribute) {
+    if (groupByPaths.length == 1) {
+      return key;
+    }
+    return ((List<?>) key).get(groupBy.indexOf(attribute));
+  }
+
+  private Accumulator[] newAccumulators() {
+    Accumulator[] accumulators = new Accumulator[aggregates.length];
+    for (int i = 0; i < aggregates.length; i++) {
+      accumulators[i] = new Accumulator(aggregates[i]);
+    }
+    return accumulators;
+  }
+
+  private static String[][] toPaths(List<String> attributes) {
+    String[][] paths = new String[attributes.size()][];
+    for (int i = 0; i < attributes.size(); i++) {
+      paths[i] = toPath(attributes.get(i));
+    }
+    return paths;
+  }
+
+  private static String[] toPath(String attribute) {
+    return attribute.split("\\.");
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine.aggregate;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.github.glytching.dragoman.ql.domain.SelectClause;
+
+import javax.inject.Singleton;
+import java.util.Optional;
+
+/**
+ * Creates {@link Aggregator}s. The number of groups produced by each aggregation is remembered,
+ * keyed on the caller's description of the aggregation (typically the dataset and the select
+ * clause), so that the next aggregator created for the same key can size its group table up front
+ * rather than rehashing its way up from the default size.
+ */
+@Singleton
+public class AggregatorFactory {
+  private static final int DEFAULT_EXPECTED_GROUPS = 16;
+  private static final int MAXIMUM_HINTS = 1000;
+
+  private final Cache<String, Integer> cardinalityHints =
+      CacheBuilder.newBuilder().maximumSize(MAXIMUM_HINTS).build();
+
+  /**
+   * @param key identifies the aggregation, aggregations with the same key are expected to produce
+   *     a similar number of groups
+   * @param selectClause an aggregate select clause
+   * @return an {@link Aggregator} for the given {@code selectClause}
+   */
+  public Aggregator create(String key, SelectClause selectClause) {
+    int expectedGroups =
+        selectClause.getGroupBy().isEmpty()
+            ? 1
+            : getExpectedGroups(key).orElse(DEFAULT_EXPECTED_GROUPS);
+    return new Aggregator(
+        selectClause, expectedGroups, groups -> cardinalityHints.put(key, groups));
+  }
+
+  /**
+   * @param key identifies an aggregation
+   * @return the number of groups produced by the last aggregation for the given {@code key}, if any
+   */
+  public Optional<Integer> getExpectedGroups(String key) {
+    return Optional.ofNullable(cardinalityHints.getIfPresent(key));
+  }
+}
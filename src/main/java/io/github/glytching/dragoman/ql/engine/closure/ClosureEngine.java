@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine.closure;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.Timer;
+import io.github.glytching.dragoman.ql.domain.Predicate;
+import io.github.glytching.dragoman.ql.domain.Projection;
+import io.github.glytching.dragoman.ql.domain.SelectClause;
+import io.github.glytching.dragoman.ql.domain.WhereClause;
+import io.github.glytching.dragoman.ql.engine.ExpressionEngine;
+import io.github.glytching.dragoman.ql.engine.Filter;
+import io.github.glytching.dragoman.ql.engine.Mapper;
+import io.github.glytching.dragoman.ql.engine.RowOperator;
+import io.github.glytching.dragoman.ql.engine.Values;
+import io.github.glytching.dragoman.ql.parser.SelectClauseParser;
+import io.github.glytching.dragoman.ql.parser.WhereClauseParser;
+
+import javax.inject.Inject;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An {@link ExpressionEngine} which generates no code at all. A {@code where} expression becomes a
+ * tree of pre-bound lambdas, one per {@link Predicate}, and a {@code select} expression becomes a
+ * list of pre-split attribute paths. Since there is nothing to compile or load the cost of creating
+ * a filter or mapper is little more than the cost of parsing the expression (and parsed
+ * expressions are cached) so this engine suits ad hoc queries.
+ *
+ * <p>The filters do not allocate when they are applied: attribute values are read via {@link
+ * Values#navigate(Object, String[])} and compared with literals which were unboxed when the tree
+ * was built. The only exception is a {@code like} predicate which needs a regular expression, since
+ * matching a regular expression requires a {@link java.util.regex.Matcher}.
+ */
+public class ClosureEngine implements ExpressionEngine {
+  private static final Filter ACCEPT_ALL = (incoming, parameters) -> true;
+  private static final Filter REJECT_ALL = (incoming, parameters) -> false;
+
+  private final SelectClauseParser selectClauseParser;
+  private final WhereClauseParser whereClauseParser;
+  private final Timer createTimer;
+
+  @Inject
+  public ClosureEngine(SelectClauseParser selectClauseParser, WhereClauseParser whereClauseParser) {
+    this.selectClauseParser = selectClauseParser;
+    this.whereClauseParser = whereClauseParser;
+    this.createTimer = new Timer();
+  }
+
+  @Override
+  public Filter createFilter(String expression) {
+    try (Timer.Context ignored = createTimer.time()) {
+      return toFilter(whereClauseParser.get(WhereClause.class, expression));
+    }
+  }
+
+  @Override
+  public Mapper createProjector(String expression) {
+    try (Timer.Context ignored = createTimer.time()) {
+      return toMapper(selectClauseParser.get(SelectClause.class, expression));
+    }
+  }
+
+  /**
+   * Creates a {@link FusedOperator} which reads each attribute referenced by the given {@code
+   * select} and {@code where} once per row.
+   *
+   * @param select a {@code select} expression
+   * @param where a {@code where} expression
+   * @return a {@link RowOperator} which applies the given {@code where} and {@code select}
+   */
+  @Override
+  public RowOperator createOperator(String select, String where) {
+    try (Timer.Context ignored = createTimer.time()) {
+      WhereClause whereClause = whereClauseParser.get(WhereClause.class, where);
+      if (whereClause.isUnsatisfiable()) {
+        return (incoming, parameters) -> null;
+      }
+      return new FusedOperator(
+          selectClauseParser.get(SelectClause.class, select), whereClause.getPredicates());
+    }
+  }
+
+  /** @return the number of filters, mappers and operators created by this engine */
+  public long getCreateCount() {
+    return createTimer.getCount();
+  }
+
+  @Override
+  public Map<String, Metric> getMetrics() {
+    Map<String, Metric> metrics = new HashMap<>();
+    metrics.put("closure-create-count", (Gauge<Long>) this::getCreateCount);
+    metrics.put("closure-create-latency", createTimer);
+    return metrics;
+  }
+
+  private static Filter toFilter(WhereClause whereClause) {
+    if (whereClause.isUnsatisfiable()) {
+      return REJECT_ALL;
+    }
+
+    List<Predicate> predicates = whereClause.getPredicates();
+    if (predicates.isEmpty()) {
+      return ACCEPT_ALL;
+    }
+    if (predicates.size() == 1) {
+      return toFilter(predicates.get(0));
+    }
+
+    Filter[] filters = new Filter[predicates.size()];
+    for (int i = 0; i < filters.length; i++) {
+      filters[i] = toFilter(predicates.get(i));
+    }
+    return (incoming, parameters) -> {
+      for (Filter filter : filters) {
+        if (!filter.filter(incoming, parameters)) {
+          return false;
+        }
+      }
+      return true;
+    };
+  }
+
+  private static Mapper toMapper(SelectClause selectClause) {
+    if (selectClause.isSelectAll()) {
+      return ClosureEngine::selectAll;
+    }
+
+    List<Projection> projections = selectClause.getProjections();
+    String[] names = new String[projections.size()];
+    String[][] paths = new String[projections.size()][];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = projections.get(i).getName();
+      paths[i] = toPath(names[i]);
+    }
+    return incoming -> {
+      Map<String, Object> response = new HashMap<>();
+      for (int i = 0; i < names.length; i++) {
+        response.put(names[i], Values.navigate(incoming, paths[i]));
+      }
+      return response;
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  static Map<String, Object> selectAll(Object incoming) {
+    return (Map<String, Object>) incoming;
+  }
+
+  private static Filter toFilter(Predicate predicate) {
+    String[] path = toPath(predicate.getLhs());
+    ValueTest valueTest = ValueTests.of(predicate);
+    return (incoming, parameters) ->
+        valueTest.test(Values.navigate(incoming, path), parameters);
+  }
+
+  static String[] toPath(String attribute) {
+    return attribute.split("\\.");
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine.closure;
+
+import io.github.glytching.dragoman.ql.domain.Predicate;
+import io.github.glytching.dragoman.ql.domain.Projection;
+import io.github.glytching.dragoman.ql.domain.SelectClause;
+import io.github.glytching.dragoman.ql.engine.RowOperator;
+import io.github.glytching.dragoman.ql.engine.Values;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link RowOperator} which filters and projects a row in a single pass. The access plan, built
+ * once per query, assigns a slot to each distinct attribute path referenced by the {@code select}
+ * or the {@code where}. For each row:
+ *
+ * <ol>
+ *   <li>The attributes referenced by the {@code where} are read into their slots and the
+ *       predicates are applied to the slot values
+ *   <li>If the row matches, the attributes which are only referenced by the {@code select} are read
+ *       into their slots and the slots are returned as a {@link ProjectedRow}
+ * </ol>
+ *
+ * <p>Since the projected attributes occupy the leading slots the row's values array is the slots
+ * array, the only allocations per matching row are that array and its {@link ProjectedRow}.
+ */
+class FusedOperator implements RowOperator {
+
+  private final String[][] paths;
+  private final int[] whereSlots;
+  private final int[] selectOnlySlots;
+  private final int[] predicateSlots;
+  private final ValueTest[] valueTests;
+  private final ProjectedRow.Layout layout;
+
+  FusedOperator(SelectClause selectClause, List<Predicate> predicates) {
+    Map<String, Integer> slots = new LinkedHashMap<>();
+    // projected attributes come first so that slot i holds the value for the row's i-th key
+    List<String> keys = new ArrayList<>();
+    if (!selectClause.isSelectAll()) {
+      for (Projection projection : selectClause.getProjections()) {
+        if (!slots.containsKey(projection.getName())) {
+          slots.put(projection.getName(), slots.size());
+          keys.add(projection.getName());
+        }
+      }
+    }
+
+    Set<Integer> referencedByWhere = new LinkedHashSet<>();
+    this.predicateSlots = new int[predicates.size()];
+    this.valueTests = new ValueTest[predicates.size()];
+    for (int i = 0; i < predicates.size(); i++) {
+      Predicate predicate = predicates.get(i);
+      Integer slot = slots.get(predicate.getLhs());
+      if (slot == null) {
+        slot = slots.size();
+        slots.put(predicate.getLhs(), slot);
+      }
+      referencedByWhere.add(slot);
+      predicateSlots[i] = slot;
+      valueTests[i] = ValueTests.of(predicate);
+    }
+
+    this.paths = new String[slots.size()][];
+    slots.forEach((attribute, slot) -> paths[slot] = ClosureEngine.toPath(attribute));
+
+    this.whereSlots = toArray(referencedByWhere);
+    Set<Integer> selectOnly = new LinkedHashSet<>();
+    for (int slot = 0; slot < keys.size(); slot++) {
+      if (!referencedByWhere.contains(slot)) {
+        selectOnly.add(slot);
+      }
+    }
+    this.selectOnlySlots = toArray(selectOnly);
+    this.layout = selectClause.isSelectAll() ? null : new ProjectedRow.Layout(keys);
+  }
+
+  @Override
+  public Map<String, Object> apply(Object incoming, Map<String, Object> parameters) {
+    Object[] values = new Object[paths.length];
+    for (int slot : whereSlots) {
+      values[slot] = Values.navigate(incoming, paths[slot]);
+    }
+    for (int i = 0; i < valueTests.length; i++) {
+      if (!valueTests[i].test(values[predicateSlots[i]], parameters)) {
+        return null;
+      }
+    }
+
+    if (layout == null) {
+      return ClosureEngine.selectAll(incoming);
+    }
+    for (int slot : selectOnlySlots) {
+      values[slot] = Values.navigate(incoming, paths[slot]);
+    }
+    return new ProjectedRow(layout, values);
+  }
+
+  private int[] toArray(Set<Integer> slots) {
+    int[] array = new int[slots.size()];
+    int i = 0;
+    for (Integer slot : slots) {
+      array[i++] = slot;
+    }
+    return array;
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine.closure;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A projected row. Every row produced by a given query shares that query's {@link Layout} (the
+ * keys, in projection order, and their positions) so a row holds nothing but its values array.
+ *
+ * <p>The values array may be longer than the layout, the trailing values belong to attributes
+ * which the query reads but does not project and are not visible through this map. The value of an
+ * existing key can be replaced but keys cannot be added or removed.
+ */
+class ProjectedRow extends AbstractMap<String, Object> {
+
+  private final Layout layout;
+  private final Object[] values;
+
+  ProjectedRow(Layout layout, Object[] values) {
+    this.layout = layout;
+    this.values = values;
+  }
+
+  @Override
+  public int size() {
+    return layout.keys.length;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return layout.positions.containsKey(key);
+  }
+
+  @Override
+  public Object get(Object key) {
+    Integer position = layout.positions.get(key);
+    return position == null ? null : values[position];
+  }
+
+  @Override
+  public Object put(String key, Object value) {
+    Integer position = layout.positions.get(key);
+    if (position == null) {
+      throw new UnsupportedOperationException(
+          "Cannot add the key: " + key + " to a projected row, its keys are fixed by the query!");
+    }
+    Object previous = values[position];
+    values[position] = value;
+    return previous;
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    return new AbstractSet<Entry<String, Object>>() {
+      @Override
+      public Iterator<Entry<String, Object>> iterator() {
+        return new Iterator<Entry<String, Object>>() {
+          private int position;
+
+          @Override
+          public boolean hasNext() {
+            return position < layout.keys.length;
+          }
+
+          @Override
+          public Entry<String, Object> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            Entry<String, Object> entry =
+                new SimpleImmutableEntry<>(layout.keys[position], values[position]);
+            position++;
+            return entry;
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return layout.keys.length;
+      }
+    };
+  }
+
+  /** The keys of a projected row, built once per query and shared by all of its rows. */
+  static class Layout {
+    private final String[] keys;
+    private final Map<String, Integer> positions;
+
+    Layout(List<String> keys) {
+      this.keys = keys.toArray(new String[0]);
+      this.positions = new HashMap<>();
+      for (int i = 0; i < this.keys.length; i++) {
+        positions.put(this.keys[i], i);
+      }
+    }
+  }
+}
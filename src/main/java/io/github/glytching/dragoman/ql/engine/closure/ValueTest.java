@@ -0,0 +1,31 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine.closure;
+
+import java.util.Map;
+
+/** A test applied to the value of a single attribute, the leaf of a {@link ClosureEngine} tree. */
+@FunctionalInterface
+interface ValueTest {
+
+  /**
+   * @param value the value of the attribute, this is null if the attribute is missing
+   * @param parameters the values for any bind parameters, keyed by parameter name
+   * @return true if the given {@code value} passes this test
+   */
+  boolean test(Object value, Map<String, Object> parameters);
+}
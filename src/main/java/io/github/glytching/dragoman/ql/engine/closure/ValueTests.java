@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine.closure;
+
+import io.github.glytching.dragoman.ql.domain.LikePattern;
+import io.github.glytching.dragoman.ql.domain.Operand;
+import io.github.glytching.dragoman.ql.domain.Predicate;
+import io.github.glytching.dragoman.ql.engine.Values;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/** Builds the {@link ValueTest} for a {@link Predicate}, literals are unboxed once, here. */
+final class ValueTests {
+
+  private ValueTests() {}
+
+  /**
+   * @param predicate a predicate from a {@code where} clause
+   * @return a {@link ValueTest} which applies the given {@code predicate} to an attribute's value
+   */
+  static ValueTest of(Predicate predicate) {
+    List<Operand> operands = predicate.getOperands();
+    switch (predicate.getOperator()) {
+      case EQUALS:
+        return compare(Values.EQ, operands.get(0));
+      case NOT_EQUALS:
+        return compare(Values.NE, operands.get(0));
+      case GREATER_THAN:
+        return compare(Values.GT, operands.get(0));
+      case GREATER_THAN_OR_EQUAL_TO:
+        return compare(Values.GE, operands.get(0));
+      case LESS_THAN:
+        return compare(Values.LT, operands.get(0));
+      case LESS_THAN_OR_EQUAL_TO:
+        return compare(Values.LE, operands.get(0));
+      case BETWEEN:
+        return between(operands);
+      case NOT_BETWEEN:
+        return not(between(operands));
+      case IN:
+        return in(operands);
+      case NOT_IN:
+        return not(in(operands));
+      case LIKE:
+        return like(LikePattern.of(operands.get(0).getText()));
+      case NOT_LIKE:
+        return not(like(LikePattern.of(operands.get(0).getText())));
+      case IS_NULL:
+        return (value, parameters) -> value == null;
+      case IS_NOT_NULL:
+        return (value, parameters) -> value != null;
+      default:
+        throw new IllegalArgumentException("Unsupported operator: " + predicate.getOperator());
+    }
+  }
+
+  private static ValueTest compare(int operator, Operand operand) {
+    switch (operand.getType()) {
+      case PARAMETER:
+        String name = operand.getText();
+        return (value, parameters) -> Values.test(value, operator, parameters.get(name));
+      case INTEGER:
+      case LONG:
+        long longLiteral = ((Number) operand.getValue()).longValue();
+        return (value, parameters) -> Values.test(value, operator, longLiteral);
+      case DOUBLE:
+        double doubleLiteral = (Double) operand.getValue();
+        return (value, parameters) -> Values.test(value, operator, doubleLiteral);
+      case BOOLEAN:
+        boolean booleanLiteral = (Boolean) operand.getValue();
+        return (value, parameters) -> Values.test(value, operator, booleanLiteral);
+      default:
+        // date literals are compared with their string form
+        String stringLiteral = operand.getText();
+        return (value, parameters) -> Values.test(value, operator, stringLiteral);
+    }
+  }
+
+  private static ValueTest between(List<Operand> operands) {
+    // 'x between 5 and 10' means: x >= 5 and x < 10
+    ValueTest lower = compare(Values.GE, operands.get(0));
+    ValueTest upper = compare(Values.LT, operands.get(1));
+    return (value, parameters) -> lower.test(value, parameters) && upper.test(value, parameters);
+  }
+
+  private static ValueTest in(List<Operand> operands) {
+    ValueTest[] candidates = new ValueTest[operands.size()];
+    for (int i = 0; i < candidates.length; i++) {
+      candidates[i] = compare(Values.EQ, operands.get(i));
+    }
+    return (value, parameters) -> {
+      for (ValueTest candidate : candidates) {
+        if (candidate.test(value, parameters)) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  private static ValueTest like(LikePattern likePattern) {
+    String literal = likePattern.getLiteral();
+    switch (likePattern.getShape()) {
+      case EXACT:
+        return (value, parameters) -> Values.matches(value, literal);
+      case PREFIX:
+        return (value, parameters) -> Values.startsWith(value, literal);
+      case SUFFIX:
+        return (value, parameters) -> Values.endsWith(value, literal);
+      case CONTAINS:
+        return (value, parameters) -> Values.contains(value, literal);
+      default:
+        Pattern pattern = Pattern.compile(likePattern.getRegex());
+        return (value, parameters) -> Values.matches(value, pattern);
+    }
+  }
+
+  private static ValueTest not(ValueTest valueTest) {
+    return (value, parameters) -> !valueTest.test(value, parameters);
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine.janino;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.Timer;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.github.glytching.dragoman.ql.domain.SelectClause;
+import io.github.glytching.dragoman.ql.domain.WhereClause;
+import io.github.glytching.dragoman.ql.engine.ExpressionEngine;
+import io.github.glytching.dragoman.ql.engine.Filter;
+import io.github.glytching.dragoman.ql.engine.Mapper;
+import io.github.glytching.dragoman.ql.parser.SelectClauseParser;
+import io.github.glytching.dragoman.ql.parser.WhereClauseParser;
+import org.codehaus.commons.compiler.CompileException;
+import org.codehaus.janino.ClassBodyEvaluator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link ExpressionEngine} which uses Janino to compile {@code where} and {@code select}
+ * expressions into statically typed Java classes. Unlike the Groovy classes created by {@code
+ * GroovyFactory} the generated classes navigate documents and compare values without any dynamic
+ * dispatch and Janino compiles them much faster than Groovy does.
+ */
+public class JaninoFactory implements ExpressionEngine {
+  private static final Logger logger = LoggerFactory.getLogger(JaninoFactory.class);
+
+  private final SelectClauseParser selectClauseParser;
+  private final WhereClauseParser whereClauseParser;
+  private final Cache<String, Object> cache;
+  private final Timer compileTimer;
+
+  @Inject
+  public JaninoFactory(SelectClauseParser selectClauseParser, WhereClauseParser whereClauseParser) {
+    this.selectClauseParser = selectClauseParser;
+    this.whereClauseParser = whereClauseParser;
+    this.compileTimer = new Timer();
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(2000)
+            .initialCapacity(1000)
+            .expireAfterWrite(1, TimeUnit.HOURS)
+            .recordStats()
+            .build();
+  }
+
+  /**
+   * @param expression a 'where clause'
+   * @return a Janino compiled implementation of our Filter, specific to the given expression
+   */
+  @Override
+  public Filter createFilter(String expression) throws JaninoFactoryException {
+    WhereClause whereClause = whereClauseParser.get(WhereClause.class, expression);
+    String classBody = new JaninoSourceGenerator().filter(whereClause);
+
+    logger.debug("From the the expression: {} comes the filter: [{}]", expression, classBody);
+
+    return create(Filter.class, classBody);
+  }
+
+  /**
+   * @param expression a 'map clause'
+   * @return a Janino compiled implementation of our Mapper, specific to the given expression
+   */
+  @Override
+  public Mapper createProjector(String expression) throws JaninoFactoryException {
+    SelectClause selectClause = selectClauseParser.get(SelectClause.class, expression);
+    String classBody = new JaninoSourceGenerator().mapper(selectClause);
+
+    logger.debug("From the the expression: {} comes the mapper: [{}]", expression, classBody);
+
+    return create(Mapper.class, classBody);
+  }
+
+  @Override
+  public Optional<String> describeFilter(String expression) {
+    return Optional.of(
+        new JaninoSourceGenerator().filter(whereClauseParser.get(WhereClause.class, expression)));
+  }
+
+  @Override
+  public Optional<String> describeProjector(String expression) {
+    return Optional.of(
+        new JaninoSourceGenerator().mapper(selectClauseParser.get(SelectClause.class, expression)));
+  }
+
+  /** @return the number of classes compiled by this factory since it was created */
+  public long getCompileCount() {
+    return compileTimer.getCount();
+  }
+
+  @Override
+  public Map<String, Metric> getMetrics() {
+    Map<String, Metric> metrics = new HashMap<>();
+    metrics.put("janino-compile-count", (Gauge<Long>) this::getCompileCount);
+    metrics.put("janino-compile-latency", compileTimer);
+    metrics.put("janino-cache-size", (Gauge<Long>) cache::size);
+    metrics.put("janino-cache-hit-rate", (Gauge<Double>) () -> cache.stats().hitRate());
+    return metrics;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T create(Class<T> type, String classBody) throws JaninoFactoryException {
+    try {
+      return (T) cache.get(classBody, () -> compile(type, classBody));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      logger.warn(e.getMessage(), e);
+      if (e.getCause() instanceof JaninoFactoryException) {
+        throw (JaninoFactoryException) e.getCause();
+      }
+      throw new JaninoFactoryException(
+          String.format("Exception raised fetching the %s from the cache!", type.getSimpleName()),
+          e);
+    }
+  }
+
+  private Object compile(Class<?> type, String classBody) {
+    // each evaluator has its own class loader so the generated class can be unloaded once it is
+    // evicted from the cache
+    ClassBodyEvaluator classBodyEvaluator = new ClassBodyEvaluator();
+    classBodyEvaluator.setParentClassLoader(JaninoFactory.class.getClassLoader());
+    classBodyEvaluator.setClassName("Janino" + type.getSimpleName());
+    classBodyEvaluator.setImplementedInterfaces(new Class[] {type});
+    try (Timer.Context ignored = compileTimer.time()) {
+      classBodyEvaluator.cook(classBody);
+      return classBodyEvaluator.getClazz().getConstructor().newInstance();
+    } catch (CompileException
+        | InstantiationException
+        | IllegalAccessException
+        | InvocationTargetException
+        | NoSuchMethodException e) {
+      throw new JaninoFactoryException(
+          String.format("Exception creating the %s class instance!", type.getSimpleName()), e);
+    }
+  }
+}
@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine.janino;
+
+import io.github.glytching.dragoman.ql.domain.LikePattern;
+import io.github.glytching.dragoman.ql.domain.Operand;
+import io.github.glytching.dragoman.ql.domain.Predicate;
+import io.github.glytching.dragoman.ql.domain.Projection;
+import io.github.glytching.dragoman.ql.domain.SelectClause;
+import io.github.glytching.dragoman.ql.domain.WhereClause;
+import io.github.glytching.dragoman.ql.engine.Values;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates the Java class body for a {@code Filter} or a {@code Mapper}. The generated code is
+ * statically typed: attribute paths are pre-split into constant arrays, literals are written as
+ * typed constants (so each comparison binds to the {@link Values} overload for its type) and any
+ * regular expressions are compiled once, into constants.
+ *
+ * <p>Janino does not support generics or lambdas so neither is used in the generated code. This is
+ * stateful so use one instance per class body.
+ */
+class JaninoSourceGenerator {
+  private static final String VALUES = Values.class.getName();
+
+  private final StringBuilder constants = new StringBuilder();
+  private final Map<String, String> paths = new LinkedHashMap<>();
+  private int patternCount;
+
+  /**
+   * @param whereClause the where clause to be applied by the generated filter
+   * @return the class body of a {@code Filter} implementation
+   */
+  String filter(WhereClause whereClause) {
+    StringBuilder expression = new StringBuilder();
+    if (whereClause.isUnsatisfiable()) {
+      expression.append("false");
+    } else {
+      for (Predicate predicate : whereClause.getPredicates()) {
+        if (expression.length() > 0) {
+          expression.append("\n        && ");
+        }
+        expression.append("(").append(toExpression(predicate)).append(")");
+      }
+      if (expression.length() == 0) {
+        expression.append("true");
+      }
+    }
+
+    StringBuilder body = new StringBuilder(constants);
+    body.append("public boolean filter(Object incoming, java.util.Map parameters) {\n");
+    // each attribute is navigated once, no matter how many predicates refer to it
+    paths.forEach(
+        (path, local) ->
+            body.append("    Object ")
+                .append(local)
+                .append(" = ")
+                .append(VALUES)
+                .append(".navigate(incoming, ")
+                .append(toPathConstant(local))
+                .append(");\n"));
+    body.append("    return ").append(expression).append(";\n");
+    body.append("}\n");
+    return body.toString();
+  }
+
+  /**
+   * @param selectClause the select clause to be applied by the generated mapper
+   * @return the class body of a {@code Mapper} implementation
+   */
+  String mapper(SelectClause selectClause) {
+    StringBuilder body = new StringBuilder();
+    body.append("public java.util.Map map(Object incoming) {\n");
+    if (selectClause.isSelectAll()) {
+      body.append("    return (java.util.Map) incoming;\n");
+    } else {
+      body.append("    java.util.Map response = new java.util.HashMap();\n");
+      for (Projection projection : selectClause.getProjections()) {
+        String local = toLocal(projection.getName());
+        body.append("    response.put(")
+            .append(toJavaString(projection.getName()))
+            .append(", ")
+            .append(VALUES)
+            .append(".navigate(incoming, ")
+            .append(toPathConstant(local))
+            .append("));\n");
+      }
+      body.append("    return response;\n");
+    }
+    body.append("}\n");
+    return constants + body.toString();
+  }
+
+  private String toExpression(Predicate predicate) {
+    String value = toLocal(predicate.getLhs());
+    List<Operand> operands = predicate.getOperands();
+    switch (predicate.getOperator()) {
+      case EQUALS:
+        return test(value, "EQ", operands.get(0));
+      case NOT_EQUALS:
+        return test(value, "NE", operands.get(0));
+      case GREATER_THAN:
+        return test(value, "GT", operands.get(0));
+      case GREATER_THAN_OR_EQUAL_TO:
+        return test(value, "GE", operands.get(0));
+      case LESS_THAN:
+        return test(value, "LT", operands.get(0));
+      case LESS_THAN_OR_EQUAL_TO:
+        return test(value, "LE", operands.get(0));
+      case BETWEEN:
+        // 'x between 5 and 10' means: x >= 5 and x < 10
+        return between(value, operands);
+      case NOT_BETWEEN:
+        return "!(" + between(value, operands) + ")";
+      case IN:
+        return in(value, operands);
+      case NOT_IN:
+        return "!(" + in(value, operands) + ")";
+      case LIKE:
+        return like(value, LikePattern.of(operands.get(0).getText()));
+      case NOT_LIKE:
+        return "!" + like(value, LikePattern.of(operands.get(0).getText()));
+      case IS_NULL:
+        return value + " == null";
+      case IS_NOT_NULL:
+        return value + " != null";
+      default:
+        throw new IllegalArgumentException("Unsupported operator: " + predicate.getOperator());
+    }
+  }
+
+  private String between(String value, List<Operand> operands) {
+    return test(value, "GE", operands.get(0)) + " && " + test(value, "LT", operands.get(1));
+  }
+
+  private String in(String value, List<Operand> operands) {
+    StringBuilder sb = new StringBuilder();
+    for (Operand operand : operands) {
+      if (sb.length() > 0) {
+        sb.append(" || ");
+      }
+      sb.append(test(value, "EQ", operand));
+    }
+    return sb.toString();
+  }
+
+  private String like(String value, LikePattern likePattern) {
+    String function;
+    String literal;
+    switch (likePattern.getShape()) {
+      case EXACT:
+        function = "matches";
+        literal = toJavaString(likePattern.getLiteral());
+        break;
+      case PREFIX:
+        function = "startsWith";
+        literal = toJavaString(likePattern.getLiteral());
+        break;
+      case SUFFIX:
+        function = "endsWith";
+        literal = toJavaString(likePattern.getLiteral());
+        break;
+      case CONTAINS:
+        function = "contains";
+        literal = toJavaString(likePattern.getLiteral());
+        break;
+      default:
+        function = "matches";
+        literal = "LIKE_" + patternCount++;
+        constants
+            .append("private static final java.util.regex.Pattern ")
+            .append(literal)
+            .append(" = java.util.regex.Pattern.compile(")
+            .append(toJavaString(likePattern.getRegex()))
+            .append(");\n");
+    }
+    return VALUES + "." + function + "(" + value + ", " + literal + ")";
+  }
+
+  private String test(String value, String operator, Operand operand) {
+    return VALUES + ".test(" + value + ", " + VALUES + "." + operator + ", " + toLiteral(operand)
+        + ")";
+  }
+
+  private String toLiteral(Operand operand) {
+    switch (operand.getType()) {
+      case PARAMETER:
+        return "parameters.get(" + toJavaString(operand.getText()) + ")";
+      case INTEGER:
+      case LONG:
+        return operand.getValue() + "L";
+      case DOUBLE:
+        double value = (Double) operand.getValue();
+        if (Double.isInfinite(value)) {
+          // a literal which overflows a double (e.g. 1e400) has no Java literal form
+          return value > 0 ? "Double.POSITIVE_INFINITY" : "Double.NEGATIVE_INFINITY";
+        }
+        return value + "D";
+      case BOOLEAN:
+        return String.valueOf(operand.getValue());
+      default:
+        // date literals are compared with their string form
+        return toJavaString(operand.getText());
+    }
+  }
+
+  /** @return the name of the local variable which holds the value of the given attribute */
+  private String toLocal(String attribute) {
+    String local = paths.get(attribute);
+    if (local == null) {
+      local = "v" + paths.size();
+      paths.put(attribute, local);
+
+      constants.append("private static final String[] ").append(toPathConstant(local));
+      constants.append(" = new String[] {");
+      String[] names = attribute.split("\\.");
+      for (int i = 0; i < names.length; i++) {
+        if (i > 0) {
+          constants.append(", ");
+        }
+        constants.append(toJavaString(names[i]));
+      }
+      constants.append("};\n");
+    }
+    return local;
+  }
+
+  private String toPathConstant(String local) {
+    return "PATH_" + local;
+  }
+
+  private String toJavaString(String value) {
+    StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        sb.append('\\').append(c);
+      } else if (c < 0x20) {
+        // an octal escape, unlike a unicode escape, is not translated before the source is parsed
+        sb.append(String.format("\\%03o", (int) c));
+      } else {
+        sb.append(c);
+      }
+    }
+    return sb.append('"').toString();
+  }
+}
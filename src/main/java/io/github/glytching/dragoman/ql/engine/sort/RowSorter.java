@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine.sort;
+
+import rx.Observable;
+
+import java.util.Map;
+
+/**
+ * Orders rows which cannot be ordered at source (e.g. data read from a HTTP source). Rows are
+ * offered one at a time and the ordered rows are emitted once every row has been offered. Instances
+ * are not thread safe, use one instance per stream and close it once the stream has terminated.
+ * Create instances via the {@link RowSorterFactory}, or let {@link RowSorterFactory#sort} manage
+ * an instance for you.
+ */
+public interface RowSorter extends AutoCloseable {
+
+  /**
+   * @param incoming the source row, from which the sort keys are read
+   * @param row the projection of the given {@code incoming}, this is what will be emitted
+   */
+  void accept(Object incoming, Map<String, Object> row);
+
+  /** @return the projected rows, in order */
+  Observable<Map<String, Object>> getResults();
+
+  /**
+   * Release anything (e.g. temporary files) which this sorter holds outside of the heap, whether
+   * or not its results have been emitted. Sorters which hold nothing outside of the heap can rely
+   * on this default, which does nothing.
+   */
+  @Override
+  default void close() {
+    // no-op
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine.sort;
+
+import io.github.glytching.dragoman.configuration.ApplicationConfiguration;
+import io.github.glytching.dragoman.ql.domain.OrderByClause;
+import rx.Observable;
+import rx.functions.Func1;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Map;
+
+/**
+ * Creates a {@link RowSorter} to suit a query:
+ *
+ * <ul>
+ *   <li>With a limit: a {@link TopNRowSorter} which holds at most {@code limit} rows
+ *   <li>Without a limit: a {@link SpillingRowSorter} which sorts in memory until the number of rows
+ *       reaches the {@code query.sort.spill.threshold} after which it spills sorted runs to
+ *       temporary files and merges them
+ * </ul>
+ */
+@Singleton
+public class RowSorterFactory {
+
+  private final int spillThreshold;
+
+  @Inject
+  public RowSorterFactory(ApplicationConfiguration applicationConfiguration) {
+    this(applicationConfiguration.getQuerySortSpillThreshold());
+  }
+
+  public RowSorterFactory(int spillThreshold) {
+    this.spillThreshold = spillThreshold;
+  }
+
+  /**
+   * @param orderByClause the ordering to be applied
+   * @param maxResults a limit on the number of rows to be emitted, ignored if not greater than zero
+   * @return a {@link RowSorter} for the given {@code orderByClause}
+   */
+  public RowSorter create(OrderByClause orderByClause, int maxResults) {
+    SortKeys sortKeys = new SortKeys(orderByClause);
+    if (maxResults > 0) {
+      return new TopNRowSorter(sortKeys, maxResults);
+    }
+    return new SpillingRowSorter(sortKeys, spillThreshold);
+  }
+
+  /**
+   * Applies the given {@code operator} to each of the given {@code rows} and orders the operator's
+   * output (ignoring nulls). A {@link RowSorter} is created for each subscription and it is closed
+   * when the sorted rows complete, fail or are unsubscribed so nothing which it spills can outlive
+   * the read.
+   *
+   * @param rows the source rows, from which the sort keys are read
+   * @param operator maps a source row to the row to be emitted, or to null if it is to be dropped
+   * @param orderByClause the ordering to be applied
+   * @param maxResults a limit on the number of rows to be emitted, ignored if not greater than zero
+   * @return an observable over the ordered rows
+   */
+  public Observable<Map<String, Object>> sort(
+      Observable<Map<String, Object>> rows,
+      Func1<Map<String, Object>, Map<String, Object>> operator,
+      OrderByClause orderByClause,
+      int maxResults) {
+    return Observable.using(
+        () -> create(orderByClause, maxResults),
+        (RowSorter sorter) ->
+            rows.collect(
+                    () -> sorter,
+                    (RowSorter s, Map<String, Object> incoming) -> {
+                      Map<String, Object> row = operator.call(incoming);
+                      if (row != null) {
+                        s.accept(incoming, row);
+                      }
+                    })
+                .flatMap(RowSorter::getResults),
+        RowSorter::close);
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine.sort;
+
+import java.util.Map;
+
+/**
+ * The compact form in which a row is held while it is being sorted: the row's sort keys, extracted
+ * up front, and the projected row. The source row (which may hold many more attributes than the
+ * projection) is not retained.
+ */
+final class SortEntry {
+  final Object[] keys;
+  final Map<String, Object> row;
+  // the row's position in the source, used to keep the sort stable where that is not a given
+  final long sequence;
+
+  SortEntry(Object[] keys, Map<String, Object> row, long sequence) {
+    this.keys = keys;
+    this.row = row;
+    this.sequence = sequence;
+  }
+}
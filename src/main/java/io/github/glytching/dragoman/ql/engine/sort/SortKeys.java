@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine.sort;
+
+import io.github.glytching.dragoman.ql.domain.OrderBy;
+import io.github.glytching.dragoman.ql.domain.OrderByClause;
+import io.github.glytching.dragoman.ql.engine.Values;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.Temporal;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Extracts the sort keys named in an {@link OrderByClause} from a row and compares extracted keys.
+ * Keys are extracted once per row so comparisons, of which there are many more than rows, never
+ * navigate the row itself.
+ *
+ * <p>Values of different types are ordered in the same way as MongoDB orders them: null (or
+ * missing), numbers, strings, objects, arrays, booleans, dates. Values of the same type are ordered
+ * naturally.
+ */
+final class SortKeys implements Comparator<Object[]> {
+  private final String[][] paths;
+  private final boolean[] ascending;
+
+  SortKeys(OrderByClause orderByClause) {
+    List<OrderBy> orderBys = orderByClause.getOrderBys();
+    this.paths = new String[orderBys.size()][];
+    this.ascending = new boolean[orderBys.size()];
+    for (int i = 0; i < orderBys.size(); i++) {
+      paths[i] = orderBys.get(i).getName().split("\\.");
+      ascending[i] = orderBys.get(i).isAscending();
+    }
+  }
+
+  /**
+   * @param incoming a row, typically a {@link Map}
+   * @return the values of the sort keys in the given {@code incoming}, in order of precedence
+   */
+  Object[] extract(Object incoming) {
+    Object[] keys = new Object[paths.length];
+    for (int i = 0; i < paths.length; i++) {
+      keys[i] = Values.navigate(incoming, paths[i]);
+    }
+    return keys;
+  }
+
+  @Override
+  public int compare(Object[] one, Object[] two) {
+    for (int i = 0; i < paths.length; i++) {
+      int comparison = compareValues(one[i], two[i]);
+      if (comparison != 0) {
+        return ascending[i] ? comparison : -comparison;
+      }
+    }
+    return 0;
+  }
+
+  @SuppressWarnings("unchecked")
+  static int compareValues(Object one, Object two) {
+    int rankComparison = Integer.compare(rank(one), rank(two));
+    if (rankComparison != 0 || one == null) {
+      return rankComparison;
+    }
+    if (one instanceof Number) {
+      return compareNumbers((Number) one, (Number) two);
+    }
+    if (one instanceof CharSequence) {
+      return one.toString().compareTo(two.toString());
+    }
+    if (one instanceof Comparable && one.getClass() == two.getClass()) {
+      return ((Comparable<Object>) one).compareTo(two);
+    }
+    return one.toString().compareTo(two.toString());
+  }
+
+  private static int compareNumbers(Number one, Number two) {
+    if (isIntegral(one) && isIntegral(two)) {
+      return Long.compare(one.longValue(), two.longValue());
+    }
+    if (one instanceof BigDecimal && two instanceof BigDecimal) {
+      return ((BigDecimal) one).compareTo((BigDecimal) two);
+    }
+    return Double.compare(one.doubleValue(), two.doubleValue());
+  }
+
+  private static boolean isIntegral(Number value) {
+    return value instanceof Integer
+        || value instanceof Long
+        || value instanceof Short
+        || value instanceof Byte
+        || (value instanceof BigInteger && ((BigInteger) value).bitLength() < 64);
+  }
+
+  private static int rank(Object value) {
+    if (value == null) {
+      return 0;
+    }
+    if (value instanceof Number) {
+      return 1;
+    }
+    if (value instanceof CharSequence) {
+      return 2;
+    }
+    if (value instanceof Map) {
+      return 3;
+    }
+    if (value instanceof List) {
+      return 4;
+    }
+    if (value instanceof Boolean) {
+      return 5;
+    }
+    if (value instanceof Date || value instanceof Temporal) {
+      return 6;
+    }
+    return 7;
+  }
+}
@@ -0,0 +1,345 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine.sort;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.codecs.BsonTypeClassMap;
+import org.bson.codecs.BsonValueCodecProvider;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.DocumentCodecProvider;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.ValueCodecProvider;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.io.BasicOutputBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import rx.Observable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * A {@link RowSorter} for ordered queries without a limit. Rows are buffered in their compact form
+ * (see {@link SortEntry}) and sorted in memory. If the number of buffered rows reaches the spill
+ * threshold the buffer is sorted and written to a temporary file (a 'run') and buffering starts
+ * again. When every row has been offered the runs, along with whatever remains in the buffer, are
+ * merged so that at most one row per run is held in memory while the results are emitted. The
+ * temporary files are deleted once the results have been emitted (or the subscriber unsubscribes)
+ * or when this sorter is closed, whichever comes first. Closing covers the cases where the results
+ * are never emitted e.g. the source fails or is unsubscribed while rows are still being offered.
+ *
+ * <p>Runs are written as a sequence of BSON documents so that a spilled key or row has the same
+ * types when it is read back as it had when it was offered (e.g. a {@link java.util.Date} stays a
+ * date and an {@link Integer} is not widened) otherwise the merge would compare spilled keys with
+ * buffered keys of a different type and the emitted rows would depend on the spill threshold. BSON
+ * decimals are read back as {@link BigDecimal}.
+ */
+class SpillingRowSorter implements RowSorter {
+  private static final Logger logger = LoggerFactory.getLogger(SpillingRowSorter.class);
+  private static final String KEYS = "keys";
+  private static final String ROW = "row";
+
+  private static final DocumentCodec CODEC = createCodec();
+  private static final EncoderContext ENCODER_CONTEXT = EncoderContext.builder().build();
+  private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+  private final SortKeys sortKeys;
+  private final int spillThreshold;
+  private final Comparator<SortEntry> order;
+  private final List<Path> runs = new ArrayList<>();
+  private List<SortEntry> buffer = new ArrayList<>();
+  private Merge merge;
+
+  SpillingRowSorter(SortKeys sortKeys, int spillThreshold) {
+    this.sortKeys = sortKeys;
+    this.spillThreshold = spillThreshold;
+    // List.sort is stable so there is no need to break ties on the source position
+    this.order = Comparator.comparing(entry -> entry.keys, sortKeys);
+  }
+
+  @Override
+  public void accept(Object incoming, Map<String, Object> row) {
+    buffer.add(new SortEntry(sortKeys.extract(incoming), row, 0));
+    if (buffer.size() >= spillThreshold) {
+      spill();
+    }
+  }
+
+  @Override
+  public Observable<Map<String, Object>> getResults() {
+    buffer.sort(order);
+    if (runs.isEmpty()) {
+      List<Map<String, Object>> rows = new ArrayList<>(buffer.size());
+      for (SortEntry entry : buffer) {
+        rows.add(entry.row);
+      }
+      buffer = new ArrayList<>();
+      return Observable.from(rows);
+    }
+
+    logger.info("Merging {} sorted runs and {} buffered rows", runs.size(), buffer.size());
+    merge = new Merge(new ArrayList<>(runs), buffer);
+    runs.clear();
+    buffer = new ArrayList<>();
+    Merge results = merge;
+    return Observable.using(results::open, Observable::from, Merge::close);
+  }
+
+  @Override
+  public void close() {
+    if (merge != null) {
+      merge.close();
+      merge = null;
+    }
+    delete(runs);
+    runs.clear();
+    buffer = new ArrayList<>();
+  }
+
+  int getRunCount() {
+    return runs.size();
+  }
+
+  List<Path> getRuns() {
+    return new ArrayList<>(runs);
+  }
+
+  private void spill() {
+    buffer.sort(order);
+    Path run = null;
+    try {
+      run = Files.createTempFile("dragoman-sort-", ".run");
+      try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(run))) {
+        BasicOutputBuffer bson = new BasicOutputBuffer();
+        for (SortEntry entry : buffer) {
+          Document value =
+              new Document(KEYS, Arrays.asList(entry.keys)).append(ROW, new Document(entry.row));
+          bson.truncateToPosition(0);
+          CODEC.encode(new BsonBinaryWriter(bson), value, ENCODER_CONTEXT);
+          bson.pipe(out);
+        }
+      }
+      runs.add(run);
+      logger.debug("Spilled {} sorted rows to {}", buffer.size(), run);
+    } catch (IOException ex) {
+      if (run != null) {
+        delete(Collections.singletonList(run));
+      }
+      throw new UncheckedIOException("Failed to spill sorted rows to a temporary file", ex);
+    }
+    buffer = new ArrayList<>();
+  }
+
+  private static DocumentCodec createCodec() {
+    // by default a BSON decimal is decoded as a Decimal128 rather than as the BigDecimal it was
+    // encoded from
+    BsonTypeClassMap bsonTypeClassMap =
+        new BsonTypeClassMap(Collections.singletonMap(BsonType.DECIMAL128, BigDecimal.class));
+    return new DocumentCodec(
+        CodecRegistries.fromProviders(
+            new ValueCodecProvider(),
+            new BsonValueCodecProvider(),
+            new DocumentCodecProvider(bsonTypeClassMap)),
+        bsonTypeClassMap);
+  }
+
+  private static void delete(List<Path> runs) {
+    for (Path run : runs) {
+      try {
+        Files.deleteIfExists(run);
+      } catch (IOException ex) {
+        logger.warn("Failed to delete sorted run: {}", run, ex);
+      }
+    }
+  }
+
+  /**
+   * A k-way merge of the sorted runs and the remaining buffered rows. The buffered rows were the
+   * last to be offered so they are given the highest index and the cursor with the lowest index
+   * wins a tie, this keeps the merge stable.
+   */
+  private class Merge implements Iterable<Map<String, Object>>, Closeable {
+    private final List<Path> runs;
+    private final List<SortEntry> remaining;
+    private final List<RunReader> readers = new ArrayList<>();
+    private final PriorityQueue<Cursor> cursors;
+
+    private Merge(List<Path> runs, List<SortEntry> remaining) {
+      this.runs = runs;
+      this.remaining = remaining;
+      this.cursors =
+          new PriorityQueue<>(
+              runs.size() + 1,
+              Comparator.<Cursor, SortEntry>comparing(cursor -> cursor.current, order)
+                  .thenComparingInt(cursor -> cursor.index));
+    }
+
+    private Merge open() {
+      try {
+        int index = 0;
+        for (Path run : runs) {
+          RunReader reader = new RunReader(run);
+          readers.add(reader);
+          add(new Cursor(reader, index++));
+        }
+        add(new Cursor(remaining.iterator(), index));
+        return this;
+      } catch (IOException ex) {
+        close();
+        throw new UncheckedIOException("Failed to read a sorted run", ex);
+      }
+    }
+
+    private void add(Cursor cursor) {
+      if (cursor.advance()) {
+        cursors.add(cursor);
+      }
+    }
+
+    @Override
+    public Iterator<Map<String, Object>> iterator() {
+      return new Iterator<Map<String, Object>>() {
+        @Override
+        public boolean hasNext() {
+          return !cursors.isEmpty();
+        }
+
+        @Override
+        public Map<String, Object> next() {
+          Cursor cursor = cursors.poll();
+          if (cursor == null) {
+            throw new NoSuchElementException();
+          }
+          Map<String, Object> row = cursor.current.row;
+          add(cursor);
+          return row;
+        }
+      };
+    }
+
+    @Override
+    public void close() {
+      for (RunReader reader : readers) {
+        try {
+          reader.close();
+        } catch (IOException ex) {
+          logger.warn("Failed to close a sorted run", ex);
+        }
+      }
+      readers.clear();
+      delete(runs);
+    }
+  }
+
+  /** Reads back the entries written to a run by {@link #spill()}. */
+  private static class RunReader implements Iterator<SortEntry>, Closeable {
+    private final DataInputStream in;
+    private Document next;
+
+    private RunReader(Path run) throws IOException {
+      this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+      this.next = read();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public SortEntry next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      Document value = next;
+      try {
+        next = read();
+      } catch (IOException ex) {
+        throw new UncheckedIOException("Failed to read a sorted run", ex);
+      }
+      Object[] keys = ((List<Object>) value.get(KEYS)).toArray();
+      return new SortEntry(keys, (Document) value.get(ROW), 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+
+    /** @return the next document in the run, null if the run is exhausted */
+    private Document read() throws IOException {
+      byte[] length = new byte[4];
+      try {
+        in.readFully(length);
+      } catch (EOFException ex) {
+        return null;
+      }
+      // a BSON document starts with its own (little endian) length, which includes these 4 bytes
+      byte[] bytes = new byte[ByteBuffer.wrap(length).order(ByteOrder.LITTLE_ENDIAN).getInt()];
+      System.arraycopy(length, 0, bytes, 0, length.length);
+      in.readFully(bytes, length.length, bytes.length - length.length);
+      try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(bytes))) {
+        return CODEC.decode(reader, DECODER_CONTEXT);
+      }
+    }
+  }
+
+  private static class Cursor {
+    private final Iterator<SortEntry> entries;
+    private final int index;
+    private SortEntry current;
+
+    private Cursor(Iterator<SortEntry> entries, int index) {
+      this.entries = entries;
+      this.index = index;
+    }
+
+    private boolean advance() {
+      if (entries.hasNext()) {
+        current = entries.next();
+        return true;
+      }
+      current = null;
+      return false;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine.sort;
+
+import rx.Observable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * A {@link RowSorter} for ordered queries with a limit. Only the best {@code limit} rows seen so
+ * far are held, in a bounded heap whose head is the worst of them, so memory is O(limit) no matter
+ * how many rows are offered. A row which is no better than the head is rejected without being
+ * retained.
+ */
+class TopNRowSorter implements RowSorter {
+  private final SortKeys sortKeys;
+  private final int limit;
+  private final Comparator<SortEntry> order;
+  private final PriorityQueue<SortEntry> heap;
+  private long sequence;
+
+  TopNRowSorter(SortKeys sortKeys, int limit) {
+    this.sortKeys = sortKeys;
+    this.limit = limit;
+    // ties are broken on the source position to give the same result as a stable sort
+    this.order =
+        Comparator.<SortEntry, Object[]>comparing(entry -> entry.keys, sortKeys)
+            .thenComparingLong(entry -> entry.sequence);
+    this.heap = new PriorityQueue<>(Math.min(limit, 1024) + 1, order.reversed());
+  }
+
+  @Override
+  public void accept(Object incoming, Map<String, Object> row) {
+    Object[] keys = sortKeys.extract(incoming);
+    long position = sequence++;
+    if (heap.size() < limit) {
+      heap.add(new SortEntry(keys, row, position));
+    } else if (sortKeys.compare(keys, heap.peek().keys) < 0) {
+      // strictly better than the worst retained row, a tie goes to the row which was seen first
+      heap.poll();
+      heap.add(new SortEntry(keys, row, position));
+    }
+  }
+
+  @Override
+  public Observable<Map<String, Object>> getResults() {
+    List<SortEntry> entries = new ArrayList<>(heap);
+    heap.clear();
+    entries.sort(order);
+
+    List<Map<String, Object>> rows = new ArrayList<>(entries.size());
+    for (SortEntry entry : entries) {
+      rows.add(entry.row);
+    }
+    return Observable.from(rows);
+  }
+}
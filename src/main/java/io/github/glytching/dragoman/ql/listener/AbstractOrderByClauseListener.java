@@ -18,8 +18,8 @@ package io.github.glytching.dragoman.ql.listener;
 
 import com.google.common.collect.Lists;
 import io.github.glytching.dragoman.antlr.SQLParser;
+import io.github.glytching.dragoman.antlr.SQLParserBaseListener;
 import io.github.glytching.dragoman.ql.domain.OrderBy;
-import io.github.glytching.dragoman.ql.listener.logging.LoggingListener;
 import io.github.glytching.dragoman.ql.parser.OrderByClauseParser;
 
 import java.util.Collections;
@@ -36,7 +36,7 @@ import java.util.Optional;
  * @param <T> the target type, typically either Bson for a MongoDB source or String for a HTTP
  *     source
  */
-public abstract class AbstractOrderByClauseListener<T> extends LoggingListener {
+public abstract class AbstractOrderByClauseListener<T> extends SQLParserBaseListener {
 
   // final results
   private final List<OrderBy> orderBys;
@@ -18,10 +18,13 @@ package io.github.glytching.dragoman.ql.listener;
 
 import com.google.common.collect.Lists;
 import io.github.glytching.dragoman.antlr.SQLParser;
+import io.github.glytching.dragoman.antlr.SQLParserBaseListener;
+import io.github.glytching.dragoman.ql.SqlParserException;
 import io.github.glytching.dragoman.ql.domain.Projection;
-import io.github.glytching.dragoman.ql.listener.logging.LoggingListener;
+import io.github.glytching.dragoman.ql.domain.SelectClause;
 import io.github.glytching.dragoman.ql.parser.SelectClauseParser;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -36,25 +39,36 @@ import java.util.Optional;
  * @param <T> the target type, typically either Bson for a MongoDB source or String for a HTTP
  *     source
  */
-public abstract class AbstractSelectClauseListener<T> extends LoggingListener {
+public abstract class AbstractSelectClauseListener<T> extends SQLParserBaseListener {
 
   // final state
   private final List<Projection> projections;
+  private final List<String> groupBy;
   // intermediate state
   private Optional<Projection> currentProjection;
+  private Projection.Function currentFunction;
+  private boolean inColumnReference;
+  private boolean inGroupBy;
+  private int derivedColumnStart;
+  private int functionStart;
 
   public AbstractSelectClauseListener() {
     this.projections = Lists.newArrayList();
+    this.groupBy = Lists.newArrayList();
     this.currentProjection = Optional.empty();
   }
 
   @Override
   public void enterIdentifier(SQLParser.IdentifierContext ctx) {
     super.enterIdentifier(ctx);
+    // identifiers outside a column reference (e.g. an alias) are not part of a projection's name
+    if (!inColumnReference) {
+      return;
+    }
     if (currentProjection.isPresent()) {
       currentProjection.get().appendNamePart(ctx.start.getText());
     } else {
-      currentProjection = Optional.of(new Projection(ctx.start.getText()));
+      currentProjection = Optional.of(new Projection(ctx.start.getText(), currentFunction));
     }
   }
 
@@ -62,17 +76,122 @@ public abstract class AbstractSelectClauseListener<T> extends LoggingListener {
   public void enterColumn_reference(SQLParser.Column_referenceContext ctx) {
     super.enterColumn_reference(ctx);
     currentProjection = Optional.empty();
+    inColumnReference = true;
   }
 
   @Override
   public void exitColumn_reference(SQLParser.Column_referenceContext ctx) {
     super.exitColumn_reference(ctx);
-    projections.add(currentProjection.get());
+    inColumnReference = false;
+    if (inGroupBy) {
+      groupBy.add(currentProjection.get().getName());
+    } else {
+      projections.add(currentProjection.get());
+    }
+  }
+
+  // START: AGGREGATES
+  @Override
+  public void enterDerived_column(SQLParser.Derived_columnContext ctx) {
+    super.enterDerived_column(ctx);
+    derivedColumnStart = projections.size();
+  }
+
+  @Override
+  public void exitDerived_column(SQLParser.Derived_columnContext ctx) {
+    super.exitDerived_column(ctx);
+    if (ctx.as_clause() != null && projections.size() == derivedColumnStart + 1) {
+      Projection projection = projections.get(derivedColumnStart);
+      String alias = ctx.as_clause().identifier().getText();
+      // a plain attribute is read as is (e.g. by a MongoDB inclusion projection) so it is always
+      // named by its attribute, only an aggregate's output can be named
+      if (!projection.isAggregate()) {
+        throw new SqlParserException(
+            "Aliases are only supported for aggregate functions, the attribute: "
+                + projection.getName()
+                + " cannot be aliased as: "
+                + alias);
+      }
+      projection.setAlias(alias);
+    }
+  }
+
+  @Override
+  public void enterAggregate_function(SQLParser.Aggregate_functionContext ctx) {
+    super.enterAggregate_function(ctx);
+    if (ctx.filter_clause() != null) {
+      throw new SqlParserException("Aggregate filter clauses are not supported: " + ctx.getText());
+    }
+    if (ctx.MULTIPLY() != null) {
+      // count(*)
+      projections.add(new Projection(Projection.ALL, Projection.Function.COUNT));
+    }
+  }
+
+  @Override
+  public void enterGeneral_set_function(SQLParser.General_set_functionContext ctx) {
+    super.enterGeneral_set_function(ctx);
+    currentFunction = Projection.Function.of(ctx.set_function_type().getText());
+    if (currentFunction == null) {
+      throw new SqlParserException(
+          "Unsupported aggregate function: "
+              + ctx.set_function_type().getText()
+              + ", the supported functions are: "
+              + Arrays.toString(Projection.Function.values()));
+    }
+    if (ctx.set_qualifier() != null && ctx.set_qualifier().DISTINCT() != null) {
+      throw new SqlParserException("Distinct aggregates are not supported: " + ctx.getText());
+    }
+    functionStart = projections.size();
+  }
+
+  @Override
+  public void exitGeneral_set_function(SQLParser.General_set_functionContext ctx) {
+    super.exitGeneral_set_function(ctx);
+    currentFunction = null;
+    if (projections.size() != functionStart + 1) {
+      throw new SqlParserException(
+          "An aggregate function must be applied to a single attribute: " + ctx.getText());
+    }
+  }
+
+  @Override
+  public void enterGroupby_clause(SQLParser.Groupby_clauseContext ctx) {
+    super.enterGroupby_clause(ctx);
+    inGroupBy = true;
   }
 
+  @Override
+  public void exitGroupby_clause(SQLParser.Groupby_clauseContext ctx) {
+    super.exitGroupby_clause(ctx);
+    inGroupBy = false;
+  }
+
+  @Override
+  public void exitSelect_expression(SQLParser.Select_expressionContext ctx) {
+    super.exitSelect_expression(ctx);
+    if (new SelectClause(projections, groupBy).isAggregate()) {
+      // in an aggregate select, a plain attribute is only meaningful if it is a grouping attribute
+      for (Projection projection : projections) {
+        if (!projection.isAggregate() && !groupBy.contains(projection.getName())) {
+          throw new SqlParserException(
+              "The attribute: "
+                  + projection.getName()
+                  + " must either appear in the group by clause or be used in an aggregate"
+                  + " function!");
+        }
+      }
+    }
+  }
+  // END: AGGREGATES
+
   protected List<Projection> getProjections() {
     return Collections.unmodifiableList(projections);
   }
 
+  protected List<String> getGroupBy() {
+    return Collections.unmodifiableList(groupBy);
+  }
+
   public abstract T get();
 }
@@ -18,8 +18,11 @@ package io.github.glytching.dragoman.ql.listener;
 
 import com.google.common.collect.Lists;
 import io.github.glytching.dragoman.antlr.SQLParser;
+import io.github.glytching.dragoman.antlr.SQLParserBaseListener;
+import io.github.glytching.dragoman.ql.domain.Operand;
 import io.github.glytching.dragoman.ql.domain.Predicate;
-import io.github.glytching.dragoman.ql.listener.logging.LoggingListener;
+import io.github.glytching.dragoman.ql.domain.WhereClause;
+import io.github.glytching.dragoman.ql.domain.WhereClauseNormaliser;
 import io.github.glytching.dragoman.ql.parser.WhereClauseParser;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.antlr.v4.runtime.tree.TerminalNode;
@@ -37,20 +40,24 @@ import java.util.List;
  * @param <T> the target type, typically either Bson for a MongoDB source or String for a HTTP
  *     source
  */
-public abstract class AbstractWhereClauseListener<T> extends LoggingListener {
+public abstract class AbstractWhereClauseListener<T> extends SQLParserBaseListener {
   private static final String FIELD_SEPARATOR = ".";
   private static final String AND = "and";
   private static final String NOT = "not";
+  private static final String PARAMETER_PREFIX = ":";
+  private static final WhereClauseNormaliser NORMALISER = new WhereClauseNormaliser();
   // final results
   private final List<Predicate> predicates;
   // controllers
   private boolean inInClause;
   private boolean inNullClause;
   private boolean inBetweenClause;
+  private boolean inParameterMarker;
   private boolean skipNextTerminal;
   // intermediate state
   private Predicate currentPredicate;
   private boolean negative;
+  private WhereClause whereClause;
 
   public AbstractWhereClauseListener() {
     this.predicates = Lists.newArrayList();
@@ -72,6 +79,10 @@ public abstract class AbstractWhereClauseListener<T> extends LoggingListener {
   @Override
   public void enterIdentifier(SQLParser.IdentifierContext ctx) {
     super.enterIdentifier(ctx);
+    if (inParameterMarker) {
+      // this is the parameter's name, not part of the predicate's field name
+      return;
+    }
     currentPredicate.appendLhsPart(ctx.start.getText());
     skipNextTerminal = true;
   }
@@ -79,8 +90,7 @@ public abstract class AbstractWhereClauseListener<T> extends LoggingListener {
   @Override
   public void enterComp_op(SQLParser.Comp_opContext ctx) {
     super.enterComp_op(ctx);
-    String text = ctx.getText();
-    currentPredicate.setOperator(text);
+    currentPredicate.setOperator(toOperator(ctx.start.getType()));
     skipNextTerminal = true;
   }
 
@@ -106,6 +116,24 @@ public abstract class AbstractWhereClauseListener<T> extends LoggingListener {
     }
   }
 
+  // START: PARAMETER
+  @Override
+  public void enterParameter_marker(SQLParser.Parameter_markerContext ctx) {
+    super.enterParameter_marker(ctx);
+    // in and between clauses gather their own operands, including any parameters
+    if (!inInClause && !inBetweenClause) {
+      addRhs(ctx.getText());
+    }
+    inParameterMarker = true;
+  }
+
+  @Override
+  public void exitParameter_marker(SQLParser.Parameter_markerContext ctx) {
+    super.exitParameter_marker(ctx);
+    inParameterMarker = false;
+  }
+  // END: PARAMETER
+
   // START: LIKE
   @Override
   public void enterPattern_matcher(SQLParser.Pattern_matcherContext ctx) {
@@ -120,11 +148,7 @@ public abstract class AbstractWhereClauseListener<T> extends LoggingListener {
       }
     }
 
-    if (currentPredicate.isNegated()) {
-      currentPredicate.setOperator("not like");
-    } else {
-      currentPredicate.setOperator("like");
-    }
+    currentPredicate.likeOperator();
     skipNextTerminal = true;
   }
 
@@ -222,12 +246,70 @@ public abstract class AbstractWhereClauseListener<T> extends LoggingListener {
 
   public abstract T get();
 
+  /** @return the normalised predicates, see {@link #getWhereClause()} */
   public List<Predicate> getPredicates() {
-    return Collections.unmodifiableList(predicates);
+    return getWhereClause().getPredicates();
+  }
+
+  /**
+   * @return the predicates gathered by this listener, normalised by the {@link
+   *     WhereClauseNormaliser}
+   */
+  public WhereClause getWhereClause() {
+    if (whereClause == null) {
+      whereClause = getNormaliser().normalise(Collections.unmodifiableList(predicates));
+    }
+    return whereClause;
+  }
+
+  /**
+   * @return the normaliser for this listener's target, by default this assumes that each field
+   *     holds a single value
+   */
+  protected WhereClauseNormaliser getNormaliser() {
+    return NORMALISER;
+  }
+
+  /**
+   * @param literal a literal typed as described by {@link Operand}
+   * @return the given {@code literal} typed for this listener's target, by default the literal is
+   *     used as is
+   */
+  protected Operand typeLiteral(Operand literal) {
+    return literal;
   }
 
   private void addRhs(String value) {
-    currentPredicate.addRhs(negative ? "-" + value : value);
+    if (isParameter(value)) {
+      currentPredicate.addParameter(value.substring(PARAMETER_PREFIX.length()));
+    } else {
+      currentPredicate.addRhs(typeLiteral(Operand.literal(negative ? "-" + value : value)));
+    }
+  }
+
+  private boolean isParameter(String value) {
+    // string literals are quoted so only a parameter marker can start with the prefix
+    return value.startsWith(PARAMETER_PREFIX);
+  }
+
+  private Predicate.Operator toOperator(int tokenType) {
+    switch (tokenType) {
+      case SQLParser.EQUAL:
+        return Predicate.Operator.EQUALS;
+      case SQLParser.NOT_EQUAL:
+        return Predicate.Operator.NOT_EQUALS;
+      case SQLParser.LTH:
+        return Predicate.Operator.LESS_THAN;
+      case SQLParser.LEQ:
+        return Predicate.Operator.LESS_THAN_OR_EQUAL_TO;
+      case SQLParser.GTH:
+        return Predicate.Operator.GREATER_THAN;
+      case SQLParser.GEQ:
+        return Predicate.Operator.GREATER_THAN_OR_EQUAL_TO;
+      default:
+        throw new IllegalStateException(
+            "Unsupported comparison operator: " + SQLParser.VOCABULARY.getDisplayName(tokenType));
+    }
   }
 
   private boolean isNot(String text) {
@@ -239,7 +321,11 @@ public abstract class AbstractWhereClauseListener<T> extends LoggingListener {
   }
 
   private boolean handleThisTerminal() {
-    return !skipNextTerminal && !inInClause && !inNullClause && !inBetweenClause;
+    return !skipNextTerminal
+        && !inInClause
+        && !inNullClause
+        && !inBetweenClause
+        && !inParameterMarker;
   }
 
   private void enterInClause() {
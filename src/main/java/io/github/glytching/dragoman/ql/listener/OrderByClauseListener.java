@@ -14,16 +14,14 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package io.github.glytching.dragoman.ql.listener.groovy;
+package io.github.glytching.dragoman.ql.listener;
 
-/** Interface which defines the filter feature for dynamically generated Groovy classes. */
-public interface Filter {
+import io.github.glytching.dragoman.ql.domain.OrderByClause;
 
-  /**
-   * Assess whether the given {@code object} matches the terms of this filter
-   *
-   * @param incoming an object to be filtered
-   * @return true if the given {@code object} matches the filter
-   */
-  boolean filter(Object incoming);
+public class OrderByClauseListener extends AbstractOrderByClauseListener<OrderByClause> {
+
+  @Override
+  public OrderByClause get() {
+    return new OrderByClause(getOrderBys());
+  }
 }
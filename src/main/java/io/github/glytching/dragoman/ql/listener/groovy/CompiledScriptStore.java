@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.listener.groovy;
+
+import com.google.common.hash.Hashing;
+import groovy.lang.GroovySystem;
+import io.github.glytching.dragoman.configuration.ApplicationConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * Persists the byte code of compiled Groovy scripts to local disk, keyed by a hash of the script
+ * (and the Groovy version), so that a restarted node can load a script's classes rather than
+ * recompiling the script. Persistence is disabled if no directory is configured.
+ *
+ * <p>This is a cache, not a store of record: any failure to read or write an entry is logged and
+ * the caller falls back to compiling the script.
+ */
+@Singleton
+public class CompiledScriptStore {
+  private static final Logger logger = LoggerFactory.getLogger(CompiledScriptStore.class);
+  private static final String SUFFIX = ".classes";
+
+  private final Path directory;
+
+  @Inject
+  public CompiledScriptStore(ApplicationConfiguration applicationConfiguration) {
+    this(toDirectory(applicationConfiguration.getQueryCompileCacheDirectory()));
+  }
+
+  /** @param directory the directory in which to persist compiled scripts, null to disable */
+  public CompiledScriptStore(Path directory) {
+    this.directory = directory;
+    if (directory != null) {
+      logger.info("Persisting compiled scripts to: {}", directory.toAbsolutePath());
+    }
+  }
+
+  /**
+   * @param script the source of a Groovy script
+   * @return the byte code for each of the classes compiled from the given {@code script}, keyed by
+   *     class name, or empty if the given {@code script} has not been persisted
+   */
+  public Optional<Map<String, byte[]>> read(String script) {
+    if (directory == null) {
+      return Optional.empty();
+    }
+    Path path = resolve(script);
+    if (!Files.exists(path)) {
+      return Optional.empty();
+    }
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+      int count = in.readInt();
+      Map<String, byte[]> classes = new LinkedHashMap<>();
+      for (int i = 0; i < count; i++) {
+        String name = in.readUTF();
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        classes.put(name, bytes);
+      }
+      return Optional.of(classes);
+    } catch (IOException ex) {
+      logger.warn("Failed to read the compiled script: {}, it will be recompiled!", path, ex);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * @param script the source of a Groovy script
+   * @param classes the byte code for each of the classes compiled from the given {@code script},
+   *     keyed by class name
+   */
+  public void write(String script, Map<String, byte[]> classes) {
+    if (directory == null) {
+      return;
+    }
+    Path path = resolve(script);
+    try {
+      Files.createDirectories(directory);
+      // write to a temporary file and then move it into place so that a concurrent (or
+      // interrupted) write can never leave a partial entry behind
+      Path temporary = Files.createTempFile(directory, "script", SUFFIX + ".tmp");
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+        out.writeInt(classes.size());
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+          out.writeUTF(entry.getKey());
+          out.writeInt(entry.getValue().length);
+          out.write(entry.getValue());
+        }
+      }
+      Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException ex) {
+      logger.warn("Failed to persist the compiled script: {}!", path, ex);
+    }
+  }
+
+  private Path resolve(String script) {
+    String key =
+        Hashing.sha256()
+            .hashString(GroovySystem.getVersion() + "\n" + script, StandardCharsets.UTF_8)
+            .toString();
+    return directory.resolve(key + SUFFIX);
+  }
+
+  private static Path toDirectory(String directory) {
+    return isBlank(directory) ? null : Paths.get(directory);
+  }
+}
@@ -16,17 +16,37 @@
  */
 package io.github.glytching.dragoman.ql.listener.groovy;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.Timer;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
 import groovy.lang.GroovyClassLoader;
-import groovy.lang.GroovyCodeSource;
 import groovy.lang.GroovySystem;
+import io.github.glytching.dragoman.ql.engine.ExpressionEngine;
+import io.github.glytching.dragoman.ql.engine.Filter;
+import io.github.glytching.dragoman.ql.engine.Mapper;
 import io.github.glytching.dragoman.ql.parser.SelectClauseParser;
 import io.github.glytching.dragoman.ql.parser.WhereClauseParser;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.Phases;
+import org.codehaus.groovy.tools.GroovyClass;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -34,28 +54,57 @@ import java.util.concurrent.TimeUnit;
 /**
  * Responsible for creating a Groovy classes for a given expression. Why Groovy? so that they can be
  * created and applied dynamically.
+ *
+ * <p>Each script is compiled by its own {@link GroovyClassLoader}, a child of the injected class
+ * loader, and that class loader is released when the script is evicted from the cache. Since
+ * nothing else refers to a script's class loader, the evicted classes can be unloaded rather than
+ * accumulating in Metaspace for the life of the process.
+ *
+ * <p>The byte code of each compiled script is handed to the {@link CompiledScriptStore} so that, if
+ * persistence is enabled, a restarted node loads the script's classes rather than recompiling it.
  */
-public class GroovyFactory {
+@Singleton
+public class GroovyFactory implements ExpressionEngine {
   private static final Logger logger = LoggerFactory.getLogger(GroovyFactory.class);
 
   private final GroovyClassLoader groovyClassLoader;
   private final SelectClauseParser selectClauseParser;
   private final WhereClauseParser whereClauseParser;
-  private final Cache<String, Object> cache;
+  private final CompiledScriptStore compiledScriptStore;
+  private final Cache<String, CompiledScript> cache;
+  private final Timer compileTimer;
+  private final Counter liveClasses;
 
-  @Inject
   public GroovyFactory(
       GroovyClassLoader groovyClassLoader,
       SelectClauseParser selectClauseParser,
       WhereClauseParser whereClauseParser) {
+    this(
+        groovyClassLoader,
+        selectClauseParser,
+        whereClauseParser,
+        new CompiledScriptStore((Path) null));
+  }
+
+  @Inject
+  public GroovyFactory(
+      GroovyClassLoader groovyClassLoader,
+      SelectClauseParser selectClauseParser,
+      WhereClauseParser whereClauseParser,
+      CompiledScriptStore compiledScriptStore) {
     this.groovyClassLoader = groovyClassLoader;
     this.selectClauseParser = selectClauseParser;
     this.whereClauseParser = whereClauseParser;
+    this.compiledScriptStore = compiledScriptStore;
+    this.compileTimer = new Timer();
+    this.liveClasses = new Counter();
     this.cache =
         CacheBuilder.newBuilder()
             .maximumSize(2000)
             .initialCapacity(1000)
             .expireAfterWrite(1, TimeUnit.HOURS)
+            .recordStats()
+            .removalListener(this::release)
             .build();
   }
 
@@ -67,6 +116,7 @@ public class GroovyFactory {
    * @param expression a 'where clause'
    * @return a Groovy implementation of our Filter, specific to the given expression
    */
+  @Override
   public Filter createFilter(String expression) throws GroovyFactoryException {
     final String script = whereClauseParser.get(String.class, expression);
 
@@ -84,6 +134,7 @@ public class GroovyFactory {
    * @param expression a 'map clause'
    * @return a Groovy implementation of our Mapper, specific to the given expression
    */
+  @Override
   public Mapper createProjector(String expression) throws GroovyFactoryException {
     String script = selectClauseParser.get(String.class, expression);
 
@@ -93,35 +144,47 @@ public class GroovyFactory {
     return create(Mapper.class, script);
   }
 
+  @Override
+  public Optional<String> describeFilter(String expression) {
+    return Optional.of(whereClauseParser.get(String.class, expression));
+  }
+
+  @Override
+  public Optional<String> describeProjector(String expression) {
+    return Optional.of(selectClauseParser.get(String.class, expression));
+  }
+
+  /** @return the number of scripts compiled by this factory since it was created */
+  public long getCompileCount() {
+    return compileTimer.getCount();
+  }
+
+  /** @return the number of compiled classes which are currently held by this factory */
+  public long getLiveClassCount() {
+    return liveClasses.getCount();
+  }
+
+  /** Discards all compiled scripts, releasing their class loaders. */
+  public void clear() {
+    cache.invalidateAll();
+    cache.cleanUp();
+  }
+
+  @Override
+  public Map<String, Metric> getMetrics() {
+    Map<String, Metric> metrics = new HashMap<>();
+    metrics.put("groovy-compile-count", (Gauge<Long>) this::getCompileCount);
+    metrics.put("groovy-compile-latency", compileTimer);
+    metrics.put("groovy-live-classes", liveClasses);
+    metrics.put("groovy-cache-size", (Gauge<Long>) cache::size);
+    metrics.put("groovy-cache-hit-rate", (Gauge<Double>) () -> cache.stats().hitRate());
+    return metrics;
+  }
+
   @SuppressWarnings("unchecked")
   private <T> T create(final Class<T> type, final String script) throws GroovyFactoryException {
     try {
-      return (T)
-          cache.get(
-              script,
-              () -> {
-                // now to compile the groovy class and get an instance
-                String name = UUID.randomUUID().toString();
-                GroovyCodeSource groovyCodeSource =
-                    new GroovyCodeSource(script, name, "/groovy/shell");
-                groovyCodeSource.setCachable(true);
-                Class<?> clazz = groovyClassLoader.parseClass(groovyCodeSource);
-                Object obj;
-                try {
-                    obj = clazz.getConstructor().newInstance();
-                } catch (InstantiationException | IllegalAccessException e) {
-                  logger.warn(e.getMessage(), e);
-                  throw new GroovyFactoryException(
-                      String.format(
-                          "Exception creating the %s class instance!", type.getSimpleName()),
-                      e);
-                }
-                for (Class<?> c : groovyClassLoader.getLoadedClasses()) {
-                  GroovySystem.getMetaClassRegistry().removeMetaClass(c);
-                }
-                groovyClassLoader.clearCache();
-                return obj;
-              });
+      return (T) cache.get(script, () -> load(type, script)).instance;
     } catch (ExecutionException e) {
       logger.warn(e.getMessage(), e);
       throw new GroovyFactoryException(
@@ -129,4 +192,93 @@ public class GroovyFactory {
           e);
     }
   }
+
+  private CompiledScript load(Class<?> type, String script) throws Exception {
+    Map<String, byte[]> byteCode = compiledScriptStore.read(script).orElse(null);
+    if (byteCode == null) {
+      byteCode = compile(script);
+      compiledScriptStore.write(script, byteCode);
+    }
+
+    GroovyClassLoader scriptClassLoader = new GroovyClassLoader(groovyClassLoader);
+    try {
+      List<Class<?>> classes = new ArrayList<>();
+      Class<?> entryPoint = null;
+      for (Map.Entry<String, byte[]> entry : byteCode.entrySet()) {
+        Class<?> clazz = scriptClassLoader.defineClass(entry.getKey(), entry.getValue());
+        classes.add(clazz);
+        if (type.isAssignableFrom(clazz)) {
+          entryPoint = clazz;
+        }
+      }
+      if (entryPoint == null) {
+        throw new GroovyFactoryException(
+            String.format("The script does not define a %s class!", type.getSimpleName()));
+      }
+
+      Object obj;
+      try {
+        obj = entryPoint.getConstructor().newInstance();
+      } catch (InstantiationException | IllegalAccessException e) {
+        logger.warn(e.getMessage(), e);
+        throw new GroovyFactoryException(
+            String.format("Exception creating the %s class instance!", type.getSimpleName()), e);
+      }
+      liveClasses.inc(classes.size());
+      return new CompiledScript(scriptClassLoader, classes, obj);
+    } catch (Exception ex) {
+      scriptClassLoader.close();
+      throw ex;
+    }
+  }
+
+  private Map<String, byte[]> compile(String script) {
+    try (Timer.Context ignored = compileTimer.time()) {
+      // the injected class loader is only used to resolve the classes the script refers to (e.g.
+      // Filter), the script's own classes are defined by a class loader of their own
+      CompilationUnit compilationUnit =
+          new CompilationUnit(CompilerConfiguration.DEFAULT, null, groovyClassLoader);
+      compilationUnit.addSource(UUID.randomUUID().toString(), script);
+      compilationUnit.compile(Phases.CLASS_GENERATION);
+
+      Map<String, byte[]> byteCode = new LinkedHashMap<>();
+      for (Object compiled : compilationUnit.getClasses()) {
+        GroovyClass groovyClass = (GroovyClass) compiled;
+        byteCode.put(groovyClass.getName(), groovyClass.getBytes());
+      }
+      return byteCode;
+    }
+  }
+
+  private void release(RemovalNotification<String, CompiledScript> notification) {
+    CompiledScript compiledScript = notification.getValue();
+    if (compiledScript == null) {
+      return;
+    }
+    // the meta class registry holds strong references to the classes it has seen, these have to go
+    // before the class loader can be collected
+    for (Class<?> c : compiledScript.classes) {
+      GroovySystem.getMetaClassRegistry().removeMetaClass(c);
+    }
+    liveClasses.dec(compiledScript.classes.size());
+    compiledScript.classLoader.clearCache();
+    try {
+      compiledScript.classLoader.close();
+    } catch (IOException e) {
+      logger.warn("Failed to close the class loader for an evicted script!", e);
+    }
+  }
+
+  /** A compiled script instance along with the class loader which defined it. */
+  private static class CompiledScript {
+    private final GroovyClassLoader classLoader;
+    private final List<Class<?>> classes;
+    private final Object instance;
+
+    private CompiledScript(GroovyClassLoader classLoader, List<Class<?>> classes, Object instance) {
+      this.classLoader = classLoader;
+      this.classes = classes;
+      this.instance = instance;
+    }
+  }
 }
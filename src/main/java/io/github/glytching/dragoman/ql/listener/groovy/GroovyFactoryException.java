@@ -6,6 +6,10 @@ package io.github.glytching.dragoman.ql.listener.groovy;
  */
 public class GroovyFactoryException extends RuntimeException {
 
+  public GroovyFactoryException(String message) {
+    super(message);
+  }
+
   public GroovyFactoryException(String message, Throwable cause) {
     super(message, cause);
   }
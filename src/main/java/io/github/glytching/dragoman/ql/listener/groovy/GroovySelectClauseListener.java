@@ -33,6 +33,7 @@ public class GroovySelectClauseListener extends AbstractSelectClauseListener<Str
 
   private static final String TEMPLATE_SCRIPT =
       "package io.github.glytching.dragoman.ql.listener.groovy\n"
+          + "import io.github.glytching.dragoman.ql.engine.Mapper;\n"
           + "import java.util.Map;\n"
           + "class GroovyMapper implements Mapper {\n"
           + "    @Override\n"
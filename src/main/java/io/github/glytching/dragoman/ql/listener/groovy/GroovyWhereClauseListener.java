@@ -16,6 +16,8 @@
  */
 package io.github.glytching.dragoman.ql.listener.groovy;
 
+import io.github.glytching.dragoman.ql.domain.LikePattern;
+import io.github.glytching.dragoman.ql.domain.Operand;
 import io.github.glytching.dragoman.ql.domain.Predicate;
 import io.github.glytching.dragoman.ql.listener.AbstractWhereClauseListener;
 
@@ -29,21 +31,29 @@ import static org.apache.commons.lang3.StringUtils.isEmpty;
 public class GroovyWhereClauseListener extends AbstractWhereClauseListener<String> {
   private static final String GROOVY_SCRIPT_TEMPLATE =
       "package io.github.glytching.dragoman.ql.listener.groovy\n"
+          + "import io.github.glytching.dragoman.ql.engine.Filter\n"
           + "class GroovyFilter implements Filter {\n"
+          + "%s"
           + "    @Override\n"
-          + "    boolean filter(Object incoming) {\n"
-          + "        boolean isSame = true\n"
+          + "    boolean filter(Object incoming, Map<String, Object> parameters) {\n"
+          + "        boolean isSame = %s\n"
           + "        return isSame\n"
           + "    }\n"
           + "}\n";
 
+  // like patterns which need a regex are compiled once, as static fields of the filter class
+  private final StringBuilder patterns = new StringBuilder();
+  private int patternCount;
+
   @Override
   public String get() {
+    patterns.setLength(0);
+    patternCount = 0;
     String expression = getExpression();
     if (isEmpty(expression)) {
-      return GROOVY_SCRIPT_TEMPLATE;
+      return String.format(GROOVY_SCRIPT_TEMPLATE, "", "true");
     } else {
-      return GROOVY_SCRIPT_TEMPLATE.replace("true", expression);
+      return String.format(GROOVY_SCRIPT_TEMPLATE, patterns, expression);
     }
   }
 
@@ -54,68 +64,50 @@ public class GroovyWhereClauseListener extends AbstractWhereClauseListener<Strin
       String name = "incoming?." + element.getLhs().replaceAll("\\.", "?.");
       StringBuilder inner = new StringBuilder();
 
-      if (element.isBetween()) {
-        inner.append(name);
-        inner.append(" >= ").append(element.getRhs().get(0));
-        inner.append(" && ");
-        inner.append(name);
-        inner.append(" < ").append(element.getRhs().get(1));
-      } else if (element.isNotBetween()) {
-        inner.append("!(");
-        inner.append(name);
-        inner.append(" >= ").append(element.getRhs().get(0));
-        inner.append(" && ");
-        inner.append(name);
-        inner.append(" < ").append(element.getRhs().get(1));
-        inner.append(")");
-      } else if (element.isLike()) {
-        inner.append(name);
-        inner.append("=~");
-        inner.append(toValue(element.isQuoted(), asYouLikeIt(element.getRhs().get(0))));
-      } else if (element.isNotLike()) {
-        inner.append("!(");
-        inner.append(name);
-        inner.append("=~");
-        inner.append(toValue(element.isQuoted(), asYouLikeIt(element.getRhs().get(0))));
-        inner.append(")");
-      } else if (element.isNull()) {
-        inner.append(name);
-        inner.append("==null");
-      } else if (element.isNotNull()) {
-        inner.append("!(");
-        inner.append(name);
-        inner.append("==null");
-        inner.append(")");
-      } else if (element.isIn()) {
-        inner.append(name);
-        inner.append(" in [");
-        for (int i = 0; i < element.getRhs().size(); i++) {
-          if (i > 0) {
-            inner.append(",");
-          }
-          inner.append(toValue(element.isQuoted(), element.getRhs().get(i)));
-        }
-        inner.append("]");
-      } else if (element.isNotIn()) {
-        inner.append("!(");
-        inner.append(name);
-        inner.append(" in [");
-        for (int i = 0; i < element.getRhs().size(); i++) {
-          if (i > 0) {
-            inner.append(",");
-          }
-          inner.append(toValue(element.isQuoted(), element.getRhs().get(i)));
-        }
-        inner.append("]");
-        inner.append(")");
-      } else if (element.isEquals()) {
-        inner.append(name);
-        inner.append("==");
-        inner.append(toValue(element.isQuoted(), element.getRhs().get(0)));
-      } else {
-        inner.append(name);
-        inner.append(element.getOperator());
-        inner.append(toValue(element.isQuoted(), element.getRhs().get(0)));
+      switch (element.getOperator()) {
+        case BETWEEN:
+          appendBetween(inner, name, element);
+          break;
+        case NOT_BETWEEN:
+          inner.append("!(");
+          appendBetween(inner, name, element);
+          inner.append(")");
+          break;
+        case LIKE:
+          appendLike(inner, name, element);
+          break;
+        case NOT_LIKE:
+          inner.append("!(");
+          appendLike(inner, name, element);
+          inner.append(")");
+          break;
+        case IS_NULL:
+          inner.append(name);
+          inner.append("==null");
+          break;
+        case IS_NOT_NULL:
+          inner.append("!(");
+          inner.append(name);
+          inner.append("==null");
+          inner.append(")");
+          break;
+        case IN:
+          appendIn(inner, name, element);
+          break;
+        case NOT_IN:
+          inner.append("!(");
+          appendIn(inner, name, element);
+          inner.append(")");
+          break;
+        case EQUALS:
+          inner.append(name);
+          inner.append("==");
+          inner.append(toOperand(element.getOperand(0)));
+          break;
+        default:
+          inner.append(name);
+          inner.append(element.getOperator().getSymbol());
+          inner.append(toOperand(element.getOperand(0)));
       }
       inner.append(" && ");
 
@@ -125,35 +117,79 @@ public class GroovyWhereClauseListener extends AbstractWhereClauseListener<Strin
     return sb.length() > 4 ? sb.toString().substring(0, (sb.length() - 4)) : sb.toString();
   }
 
-  private Object toValue(boolean quoted, Object value) {
-    if (quoted) {
-      return "\"" + value + "\"";
-    } else {
-      return value;
-    }
+  private void appendBetween(StringBuilder inner, String name, Predicate element) {
+    inner.append(name);
+    inner.append(" >= ").append(toOperand(element.getOperand(0)));
+    inner.append(" && ");
+    inner.append(name);
+    inner.append(" < ").append(toOperand(element.getOperand(1)));
   }
 
-  private String asYouLikeIt(String operand) {
-    // deal with the leading wildcard (if any)
-    if (operand.indexOf("%") == 0) {
-      // nothing more we can do here just strip it
-      operand = operand.replaceFirst("%", "");
+  private void appendIn(StringBuilder inner, String name, Predicate element) {
+    inner.append(name);
+    inner.append(" in [");
+    for (int i = 0; i < element.getOperands().size(); i++) {
+      if (i > 0) {
+        inner.append(",");
+      }
+      inner.append(toOperand(element.getOperand(i)));
     }
+    inner.append("]");
+  }
 
-    // deal with the trailing wildcard (if any)
-    if (operand.indexOf("%") == operand.length() - 1) {
-      // nothing more we can do here just strip it
-      operand = replaceLast(operand, "%", "");
+  private String toOperand(Operand operand) {
+    switch (operand.getType()) {
+      case PARAMETER:
+        // resolved at evaluation time so the script (and hence its compiled class) is reusable
+        return "parameters[" + toStringLiteral(operand.getText()) + "]";
+      case STRING:
+      case DATE:
+        // date literals are compared with their string form
+        return toStringLiteral(operand.getText());
+      case INTEGER:
+      case LONG:
+      case BOOLEAN:
+        return String.valueOf(operand.getValue());
+      default:
+        // Groovy reads a decimal literal as a BigDecimal, which compares exactly with any numeric
+        // attribute, so decimals are written as they were supplied
+        return operand.getText();
     }
-    return operand;
   }
 
-  @SuppressWarnings("SameParameterValue")
-  private String replaceLast(String operand, String substring, String replacement) {
-    int index = operand.lastIndexOf(substring);
+  private String toStringLiteral(String value) {
+    // a single quoted Groovy string is not subject to GString interpolation
+    return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+  }
 
-    return operand.substring(0, index)
-        + replacement
-        + operand.substring(index + substring.length());
+  private void appendLike(StringBuilder inner, String name, Predicate element) {
+    LikePattern likePattern = LikePattern.of(element.getOperand(0).getText());
+    String value = name + "?.toString()";
+    switch (likePattern.getShape()) {
+      case EXACT:
+        inner.append(value).append("?.equals(");
+        break;
+      case PREFIX:
+        inner.append(value).append("?.startsWith(");
+        break;
+      case SUFFIX:
+        inner.append(value).append("?.endsWith(");
+        break;
+      case CONTAINS:
+        inner.append(value).append("?.contains(");
+        break;
+      default:
+        String pattern = "LIKE_" + patternCount++;
+        patterns
+            .append("    private static final java.util.regex.Pattern ")
+            .append(pattern)
+            .append(" = java.util.regex.Pattern.compile(")
+            .append(toStringLiteral(likePattern.getRegex()))
+            .append(")\n");
+        inner.append("(").append(name).append(" != null && ");
+        inner.append(pattern).append(".matcher(").append(value).append(").find())");
+        return;
+    }
+    inner.append(toStringLiteral(likePattern.getLiteral())).append(")");
   }
 }
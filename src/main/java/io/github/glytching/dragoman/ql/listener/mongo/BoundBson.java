@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.listener.mongo;
+
+import io.github.glytching.dragoman.ql.domain.Operand;
+import io.github.glytching.dragoman.web.exception.InvalidRequestException;
+import org.bson.BsonDocument;
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
+
+import java.util.Map;
+
+import static java.lang.String.format;
+
+/**
+ * Binds parameter values to a translated where clause. The translated where clause is cached and
+ * shared so the parameter values are not written into it, instead they are resolved when the Mongo
+ * driver renders this {@link Bson} into a {@link BsonDocument}.
+ *
+ * <p>String parameter values are subject to the same coercion as string literals in a where clause
+ * so, for example, an ISO8601 date/time string is bound as a date.
+ */
+public class BoundBson implements Bson {
+  private final Bson template;
+  private final Map<String, Object> parameters;
+
+  public BoundBson(Bson template, Map<String, Object> parameters) {
+    this.template = template;
+    this.parameters = parameters;
+  }
+
+  @Override
+  public <TDocument> BsonDocument toBsonDocument(
+      Class<TDocument> documentClass, CodecRegistry codecRegistry) {
+    return template.toBsonDocument(
+        documentClass,
+        CodecRegistries.fromRegistries(
+            CodecRegistries.fromCodecs(new BindParameterCodec(codecRegistry)), codecRegistry));
+  }
+
+  @Override
+  public String toString() {
+    return "BoundBson{template=" + template + ", parameters=" + parameters + '}';
+  }
+
+  private class BindParameterCodec implements Codec<BindParameter> {
+    private final CodecRegistry codecRegistry;
+
+    private BindParameterCodec(CodecRegistry codecRegistry) {
+      this.codecRegistry = codecRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void encode(BsonWriter writer, BindParameter parameter, EncoderContext encoderContext) {
+      if (!parameters.containsKey(parameter.getName())) {
+        throw InvalidRequestException.create(
+            format("No value supplied for parameter: %s!", parameter.getName()));
+      }
+
+      Object value = parameters.get(parameter.getName());
+      if (value instanceof String) {
+        value = MongoWhereClauseListener.toOperand(Operand.infer((String) value));
+      }
+
+      if (value == null) {
+        writer.writeNull();
+      } else {
+        Codec codec = codecRegistry.get(value.getClass());
+        encoderContext.encodeWithChildContext(codec, writer, value);
+      }
+    }
+
+    @Override
+    public BindParameter decode(BsonReader reader, DecoderContext decoderContext) {
+      throw new UnsupportedOperationException("Bind parameters cannot be decoded!");
+    }
+
+    @Override
+    public Class<BindParameter> getEncoderClass() {
+      return BindParameter.class;
+    }
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.listener.mongo;
+
+import com.mongodb.client.model.Aggregates;
+import io.github.glytching.dragoman.ql.domain.Projection;
+import io.github.glytching.dragoman.ql.domain.SelectClause;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonNull;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Translates an aggregate {@link SelectClause} (see {@link SelectClause#isAggregate()}) into a
+ * MongoDB aggregation pipeline so that the aggregation happens in the database and only the
+ * aggregated rows are returned. The pipeline is:
+ *
+ * <ol>
+ *   <li>{@code $match}: the where clause
+ *   <li>{@code $group}: keyed on the group by attributes, with one accumulator per aggregate
+ *   <li>{@code $project}: renames the group keys and accumulators to their output names (see
+ *       {@link Projection#getOutputName()})
+ *   <li>{@code $sort}: the order by clause, this refers to the output names
+ *   <li>{@code $limit}: the max results
+ * </ol>
+ *
+ * <p>Group keys and accumulators are given positional names ({@code g0}, {@code a0} etc) within
+ * the {@code $group} stage since the attribute names may contain dots, which MongoDB does not allow
+ * in a {@code $group} field name.
+ */
+public final class MongoAggregation {
+
+  private MongoAggregation() {}
+
+  /**
+   * @param selectClause an aggregate select clause
+   * @param filter the translated where clause
+   * @param order the translated order by clause
+   * @param maxResults a limit on the number of aggregated rows, ignored if not greater than zero
+   * @return the aggregation pipeline
+   */
+  public static List<Bson> toPipeline(
+      SelectClause selectClause, Bson filter, Bson order, int maxResults) {
+    BsonDocument id = new BsonDocument();
+    BsonDocument group = new BsonDocument();
+    BsonDocument project = new BsonDocument("_id", new BsonInt32(0));
+
+    List<String> groupBy = selectClause.getGroupBy();
+    for (int i = 0; i < groupBy.size(); i++) {
+      id.append("g" + i, toFieldPath(groupBy.get(i)));
+    }
+    group.append("_id", groupBy.isEmpty() ? BsonNull.VALUE : id);
+
+    int accumulatorCount = 0;
+    for (Projection projection : selectClause.getProjections()) {
+      if (projection.isAggregate()) {
+        String accumulator = "a" + accumulatorCount++;
+        group.append(accumulator, toAccumulator(projection));
+        project.append(projection.getOutputName(), new BsonString("$" + accumulator));
+      } else {
+        String key = "g" + groupBy.indexOf(projection.getName());
+        project.append(projection.getOutputName(), new BsonString("$_id." + key));
+      }
+    }
+
+    List<Bson> pipeline = new ArrayList<>();
+    pipeline.add(Aggregates.match(filter));
+    pipeline.add(new BsonDocument("$group", group));
+    pipeline.add(new BsonDocument("$project", project));
+    if (!(order instanceof BsonDocument) || !((BsonDocument) order).isEmpty()) {
+      pipeline.add(Aggregates.sort(order));
+    }
+    if (maxResults > 0) {
+      pipeline.add(Aggregates.limit(maxResults));
+    }
+    return pipeline;
+  }
+
+  private static BsonDocument toAccumulator(Projection projection) {
+    switch (projection.getFunction()) {
+      case COUNT:
+        if (Projection.ALL.equals(projection.getName())) {
+          return new BsonDocument("$sum", new BsonInt32(1));
+        }
+        // count(a) counts the documents in which a is present and not null
+        BsonDocument isNull =
+            new BsonDocument(
+                "$eq",
+                new BsonArray(
+                    Arrays.asList(
+                        new BsonDocument(
+                            "$ifNull",
+                            new BsonArray(
+                                Arrays.asList(
+                                    toFieldPath(projection.getName()), BsonNull.VALUE))),
+                        BsonNull.VALUE)));
+        return new BsonDocument(
+            "$sum",
+            new BsonDocument(
+                "$cond",
+                new BsonArray(Arrays.asList(isNull, new BsonInt32(0), new BsonInt32(1)))));
+      case SUM:
+        return new BsonDocument("$sum", toFieldPath(projection.getName()));
+      case AVG:
+        return new BsonDocument("$avg", toFieldPath(projection.getName()));
+      case MIN:
+        return new BsonDocument("$min", toFieldPath(projection.getName()));
+      case MAX:
+        return new BsonDocument("$max", toFieldPath(projection.getName()));
+      default:
+        throw new IllegalArgumentException("Unsupported function: " + projection.getFunction());
+    }
+  }
+
+  private static BsonValue toFieldPath(String attribute) {
+    return new BsonString("$" + attribute);
+  }
+}
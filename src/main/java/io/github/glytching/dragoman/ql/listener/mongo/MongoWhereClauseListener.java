@@ -18,17 +18,15 @@ package io.github.glytching.dragoman.ql.listener.mongo;
 
 import com.google.common.collect.Lists;
 import com.mongodb.client.model.Filters;
+import io.github.glytching.dragoman.ql.domain.LikePattern;
+import io.github.glytching.dragoman.ql.domain.Operand;
 import io.github.glytching.dragoman.ql.domain.Predicate;
+import io.github.glytching.dragoman.ql.domain.WhereClauseNormaliser;
 import io.github.glytching.dragoman.ql.listener.AbstractWhereClauseListener;
 import io.github.glytching.dragoman.web.exception.InvalidRequestException;
 import org.bson.BsonDocument;
 import org.bson.conversions.Bson;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeParseException;
-import java.util.Date;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -36,10 +34,32 @@ import static java.lang.String.format;
 
 /**
  * A Mongo specific implementation of {@link AbstractWhereClauseListener} which turns the domain
- * {@link Predicate} into a {@link Bson} instance.
+ * {@link Predicate} into a {@link Bson} instance. MongoDB matches an array field element by
+ * element so the predicates are only normalised in ways which hold for array fields, see {@link
+ * WhereClauseNormaliser#forArrayFields()}.
+ *
+ * <p>A quoted literal which looks like a boolean or a number (e.g. {@code a = '1'}) is bound as a
+ * boolean or a number rather than as a string, as it always has been for MongoDB, see {@link
+ * #typeLiteral(Operand)}.
  */
 public class MongoWhereClauseListener extends AbstractWhereClauseListener<Bson> {
-  private static final Pattern DATE_PATTERN = Pattern.compile("\\d{4}-\\d\\d-\\d\\d.*");
+  private static final WhereClauseNormaliser NORMALISER = WhereClauseNormaliser.forArrayFields();
+
+  @Override
+  protected WhereClauseNormaliser getNormaliser() {
+    return NORMALISER;
+  }
+
+  /**
+   * Types a quoted literal in the same way as a bind parameter value supplied as a string (see
+   * {@link Operand#infer(String)}) so {@code a = '1'} is bound as the integer 1. This is done as
+   * the literal is parsed, rather than as it is translated, so that the normaliser compares the
+   * literals which will actually be bound.
+   */
+  @Override
+  protected Operand typeLiteral(Operand literal) {
+    return literal.getType() == Operand.Type.STRING ? Operand.infer(literal.getText()) : literal;
+  }
 
   @Override
   public Bson get() {
@@ -47,35 +67,60 @@ public class MongoWhereClauseListener extends AbstractWhereClauseListener<Bson>
 
     List<Bson> filters = Lists.newArrayListWithExpectedSize(predicates.size());
     for (Predicate predicate : predicates) {
-      if (predicate.isEquals()) {
-        filters.add(Filters.eq(predicate.getLhs(), toOperand(predicate.getRhs().get(0))));
-      } else if (predicate.isNotEquals()) {
-        filters.add(Filters.ne(predicate.getLhs(), toOperand(predicate.getRhs().get(0))));
-      } else if (predicate.isGreaterThan()) {
-        filters.add(Filters.gt(predicate.getLhs(), toOperand(predicate.getRhs().get(0))));
-      } else if (predicate.isGreaterThanOrEqualTo()) {
-        filters.add(Filters.gte(predicate.getLhs(), toOperand(predicate.getRhs().get(0))));
-      } else if (predicate.isLessThan()) {
-        filters.add(Filters.lt(predicate.getLhs(), toOperand(predicate.getRhs().get(0))));
-      } else if (predicate.isLessThanOrEqualTo()) {
-        filters.add(Filters.lte(predicate.getLhs(), toOperand(predicate.getRhs().get(0))));
-      } else if (predicate.isBetween()) {
-        // 'x between 5 and 10' _generally_ means: x >= 5 and x < 10
-        filters.add(Filters.gte(predicate.getLhs(), toOperand(predicate.getRhs().get(0))));
-        filters.add(Filters.lt(predicate.getLhs(), toOperand(predicate.getRhs().get(1))));
-      } else if (predicate.isIn()) {
-        filters.add(Filters.in(predicate.getLhs(), toOperands(predicate.getRhs())));
-      } else if (predicate.isNotIn()) {
-        filters.add(Filters.nin(predicate.getLhs(), toOperands(predicate.getRhs())));
-      } else if (predicate.isLike()) {
-        filters.add(Filters.regex(predicate.getLhs(), toRegex(predicate.getRhs().get(0))));
-      } else if (predicate.isNotLike()) {
-        filters.add(
-            Filters.not(Filters.regex(predicate.getLhs(), toRegex(predicate.getRhs().get(0)))));
-      } else if (predicate.isNull()) {
-        filters.add(Filters.eq(predicate.getLhs(), null));
-      } else if (predicate.isNotNull()) {
-        filters.add(Filters.ne(predicate.getLhs(), null));
+      String field = predicate.getLhs();
+      switch (predicate.getOperator()) {
+        case EQUALS:
+          filters.add(Filters.eq(field, toOperand(predicate.getOperand(0))));
+          break;
+        case NOT_EQUALS:
+          filters.add(Filters.ne(field, toOperand(predicate.getOperand(0))));
+          break;
+        case GREATER_THAN:
+          filters.add(Filters.gt(field, toOperand(predicate.getOperand(0))));
+          break;
+        case GREATER_THAN_OR_EQUAL_TO:
+          filters.add(Filters.gte(field, toOperand(predicate.getOperand(0))));
+          break;
+        case LESS_THAN:
+          filters.add(Filters.lt(field, toOperand(predicate.getOperand(0))));
+          break;
+        case LESS_THAN_OR_EQUAL_TO:
+          filters.add(Filters.lte(field, toOperand(predicate.getOperand(0))));
+          break;
+        case BETWEEN:
+          // 'x between 5 and 10' _generally_ means: x >= 5 and x < 10
+          filters.add(Filters.gte(field, toOperand(predicate.getOperand(0))));
+          filters.add(Filters.lt(field, toOperand(predicate.getOperand(1))));
+          break;
+        case NOT_BETWEEN:
+          // the complement of between i.e. x < 5 or x >= 10
+          filters.add(
+              Filters.or(
+                  Filters.lt(field, toOperand(predicate.getOperand(0))),
+                  Filters.gte(field, toOperand(predicate.getOperand(1)))));
+          break;
+        case IN:
+          filters.add(Filters.in(field, toOperands(predicate)));
+          break;
+        case NOT_IN:
+          filters.add(Filters.nin(field, toOperands(predicate)));
+          break;
+        case LIKE:
+          addLike(filters, field, LikePattern.of(predicate.getOperand(0).getText()));
+          break;
+        case NOT_LIKE:
+          LikePattern notLike = LikePattern.of(predicate.getOperand(0).getText());
+          filters.add(Filters.not(Filters.regex(field, Pattern.compile(notLike.getRegex()))));
+          break;
+        case IS_NULL:
+          filters.add(Filters.eq(field, null));
+          break;
+        case IS_NOT_NULL:
+          filters.add(Filters.ne(field, null));
+          break;
+        default:
+          throw InvalidRequestException.create(
+              "Unsupported operator: " + predicate.getOperator().getSymbol());
       }
     }
     if (filters.isEmpty()) {
@@ -86,111 +131,38 @@ public class MongoWhereClauseListener extends AbstractWhereClauseListener<Bson>
     }
   }
 
-  private List<Object> toOperands(List<String> incoming) {
-    List<Object> outgoing = Lists.newArrayListWithExpectedSize(incoming.size());
-    for (String s : incoming) {
-      outgoing.add(toOperand(s));
+  private List<Object> toOperands(Predicate predicate) {
+    List<Object> outgoing = Lists.newArrayListWithExpectedSize(predicate.getOperands().size());
+    for (Operand operand : predicate.getOperands()) {
+      outgoing.add(toOperand(operand));
     }
     return outgoing;
   }
 
-  @SuppressWarnings("EmptyCatchBlock")
-  private Object toOperand(String incoming) {
-    if ("true".equalsIgnoreCase(incoming)) {
-      return true;
-    }
-    if ("false".equalsIgnoreCase(incoming)) {
-      return false;
-    }
-
-    // might be numeric
-    try {
-      return Integer.parseInt(incoming);
-    } catch (NumberFormatException ex) {
-    }
-    try {
-      return Long.parseLong(incoming);
-    } catch (NumberFormatException ex) {
+  static Object toOperand(Operand operand) {
+    if (operand.isParameter()) {
+      // the value is supplied at query time, see BoundBson
+      return new BindParameter(operand.getText());
     }
-    try {
-      return Double.parseDouble(incoming);
-    } catch (NumberFormatException ex) {
+    if (!operand.isValid()) {
+      throw InvalidRequestException.create(
+          format(
+              "Failed to parse date/time literal: %s, you must supply date/time literals in ISO8601 format!",
+              operand.getText()));
     }
-
-    if (isDateTimeLiteral(incoming)) {
-      return toDate(incoming);
-    }
-
-    // it really is a String!
-    return incoming;
+    return operand.getValue();
   }
 
-  @SuppressWarnings("EmptyCatchBlock")
-  private Date toDate(String incoming) {
-    try {
-      return Date.from(LocalDateTime.parse(incoming).toInstant(ZoneOffset.UTC));
-    } catch (DateTimeParseException e) {
+  private void addLike(List<Bson> filters, String field, LikePattern likePattern) {
+    switch (likePattern.getShape()) {
+      case EXACT:
+        filters.add(Filters.eq(field, likePattern.getLiteral()));
+        break;
+      default:
+        // a prefix is left as an anchored regex (e.g. '^abc') rather than rewritten as a range
+        // since MongoDB already uses tight index bounds for such a regex and since, for an array
+        // field, each end of a range could be satisfied by a different element
+        filters.add(Filters.regex(field, Pattern.compile(likePattern.getRegex())));
     }
-
-    try {
-      return Date.from(LocalDate.parse(incoming).atStartOfDay().toInstant(ZoneOffset.UTC));
-    } catch (DateTimeParseException e) {
-    }
-
-    throw InvalidRequestException.create(
-        format(
-            "Failed to parse date/time literal: %s, you must supply date/time literals in ISO8601 format!",
-            incoming));
-  }
-
-  private boolean isDateTimeLiteral(String incoming) {
-    return DATE_PATTERN.matcher(incoming).matches();
-  }
-
-  private Pattern toRegex(String operand) {
-    // find({"name": "a"}) <-- like '%a%'
-    // find({"name": "^pa"}) <-- like 'pa%'
-    // find({"name": "ro$"}) <-- like '%ro'
-
-    operand = escapeSpecialCharacters(operand);
-    // deal with the leading wildcard (if any)
-    if (operand.indexOf("%") == 0) {
-      // nothing more we can do here just strip it
-      operand = operand.replaceFirst("%", "");
-    } else {
-      // doesn't start with a wildcard so let's anchor it
-      operand = "^" + operand;
-    }
-
-    // deal with the trailing wildcard (if any)
-    if (operand.indexOf("%") == operand.length() - 1) {
-      // nothing more we can do here just strip it
-      operand = replaceLast(operand, "%", "");
-    } else {
-      operand = operand + "$";
-    }
-    return Pattern.compile(operand);
-  }
-
-  private String escapeSpecialCharacters(String operand) {
-    if (operand.contains("*")) {
-      operand = operand.replace("*", "\\*");
-    }
-    if (operand.contains("+")) {
-      operand = operand.replace("+", "\\+");
-    }
-    if (operand.contains("$")) {
-      operand = operand.replace("$", "\\$");
-    }
-    return operand;
-  }
-
-  @SuppressWarnings("SameParameterValue")
-  private String replaceLast(String operand, String substring, String replacement) {
-    int index = operand.lastIndexOf(substring);
-
-    return operand.substring(0, index)
-        + replacement
-        + operand.substring(index + substring.length());
   }
 }
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.listener.tracing;
+
+import io.github.glytching.dragoman.antlr.SQLParser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import org.antlr.v4.runtime.tree.RuleNode;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records per-rule callback counts and timings for a parse call. This is a diagnostic aid which is
+ * only attached to a parse on request (see {@code ParseTracer}), the translating listeners
+ * carry no tracing cost of their own.
+ *
+ * <p>A trace covers the two phases of a parse call:
+ *
+ * <ul>
+ *   <li>Parse: the time spent by ANTLR recognising each rule, this is gathered by adding this
+ *       trace as a parse listener on the {@link SQLParser}. Rule timings are inclusive i.e. the
+ *       time for a rule includes the time for its sub rules.
+ *   <li>Walk: the time spent in the translating listener's callbacks for each rule, this is
+ *       gathered by walking the parse tree with the {@link ParseTreeWalker} returned by {@link
+ *       #walker()}.
+ * </ul>
+ *
+ * <p>Instances are not thread safe, use one instance per parse call and {@link #merge(ParseTrace)}
+ * instances to build an aggregate.
+ */
+public class ParseTrace implements ParseTreeListener {
+  private static final Logger logger = LoggerFactory.getLogger(ParseTrace.class);
+
+  private final Map<String, RuleStats> parseStats = new TreeMap<>();
+  private final Map<String, RuleStats> walkStats = new TreeMap<>();
+  private final Map<ParserRuleContext, Long> started = new IdentityHashMap<>();
+
+  @Override
+  public void enterEveryRule(ParserRuleContext ctx) {
+    if (logger.isDebugEnabled()) {
+      logger.debug("enter{}: {}", ruleName(ctx), ctx.start.getText());
+    }
+    started.put(ctx, System.nanoTime());
+  }
+
+  @Override
+  public void exitEveryRule(ParserRuleContext ctx) {
+    // ANTLR does not raise an enter event for every context it unrolls from a left recursive rule
+    // so there may be no start time for this context
+    Long start = started.remove(ctx);
+    if (start != null) {
+      record(parseStats, ruleName(ctx), System.nanoTime() - start);
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug("exit{}: {}", ruleName(ctx), ctx.start.getText());
+    }
+  }
+
+  @Override
+  public void visitTerminal(TerminalNode node) {
+    // no-op, only rules are traced
+  }
+
+  @Override
+  public void visitErrorNode(ErrorNode node) {
+    // no-op, only rules are traced
+  }
+
+  /**
+   * @return a {@link ParseTreeWalker} which records the time spent in each of the walked listener's
+   *     rule callbacks
+   */
+  public ParseTreeWalker walker() {
+    return new ParseTreeWalker() {
+      @Override
+      protected void enterRule(ParseTreeListener listener, RuleNode r) {
+        long start = System.nanoTime();
+        super.enterRule(listener, r);
+        record(walkStats, ruleName(r), System.nanoTime() - start);
+      }
+
+      @Override
+      protected void exitRule(ParseTreeListener listener, RuleNode r) {
+        long start = System.nanoTime();
+        super.exitRule(listener, r);
+        record(walkStats, ruleName(r), System.nanoTime() - start);
+      }
+    };
+  }
+
+  /** @return the parse phase statistics, keyed by rule name */
+  public Map<String, RuleStats> getParseStats() {
+    return Collections.unmodifiableMap(parseStats);
+  }
+
+  /** @return the walk phase statistics, keyed by rule name */
+  public Map<String, RuleStats> getWalkStats() {
+    return Collections.unmodifiableMap(walkStats);
+  }
+
+  /**
+   * Adds the statistics gathered by the given {@code other} to this trace.
+   *
+   * @param other
+   */
+  public void merge(ParseTrace other) {
+    other.parseStats.forEach(
+        (rule, stats) -> parseStats.computeIfAbsent(rule, RuleStats::new).add(stats));
+    other.walkStats.forEach(
+        (rule, stats) -> walkStats.computeIfAbsent(rule, RuleStats::new).add(stats));
+  }
+
+  /**
+   * Renders this trace as simple types so that it can be published as JSON, each phase maps rule
+   * names (in descending order of elapsed time) to their {@code count} and {@code elapsedMicros}.
+   *
+   * @return this trace keyed by phase: {@code parse} and {@code walk}
+   */
+  public Map<String, Object> toMap() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("parse", toMap(parseStats));
+    map.put("walk", toMap(walkStats));
+    return map;
+  }
+
+  /** @return a summary of this trace, rules are listed in descending order of elapsed time */
+  @Override
+  public String toString() {
+    return "parse: " + summarise(parseStats) + ", walk: " + summarise(walkStats);
+  }
+
+  private Map<String, Object> toMap(Map<String, RuleStats> stats) {
+    Map<String, Object> map = new LinkedHashMap<>();
+    for (RuleStats ruleStats : ordered(stats)) {
+      Map<String, Object> rule = new LinkedHashMap<>();
+      rule.put("count", ruleStats.getCount());
+      rule.put("elapsedMicros", TimeUnit.NANOSECONDS.toMicros(ruleStats.getElapsedNanos()));
+      map.put(ruleStats.getRule(), rule);
+    }
+    return map;
+  }
+
+  private Map<String, String> summarise(Map<String, RuleStats> stats) {
+    Map<String, String> summary = new LinkedHashMap<>();
+    for (RuleStats ruleStats : ordered(stats)) {
+      summary.put(ruleStats.getRule(), ruleStats.toString());
+    }
+    return summary;
+  }
+
+  private List<RuleStats> ordered(Map<String, RuleStats> stats) {
+    List<RuleStats> ordered = new ArrayList<>(stats.values());
+    ordered.sort((one, two) -> Long.compare(two.getElapsedNanos(), one.getElapsedNanos()));
+    return ordered;
+  }
+
+  private void record(Map<String, RuleStats> stats, String rule, long elapsedNanos) {
+    stats.computeIfAbsent(rule, RuleStats::new).add(1, elapsedNanos);
+  }
+
+  private String ruleName(RuleNode ruleNode) {
+    int ruleIndex = ruleNode.getRuleContext().getRuleIndex();
+    return ruleIndex >= 0 && ruleIndex < SQLParser.ruleNames.length
+        ? SQLParser.ruleNames[ruleIndex]
+        : ruleNode.getClass().getSimpleName();
+  }
+
+  /** The callback count and cumulative elapsed time for a single grammar rule. */
+  public static class RuleStats {
+    private final String rule;
+    private long count;
+    private long elapsedNanos;
+
+    RuleStats(String rule) {
+      this.rule = rule;
+    }
+
+    public String getRule() {
+      return rule;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getElapsedNanos() {
+      return elapsedNanos;
+    }
+
+    private void add(long count, long elapsedNanos) {
+      this.count += count;
+      this.elapsedNanos += elapsedNanos;
+    }
+
+    private void add(RuleStats other) {
+      add(other.count, other.elapsedNanos);
+    }
+
+    @Override
+    public String toString() {
+      return count + " calls in " + TimeUnit.NANOSECONDS.toMicros(elapsedNanos) + "us";
+    }
+  }
+}
@@ -16,13 +16,12 @@
  */
 package io.github.glytching.dragoman.ql.parser;
 
-import io.github.glytching.dragoman.antlr.SQLLexer;
 import io.github.glytching.dragoman.antlr.SQLParser;
+import io.github.glytching.dragoman.antlr.SQLParserBaseListener;
 import io.github.glytching.dragoman.antlr.SQLParserListener;
 import io.github.glytching.dragoman.ql.SqlParserException;
 import io.github.glytching.dragoman.ql.listener.ErrorListener;
-import org.antlr.v4.runtime.ANTLRInputStream;
-import org.antlr.v4.runtime.CommonTokenStream;
+import io.github.glytching.dragoman.ql.listener.tracing.ParseTrace;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.atn.PredictionMode;
 import org.antlr.v4.runtime.tree.ParseTreeWalker;
@@ -43,13 +42,40 @@ public abstract class BaseParser {
    */
   private static final PredictionMode DEFAULT_PREDICTION_MODE = PredictionMode.SLL;
 
+  /** The cache size used when a parser is created without a shared {@link ParsedClauseCache}. */
+  private static final int DEFAULT_CACHE_SIZE = 500;
+
+  private final ParsedClauseCache parsedClauseCache;
+  private final ParseTracer parseTracer;
+
+  /**
+   * ANTLR's lexer and parser are expensive to create and are not thread safe so each thread reuses
+   * its own instances, resetting them for each parse call.
+   */
+  private static final ThreadLocal<ReusableSqlParser> SQL_PARSERS =
+      ThreadLocal.withInitial(ReusableSqlParser::new);
+
+  /** Holds the trace (if any) requested by a caller of {@link #get(Class, String, ParseTrace)}. */
+  private final ThreadLocal<ParseTrace> requestedTrace = new ThreadLocal<>();
+
+  protected BaseParser() {
+    this(new ParsedClauseCache(DEFAULT_CACHE_SIZE), ParseTracer.disabled());
+  }
+
+  protected BaseParser(ParsedClauseCache parsedClauseCache, ParseTracer parseTracer) {
+    this.parsedClauseCache = parsedClauseCache;
+    this.parseTracer = parseTracer;
+  }
+
   protected void parse(String expression, SQLParserListener sqlParserListener) {
     if (isNotBlank(expression)) {
       try {
         // stateful listener so use a fresh one each time through the parse call
         ErrorListener errorListener = new ErrorListener();
 
-        SQLParser parser = getSqlParser(expression, errorListener);
+        ParseTrace trace = startTrace();
+
+        SQLParser parser = getSqlParser(expression, errorListener, trace);
         ParserRuleContext entryPoint = getParserContext(parser);
 
         if (errorListener.hasErrors()) {
@@ -57,7 +83,9 @@ public abstract class BaseParser {
           entryPoint = withStrictMode(parser).select_list();
         }
 
-        parse(sqlParserListener, errorListener, entryPoint);
+        parse(sqlParserListener, errorListener, entryPoint, trace);
+
+        completeTrace(expression, trace);
       } catch (Exception e) {
         // catching the general Exception because the listener may have thrown a runtime
         throw new SqlParserException(e.getMessage(), e);
@@ -107,12 +135,59 @@ public abstract class BaseParser {
    *     DerivedResponse derivedResponse = aListener.getDerivedResponse();
    * </pre>
    *
+   * <p>Translations are cached (see {@link ParsedClauseCache}) so repeated calls for the same
+   * {@code clazz} and {@code expression} do not re-parse the expression.
+   *
    * @param clazz
    * @param expression
    * @param <T>
    * @return
    */
-  public abstract <T> T get(Class<T> clazz, String expression);
+  public <T> T get(Class<T> clazz, String expression) {
+    return parsedClauseCache.get(getClass(), clazz, expression, () -> translate(clazz, expression));
+  }
+
+  /**
+   * As per {@link #get(Class, String)} but the given {@code expression} is always parsed (i.e. the
+   * cache is bypassed) and the parse is traced into the given {@code trace}. This allows a single
+   * expression to be traced on request without enabling tracing for every parse.
+   *
+   * @param clazz
+   * @param expression
+   * @param trace gathers per-rule callback counts and timings for this parse
+   * @param <T>
+   * @return
+   */
+  public <T> T get(Class<T> clazz, String expression, ParseTrace trace) {
+    requestedTrace.set(trace);
+    try {
+      return translate(clazz, expression);
+    } finally {
+      requestedTrace.remove();
+    }
+  }
+
+  /**
+   * Parses the given {@code expression} without translating it. This is used to populate ANTLR's
+   * DFA cache before the first 'real' parse call, see {@link ParserWarmer}.
+   *
+   * @param expression the expression to be parsed
+   */
+  public void warmUp(String expression) {
+    parse(expression, new SQLParserBaseListener());
+  }
+
+  /**
+   * Extension point which allows clause-specific parsers to translate an expression into the
+   * requested target type. This is only invoked on a cache miss.
+   *
+   * @param clazz the target type
+   * @param expression the expression to be translated
+   * @param <T>
+   * @return a deserialised form of the given {@code expression}, deserialised into the type {@code
+   *     T}
+   */
+  protected abstract <T> T translate(Class<T> clazz, String expression);
 
   /**
    * Extension point which allows clause-specific parsers to define the entry point for their own
@@ -125,14 +200,20 @@ public abstract class BaseParser {
    */
   protected abstract ParserRuleContext getParserContext(SQLParser parser);
 
-  private SQLParser getSqlParser(String expression, ErrorListener errorListener) {
-    SQLLexer lexer = new SQLLexer(new ANTLRInputStream(expression));
+  private ParseTrace startTrace() {
+    ParseTrace trace = requestedTrace.get();
+    return trace != null ? trace : parseTracer.begin();
+  }
 
-    SQLParser sqlParser = new SQLParser(new CommonTokenStream(lexer));
-    sqlParser.addErrorListener(errorListener);
-    sqlParser.getInterpreter().setPredictionMode(DEFAULT_PREDICTION_MODE);
+  private void completeTrace(String expression, ParseTrace trace) {
+    // a requested trace belongs to the requester, only traces started by the tracer go back to it
+    if (trace != null && trace != requestedTrace.get()) {
+      parseTracer.complete(expression, trace);
+    }
+  }
 
-    return sqlParser;
+  private SQLParser getSqlParser(String expression, ErrorListener errorListener, ParseTrace trace) {
+    return SQL_PARSERS.get().reset(expression, errorListener, trace, DEFAULT_PREDICTION_MODE);
   }
 
   private SQLParser withStrictMode(SQLParser parser) {
@@ -145,8 +226,9 @@ public abstract class BaseParser {
   private void parse(
       SQLParserListener sqlParserListener,
       ErrorListener errorListener,
-      ParserRuleContext entryPoint) {
-    ParseTreeWalker walker = new ParseTreeWalker();
+      ParserRuleContext entryPoint,
+      ParseTrace trace) {
+    ParseTreeWalker walker = trace != null ? trace.walker() : ParseTreeWalker.DEFAULT;
 
     walker.walk(sqlParserListener, entryPoint);
 
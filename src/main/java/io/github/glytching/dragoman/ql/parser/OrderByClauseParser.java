@@ -17,11 +17,15 @@
 package io.github.glytching.dragoman.ql.parser;
 
 import io.github.glytching.dragoman.antlr.SQLParser;
+import io.github.glytching.dragoman.ql.domain.OrderByClause;
 import io.github.glytching.dragoman.ql.listener.AbstractOrderByClauseListener;
+import io.github.glytching.dragoman.ql.listener.OrderByClauseListener;
 import io.github.glytching.dragoman.ql.listener.mongo.MongoOrderByClauseListener;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.bson.conversions.Bson;
 
+import javax.inject.Inject;
+
 import static java.lang.String.format;
 
 /**
@@ -36,6 +40,19 @@ import static java.lang.String.format;
  */
 public class OrderByClauseParser extends BaseParser {
 
+  public OrderByClauseParser() {
+    super();
+  }
+
+  public OrderByClauseParser(ParsedClauseCache parsedClauseCache) {
+    this(parsedClauseCache, ParseTracer.disabled());
+  }
+
+  @Inject
+  public OrderByClauseParser(ParsedClauseCache parsedClauseCache, ParseTracer parseTracer) {
+    super(parsedClauseCache, parseTracer);
+  }
+
   /**
    * Get a deserialised form of the given {@code expression}, deserialised into the type {@code T}.
    * See {@link #getListener(Class)} to understand what target types are supported.
@@ -49,7 +66,7 @@ public class OrderByClauseParser extends BaseParser {
    */
   @Override
   @SuppressWarnings("unchecked")
-  public <T> T get(Class<T> clazz, String expression) {
+  protected <T> T translate(Class<T> clazz, String expression) {
     AbstractOrderByClauseListener<T> listener = getListener(clazz);
 
     parse(expression, listener);
@@ -66,11 +83,15 @@ public class OrderByClauseParser extends BaseParser {
   private <T> AbstractOrderByClauseListener getListener(Class<T> clazz) {
     if (Bson.class == clazz) {
       return new MongoOrderByClauseListener();
+    } else if (OrderByClause.class == clazz) {
+      return new OrderByClauseListener();
     } else {
       throw new IllegalArgumentException(
           format(
-              "Type: '%s' is not supported, the supported types are: [%s]",
-              clazz.getSimpleName(), Bson.class.getSimpleName()));
+              "Type: '%s' is not supported, the supported types are: [%s, %s]",
+              clazz.getSimpleName(),
+              Bson.class.getSimpleName(),
+              OrderByClause.class.getSimpleName()));
     }
   }
 }
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.parser;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import io.github.glytching.dragoman.configuration.ApplicationConfiguration;
+import io.github.glytching.dragoman.ql.listener.tracing.ParseTrace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decides whether a parse call should be traced and, if so, gathers the resulting {@link
+ * ParseTrace} into an aggregate covering every traced parse since startup. Tracing is enabled by
+ * config ({@code parser.trace.enabled}) and is disabled by default; when disabled a parse call pays
+ * nothing more than a null check.
+ *
+ * <p>The aggregate is published as metrics (see {@link #getMetrics()}). Only actual parses are
+ * traced, a translation served from the {@link ParsedClauseCache} involves no parse so the aggregate
+ * covers cache misses only, the cache's own metrics account for the hits.
+ *
+ * <p>A single parse call can be traced regardless of this config, and regardless of the cache, by
+ * passing a {@link ParseTrace} to {@link BaseParser#get(Class, String, ParseTrace)}. This is how the
+ * dataset explain endpoint traces a query on request.
+ */
+@Singleton
+public class ParseTracer implements MetricSet {
+  private static final Logger logger = LoggerFactory.getLogger(ParseTracer.class);
+
+  private static final ParseTracer DISABLED = new ParseTracer(false);
+
+  private final boolean enabled;
+  private final ParseTrace aggregate = new ParseTrace();
+  private long tracedCount;
+
+  @Inject
+  public ParseTracer(ApplicationConfiguration applicationConfiguration) {
+    this(applicationConfiguration.isParserTraceEnabled());
+  }
+
+  public ParseTracer(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /** @return a tracer which never traces */
+  public static ParseTracer disabled() {
+    return DISABLED;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** @return a new {@link ParseTrace} if tracing is enabled, null otherwise */
+  ParseTrace begin() {
+    return enabled ? new ParseTrace() : null;
+  }
+
+  /**
+   * Adds the given {@code trace} to the aggregate.
+   *
+   * @param expression the expression which was parsed
+   * @param trace the trace of that parse
+   */
+  void complete(String expression, ParseTrace trace) {
+    logger.debug("Parse trace for expression: {} is: {}", expression, trace);
+    synchronized (aggregate) {
+      aggregate.merge(trace);
+      tracedCount++;
+    }
+  }
+
+  /** @return the number of parses which have been added to the aggregate since startup */
+  public long getTracedCount() {
+    synchronized (aggregate) {
+      return tracedCount;
+    }
+  }
+
+  /** @return a copy of the statistics gathered from every traced parse since startup */
+  public ParseTrace getAggregate() {
+    ParseTrace copy = new ParseTrace();
+    synchronized (aggregate) {
+      copy.merge(aggregate);
+    }
+    return copy;
+  }
+
+  @Override
+  public Map<String, Metric> getMetrics() {
+    Map<String, Metric> metrics = new HashMap<>();
+    metrics.put("parser-trace-enabled", (Gauge<Boolean>) this::isEnabled);
+    metrics.put("parser-trace-count", (Gauge<Long>) this::getTracedCount);
+    metrics.put("parser-trace-rules", (Gauge<Map<String, Object>>) () -> getAggregate().toMap());
+    return metrics;
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.parser;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.github.glytching.dragoman.configuration.ApplicationConfiguration;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.bson.BsonDocument;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache of clause translations, keyed on the clause type (select, where etc), the target
+ * type (Bson, String etc) and the expression text. Our callers tend to send the same expressions
+ * over and over so caching the translation allows repeated queries to skip the lexer and parser
+ * completely.
+ *
+ * <p>One caller must not be able to change what the next caller sees. The domain translations
+ * ({@code WhereClause}, {@code SelectClause} etc) are immutable once built so they are shared but
+ * the mutable translations (i.e. {@link BsonDocument}) are copied on the way out.
+ */
+@Singleton
+public class ParsedClauseCache implements MetricSet {
+
+  private final Cache<ClauseKey, Object> cache;
+
+  @Inject
+  public ParsedClauseCache(ApplicationConfiguration applicationConfiguration) {
+    this(applicationConfiguration.getParserCacheSize());
+  }
+
+  public ParsedClauseCache(int maximumSize) {
+    this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+  }
+
+  /**
+   * Get the translation of the given {@code expression} from the cache, delegating to the given
+   * {@code translator} if there is no such cached translation.
+   *
+   * @param clauseType the type of clause e.g. select, where etc
+   * @param targetType the type into which the expression is translated e.g. Bson, String etc
+   * @param expression the expression to be translated
+   * @param translator creates the translation in the event of a cache miss
+   * @param <T>
+   * @return the translation of the given {@code expression}
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(
+      Class<?> clauseType, Class<T> targetType, String expression, Supplier<T> translator) {
+    ClauseKey key = new ClauseKey(clauseType, targetType, expression);
+    try {
+      return copy((T) cache.get(key, translator::get));
+    } catch (ExecutionException | UncheckedExecutionException ex) {
+      // the translator's own exceptions (e.g. SqlParserException) are of more use to the caller
+      // than the cache's wrapper
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw new RuntimeException(ex.getCause());
+    }
+  }
+
+  /** @return a snapshot of the hit/miss/eviction counts for this cache */
+  public CacheStats getStats() {
+    return cache.stats();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  public void clear() {
+    cache.invalidateAll();
+  }
+
+  @Override
+  public Map<String, Metric> getMetrics() {
+    Map<String, Metric> metrics = new HashMap<>();
+    metrics.put("parser-cache-size", (Gauge<Long>) this::size);
+    metrics.put("parser-cache-hits", (Gauge<Long>) () -> getStats().hitCount());
+    metrics.put("parser-cache-misses", (Gauge<Long>) () -> getStats().missCount());
+    metrics.put("parser-cache-evictions", (Gauge<Long>) () -> getStats().evictionCount());
+    metrics.put("parser-cache-hit-rate", (Gauge<Double>) () -> getStats().hitRate());
+    return metrics;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T copy(T value) {
+    if (value instanceof BsonDocument) {
+      return (T) ((BsonDocument) value).clone();
+    }
+    return value;
+  }
+
+  private static class ClauseKey {
+    private final Class<?> clauseType;
+    private final Class<?> targetType;
+    private final String expression;
+
+    private ClauseKey(Class<?> clauseType, Class<?> targetType, String expression) {
+      this.clauseType = clauseType;
+      this.targetType = targetType;
+      // null and empty expressions are treated identically by the parsers
+      this.expression = expression == null ? "" : expression;
+    }
+
+    @Override
+    public int hashCode() {
+      return new HashCodeBuilder()
+          .append(clauseType)
+          .append(targetType)
+          .append(expression)
+          .toHashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof ClauseKey)) {
+        return false;
+      }
+      ClauseKey other = (ClauseKey) obj;
+      return new EqualsBuilder()
+          .append(clauseType, other.clauseType)
+          .append(targetType, other.targetType)
+          .append(expression, other.expression)
+          .isEquals();
+    }
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.parser;
+
+import io.github.glytching.dragoman.configuration.ApplicationConfiguration;
+import io.github.glytching.dragoman.util.StopWatch;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * ANTLR builds its DFA lazily, so the first parse calls after startup are much slower than the
+ * steady state, especially when a parse falls back from SLL to LL prediction. This class parses a
+ * corpus of representative expressions on startup to populate the DFA before the first request
+ * arrives. The DFA is shared by all parser instances so warming it on one thread benefits every
+ * thread.
+ *
+ * <p>The corpus is identified by {@code parser.warmup.corpus}, this may be a file or a classpath
+ * resource. Each line has the form {@code <clause>: <expression>} where clause is one of {@code
+ * select}, {@code where} or {@code orderBy}, blank lines and lines starting with {@code #} are
+ * ignored.
+ */
+public class ParserWarmer {
+  private static final Logger logger = LoggerFactory.getLogger(ParserWarmer.class);
+
+  private static final String COMMENT = "#";
+  private static final String SEPARATOR = ":";
+
+  private final ApplicationConfiguration applicationConfiguration;
+  private final SelectClauseParser selectClauseParser;
+  private final WhereClauseParser whereClauseParser;
+  private final OrderByClauseParser orderByClauseParser;
+
+  @Inject
+  public ParserWarmer(
+      ApplicationConfiguration applicationConfiguration,
+      SelectClauseParser selectClauseParser,
+      WhereClauseParser whereClauseParser,
+      OrderByClauseParser orderByClauseParser) {
+    this.applicationConfiguration = applicationConfiguration;
+    this.selectClauseParser = selectClauseParser;
+    this.whereClauseParser = whereClauseParser;
+    this.orderByClauseParser = orderByClauseParser;
+  }
+
+  /**
+   * Parse every expression in the configured corpus. Failures are logged and skipped since a warm
+   * up should never prevent startup.
+   *
+   * @return the number of expressions which were successfully parsed
+   */
+  public int warmUp() {
+    String corpus = applicationConfiguration.getParserWarmUpCorpus();
+    if (isBlank(corpus)) {
+      return 0;
+    }
+
+    StopWatch stopWatch = StopWatch.start();
+    int count = 0;
+    for (String line : readCorpus(corpus)) {
+      if (isBlank(line) || line.trim().startsWith(COMMENT)) {
+        continue;
+      }
+      if (warmUp(line.trim())) {
+        count++;
+      }
+    }
+    logger.info("Warmed up the parsers with {} expressions in {}ms", count, stopWatch.stop());
+    return count;
+  }
+
+  private boolean warmUp(String line) {
+    int separator = line.indexOf(SEPARATOR);
+    if (separator < 0) {
+      logger.warn("Ignoring warm up expression: [{}], expected <clause>: <expression>!", line);
+      return false;
+    }
+
+    String clause = line.substring(0, separator).trim();
+    String expression = line.substring(separator + 1).trim();
+    Optional<BaseParser> parser = getParser(clause);
+    if (!parser.isPresent()) {
+      logger.warn("Ignoring warm up expression: [{}], unsupported clause: {}!", line, clause);
+      return false;
+    }
+
+    try {
+      parser.get().warmUp(expression);
+      return true;
+    } catch (RuntimeException ex) {
+      logger.warn("Failed to parse warm up expression: [{}] due to: {}!", line, ex.getMessage());
+      return false;
+    }
+  }
+
+  private Optional<BaseParser> getParser(String clause) {
+    if ("select".equalsIgnoreCase(clause)) {
+      return Optional.of(selectClauseParser);
+    } else if ("where".equalsIgnoreCase(clause)) {
+      return Optional.of(whereClauseParser);
+    } else if ("orderBy".equalsIgnoreCase(clause)) {
+      return Optional.of(orderByClauseParser);
+    }
+    return Optional.empty();
+  }
+
+  private List<String> readCorpus(String corpus) {
+    try {
+      Path path = Paths.get(corpus);
+      if (Files.isRegularFile(path)) {
+        return Files.readAllLines(path, StandardCharsets.UTF_8);
+      }
+
+      try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(corpus)) {
+        if (inputStream == null) {
+          logger.warn("Failed to find parser warm up corpus: {}!", corpus);
+          return Collections.emptyList();
+        }
+        return IOUtils.readLines(inputStream, StandardCharsets.UTF_8);
+      }
+    } catch (IOException ex) {
+      logger.warn("Failed to read parser warm up corpus: {}!", corpus, ex);
+      return Collections.emptyList();
+    }
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.parser;
+
+import io.github.glytching.dragoman.antlr.SQLLexer;
+import io.github.glytching.dragoman.antlr.SQLParser;
+import io.github.glytching.dragoman.ql.listener.ErrorListener;
+import io.github.glytching.dragoman.ql.listener.tracing.ParseTrace;
+import org.antlr.v4.runtime.ANTLRInputStream;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
+
+/**
+ * A lexer and parser which are created once and then reset for each expression. The ANTLR
+ * recognisers are not thread safe so instances of this class are confined to a single thread (see
+ * {@link BaseParser}) but the DFA which ANTLR builds up as it parses is static and hence is shared
+ * by all instances.
+ */
+class ReusableSqlParser {
+  private final SQLLexer lexer;
+  private final SQLParser parser;
+
+  ReusableSqlParser() {
+    this.lexer = new SQLLexer(new ANTLRInputStream(""));
+    this.parser = new SQLParser(new CommonTokenStream(lexer));
+  }
+
+  /**
+   * Resets this instance's lexer, token stream and parser for the given {@code expression}.
+   *
+   * @param expression the expression to be parsed
+   * @param errorListener gathers any errors raised by this parse
+   * @param trace gathers per-rule statistics for this parse, may be null
+   * @param predictionMode the prediction mode for this parse
+   * @return a parser which is ready to parse the given {@code expression}
+   */
+  SQLParser reset(
+      String expression,
+      ErrorListener errorListener,
+      ParseTrace trace,
+      PredictionMode predictionMode) {
+    lexer.setInputStream(new ANTLRInputStream(expression));
+    // a token stream cannot be reused since CommonTokenStream.setTokenSource does not reset its
+    // EOF flag but it is cheap to create, unlike the lexer and parser
+    parser.setTokenStream(new CommonTokenStream(lexer));
+
+    // the listeners are specific to a parse call so remove whatever the previous call added
+    parser.removeErrorListeners();
+    parser.addErrorListener(errorListener);
+    parser.removeParseListeners();
+    if (trace != null) {
+      parser.addParseListener(trace);
+    }
+    parser.getInterpreter().setPredictionMode(predictionMode);
+
+    return parser;
+  }
+}
@@ -17,12 +17,16 @@
 package io.github.glytching.dragoman.ql.parser;
 
 import io.github.glytching.dragoman.antlr.SQLParser;
+import io.github.glytching.dragoman.ql.domain.SelectClause;
 import io.github.glytching.dragoman.ql.listener.AbstractSelectClauseListener;
+import io.github.glytching.dragoman.ql.listener.SelectClauseListener;
 import io.github.glytching.dragoman.ql.listener.groovy.GroovySelectClauseListener;
 import io.github.glytching.dragoman.ql.listener.mongo.MongoSelectClauseListener;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.bson.conversions.Bson;
 
+import javax.inject.Inject;
+
 import static java.lang.String.format;
 
 /**
@@ -38,10 +42,26 @@ import static java.lang.String.format;
  *
  *     // for use with a HTTP store
  *     String script = parser.get(String.class, "a, b.c");
+ *
+ *     // for generating some other projection
+ *     SelectClause selectClause = parser.get(SelectClause.class, "a, b.c");
  * </pre>
  */
 public class SelectClauseParser extends BaseParser {
 
+  public SelectClauseParser() {
+    super();
+  }
+
+  public SelectClauseParser(ParsedClauseCache parsedClauseCache) {
+    this(parsedClauseCache, ParseTracer.disabled());
+  }
+
+  @Inject
+  public SelectClauseParser(ParsedClauseCache parsedClauseCache, ParseTracer parseTracer) {
+    super(parsedClauseCache, parseTracer);
+  }
+
   /**
    * Get a deserialised form of the given {@code expression}, deserialised into the type {@code T}.
    * See {@link #getListener(Class)} to understand what target types are supported.
@@ -55,7 +75,7 @@ public class SelectClauseParser extends BaseParser {
    */
   @Override
   @SuppressWarnings("unchecked")
-  public <T> T get(Class<T> clazz, String expression) {
+  protected <T> T translate(Class<T> clazz, String expression) {
     AbstractSelectClauseListener<T> listener = getListener(clazz);
 
     parse(expression, listener);
@@ -66,7 +86,7 @@ public class SelectClauseParser extends BaseParser {
   @Override
   protected ParserRuleContext getParserContext(SQLParser parser) {
     // this is the entry point for a map clause
-    return parser.select_list();
+    return parser.select_expression();
   }
 
   private <T> AbstractSelectClauseListener getListener(Class<T> clazz) {
@@ -74,11 +94,16 @@ public class SelectClauseParser extends BaseParser {
       return new GroovySelectClauseListener();
     } else if (Bson.class == clazz) {
       return new MongoSelectClauseListener();
+    } else if (SelectClause.class == clazz) {
+      return new SelectClauseListener();
     } else {
       throw new IllegalArgumentException(
           format(
-              "Type: '%s' is not supported, the supported types are: [%s, %s]",
-              clazz.getSimpleName(), String.class.getSimpleName(), Bson.class.getSimpleName()));
+              "Type: '%s' is not supported, the supported types are: [%s, %s, %s]",
+              clazz.getSimpleName(),
+              String.class.getSimpleName(),
+              Bson.class.getSimpleName(),
+              SelectClause.class.getSimpleName()));
     }
   }
 }
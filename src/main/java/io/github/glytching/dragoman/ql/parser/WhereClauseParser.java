@@ -17,12 +17,16 @@
 package io.github.glytching.dragoman.ql.parser;
 
 import io.github.glytching.dragoman.antlr.SQLParser;
+import io.github.glytching.dragoman.ql.domain.WhereClause;
 import io.github.glytching.dragoman.ql.listener.AbstractWhereClauseListener;
+import io.github.glytching.dragoman.ql.listener.WhereClauseListener;
 import io.github.glytching.dragoman.ql.listener.groovy.GroovyWhereClauseListener;
 import io.github.glytching.dragoman.ql.listener.mongo.MongoWhereClauseListener;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.bson.conversions.Bson;
 
+import javax.inject.Inject;
+
 import static java.lang.String.format;
 
 /**
@@ -38,10 +42,26 @@ import static java.lang.String.format;
  *
  *     // for use with a HTTP store
  *     String script = parser.get(String.class, "a = 1");
+ *
+ *     // for reasoning about the where clause itself
+ *     WhereClause whereClause = parser.get(WhereClause.class, "a = 1");
  * </pre>
  */
 public class WhereClauseParser extends BaseParser {
 
+  public WhereClauseParser() {
+    super();
+  }
+
+  public WhereClauseParser(ParsedClauseCache parsedClauseCache) {
+    this(parsedClauseCache, ParseTracer.disabled());
+  }
+
+  @Inject
+  public WhereClauseParser(ParsedClauseCache parsedClauseCache, ParseTracer parseTracer) {
+    super(parsedClauseCache, parseTracer);
+  }
+
   /**
    * Get a deserialised form of the given {@code expression}, deserialised into the type {@code T}.
    * See {@link #getListener(Class)} to understand what target types are supported.
@@ -55,7 +75,7 @@ public class WhereClauseParser extends BaseParser {
    */
   @Override
   @SuppressWarnings("unchecked")
-  public <T> T get(Class<T> clazz, String expression) {
+  protected <T> T translate(Class<T> clazz, String expression) {
     AbstractWhereClauseListener<T> listener = getListener(clazz);
 
     parse(expression, listener);
@@ -74,11 +94,16 @@ public class WhereClauseParser extends BaseParser {
       return new GroovyWhereClauseListener();
     } else if (Bson.class == clazz) {
       return new MongoWhereClauseListener();
+    } else if (WhereClause.class == clazz) {
+      return new WhereClauseListener();
     } else {
       throw new IllegalArgumentException(
           format(
-              "Type: '%s' is not supported, the supported types are: [%s, %s]",
-              clazz.getSimpleName(), String.class.getSimpleName(), Bson.class.getSimpleName()));
+              "Type: '%s' is not supported, the supported types are: [%s, %s, %s]",
+              clazz.getSimpleName(),
+              String.class.getSimpleName(),
+              Bson.class.getSimpleName(),
+              WhereClause.class.getSimpleName()));
     }
   }
 }
@@ -17,8 +17,15 @@
 package io.github.glytching.dragoman.reader;
 
 import io.github.glytching.dragoman.dataset.Dataset;
+import io.github.glytching.dragoman.repository.Explanation;
+import io.github.glytching.dragoman.repository.Page;
+import io.github.glytching.dragoman.repository.PassThroughRepository;
+import io.vertx.core.buffer.Buffer;
 import rx.Observable;
 
+import java.util.Collections;
+import java.util.Map;
+
 /**
  * This is the main entry point for all reads; delegates the given query details (predicates,
  * projections etc) to the underlying repository layer and emits an Observable over the results.
@@ -38,6 +45,105 @@ public interface Reader {
    * @return an observable over the dataset identified by the given {@code dataset}, {@code select},
    *     {@code where} etc
    */
+  default Observable<DataEnvelope> read(
+      Dataset dataset, String select, String where, String orderBy, Integer maxResults) {
+    return read(dataset, select, where, Collections.emptyMap(), orderBy, maxResults);
+  }
+
+  /**
+   * Gets an observable over a resultset, as per {@link #read(Dataset, String, String, String,
+   * Integer)}, but with values for any bind parameters (e.g. {@code :asOf}) in the given {@code
+   * where}.
+   *
+   * @param dataset the {@link Dataset} to be queried
+   * @param select the projections (if any) to be applied to the data in the requested dataset
+   * @param where the predicates (if any) to be used when filtering the requested dataset
+   * @param parameters the values for any bind parameters in the given {@code where}, keyed by
+   *     parameter name
+   * @param orderBy the ordering (if any) to be applied to the data read from the requested dataset
+   * @param maxResults a limit on the number of entries to be read from the requested dataset
+   * @return an observable over the dataset identified by the given {@code dataset}, {@code select},
+   *     {@code where} etc
+   */
   Observable<DataEnvelope> read(
+      Dataset dataset,
+      String select,
+      String where,
+      Map<String, Object> parameters,
+      String orderBy,
+      Integer maxResults);
+
+  /**
+   * Gets an observable over a resultset, as per {@link #read(Dataset, String, String, String,
+   * Integer)}, with each entry encoded as a JSON object. This suits callers which only write the
+   * entries out; where the dataset's repository is a {@link PassThroughRepository} the entries are
+   * encoded straight from the source's wire format.
+   *
+   * @param dataset the {@link Dataset} to be queried
+   * @param select the projections (if any) to be applied to the data in the requested dataset
+   * @param where the predicates (if any) to be used when filtering the requested dataset
+   * @param orderBy the ordering (if any) to be applied to the data read from the requested dataset
+   * @param maxResults a limit on the number of entries to be read from the requested dataset
+   * @return an observable over the JSON encoded entries in the dataset identified by the given
+   *     {@code dataset}, {@code select}, {@code where} etc
+   */
+  Observable<Buffer> readJson(
+      Dataset dataset, String select, String where, String orderBy, Integer maxResults);
+
+  /**
+   * Gets an observable over a resultset, as per {@link #read(Dataset, String, String, String,
+   * Integer)}, with each entry encoded as a BSON document. Where the dataset's repository is a
+   * {@link PassThroughRepository} the entries are copied straight from the source's wire format so
+   * their values keep their BSON types. Otherwise the entries are encoded from the {@code Map} read
+   * from the source, so their values are only as typed as that {@code Map}'s values.
+   *
+   * @param dataset the {@link Dataset} to be queried
+   * @param select the projections (if any) to be applied to the data in the requested dataset
+   * @param where the predicates (if any) to be used when filtering the requested dataset
+   * @param orderBy the ordering (if any) to be applied to the data read from the requested dataset
+   * @param maxResults a limit on the number of entries to be read from the requested dataset
+   * @return an observable over the BSON encoded entries in the dataset identified by the given
+   *     {@code dataset}, {@code select}, {@code where} etc
+   */
+  Observable<Buffer> readBson(
+      Dataset dataset, String select, String where, String orderBy, Integer maxResults);
+
+  /**
+   * Gets one page of a resultset. The first page is read without a {@code cursor}, each subsequent
+   * page is read using the cursor returned with the previous page.
+   *
+   * @param dataset the {@link Dataset} to be queried
+   * @param select the projections (if any) to be applied to the data in the requested dataset
+   * @param where the predicates (if any) to be used when filtering the requested dataset
+   * @param orderBy the ordering (if any) to be applied to the data read from the requested dataset
+   * @param pageSize the maximum number of entries in a page
+   * @param cursor the cursor returned with the previous page, null for the first page
+   * @return an observable over a single {@link Page}
+   */
+  Observable<Page<DataEnvelope>> readPage(
+      Dataset dataset, String select, String where, String orderBy, int pageSize, String cursor);
+
+  /**
+   * Counts the entries in a dataset which satisfy the given {@code where}, without reading those
+   * entries where the dataset's source allows.
+   *
+   * @param dataset the {@link Dataset} to be counted
+   * @param where the predicates (if any) to be used when filtering the requested dataset
+   * @return an observable over a single count
+   */
+  Observable<Long> count(Dataset dataset, String where);
+
+  /**
+   * Explains, rather than runs, the read which {@link #read(Dataset, String, String, String,
+   * Integer)} would make for the given arguments.
+   *
+   * @param dataset the {@link Dataset} to be queried
+   * @param select the projections (if any) to be applied to the data in the requested dataset
+   * @param where the predicates (if any) to be used when filtering the requested dataset
+   * @param orderBy the ordering (if any) to be applied to the data read from the requested dataset
+   * @param maxResults a limit on the number of entries to be read from the requested dataset
+   * @return an observable over a single {@link Explanation}
+   */
+  Observable<Explanation> explain(
       Dataset dataset, String select, String where, String orderBy, Integer maxResults);
 }
@@ -17,32 +17,151 @@
 package io.github.glytching.dragoman.reader;
 
 import io.github.glytching.dragoman.dataset.Dataset;
+import io.github.glytching.dragoman.ql.domain.WhereClause;
+import io.github.glytching.dragoman.ql.parser.WhereClauseParser;
+import io.github.glytching.dragoman.repository.Explanation;
+import io.github.glytching.dragoman.repository.Page;
+import io.github.glytching.dragoman.repository.PassThroughRepository;
 import io.github.glytching.dragoman.repository.Repository;
 import io.github.glytching.dragoman.repository.router.RepositoryRouter;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import rx.Observable;
 
 import javax.inject.Inject;
+import java.util.Map;
 
 /**
  * Implements {@link Reader} by choosing the correct {@link Repository} instance for the given
  * {@link Dataset} and delegating to that repository and the mapping the response to a {@link
- * DataEnvelope}.
+ * DataEnvelope}. If the given {@code where} can never be satisfied then the repository is not
+ * touched at all, unless the repository matches array fields element by element in which case
+ * such a {@code where} may still match.
  */
 public class ReaderImpl implements Reader {
+  private static final Logger logger = LoggerFactory.getLogger(ReaderImpl.class);
+  private static final DocumentCodec DOCUMENT_CODEC = new DocumentCodec();
 
   private final RepositoryRouter repositoryRouter;
+  private final WhereClauseParser whereClauseParser;
 
   @Inject
-  public ReaderImpl(RepositoryRouter repositoryRouter) {
+  public ReaderImpl(RepositoryRouter repositoryRouter, WhereClauseParser whereClauseParser) {
     this.repositoryRouter = repositoryRouter;
+    this.whereClauseParser = whereClauseParser;
   }
 
   @Override
   public Observable<DataEnvelope> read(
+      Dataset dataset,
+      String select,
+      String where,
+      Map<String, Object> parameters,
+      String orderBy,
+      Integer maxResults) {
+    Repository<Map<String, Object>> repository = repositoryRouter.get(dataset);
+    if (isUnsatisfiable(repository, where)) {
+      logger.info("The where clause: {} can never be satisfied, skipping the read", where);
+      return Observable.empty();
+    }
+
+    return repository
+        .find(dataset, select, where, parameters, orderBy, maxResults)
+        .map(incoming -> new DataEnvelope(dataset.getSource(), incoming));
+  }
+
+  @Override
+  public Observable<Buffer> readJson(
       Dataset dataset, String select, String where, String orderBy, Integer maxResults) {
-    return repositoryRouter
-        .get(dataset)
+    Repository<Map<String, Object>> repository = repositoryRouter.get(dataset);
+    if (isUnsatisfiable(repository, where)) {
+      logger.info("The where clause: {} can never be satisfied, skipping the read", where);
+      return Observable.empty();
+    }
+
+    if (repository instanceof PassThroughRepository) {
+      return ((PassThroughRepository) repository)
+          .findJson(dataset, select, where, orderBy, maxResults);
+    }
+    return repository
         .find(dataset, select, where, orderBy, maxResults)
-        .map(incoming -> new DataEnvelope(dataset.getSource(), incoming));
+        .map(incoming -> new JsonObject(incoming).toBuffer());
+  }
+
+  @Override
+  public Observable<Buffer> readBson(
+      Dataset dataset, String select, String where, String orderBy, Integer maxResults) {
+    Repository<Map<String, Object>> repository = repositoryRouter.get(dataset);
+    if (isUnsatisfiable(repository, where)) {
+      logger.info("The where clause: {} can never be satisfied, skipping the read", where);
+      return Observable.empty();
+    }
+
+    if (repository instanceof PassThroughRepository) {
+      return ((PassThroughRepository) repository)
+          .findBson(dataset, select, where, orderBy, maxResults);
+    }
+    return repository.find(dataset, select, where, orderBy, maxResults).map(this::toBson);
+  }
+
+  @Override
+  public Observable<Page<DataEnvelope>> readPage(
+      Dataset dataset, String select, String where, String orderBy, int pageSize, String cursor) {
+    Repository<Map<String, Object>> repository = repositoryRouter.get(dataset);
+    if (isUnsatisfiable(repository, where)) {
+      logger.info("The where clause: {} can never be satisfied, skipping the read", where);
+      return Observable.just(Page.empty());
+    }
+
+    return repository
+        .findPage(dataset, select, where, orderBy, pageSize, cursor)
+        .map(page -> page.map(incoming -> new DataEnvelope(dataset.getSource(), incoming)));
+  }
+
+  @Override
+  public Observable<Long> count(Dataset dataset, String where) {
+    Repository<Map<String, Object>> repository = repositoryRouter.get(dataset);
+    if (isUnsatisfiable(repository, where)) {
+      logger.info("The where clause: {} can never be satisfied, skipping the count", where);
+      return Observable.just(0L);
+    }
+
+    return repository.count(dataset, where);
+  }
+
+  @Override
+  public Observable<Explanation> explain(
+      Dataset dataset, String select, String where, String orderBy, Integer maxResults) {
+    Repository<Map<String, Object>> repository = repositoryRouter.get(dataset);
+    if (isUnsatisfiable(repository, where)) {
+      return Observable.just(
+          new Explanation()
+              .withPlan("where", whereClauseParser.get(WhereClause.class, where).toString())
+              .withPlan("skipped", "The where clause can never be satisfied"));
+    }
+
+    return repository.explain(dataset, select, where, orderBy, maxResults);
+  }
+
+  private Buffer toBson(Map<String, Object> incoming) {
+    BasicOutputBuffer outputBuffer = new BasicOutputBuffer();
+    try (BsonBinaryWriter writer = new BsonBinaryWriter(outputBuffer)) {
+      DOCUMENT_CODEC.encode(writer, new Document(incoming), EncoderContext.builder().build());
+    }
+    return Buffer.buffer(outputBuffer.toByteArray());
+  }
+
+  private boolean isUnsatisfiable(Repository<Map<String, Object>> repository, String where) {
+    // a where clause which no single valued field can satisfy may still be satisfied by the
+    // elements of an array field
+    return !repository.matchesArrayElements()
+        && whereClauseParser.get(WhereClause.class, where).isUnsatisfiable();
   }
 }
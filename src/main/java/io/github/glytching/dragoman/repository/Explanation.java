@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.repository;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Describes how a repository would run a query, see {@link Repository#explain}. An explanation has
+ * three parts:
+ *
+ * <ul>
+ *   <li>Plan: the query as translated for its source e.g. the Mongo filter, projection and sort or
+ *       the source generated for in memory filtering and projection
+ *   <li>Execution: the source's own account of running the query e.g. Mongo's {@code
+ *       executionStats}, this is absent if the source cannot offer one
+ *   <li>Timings: the elapsed time, in milliseconds, for each phase of preparing the query e.g.
+ *       parsing and compiling
+ * </ul>
+ *
+ * The values in each part are simple types, lists and maps so that an explanation can be rendered
+ * as JSON without any knowledge of the source.
+ */
+public class Explanation {
+  private final Map<String, Object> plan;
+  private final Map<String, Long> timings;
+  private Map<String, Object> execution;
+
+  public Explanation() {
+    this.plan = new LinkedHashMap<>();
+    this.timings = new LinkedHashMap<>();
+  }
+
+  public Explanation withPlan(String name, Object value) {
+    plan.put(name, value);
+    return this;
+  }
+
+  public Explanation withTiming(String phase, long elapsedMillis) {
+    timings.put(phase, elapsedMillis);
+    return this;
+  }
+
+  public Explanation withExecution(Map<String, Object> execution) {
+    this.execution = execution;
+    return this;
+  }
+
+  public Map<String, Object> getPlan() {
+    return Collections.unmodifiableMap(plan);
+  }
+
+  /** @return the source's own account of running the query, null if the source offers none */
+  public Map<String, Object> getExecution() {
+    return execution;
+  }
+
+  /** @return the elapsed time, in milliseconds, for each phase keyed by phase name */
+  public Map<String, Long> getTimings() {
+    return Collections.unmodifiableMap(timings);
+  }
+
+  @Override
+  public String toString() {
+    return "Explanation{plan=" + plan + ", execution=" + execution + ", timings=" + timings + '}';
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a paginated read, see {@link Repository#findPage}. A page carries the cursor from
+ * which the next page can be read, there is no such cursor on the last page.
+ *
+ * @param <T> the type of the rows in this page
+ */
+public class Page<T> {
+  private final List<T> rows;
+  private final String nextCursor;
+
+  public Page(List<T> rows, String nextCursor) {
+    this.rows = Collections.unmodifiableList(rows);
+    this.nextCursor = nextCursor;
+  }
+
+  public static <T> Page<T> empty() {
+    return new Page<>(Collections.emptyList(), null);
+  }
+
+  public List<T> getRows() {
+    return rows;
+  }
+
+  /** @return the cursor from which the next page can be read, null if this is the last page */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public boolean hasNext() {
+    return nextCursor != null;
+  }
+
+  /**
+   * @param mapper transforms each row in this page
+   * @param <R> the type of the transformed rows
+   * @return a page containing the transformed rows and this page's cursor
+   */
+  public <R> Page<R> map(Function<T, R> mapper) {
+    List<R> mapped = new ArrayList<>(rows.size());
+    for (T row : rows) {
+      mapped.add(mapper.apply(row));
+    }
+    return new Page<>(mapped, nextCursor);
+  }
+}
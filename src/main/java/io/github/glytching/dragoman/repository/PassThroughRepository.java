@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.repository;
+
+import io.github.glytching.dragoman.dataset.Dataset;
+import io.vertx.core.buffer.Buffer;
+import rx.Observable;
+
+/**
+ * Implemented by a {@link Repository} which can read entries already encoded as JSON or BSON,
+ * straight from the source's own wire format. This allows callers which only write the entries out
+ * (e.g. to a HTTP response) to skip decoding each entry into a {@code Map} and then encoding it
+ * again.
+ */
+public interface PassThroughRepository {
+
+  /**
+   * Read data from the given {@code dataset}'s source, as per {@link Repository#find(Dataset,
+   * String, String, String, int)}, with each entry encoded as a JSON object.
+   *
+   * @param dataset the {@link Dataset} to be queried
+   * @param select the projections (if any) to be applied to the data in the requested dataset
+   * @param where the predicates (if any) to be used when filtering the requested dataset
+   * @param orderBy the ordering (if any) to be applied to the data read from the requested dataset
+   * @param maxResults a limit on the number of entries to be read from the requested dataset
+   * @return an observable over the JSON encoded data selected from the given {@code dataset}'s
+   *     source
+   */
+  Observable<Buffer> findJson(
+      Dataset dataset, String select, String where, String orderBy, int maxResults);
+
+  /**
+   * Read data from the given {@code dataset}'s source, as per {@link Repository#find(Dataset,
+   * String, String, String, int)}, with each entry encoded as a BSON document. Each entry's values
+   * keep the types they have in the source (e.g. dates, object ids and 64 bit integers).
+   *
+   * @param dataset the {@link Dataset} to be queried
+   * @param select the projections (if any) to be applied to the data in the requested dataset
+   * @param where the predicates (if any) to be used when filtering the requested dataset
+   * @param orderBy the ordering (if any) to be applied to the data read from the requested dataset
+   * @param maxResults a limit on the number of entries to be read from the requested dataset
+   * @return an observable over the BSON encoded data selected from the given {@code dataset}'s
+   *     source
+   */
+  Observable<Buffer> findBson(
+      Dataset dataset, String select, String where, String orderBy, int maxResults);
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.repository;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.github.glytching.dragoman.configuration.ApplicationConfiguration;
+import io.github.glytching.dragoman.dataset.Dataset;
+import io.github.glytching.dragoman.dataset.SavedQuery;
+import io.github.glytching.dragoman.repository.router.RepositoryRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Compiles queries ahead of their first use, on a dedicated compile executor, so that the first
+ * caller to run a query does not pay the compile cost on a request thread. The work itself is
+ * delegated to the {@link Repository} which serves the dataset, see {@link
+ * Repository#prepare(String, String)}.
+ *
+ * <p>A query which fails to compile is logged and otherwise ignored, the same failure will be
+ * reported to whoever runs that query.
+ */
+@Singleton
+public class QueryPrecompiler {
+  private static final Logger logger = LoggerFactory.getLogger(QueryPrecompiler.class);
+
+  private final RepositoryRouter repositoryRouter;
+  private final ExecutorService executor;
+
+  @Inject
+  public QueryPrecompiler(
+      RepositoryRouter repositoryRouter, ApplicationConfiguration applicationConfiguration) {
+    this.repositoryRouter = repositoryRouter;
+    this.executor =
+        Executors.newFixedThreadPool(
+            applicationConfiguration.getQueryCompileThreads(),
+            new ThreadFactoryBuilder().setNameFormat("query-compiler-%d").setDaemon(true).build());
+  }
+
+  /**
+   * Compiles each of the given {@code dataset}'s saved queries.
+   *
+   * @param dataset a dataset, possibly with some saved queries
+   * @return a future which completes when every saved query has been compiled (or has failed to
+   *     compile)
+   */
+  public CompletableFuture<Void> precompile(Dataset dataset) {
+    List<CompletableFuture<Void>> compilations = new ArrayList<>();
+    for (SavedQuery savedQuery : dataset.getSavedQueries()) {
+      compilations.add(precompile(dataset, savedQuery.getSelect(), savedQuery.getWhere()));
+    }
+    return CompletableFuture.allOf(compilations.toArray(new CompletableFuture[0]));
+  }
+
+  /**
+   * Compiles the given {@code select} and {@code where} for the given {@code dataset}.
+   *
+   * @param dataset the dataset against which the given query will be run
+   * @param select the projections (if any) to be applied to the data in the given dataset
+   * @param where the predicates (if any) to be used when filtering the given dataset
+   * @return a future which completes when the given query has been compiled (or has failed to
+   *     compile)
+   */
+  public CompletableFuture<Void> precompile(Dataset dataset, String select, String where) {
+    return CompletableFuture.runAsync(
+        () -> {
+          try {
+            long start = System.currentTimeMillis();
+            repositoryRouter.get(dataset).prepare(select, where);
+            logger.info(
+                "Precompiled select: [{}] and where: [{}] for dataset: {} in {}ms",
+                select,
+                where,
+                dataset.getId(),
+                System.currentTimeMillis() - start);
+          } catch (RuntimeException ex) {
+            logger.warn(
+                "Failed to precompile select: [{}] and where: [{}] for dataset: {}!",
+                select,
+                where,
+                dataset.getId(),
+                ex);
+          }
+        },
+        executor);
+  }
+}
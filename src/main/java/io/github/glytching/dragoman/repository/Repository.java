@@ -19,6 +19,9 @@ package io.github.glytching.dragoman.repository;
 import io.github.glytching.dragoman.dataset.Dataset;
 import rx.Observable;
 
+import java.util.Collections;
+import java.util.Map;
+
 /**
  * Defines the interaction with our repository layer. Implementations of this interface are expected
  * to be specific to a data source class e.g. MongoDB, HTTP etc.
@@ -36,7 +39,97 @@ public interface Repository<T> {
    * @param maxResults a limit on the number of entries to be read from the requested dataset
    * @return an observable over the data selected from the given {@code dataset}'s source
    */
-  Observable<T> find(Dataset dataset, String select, String where, String orderBy, int maxResults);
+  default Observable<T> find(
+      Dataset dataset, String select, String where, String orderBy, int maxResults) {
+    return find(dataset, select, where, Collections.emptyMap(), orderBy, maxResults);
+  }
+
+  /**
+   * Read data from the given {@code dataset}'s source, as per {@link #find(Dataset, String, String,
+   * String, int)}, but with values for any bind parameters (e.g. {@code :asOf}) in the given {@code
+   * where}.
+   *
+   * @param dataset the {@link Dataset} to be queried
+   * @param select the projections (if any) to be applied to the data in the requested dataset
+   * @param where the predicates (if any) to be used when filtering the requested dataset
+   * @param parameters the values for any bind parameters in the given {@code where}, keyed by
+   *     parameter name
+   * @param orderBy the ordering (if any) to be applied to the data read from the requested dataset
+   * @param maxResults a limit on the number of entries to be read from the requested dataset
+   * @return an observable over the data selected from the given {@code dataset}'s source
+   */
+  Observable<T> find(
+      Dataset dataset,
+      String select,
+      String where,
+      Map<String, Object> parameters,
+      String orderBy,
+      int maxResults);
+
+  /**
+   * Read one page of data from the given {@code dataset}'s source. The first page is read without
+   * a {@code cursor}, each subsequent page is read using the cursor returned with the previous
+   * page. Reading any page should cost about the same as reading the first page.
+   *
+   * @param dataset the {@link Dataset} to be queried
+   * @param select the projections (if any) to be applied to the data in the requested dataset
+   * @param where the predicates (if any) to be used when filtering the requested dataset
+   * @param orderBy the ordering (if any) to be applied to the data read from the requested dataset
+   * @param pageSize the maximum number of entries in a page
+   * @param cursor the cursor returned with the previous page, null for the first page
+   * @return an observable over a single {@link Page}
+   */
+  Observable<Page<T>> findPage(
+      Dataset dataset, String select, String where, String orderBy, int pageSize, String cursor);
+
+  /**
+   * Count the entries in the given {@code dataset}'s source which satisfy the given {@code where}
+   * without reading those entries into this process, where the source allows.
+   *
+   * @param dataset the {@link Dataset} to be counted
+   * @param where the predicates (if any) to be used when filtering the requested dataset
+   * @return an observable over a single count
+   */
+  Observable<Long> count(Dataset dataset, String where);
+
+  /**
+   * Describe, rather than run, the read which {@link #find(Dataset, String, String, String, int)}
+   * would make for the given arguments. This is a diagnostic aid, it may still touch the given
+   * {@code dataset}'s source e.g. to ask the source for its own query plan.
+   *
+   * @param dataset the {@link Dataset} to be queried
+   * @param select the projections (if any) to be applied to the data in the requested dataset
+   * @param where the predicates (if any) to be used when filtering the requested dataset
+   * @param orderBy the ordering (if any) to be applied to the data read from the requested dataset
+   * @param maxResults a limit on the number of entries to be read from the requested dataset
+   * @return an observable over a single {@link Explanation}
+   */
+  Observable<Explanation> explain(
+      Dataset dataset, String select, String where, String orderBy, int maxResults);
+
+  /**
+   * Prepare whatever this repository needs to run the given {@code select} and {@code where} (e.g.
+   * compiled filters and projections) so that the first read does not have to. Repositories which
+   * have nothing to prepare can rely on this default, which does nothing.
+   *
+   * @param select the projections (if any) which will be applied to the data in a dataset
+   * @param where the predicates (if any) which will be used when filtering a dataset
+   */
+  default void prepare(String select, String where) {
+    // no-op
+  }
+
+  /**
+   * Does this repository match an array field element by element? If so then each predicate in a
+   * where clause may be satisfied by a different element, so a where clause which could never be
+   * satisfied by a single valued field (e.g. {@code a = 1 and a = 2}) may still match. Repositories
+   * whose fields hold a single value can rely on this default.
+   *
+   * @return true if this repository matches array fields element by element, false otherwise
+   */
+  default boolean matchesArrayElements() {
+    return false;
+  }
 
   /**
    * Is this repository instance relevant to the given {@code dataset}. Every dataset can be handled
@@ -16,36 +16,70 @@
  */
 package io.github.glytching.dragoman.store.http.repository;
 
+import com.google.common.base.Strings;
 import io.github.glytching.dragoman.dataset.Dataset;
 import io.github.glytching.dragoman.http.HttpClientAdapter;
-import io.github.glytching.dragoman.ql.listener.groovy.Filter;
-import io.github.glytching.dragoman.ql.listener.groovy.GroovyFactory;
-import io.github.glytching.dragoman.ql.listener.groovy.Mapper;
+import io.github.glytching.dragoman.ql.domain.OrderByClause;
+import io.github.glytching.dragoman.ql.domain.SelectClause;
+import io.github.glytching.dragoman.ql.domain.WhereClause;
+import io.github.glytching.dragoman.ql.engine.ExpressionEngine;
+import io.github.glytching.dragoman.ql.engine.Filter;
+import io.github.glytching.dragoman.ql.engine.RowOperator;
+import io.github.glytching.dragoman.ql.engine.aggregate.Aggregator;
+import io.github.glytching.dragoman.ql.engine.aggregate.AggregatorFactory;
+import io.github.glytching.dragoman.ql.engine.sort.RowSorter;
+import io.github.glytching.dragoman.ql.engine.sort.RowSorterFactory;
+import io.github.glytching.dragoman.ql.parser.OrderByClauseParser;
+import io.github.glytching.dragoman.ql.parser.SelectClauseParser;
+import io.github.glytching.dragoman.ql.parser.WhereClauseParser;
+import io.github.glytching.dragoman.repository.Explanation;
+import io.github.glytching.dragoman.repository.Page;
 import io.github.glytching.dragoman.repository.Repository;
+import io.github.glytching.dragoman.util.StopWatch;
 import io.github.glytching.dragoman.util.UrlUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Observable;
 
 import javax.inject.Inject;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
 
 /** An implementation of {@link Repository} for HTTP data sources. */
 public class HttpRepository implements Repository<Map<String, Object>> {
   private static final Logger logger = LoggerFactory.getLogger(HttpRepository.class);
 
-  private final GroovyFactory groovyFactory;
+  private final ExpressionEngine expressionEngine;
   private final HttpClientAdapter httpClientAdapter;
   private final ResponsePostProcessorFactory responsePostProcessorFactory;
   private final UrlUtils urlUtils;
+  private final SelectClauseParser selectClauseParser;
+  private final AggregatorFactory aggregatorFactory;
+  private final OrderByClauseParser orderByClauseParser;
+  private final RowSorterFactory rowSorterFactory;
+  private final PagedResultCache pagedResultCache;
+  private final WhereClauseParser whereClauseParser;
 
   @Inject
   public HttpRepository(
-      GroovyFactory groovyFactory,
+      ExpressionEngine expressionEngine,
       HttpClientAdapter httpClientAdapter,
       ResponsePostProcessorFactory responsePostProcessorFactory,
-      UrlUtils urlUtils) {
-    this.groovyFactory = groovyFactory;
+      UrlUtils urlUtils,
+      SelectClauseParser selectClauseParser,
+      AggregatorFactory aggregatorFactory,
+      OrderByClauseParser orderByClauseParser,
+      RowSorterFactory rowSorterFactory,
+      PagedResultCache pagedResultCache,
+      WhereClauseParser whereClauseParser) {
+    this.expressionEngine = expressionEngine;
+    this.selectClauseParser = selectClauseParser;
+    this.aggregatorFactory = aggregatorFactory;
+    this.orderByClauseParser = orderByClauseParser;
+    this.rowSorterFactory = rowSorterFactory;
+    this.pagedResultCache = pagedResultCache;
+    this.whereClauseParser = whereClauseParser;
     this.httpClientAdapter = httpClientAdapter;
     this.responsePostProcessorFactory = responsePostProcessorFactory;
     this.urlUtils = urlUtils;
@@ -61,25 +95,57 @@ public class HttpRepository implements Repository<Map<String, Object>> {
    * In time this approach may be revisited to declare more information about the source in the
    * {@link Dataset} so as to allow smarter usage of the HTTP sources.
    *
+   * <p>An aggregate {@code select} (i.e. one which uses aggregate functions or a {@code group by})
+   * is applied in a single pass over the data, holding one row per group in memory.
+   *
+   * <p>An {@code orderBy} is applied by a {@link RowSorter}, with a {@code maxResults} this holds
+   * only the top {@code maxResults} rows in memory, without a {@code maxResults} it sorts in memory
+   * and spills to temporary files if the number of rows is large.
+   *
    * @param dataset the {@link Dataset} to be queried
    * @param select the projections (if any) to be applied to the data in the requested dataset
    * @param where the predicates (if any) to be used when filtering the requested dataset
+   * @param parameters the values for any bind parameters in the given {@code where}
    * @param orderBy the ordering (if any) to be applied to the data read from the requested dataset
    * @param maxResults a limit on the number of entries to be read from the requested dataset
    * @return
    */
   @Override
   public Observable<Map<String, Object>> find(
-      Dataset dataset, String select, String where, String orderBy, int maxResults) {
-    Mapper mapper = groovyFactory.createProjector(select);
+      Dataset dataset,
+      String select,
+      String where,
+      Map<String, Object> parameters,
+      String orderBy,
+      int maxResults) {
+    SelectClause selectClause = selectClauseParser.get(SelectClause.class, select);
+    OrderByClause orderByClause = orderByClauseParser.get(OrderByClause.class, orderBy);
+    if (selectClause.isAggregate()) {
+      return aggregate(
+          dataset, select, selectClause, where, parameters, orderByClause, maxResults);
+    }
 
-    Filter filter = groovyFactory.createFilter(where);
+    RowOperator rowOperator = expressionEngine.createOperator(select, where);
 
     Observable<Map<String, Object>> rawResponse =
         httpClientAdapter.read(dataset.getSource(), responsePostProcessorFactory.create(dataset));
 
+    if (!orderByClause.isEmpty()) {
+      // the sort keys are read from the source row since they need not be in the projection
+      return rowSorterFactory.sort(
+          rawResponse,
+          incoming -> rowOperator.apply(incoming, parameters),
+          orderByClause,
+          maxResults);
+    }
+
     logger.info("Start filter and map");
-    Observable<Map<String, Object>> observable = rawResponse.filter(filter::filter);
+    // the filter and the projection are applied in a single pass, a row which does not match the
+    // filter is mapped to null
+    Observable<Map<String, Object>> observable =
+        rawResponse
+            .map(incoming -> rowOperator.apply(incoming, parameters))
+            .filter(Objects::nonNull);
 
     // we can only apply maxResults here because if we apply it before we filter we might have
     // nothing to
@@ -89,7 +155,161 @@ public class HttpRepository implements Repository<Map<String, Object>> {
     }
 
     logger.info("Finish filter and map");
-    return observable.map(mapper::map);
+    return observable;
+  }
+
+  /**
+   * Reads a page via the {@link PagedResultCache}: the first page's read materialises and caches
+   * the entire result, subsequent pages are read from that cached result. The cached result is
+   * bound to the given clauses so a cursor cannot be used with another query.
+   */
+  @Override
+  public Observable<Page<Map<String, Object>>> findPage(
+      Dataset dataset, String select, String where, String orderBy, int pageSize, String cursor) {
+    String query = toQuery(select, where, orderBy);
+    if (cursor != null) {
+      return Observable.fromCallable(
+          () -> pagedResultCache.next(dataset.getId(), query, cursor, pageSize));
+    }
+    return find(dataset, select, where, orderBy, -1)
+        .toList()
+        .map(rows -> pagedResultCache.first(dataset.getId(), query, rows, pageSize));
+  }
+
+  /**
+   * Counts the rows which pass the filter in a single pass over the source, the rows are not
+   * projected and none of them are retained.
+   */
+  @Override
+  public Observable<Long> count(Dataset dataset, String where) {
+    Filter filter = expressionEngine.createFilter(where);
+
+    return httpClientAdapter
+        .read(dataset.getSource(), responsePostProcessorFactory.create(dataset))
+        .filter(incoming -> filter.filter(incoming, Collections.emptyMap()))
+        .countLong();
+  }
+
+  /**
+   * Explains a read from a HTTP source. The source itself cannot explain anything so the plan
+   * describes what this repository does in memory: the normalised where clause, the source
+   * generated by the {@link ExpressionEngine} (if any) and the ordering. The timings show how long
+   * it took to parse each clause and to compile the generated source, these will be close to zero
+   * if the query has been run (or prepared) recently since both parse and compile results are
+   * cached.
+   */
+  @Override
+  public Observable<Explanation> explain(
+      Dataset dataset, String select, String where, String orderBy, int maxResults) {
+    return Observable.fromCallable(
+        () -> {
+          Explanation explanation = new Explanation();
+
+          StopWatch stopWatch = StopWatch.startForSplits();
+          SelectClause selectClause = selectClauseParser.get(SelectClause.class, select);
+          explanation.withTiming("select", stopWatch.split());
+
+          WhereClause whereClause = whereClauseParser.get(WhereClause.class, where);
+          explanation.withTiming("where", stopWatch.split());
+
+          OrderByClause orderByClause = orderByClauseParser.get(OrderByClause.class, orderBy);
+          explanation.withTiming("orderBy", stopWatch.split());
+
+          if (selectClause.isAggregate()) {
+            expressionEngine.createFilter(where);
+          } else {
+            expressionEngine.createOperator(select, where);
+          }
+          explanation.withTiming("compile", stopWatch.split());
+          explanation.withTiming("total", stopWatch.stop());
+
+          explanation
+              .withPlan("engine", expressionEngine.getClass().getSimpleName())
+              .withPlan("select", selectClause.toString())
+              .withPlan("where", whereClause.toString());
+          expressionEngine
+              .describeFilter(where)
+              .ifPresent(source -> explanation.withPlan("filter", source));
+          if (selectClause.isAggregate()) {
+            explanation.withPlan("aggregate", "single pass, one row per group in memory");
+          } else {
+            expressionEngine
+                .describeProjector(select)
+                .ifPresent(source -> explanation.withPlan("projector", source));
+          }
+          if (!orderByClause.isEmpty()) {
+            explanation
+                .withPlan("orderBy", orderByClause.toString())
+                .withPlan("sort", maxResults > 0 ? "top " + maxResults : "in memory, may spill");
+          }
+          if (maxResults > 0) {
+            explanation.withPlan("maxResults", maxResults);
+          }
+          return explanation;
+        });
+  }
+
+  /**
+   * Compiles the filter and projection for the given {@code select} and {@code where}, the
+   * compiled forms are cached by the {@link ExpressionEngine} and will be reused by {@link
+   * #find(Dataset, String, String, Map, String, int)}.
+   *
+   * @param select the projections (if any) which will be applied to the data in a dataset
+   * @param where the predicates (if any) which will be used when filtering a dataset
+   */
+  @Override
+  public void prepare(String select, String where) {
+    if (selectClauseParser.get(SelectClause.class, select).isAggregate()) {
+      expressionEngine.createFilter(where);
+    } else {
+      expressionEngine.createOperator(select, where);
+    }
+  }
+
+  /**
+   * Aggregates the data read from the given {@code dataset} in a single pass. Each row which
+   * passes the filter is folded into its group's accumulators and then discarded so only one row
+   * per group is held in memory. See {@link Aggregator}.
+   */
+  private Observable<Map<String, Object>> aggregate(
+      Dataset dataset,
+      String select,
+      SelectClause selectClause,
+      String where,
+      Map<String, Object> parameters,
+      OrderByClause orderByClause,
+      int maxResults) {
+    Filter filter = expressionEngine.createFilter(where);
+
+    Observable<Map<String, Object>> rawResponse =
+        httpClientAdapter.read(dataset.getSource(), responsePostProcessorFactory.create(dataset));
+
+    Observable<Map<String, Object>> observable =
+        rawResponse
+            .filter(incoming -> filter.filter(incoming, parameters))
+            .collect(
+                () -> aggregatorFactory.create(dataset.getId() + ":" + select, selectClause),
+                Aggregator::accept)
+            .flatMapIterable(Aggregator::getResults);
+
+    if (!orderByClause.isEmpty()) {
+      // the order by refers to the aggregated rows' output names
+      return rowSorterFactory.sort(observable, row -> row, orderByClause, maxResults);
+    }
+    if (maxResults > 0) {
+      observable = observable.limit(maxResults);
+    }
+    return observable;
+  }
+
+  /** @return identifies a query by its clauses, a null clause is treated as an empty clause */
+  private String toQuery(String select, String where, String orderBy) {
+    // NUL cannot appear in a clause so it cannot make two different queries look the same
+    return String.join(
+        "\u0000",
+        Strings.nullToEmpty(select),
+        Strings.nullToEmpty(where),
+        Strings.nullToEmpty(orderBy));
   }
 
   @Override
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.store.http.repository;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.github.glytching.dragoman.configuration.ApplicationConfiguration;
+import io.github.glytching.dragoman.repository.Page;
+import io.github.glytching.dragoman.web.exception.InvalidRequestException;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pagination for HTTP sources. A HTTP source cannot be asked for 'the rows after this one' so the
+ * first page's read materialises the entire result and, if it spans more than one page, caches it
+ * for a short time. The cursor for each subsequent page points into that cached result, identifying
+ * the result and the offset of the page within it. A result is evicted once its last page has been
+ * read, once it has not been read for the configured time to live or once the cache is full.
+ *
+ * <p>A cached result is bound to the query (the select, where and order by clauses) which produced
+ * it so a cursor is only accepted for the same query, otherwise a client could page through the
+ * result of one query while believing it is reading another.
+ */
+@Singleton
+public class PagedResultCache {
+  private static final char SEPARATOR = ':';
+
+  private final Cache<String, Result> results;
+
+  @Inject
+  public PagedResultCache(ApplicationConfiguration applicationConfiguration) {
+    this(
+        applicationConfiguration.getQueryPageCacheSize(),
+        applicationConfiguration.getQueryPageCacheTtlSeconds());
+  }
+
+  public PagedResultCache(int maximumSize, long ttlSeconds) {
+    this.results =
+        CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(ttlSeconds, TimeUnit.SECONDS)
+            .build();
+  }
+
+  /**
+   * @param datasetId identifies the dataset from which the given {@code rows} were read
+   * @param query identifies the query which produced the given {@code rows}
+   * @param rows the entire result
+   * @param pageSize the maximum number of entries in a page
+   * @return the first page of the given {@code rows}
+   */
+  public Page<Map<String, Object>> first(
+      String datasetId, String query, List<Map<String, Object>> rows, int pageSize) {
+    if (rows.size() <= pageSize) {
+      return new Page<>(rows, null);
+    }
+    String key = datasetId + SEPARATOR + UUID.randomUUID();
+    results.put(key, new Result(query, rows));
+    return page(key, rows, 0, pageSize);
+  }
+
+  /**
+   * @param datasetId identifies the dataset being read
+   * @param query identifies the query being run
+   * @param cursor the cursor returned with the previous page
+   * @param pageSize the maximum number of entries in a page
+   * @return the page identified by the given {@code cursor}
+   * @throws InvalidRequestException if the cursor is invalid, was created for another dataset or
+   *     another query or has expired
+   */
+  public Page<Map<String, Object>> next(
+      String datasetId, String query, String cursor, int pageSize) {
+    String decoded;
+    try {
+      decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException ex) {
+      throw InvalidRequestException.create("Invalid cursor: " + cursor);
+    }
+    int separator = decoded.lastIndexOf(SEPARATOR);
+    if (separator < 0 || !decoded.startsWith(datasetId + SEPARATOR)) {
+      throw InvalidRequestException.create("Invalid cursor: " + cursor);
+    }
+    String key = decoded.substring(0, separator);
+    int offset;
+    try {
+      offset = Integer.parseInt(decoded.substring(separator + 1));
+    } catch (NumberFormatException ex) {
+      throw InvalidRequestException.create("Invalid cursor: " + cursor);
+    }
+    if (offset < 0) {
+      throw InvalidRequestException.create("Invalid cursor: " + cursor);
+    }
+
+    Result result = results.getIfPresent(key);
+    if (result == null) {
+      throw InvalidRequestException.create(
+          "The cursor: " + cursor + " has expired, read the first page again");
+    }
+    if (!result.query.equals(query)) {
+      throw InvalidRequestException.create(
+          "The cursor: " + cursor + " was not created for this query");
+    }
+    List<Map<String, Object>> rows = result.rows;
+    if (offset > rows.size()) {
+      throw InvalidRequestException.create("Invalid cursor: " + cursor);
+    }
+    return page(key, rows, offset, pageSize);
+  }
+
+  public long size() {
+    return results.size();
+  }
+
+  private Page<Map<String, Object>> page(
+      String key, List<Map<String, Object>> rows, int offset, int pageSize) {
+    int end = Math.min(rows.size(), offset + pageSize);
+    String nextCursor = null;
+    if (end < rows.size()) {
+      String decoded = key + SEPARATOR + end;
+      nextCursor =
+          Base64.getUrlEncoder()
+              .withoutPadding()
+              .encodeToString(decoded.getBytes(StandardCharsets.UTF_8));
+    } else {
+      // this is the last page, there is no need to hold the result any longer
+      results.invalidate(key);
+    }
+    return new Page<>(rows.subList(offset, end), nextCursor);
+  }
+
+  private static class Result {
+    private final String query;
+    private final List<Map<String, Object>> rows;
+
+    private Result(String query, List<Map<String, Object>> rows) {
+      this.query = query;
+      this.rows = rows;
+    }
+  }
+}
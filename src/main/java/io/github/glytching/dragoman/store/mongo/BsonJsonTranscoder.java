@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.store.mongo;
+
+import io.vertx.core.buffer.Buffer;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.RawBsonDocument;
+import org.bson.json.JsonWriter;
+import org.bson.json.JsonWriterSettings;
+
+import java.io.Writer;
+
+/**
+ * Transcodes a {@link RawBsonDocument} straight from its BSON bytes to JSON bytes in a Vert.x
+ * {@link Buffer}, without materialising the document as a {@code Document}, {@code Map} or {@code
+ * String} along the way. The JSON is the same as that produced by {@link
+ * DocumentTransformer#transform(Class, org.bson.Document)} (i.e. the {@code _id} is removed and
+ * values are written using the default {@link JsonWriterSettings}), just without any indentation.
+ */
+public class BsonJsonTranscoder {
+
+  public Buffer transcode(RawBsonDocument document) {
+    // the JSON form of a document is usually about as long as its BSON form
+    Buffer buffer = Buffer.buffer(document.getByteBuffer().remaining());
+    try (BsonBinaryReader reader = new BsonBinaryReader(document.getByteBuffer().asNIO())) {
+      JsonWriter writer = new JsonWriter(new BufferWriter(buffer), new JsonWriterSettings());
+
+      reader.readStartDocument();
+      writer.writeStartDocument();
+      while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+        String name = reader.readName();
+        if ("_id".equals(name)) {
+          reader.skipValue();
+        } else {
+          writer.writeName(name);
+          pipeValue(reader, writer);
+        }
+      }
+      reader.readEndDocument();
+      writer.writeEndDocument();
+    }
+    return buffer;
+  }
+
+  private void pipeDocument(BsonReader reader, BsonWriter writer) {
+    reader.readStartDocument();
+    writer.writeStartDocument();
+    while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+      writer.writeName(reader.readName());
+      pipeValue(reader, writer);
+    }
+    reader.readEndDocument();
+    writer.writeEndDocument();
+  }
+
+  private void pipeValue(BsonReader reader, BsonWriter writer) {
+    switch (reader.getCurrentBsonType()) {
+      case DOCUMENT:
+        pipeDocument(reader, writer);
+        break;
+      case ARRAY:
+        reader.readStartArray();
+        writer.writeStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+          pipeValue(reader, writer);
+        }
+        reader.readEndArray();
+        writer.writeEndArray();
+        break;
+      case DOUBLE:
+        writer.writeDouble(reader.readDouble());
+        break;
+      case STRING:
+        writer.writeString(reader.readString());
+        break;
+      case BINARY:
+        writer.writeBinaryData(reader.readBinaryData());
+        break;
+      case UNDEFINED:
+        reader.readUndefined();
+        writer.writeUndefined();
+        break;
+      case OBJECT_ID:
+        writer.writeObjectId(reader.readObjectId());
+        break;
+      case BOOLEAN:
+        writer.writeBoolean(reader.readBoolean());
+        break;
+      case DATE_TIME:
+        writer.writeDateTime(reader.readDateTime());
+        break;
+      case NULL:
+        reader.readNull();
+        writer.writeNull();
+        break;
+      case REGULAR_EXPRESSION:
+        writer.writeRegularExpression(reader.readRegularExpression());
+        break;
+      case DB_POINTER:
+        writer.writeDBPointer(reader.readDBPointer());
+        break;
+      case JAVASCRIPT:
+        writer.writeJavaScript(reader.readJavaScript());
+        break;
+      case SYMBOL:
+        writer.writeSymbol(reader.readSymbol());
+        break;
+      case JAVASCRIPT_WITH_SCOPE:
+        writer.writeJavaScriptWithScope(reader.readJavaScriptWithScope());
+        pipeDocument(reader, writer);
+        break;
+      case INT32:
+        writer.writeInt32(reader.readInt32());
+        break;
+      case TIMESTAMP:
+        writer.writeTimestamp(reader.readTimestamp());
+        break;
+      case INT64:
+        writer.writeInt64(reader.readInt64());
+        break;
+      case DECIMAL128:
+        writer.writeDecimal128(reader.readDecimal128());
+        break;
+      case MIN_KEY:
+        reader.readMinKey();
+        writer.writeMinKey();
+        break;
+      case MAX_KEY:
+        reader.readMaxKey();
+        writer.writeMaxKey();
+        break;
+      default:
+        throw new IllegalArgumentException(
+            "Unsupported BSON type: " + reader.getCurrentBsonType());
+    }
+  }
+
+  /**
+   * A {@link Writer} which UTF-8 encodes each character directly into a {@link Buffer}. The {@link
+   * JsonWriter} writes surrogates as unicode escapes so every character written here is a whole
+   * code point and none needs more than three bytes.
+   */
+  private static class BufferWriter extends Writer {
+    private final Buffer buffer;
+
+    BufferWriter(Buffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public void write(int c) {
+      encode((char) c);
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) {
+      for (int i = offset; i < offset + length; i++) {
+        encode(chars[i]);
+      }
+    }
+
+    @Override
+    public void write(String str, int offset, int length) {
+      for (int i = offset; i < offset + length; i++) {
+        encode(str.charAt(i));
+      }
+    }
+
+    @Override
+    public void flush() {
+      // no-op, every write goes straight to the buffer
+    }
+
+    @Override
+    public void close() {
+      // no-op, the buffer belongs to the caller
+    }
+
+    private void encode(char c) {
+      if (c < 0x80) {
+        buffer.appendByte((byte) c);
+      } else if (c < 0x800) {
+        buffer.appendByte((byte) (0xC0 | (c >> 6)));
+        buffer.appendByte((byte) (0x80 | (c & 0x3F)));
+      } else {
+        buffer.appendByte((byte) (0xE0 | (c >> 12)));
+        buffer.appendByte((byte) (0x80 | ((c >> 6) & 0x3F)));
+        buffer.appendByte((byte) (0x80 | (c & 0x3F)));
+      }
+    }
+  }
+}
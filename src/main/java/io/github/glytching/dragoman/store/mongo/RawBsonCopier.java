@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.store.mongo;
+
+import io.vertx.core.buffer.Buffer;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonType;
+import org.bson.RawBsonDocument;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Copies a {@link RawBsonDocument}'s BSON bytes into a Vert.x {@link Buffer}, dropping the top
+ * level {@code _id} (just as {@link BsonJsonTranscoder} does) but otherwise leaving each value's
+ * bytes, and hence its BSON type, untouched. The document is only scanned to find the {@code _id},
+ * none of its values are decoded.
+ */
+public class RawBsonCopier {
+
+  private static final String ID = "_id";
+
+  public Buffer copy(RawBsonDocument document) {
+    ByteBuffer bytes = document.getByteBuffer().asNIO();
+    int start = bytes.position();
+    int length = bytes.getInt(start);
+
+    int idStart = -1;
+    int idEnd = -1;
+    try (BsonBinaryReader reader = new BsonBinaryReader(bytes)) {
+      reader.readStartDocument();
+      int elementStart = reader.getBsonInput().getPosition();
+      while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+        // reading the type also reads the element's name
+        String name = reader.readName();
+        reader.skipValue();
+        int elementEnd = reader.getBsonInput().getPosition();
+        if (ID.equals(name)) {
+          idStart = elementStart;
+          idEnd = elementEnd;
+          break;
+        }
+        elementStart = elementEnd;
+      }
+    }
+
+    byte[] array = bytes.array();
+    if (idStart < 0) {
+      return Buffer.buffer(length).appendBytes(array, start, length);
+    }
+    int idLength = idEnd - idStart;
+    // the copy is the original less the _id element, with its length adjusted to suit
+    return Buffer.buffer(length - idLength)
+        .appendIntLE(length - idLength)
+        .appendBytes(array, start + 4, idStart - start - 4)
+        .appendBytes(array, idEnd, start + length - idEnd);
+  }
+}
@@ -28,6 +28,7 @@ import io.github.glytching.dragoman.dataset.DatasetDao;
 import io.github.glytching.dragoman.store.mongo.DocumentTransformer;
 import io.github.glytching.dragoman.store.mongo.MongoProvider;
 import io.github.glytching.dragoman.store.mongo.MongoStorageCoordinates;
+import io.github.glytching.dragoman.store.mongo.repository.MongoReadProfile;
 import org.bson.Document;
 import org.bson.types.ObjectId;
 import rx.Observable;
@@ -89,6 +90,8 @@ public class MongoDatasetDao implements DatasetDao {
 
   @Override
   public Dataset write(Dataset dataset) {
+    MongoReadProfile.validate(dataset);
+
     // we populate this on first write and retain it thereafter
     if (isBlank(dataset.getId())) {
       dataset.setId(ObjectId.get().toString());
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.store.mongo.index;
+
+import io.github.glytching.dragoman.ql.domain.OrderBy;
+import io.github.glytching.dragoman.ql.domain.OrderByClause;
+import io.github.glytching.dragoman.ql.domain.Predicate;
+import io.github.glytching.dragoman.ql.domain.WhereClause;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The keys of a compound index, in key order, with a direction (1 for ascending, -1 for
+ * descending) for each key.
+ *
+ * <p>The keys which would best serve a given query are derived using the 'equality, sort, range'
+ * rule: fields which the query tests for equality come first (in name order, their order makes no
+ * difference to the query), then the fields on which the query sorts and then, at most one, field
+ * on which the query has a range predicate. Negated predicates (e.g. {@code !=}, {@code not in})
+ * are ignored since an index rarely helps with them.
+ */
+public final class IndexKeys {
+  private static final Set<Predicate.Operator> EQUALITY =
+      EnumSet.of(Predicate.Operator.EQUALS, Predicate.Operator.IN, Predicate.Operator.IS_NULL);
+  private static final Set<Predicate.Operator> RANGE =
+      EnumSet.of(
+          Predicate.Operator.GREATER_THAN,
+          Predicate.Operator.GREATER_THAN_OR_EQUAL_TO,
+          Predicate.Operator.LESS_THAN,
+          Predicate.Operator.LESS_THAN_OR_EQUAL_TO,
+          Predicate.Operator.BETWEEN);
+
+  private final Map<String, Integer> keys;
+
+  public IndexKeys(Map<String, Integer> keys) {
+    this.keys = Collections.unmodifiableMap(new LinkedHashMap<>(keys));
+  }
+
+  /**
+   * @param whereClause a query's where clause
+   * @param orderByClause a query's order by clause
+   * @return the keys of the index which would best serve the given query, these will be empty if
+   *     the query has neither predicates nor ordering
+   */
+  public static IndexKeys of(WhereClause whereClause, OrderByClause orderByClause) {
+    Set<String> equalities = new TreeSet<>();
+    String range = null;
+    for (Predicate predicate : whereClause.getPredicates()) {
+      if (EQUALITY.contains(predicate.getOperator())) {
+        equalities.add(predicate.getLhs());
+      } else if (range == null && RANGE.contains(predicate.getOperator())) {
+        range = predicate.getLhs();
+      }
+    }
+
+    Map<String, Integer> keys = new LinkedHashMap<>();
+    for (String equality : equalities) {
+      keys.put(equality, 1);
+    }
+    for (OrderBy orderBy : orderByClause.getOrderBys()) {
+      keys.putIfAbsent(orderBy.getName(), orderBy.isAscending() ? 1 : -1);
+    }
+    if (range != null) {
+      keys.putIfAbsent(range, 1);
+    }
+    return new IndexKeys(keys);
+  }
+
+  public Map<String, Integer> getKeys() {
+    return keys;
+  }
+
+  public boolean isEmpty() {
+    return keys.isEmpty() || (keys.size() == 1 && keys.containsKey("_id"));
+  }
+
+  /**
+   * @param other another index's keys
+   * @return true if an index with the given {@code other} keys would also serve any query served by
+   *     an index with these keys i.e. if these keys are a leading subset of the {@code other} keys
+   */
+  public boolean isPrefixOf(IndexKeys other) {
+    if (keys.size() > other.keys.size()) {
+      return false;
+    }
+    List<Map.Entry<String, Integer>> mine = new ArrayList<>(keys.entrySet());
+    List<Map.Entry<String, Integer>> theirs = new ArrayList<>(other.keys.entrySet());
+    for (int i = 0; i < mine.size(); i++) {
+      if (!mine.get(i).equals(theirs.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public BsonDocument toBsonDocument() {
+    BsonDocument document = new BsonDocument();
+    keys.forEach((name, direction) -> document.append(name, new BsonInt32(direction)));
+    return document;
+  }
+
+  // key order matters to an index but not to map equality so these compare the keys as a list
+  @Override
+  public int hashCode() {
+    return new HashCodeBuilder().append(new ArrayList<>(keys.entrySet())).toHashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof IndexKeys)) {
+      return false;
+    }
+    IndexKeys other = (IndexKeys) obj;
+    return new EqualsBuilder()
+        .append(new ArrayList<>(keys.entrySet()), new ArrayList<>(other.keys.entrySet()))
+        .isEquals();
+  }
+
+  @Override
+  public String toString() {
+    return keys.toString();
+  }
+}
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.store.mongo.index;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.mongodb.client.model.IndexOptions;
+import io.github.glytching.dragoman.configuration.ApplicationConfiguration;
+import io.github.glytching.dragoman.dataset.Dataset;
+import io.github.glytching.dragoman.ql.domain.OrderByClause;
+import io.github.glytching.dragoman.ql.domain.WhereClause;
+import io.github.glytching.dragoman.store.mongo.MongoProvider;
+import io.github.glytching.dragoman.store.mongo.MongoStorageCoordinates;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the shape of the queries made against each MongoDB dataset and recommends the compound
+ * indexes which would serve them, see {@link IndexKeys}.
+ *
+ * <p>The workload is recorded per source (i.e. per collection) since that is what an index
+ * belongs to.
+ *
+ * <p>A dataset's subscription control field (or a recorded shape which it leads) is always
+ * recommended, ahead of any other index, since every poll of a subscription makes a range query on
+ * that field.
+ *
+ * <p>If a dataset allows it (see {@link Dataset#isAutoIndex()}) then the recommended indexes are
+ * built, in the background, once any query shape has been seen {@code mongo.index.build.threshold}
+ * times. Each index is built at most once per process (unless its build fails), building an index
+ * which already exists is harmless.
+ */
+@Singleton
+public class MongoIndexAdvisor {
+  private static final Logger logger = LoggerFactory.getLogger(MongoIndexAdvisor.class);
+
+  // bounds the memory used by a dataset whose queries take many different shapes
+  private static final int MAX_SHAPES_PER_DATASET = 100;
+
+  private final MongoProvider mongoProvider;
+  private final int buildThreshold;
+  private final int maxIndexes;
+  private final Cache<String, ConcurrentMap<IndexKeys, AtomicLong>> workloads;
+  private final Set<String> built;
+
+  @Inject
+  public MongoIndexAdvisor(
+      ApplicationConfiguration applicationConfiguration, MongoProvider mongoProvider) {
+    this(
+        applicationConfiguration.getMongoIndexBuildThreshold(),
+        applicationConfiguration.getMongoIndexMaxPerDataset(),
+        mongoProvider);
+  }
+
+  public MongoIndexAdvisor(int buildThreshold, int maxIndexes, MongoProvider mongoProvider) {
+    this.mongoProvider = mongoProvider;
+    this.buildThreshold = buildThreshold;
+    this.maxIndexes = maxIndexes;
+    this.workloads = CacheBuilder.newBuilder().maximumSize(1000).build();
+    this.built = ConcurrentHashMap.newKeySet();
+  }
+
+  /**
+   * Records a query against the given {@code dataset} and, if the dataset allows it and the query's
+   * shape has been seen often enough, builds the dataset's recommended indexes.
+   *
+   * @param dataset the queried {@link Dataset}
+   * @param whereClause the query's where clause
+   * @param orderByClause the query's order by clause
+   */
+  public void record(Dataset dataset, WhereClause whereClause, OrderByClause orderByClause) {
+    IndexKeys indexKeys = IndexKeys.of(whereClause, orderByClause);
+    if (indexKeys.isEmpty()) {
+      return;
+    }
+
+    ConcurrentMap<IndexKeys, AtomicLong> workload = getWorkload(dataset);
+    AtomicLong count = workload.get(indexKeys);
+    if (count == null) {
+      if (workload.size() >= MAX_SHAPES_PER_DATASET) {
+        return;
+      }
+      count = workload.computeIfAbsent(indexKeys, k -> new AtomicLong());
+    }
+
+    // not just when the threshold is crossed since auto indexing may be enabled later or an
+    // earlier build may have failed, build() skips any index which has already been built
+    if (count.incrementAndGet() >= buildThreshold && dataset.isAutoIndex()) {
+      build(dataset);
+    }
+  }
+
+  /**
+   * Recommends indexes greedily: each recommendation is the recorded shape whose index would serve
+   * the most recorded queries which are not already served by an earlier recommendation. Since an
+   * index also serves any shape which leads it this favours e.g. {@code {a: 1, b: 1}} over {@code
+   * {a: 1}} and a shape is only ever folded into an index which is actually recommended.
+   *
+   * @param dataset a {@link Dataset}
+   * @return the indexes recommended for the given {@code dataset}, in order of usefulness, with the
+   *     number of recorded queries which each index would serve
+   */
+  public Map<IndexKeys, Long> recommend(Dataset dataset) {
+    // a snapshot of the counts, these may be updated while recommending
+    Map<IndexKeys, Long> workload = new LinkedHashMap<>();
+    getWorkload(dataset).forEach((indexKeys, count) -> workload.put(indexKeys, count.get()));
+
+    List<IndexKeys> candidates = new ArrayList<>(workload.keySet());
+    candidates.sort((one, two) -> Long.compare(workload.get(two), workload.get(one)));
+
+    Map<IndexKeys, Long> recommendations = new LinkedHashMap<>();
+    Set<IndexKeys> served = new HashSet<>();
+    if (maxIndexes > 0 && StringUtils.isNotBlank(dataset.getSubscriptionControlField())) {
+      // an index which is led by the subscription control field serves every poll just as well
+      IndexKeys best =
+          new IndexKeys(Collections.singletonMap(dataset.getSubscriptionControlField(), 1));
+      for (IndexKeys candidate : candidates) {
+        if (best.isPrefixOf(candidate)
+            && servedBy(candidate, workload) > servedBy(best, workload)) {
+          best = candidate;
+        }
+      }
+      recommend(best, workload, recommendations, served);
+    }
+
+    while (recommendations.size() < maxIndexes) {
+      IndexKeys best = null;
+      long bestGain = 0;
+      for (IndexKeys candidate : candidates) {
+        long gain = gain(candidate, workload, served);
+        if (gain > bestGain) {
+          best = candidate;
+          bestGain = gain;
+        }
+      }
+      if (best == null) {
+        // every recorded shape is served
+        break;
+      }
+      recommend(best, workload, recommendations, served);
+    }
+    return recommendations;
+  }
+
+  private void build(Dataset dataset) {
+    MongoStorageCoordinates storageCoordinates = new MongoStorageCoordinates(dataset.getSource());
+    for (IndexKeys indexKeys : recommend(dataset).keySet()) {
+      String key = dataset.getSource() + ":" + indexKeys;
+      if (!built.add(key)) {
+        continue;
+      }
+
+      logger.info("Building index: {} for dataset: {}", indexKeys, dataset.getId());
+      mongoProvider
+          .provide()
+          .getDatabase(storageCoordinates.getDatabaseName())
+          .getCollection(storageCoordinates.getCollectionName())
+          .createIndex(indexKeys.toBsonDocument(), new IndexOptions().background(true))
+          .subscribe(
+              name -> logger.info("Built index: {} for dataset: {}", name, dataset.getId()),
+              throwable -> {
+                logger.warn(
+                    "Failed to build index: {} for dataset: {}!",
+                    indexKeys,
+                    dataset.getId(),
+                    throwable);
+                built.remove(key);
+              });
+    }
+  }
+
+  private void recommend(
+      IndexKeys indexKeys,
+      Map<IndexKeys, Long> workload,
+      Map<IndexKeys, Long> recommendations,
+      Set<IndexKeys> served) {
+    recommendations.put(indexKeys, servedBy(indexKeys, workload));
+    for (IndexKeys shape : workload.keySet()) {
+      if (shape.isPrefixOf(indexKeys)) {
+        served.add(shape);
+      }
+    }
+  }
+
+  /**
+   * @return the number of recorded queries which an index with the given {@code indexKeys} would
+   *     serve and which are not already served by a recommended index
+   */
+  private long gain(IndexKeys indexKeys, Map<IndexKeys, Long> workload, Set<IndexKeys> served) {
+    long gain = 0;
+    for (Map.Entry<IndexKeys, Long> entry : workload.entrySet()) {
+      if (!served.contains(entry.getKey()) && entry.getKey().isPrefixOf(indexKeys)) {
+        gain += entry.getValue();
+      }
+    }
+    return gain;
+  }
+
+  private long servedBy(IndexKeys indexKeys, Map<IndexKeys, Long> workload) {
+    long served = 0;
+    for (Map.Entry<IndexKeys, Long> entry : workload.entrySet()) {
+      if (entry.getKey().isPrefixOf(indexKeys)) {
+        served += entry.getValue();
+      }
+    }
+    return served;
+  }
+
+  private ConcurrentMap<IndexKeys, AtomicLong> getWorkload(Dataset dataset) {
+    try {
+      return workloads.get(dataset.getSource(), ConcurrentHashMap::new);
+    } catch (ExecutionException ex) {
+      // creating an empty map cannot fail
+      throw new IllegalStateException(ex);
+    }
+  }
+}
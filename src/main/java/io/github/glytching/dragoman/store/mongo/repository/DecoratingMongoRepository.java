@@ -17,8 +17,14 @@
 package io.github.glytching.dragoman.store.mongo.repository;
 
 import io.github.glytching.dragoman.dataset.Dataset;
+import io.github.glytching.dragoman.repository.Explanation;
+import io.github.glytching.dragoman.repository.Page;
+import io.github.glytching.dragoman.repository.PassThroughRepository;
 import io.github.glytching.dragoman.repository.Repository;
+import io.github.glytching.dragoman.store.mongo.BsonJsonTranscoder;
 import io.github.glytching.dragoman.store.mongo.DocumentTransformer;
+import io.github.glytching.dragoman.store.mongo.RawBsonCopier;
+import io.vertx.core.buffer.Buffer;
 import org.bson.Document;
 import rx.Observable;
 import rx.functions.Func1;
@@ -30,31 +36,87 @@ import java.util.Map;
  * The underlying {@link MongoRepository} returns an observable so it belongs in the repository
  * hierarchy but it deals with {@link Document}. To insulate the reader layer from knowledge of this
  * storage specific, the reader layer uses this repository which transforms {@link Document} to
- * {@code Map<String, Object>}.
+ * {@code Map<String, Object>}. Callers which only want JSON or BSON can use {@link
+ * #findJson(Dataset, String, String, String, int)} or {@link #findBson(Dataset, String, String,
+ * String, int)} to skip the {@link Document} and the {@code Map} altogether.
  */
-public class DecoratingMongoRepository implements Repository<Map<String, Object>> {
+public class DecoratingMongoRepository
+    implements Repository<Map<String, Object>>, PassThroughRepository {
 
   private final MongoRepository mongoRepository;
   private final DocumentTransformer documentTransformer;
+  private final BsonJsonTranscoder bsonJsonTranscoder;
+  private final RawBsonCopier rawBsonCopier;
 
   @Inject
   public DecoratingMongoRepository(
-      MongoRepository mongoRepository, DocumentTransformer documentTransformer) {
+      MongoRepository mongoRepository,
+      DocumentTransformer documentTransformer,
+      BsonJsonTranscoder bsonJsonTranscoder,
+      RawBsonCopier rawBsonCopier) {
     this.mongoRepository = mongoRepository;
     this.documentTransformer = documentTransformer;
+    this.bsonJsonTranscoder = bsonJsonTranscoder;
+    this.rawBsonCopier = rawBsonCopier;
   }
 
   @SuppressWarnings("unchecked")
   @Override
   public Observable<Map<String, Object>> find(
-      Dataset dataset, String select, String where, String orderBy, int maxResults) {
+      Dataset dataset,
+      String select,
+      String where,
+      Map<String, Object> parameters,
+      String orderBy,
+      int maxResults) {
     return mongoRepository
-        .find(dataset, select, where, orderBy, maxResults)
+        .find(dataset, select, where, parameters, orderBy, maxResults)
         .map(
             (Func1<Document, Map<String, Object>>)
                 doc -> documentTransformer.transform(Map.class, doc));
   }
 
+  @Override
+  public Observable<Buffer> findJson(
+      Dataset dataset, String select, String where, String orderBy, int maxResults) {
+    return mongoRepository
+        .findRaw(dataset, select, where, orderBy, maxResults)
+        .map(bsonJsonTranscoder::transcode);
+  }
+
+  @Override
+  public Observable<Buffer> findBson(
+      Dataset dataset, String select, String where, String orderBy, int maxResults) {
+    return mongoRepository
+        .findRaw(dataset, select, where, orderBy, maxResults)
+        .map(rawBsonCopier::copy);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public Observable<Page<Map<String, Object>>> findPage(
+      Dataset dataset, String select, String where, String orderBy, int pageSize, String cursor) {
+    return mongoRepository
+        .findPage(dataset, select, where, orderBy, pageSize, cursor)
+        .map(page -> page.map(doc -> documentTransformer.transform(Map.class, doc)));
+  }
+
+  @Override
+  public Observable<Long> count(Dataset dataset, String where) {
+    return mongoRepository.count(dataset, where);
+  }
+
+  @Override
+  public Observable<Explanation> explain(
+      Dataset dataset, String select, String where, String orderBy, int maxResults) {
+    return mongoRepository.explain(dataset, select, where, orderBy, maxResults);
+  }
+
+  @Override
+  public boolean matchesArrayElements() {
+    return true;
+  }
+
   @Override
   public boolean appliesTo(Dataset dataset) {
     return mongoRepository.appliesTo(dataset);
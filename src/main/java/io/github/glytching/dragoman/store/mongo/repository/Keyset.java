@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.store.mongo.repository;
+
+import com.mongodb.client.model.Filters;
+import io.github.glytching.dragoman.ql.domain.OrderBy;
+import io.github.glytching.dragoman.ql.domain.OrderByClause;
+import io.github.glytching.dragoman.ql.engine.Values;
+import io.github.glytching.dragoman.web.exception.InvalidRequestException;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.conversions.Bson;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset pagination for MongoDB. Each page is read in a fixed order, the given order by plus
+ * {@code _id} to break ties, and the cursor for the next page holds the sort key values of the
+ * last row in the current page. The next page is then read with a range predicate which selects
+ * the rows after that last row. Unlike {@code skip}, which reads and discards every preceding row,
+ * the range predicate can use an index on the sort keys so reading page N costs the same as reading
+ * page 1.
+ *
+ * <p>Since MongoDB's comparison operators only match values of the same type the sort keys are
+ * expected to hold values of a consistent type. A null (or missing) value is the lowest value.
+ *
+ * <p>Cursors are the base64 encoded BSON form of the sort key values along with the order by, a
+ * cursor cannot be used with a different order by.
+ */
+final class Keyset {
+  private static final String ID = "_id";
+  private static final String ORDER_BY = "o";
+  private static final String VALUES = "v";
+  private static final DocumentCodec CODEC = new DocumentCodec();
+
+  private final String orderBy;
+  private final List<String> names = new ArrayList<>();
+  private final List<String[]> paths = new ArrayList<>();
+  private final List<Boolean> ascending = new ArrayList<>();
+
+  Keyset(OrderByClause orderByClause) {
+    this.orderBy = orderByClause.toString();
+    for (OrderBy sortKey : orderByClause.getOrderBys()) {
+      add(sortKey.getName(), sortKey.isAscending());
+    }
+    if (!names.contains(ID)) {
+      add(ID, true);
+    }
+  }
+
+  /** @return the attributes which must be present in a row for its cursor to be created */
+  List<String> getNames() {
+    return names;
+  }
+
+  /** @return the order in which the pages are read */
+  Bson getSort() {
+    BsonDocument sort = new BsonDocument();
+    for (int i = 0; i < names.size(); i++) {
+      sort.append(names.get(i), new BsonInt32(ascending.get(i) ? 1 : -1));
+    }
+    return sort;
+  }
+
+  /**
+   * @param cursor the cursor returned with the previous page, null for the first page
+   * @return a filter which selects the rows after the row from which the given {@code cursor} was
+   *     created
+   */
+  Bson after(String cursor) {
+    if (cursor == null) {
+      return new BsonDocument();
+    }
+    List<Object> values = decode(cursor);
+
+    // (k0 > v0) or (k0 = v0 and k1 > v1) or ... with > replaced by (< or null) for descending keys
+    List<Bson> disjuncts = new ArrayList<>();
+    for (int i = 0; i < names.size(); i++) {
+      Bson range = toRange(names.get(i), ascending.get(i), values.get(i));
+      if (range == null) {
+        // nothing sorts after this value
+        continue;
+      }
+      List<Bson> conjuncts = new ArrayList<>();
+      for (int j = 0; j < i; j++) {
+        conjuncts.add(Filters.eq(names.get(j), values.get(j)));
+      }
+      conjuncts.add(range);
+      disjuncts.add(conjuncts.size() == 1 ? range : Filters.and(conjuncts));
+    }
+    // _id is never null so there is always at least one disjunct
+    return disjuncts.size() == 1 ? disjuncts.get(0) : Filters.or(disjuncts);
+  }
+
+  /**
+   * @param row the last row in a page
+   * @return the cursor from which the page after the given {@code row} can be read
+   */
+  String cursorFor(Document row) {
+    List<Object> values = new ArrayList<>(paths.size());
+    for (String[] path : paths) {
+      values.add(Values.navigate(row, path));
+    }
+    Document document = new Document(ORDER_BY, orderBy).append(VALUES, values);
+    ByteBuffer bytes = new RawBsonDocument(document, CODEC).getByteBuffer().asNIO();
+    byte[] encoded = new byte[bytes.remaining()];
+    bytes.get(encoded);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(encoded);
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Object> decode(String cursor) {
+    Document document;
+    try {
+      document = new RawBsonDocument(Base64.getUrlDecoder().decode(cursor)).decode(CODEC);
+    } catch (RuntimeException ex) {
+      throw InvalidRequestException.create("Invalid cursor: " + cursor);
+    }
+    if (!orderBy.equals(document.get(ORDER_BY))) {
+      throw InvalidRequestException.create(
+          "The cursor: " + cursor + " was not created for the order by: " + orderBy);
+    }
+    List<Object> values = (List<Object>) document.get(VALUES);
+    if (values == null || values.size() != names.size()) {
+      throw InvalidRequestException.create("Invalid cursor: " + cursor);
+    }
+    return values;
+  }
+
+  private Bson toRange(String name, boolean ascending, Object value) {
+    if (value == null) {
+      // null is the lowest value so everything other than null sorts after it in ascending order
+      // and nothing sorts after it in descending order
+      return ascending ? Filters.ne(name, null) : null;
+    }
+    // null is the lowest value so, in descending order, it sorts after every non null value
+    return ascending
+        ? Filters.gt(name, value)
+        : Filters.or(Filters.lt(name, value), Filters.eq(name, null));
+  }
+
+  private void add(String name, boolean isAscending) {
+    names.add(name);
+    paths.add(name.split("\\."));
+    ascending.add(isAscending);
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.store.mongo.repository;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadConcernLevel;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.rx.client.AggregateObservable;
+import com.mongodb.rx.client.FindObservable;
+import com.mongodb.rx.client.MongoCollection;
+import io.github.glytching.dragoman.dataset.Dataset;
+import io.github.glytching.dragoman.dataset.ReadProfile;
+import io.github.glytching.dragoman.web.exception.InvalidRequestException;
+import org.bson.BsonDocument;
+import org.bson.BsonInvalidOperationException;
+import org.bson.json.JsonParseException;
+import rx.Observable;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * Applies a dataset's {@link ReadProfile} to MongoDB reads. The profile is validated on creation so
+ * that an invalid profile fails the read before anything is sent to MongoDB. A dataset's profiles
+ * are also validated when the dataset is written, see {@link #validate(Dataset)}, so the writer
+ * learns of an invalid profile rather than every subsequent reader.
+ *
+ * <p>The Rx driver has no batch size setting, instead it reads a batch for each request made by
+ * the subscriber so the batch size is applied by re-batching the subscriber's requests, see {@link
+ * #batched(Observable)}.
+ */
+public final class MongoReadProfile {
+  private final Integer batchSize;
+  private final ReadPreference readPreference;
+  private final ReadConcern readConcern;
+  private final Long maxTimeMillis;
+  private final BsonDocument hint;
+
+  MongoReadProfile(ReadProfile readProfile) {
+    if (readProfile == null) {
+      readProfile = new ReadProfile();
+    }
+    this.batchSize = positive("batchSize", readProfile.getBatchSize());
+    this.maxTimeMillis = positive("maxTimeMillis", readProfile.getMaxTimeMillis());
+    this.readPreference = toReadPreference(readProfile.getReadPreference());
+    this.readConcern = toReadConcern(readProfile.getReadConcern());
+    this.hint = toHint(readProfile.getHint());
+  }
+
+  /**
+   * @param dataset a {@link Dataset} which is about to be written
+   * @throws InvalidRequestException if either of the given {@code dataset}'s read profiles is
+   *     invalid
+   */
+  public static void validate(Dataset dataset) {
+    new MongoReadProfile(dataset.getReadProfile());
+    new MongoReadProfile(dataset.getSubscriptionReadProfile());
+  }
+
+  /** @return the read preference, null if the source's default applies */
+  ReadPreference getReadPreference() {
+    return readPreference;
+  }
+
+  <T> MongoCollection<T> applyTo(MongoCollection<T> collection) {
+    if (readPreference != null) {
+      collection = collection.withReadPreference(readPreference);
+    }
+    if (readConcern != null) {
+      collection = collection.withReadConcern(readConcern);
+    }
+    return collection;
+  }
+
+  <T> FindObservable<T> applyTo(FindObservable<T> findObservable) {
+    if (maxTimeMillis != null) {
+      findObservable.maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+    }
+    if (hint != null) {
+      findObservable.hint(hint);
+    }
+    return findObservable;
+  }
+
+  <T> AggregateObservable<T> applyTo(AggregateObservable<T> aggregateObservable) {
+    if (maxTimeMillis != null) {
+      aggregateObservable.maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+    }
+    return aggregateObservable;
+  }
+
+  CountOptions toCountOptions() {
+    CountOptions countOptions = new CountOptions();
+    if (maxTimeMillis != null) {
+      countOptions.maxTime(maxTimeMillis, TimeUnit.MILLISECONDS);
+    }
+    if (hint != null) {
+      countOptions.hint(hint);
+    }
+    return countOptions;
+  }
+
+  <T> Observable<T> batched(Observable<T> observable) {
+    return batchSize == null ? observable : observable.rebatchRequests(batchSize);
+  }
+
+  private static <N extends Number> N positive(String name, N value) {
+    if (value != null && value.longValue() <= 0) {
+      throw InvalidRequestException.invalidValue(name, value.toString(), "a positive number");
+    }
+    return value;
+  }
+
+  private static ReadPreference toReadPreference(String readPreference) {
+    if (isBlank(readPreference)) {
+      return null;
+    }
+    try {
+      return ReadPreference.valueOf(readPreference);
+    } catch (IllegalArgumentException ex) {
+      throw InvalidRequestException.invalidValue(
+          "readPreference",
+          readPreference,
+          "primary|primaryPreferred|secondary|secondaryPreferred|nearest");
+    }
+  }
+
+  private static ReadConcern toReadConcern(String readConcern) {
+    if (isBlank(readConcern)) {
+      return null;
+    }
+    try {
+      return new ReadConcern(ReadConcernLevel.fromString(readConcern));
+    } catch (IllegalArgumentException ex) {
+      throw InvalidRequestException.invalidValue(
+          "readConcern", readConcern, "local|majority|linearizable");
+    }
+  }
+
+  private static BsonDocument toHint(String hint) {
+    if (isBlank(hint)) {
+      return null;
+    }
+    try {
+      return BsonDocument.parse(hint);
+    } catch (JsonParseException | BsonInvalidOperationException ex) {
+      throw InvalidRequestException.invalidValue("hint", hint, "index keys as JSON e.g. {a: 1}");
+    }
+  }
+}
@@ -16,33 +16,73 @@
  */
 package io.github.glytching.dragoman.store.mongo.repository;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.model.Filters;
+import com.mongodb.rx.client.AggregateObservable;
 import com.mongodb.rx.client.FindObservable;
+import com.mongodb.rx.client.MongoCollection;
+import com.mongodb.rx.client.MongoDatabase;
 import io.github.glytching.dragoman.dataset.Dataset;
+import io.github.glytching.dragoman.ql.domain.OrderByClause;
+import io.github.glytching.dragoman.ql.domain.SelectClause;
+import io.github.glytching.dragoman.ql.domain.WhereClause;
+import io.github.glytching.dragoman.ql.listener.mongo.BoundBson;
+import io.github.glytching.dragoman.ql.listener.mongo.MongoAggregation;
 import io.github.glytching.dragoman.ql.parser.OrderByClauseParser;
 import io.github.glytching.dragoman.ql.parser.SelectClauseParser;
 import io.github.glytching.dragoman.ql.parser.WhereClauseParser;
+import io.github.glytching.dragoman.repository.Explanation;
+import io.github.glytching.dragoman.repository.Page;
 import io.github.glytching.dragoman.repository.Repository;
 import io.github.glytching.dragoman.store.mongo.MongoProvider;
 import io.github.glytching.dragoman.store.mongo.MongoStorageCoordinates;
+import io.github.glytching.dragoman.store.mongo.index.MongoIndexAdvisor;
+import io.github.glytching.dragoman.transform.TransformerException;
 import io.github.glytching.dragoman.util.StopWatch;
 import io.github.glytching.dragoman.util.UrlUtils;
+import io.github.glytching.dragoman.web.exception.InvalidRequestException;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.BsonValue;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.conversions.Bson;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import rx.Observable;
 
 import javax.inject.Inject;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
-/** An implementation of {@link Repository} for MongoDB data sources. */
+/**
+ * An implementation of {@link Repository} for MongoDB data sources. Every read applies the
+ * dataset's {@link io.github.glytching.dragoman.dataset.ReadProfile} (if any), see {@link
+ * MongoReadProfile}.
+ */
 public class MongoRepository implements Repository<Document> {
   private static final Logger logger = LoggerFactory.getLogger(MongoRepository.class);
+  private static final JsonWriterSettings JSON_WRITER_SETTINGS =
+      JsonWriterSettings.builder().outputMode(JsonMode.RELAXED).build();
 
   private final SelectClauseParser selectClauseParser;
   private final WhereClauseParser whereClauseParser;
   private final OrderByClauseParser orderByClauseParser;
   private final MongoProvider mongoProvider;
   private final UrlUtils urlUtils;
+  private final ObjectMapper objectMapper;
+  private final MongoIndexAdvisor indexAdvisor;
 
   @Inject
   public MongoRepository(
@@ -50,36 +90,81 @@ public class MongoRepository implements Repository<Document> {
       WhereClauseParser whereClauseParser,
       OrderByClauseParser orderByClauseParser,
       MongoProvider mongoProvider,
-      UrlUtils urlUtils) {
+      UrlUtils urlUtils,
+      ObjectMapper objectMapper,
+      MongoIndexAdvisor indexAdvisor) {
     this.selectClauseParser = selectClauseParser;
     this.whereClauseParser = whereClauseParser;
     this.orderByClauseParser = orderByClauseParser;
     this.mongoProvider = mongoProvider;
     this.urlUtils = urlUtils;
+    this.objectMapper = objectMapper;
+    this.indexAdvisor = indexAdvisor;
   }
 
   @Override
   public Observable<Document> find(
+      Dataset dataset,
+      String select,
+      String where,
+      Map<String, Object> parameters,
+      String orderBy,
+      int maxResults) {
+    return find(dataset, select, where, parameters, orderBy, maxResults, Document.class);
+  }
+
+  /**
+   * Reads the same documents as {@link #find(Dataset, String, String, String, int)} but leaves each
+   * one in its wire form, as a {@link RawBsonDocument}, rather than decoding it into a {@link
+   * Document}. This suits callers which only want to pass the documents on, see {@link
+   * io.github.glytching.dragoman.store.mongo.BsonJsonTranscoder}.
+   */
+  public Observable<RawBsonDocument> findRaw(
       Dataset dataset, String select, String where, String orderBy, int maxResults) {
-    MongoStorageCoordinates storageCoordinates = new MongoStorageCoordinates(dataset.getSource());
+    return find(
+        dataset, select, where, Collections.emptyMap(), orderBy, maxResults, RawBsonDocument.class);
+  }
+
+  private <T> Observable<T> find(
+      Dataset dataset,
+      String select,
+      String where,
+      Map<String, Object> parameters,
+      String orderBy,
+      int maxResults,
+      Class<T> documentClass) {
+    SelectClause selectClause = selectClauseParser.get(SelectClause.class, select);
+    if (selectClause.isAggregate()) {
+      // an aggregate's order by refers to the aggregated rows so only the where can use an index
+      indexAdvisor.record(
+          dataset,
+          whereClauseParser.get(WhereClause.class, where),
+          new OrderByClause(Collections.emptyList()));
+      return aggregate(
+          dataset, selectClause, where, parameters, orderBy, maxResults, documentClass);
+    }
+    indexAdvisor.record(
+        dataset,
+        whereClauseParser.get(WhereClause.class, where),
+        orderByClauseParser.get(OrderByClause.class, orderBy));
+
     StopWatch stopWatch = StopWatch.startForSplits();
     Bson projections = selectClauseParser.get(Bson.class, select);
     long projectionElapsedTime = stopWatch.split();
 
-    Bson filter = whereClauseParser.get(Bson.class, where);
+    Bson filter = new BoundBson(whereClauseParser.get(Bson.class, where), parameters);
     long predicateElapsedTime = stopWatch.split();
 
     Bson order = orderByClauseParser.get(Bson.class, orderBy);
     long orderByElapsedTime = stopWatch.split();
 
-    FindObservable<Document> findObservable =
-        mongoProvider
-            .provide()
-            .getDatabase(storageCoordinates.getDatabaseName())
-            .getCollection(storageCoordinates.getCollectionName())
-            .find(filter)
-            .projection(projections)
-            .sort(order);
+    MongoReadProfile readProfile = new MongoReadProfile(dataset.getReadProfile());
+    FindObservable<T> findObservable =
+        readProfile.applyTo(
+            getCollection(dataset, readProfile, documentClass)
+                .find(filter)
+                .projection(projections)
+                .sort(order));
 
     if (maxResults > 0) {
       findObservable.limit(maxResults);
@@ -96,11 +181,386 @@ public class MongoRepository implements Repository<Document> {
         orderByElapsedTime,
         findElapsedTime);
 
-    return findObservable.toObservable();
+    return readProfile.batched(findObservable.toObservable());
+  }
+
+  /**
+   * Reads a page using keyset pagination (see {@link Keyset}) rather than {@code skip} so that the
+   * cost of reading a page does not depend on its position. One more row than the page size is read
+   * to find out whether there is a next page. The full values of the sort keys and {@code _id} are
+   * needed to create the next page's cursor so they are added to the projection, if not already
+   * present, and the page's rows are trimmed back to the requested projection once the cursor has
+   * been created, see {@link #projectInFull(BsonDocument, String, Map)}.
+   */
+  @Override
+  public Observable<Page<Document>> findPage(
+      Dataset dataset, String select, String where, String orderBy, int pageSize, String cursor) {
+    SelectClause selectClause = selectClauseParser.get(SelectClause.class, select);
+    if (selectClause.isAggregate()) {
+      throw InvalidRequestException.create(
+          "Pagination is not supported for an aggregate select: " + select);
+    }
+    OrderByClause orderByClause = orderByClauseParser.get(OrderByClause.class, orderBy);
+    indexAdvisor.record(dataset, whereClauseParser.get(WhereClause.class, where), orderByClause);
+    Keyset keyset = new Keyset(orderByClause);
+
+    Bson filter =
+        Filters.and(
+            new BoundBson(whereClauseParser.get(Bson.class, where), Collections.emptyMap()),
+            keyset.after(cursor));
+
+    MongoReadProfile readProfile = new MongoReadProfile(dataset.getReadProfile());
+    FindObservable<Document> findObservable =
+        readProfile.applyTo(
+            getCollection(dataset, readProfile)
+                .find(filter)
+                .sort(keyset.getSort())
+                .limit(pageSize + 1));
+
+    Map<String, List<String>> trimmed = new LinkedHashMap<>();
+    if (!selectClause.isSelectAll()) {
+      BsonDocument projections = (BsonDocument) selectClauseParser.get(Bson.class, select);
+      for (String name : keyset.getNames()) {
+        projectInFull(projections, name, trimmed);
+      }
+      findObservable.projection(projections);
+    }
+
+    return findObservable
+        .toObservable()
+        .toList()
+        .map(
+            rows -> {
+              boolean hasNext = rows.size() > pageSize;
+              List<Document> page = hasNext ? rows.subList(0, pageSize) : rows;
+              String nextCursor = hasNext ? keyset.cursorFor(page.get(pageSize - 1)) : null;
+              for (Document row : page) {
+                trimmed.forEach((name, retained) -> trim(row, name, retained));
+              }
+              return new Page<>(page, nextCursor);
+            });
+  }
+
+  /**
+   * Counts on the server. Without a {@code where} this uses the collection's metadata rather than
+   * scanning the collection.
+   */
+  @Override
+  public Observable<Long> count(Dataset dataset, String where) {
+    MongoReadProfile readProfile = new MongoReadProfile(dataset.getReadProfile());
+    MongoCollection<Document> collection = getCollection(dataset, readProfile);
+
+    WhereClause whereClause = whereClauseParser.get(WhereClause.class, where);
+    if (whereClause.getPredicates().isEmpty()) {
+      return collection.count(new BsonDocument(), readProfile.toCountOptions());
+    }
+
+    indexAdvisor.record(dataset, whereClause, new OrderByClause(Collections.emptyList()));
+    return collection.count(
+        new BoundBson(whereClauseParser.get(Bson.class, where), Collections.emptyMap()),
+        readProfile.toCountOptions());
+  }
+
+  /**
+   * Translates the given query, as {@link #find(Dataset, String, String, Map, String, int)} would,
+   * and asks MongoDB to explain it using the {@code executionStats} verbosity. This runs the
+   * query's winning plan to completion (without returning any documents) so the execution stats
+   * show whether an index was used and how many keys and documents were examined. The plan also
+   * lists the indexes recommended for the dataset by the {@link MongoIndexAdvisor}.
+   */
+  @Override
+  public Observable<Explanation> explain(
+      Dataset dataset, String select, String where, String orderBy, int maxResults) {
+    MongoStorageCoordinates storageCoordinates = new MongoStorageCoordinates(dataset.getSource());
+    MongoDatabase database =
+        mongoProvider.provide().getDatabase(storageCoordinates.getDatabaseName());
+    CodecRegistry codecRegistry = database.getCodecRegistry();
+    Explanation explanation = new Explanation();
+
+    StopWatch stopWatch = StopWatch.startForSplits();
+    SelectClause selectClause = selectClauseParser.get(SelectClause.class, select);
+    explanation.withTiming("select", stopWatch.split());
+
+    BsonDocument filter =
+        new BoundBson(whereClauseParser.get(Bson.class, where), Collections.emptyMap())
+            .toBsonDocument(BsonDocument.class, codecRegistry);
+    explanation.withTiming("where", stopWatch.split());
+
+    BsonDocument order =
+        orderByClauseParser
+            .get(Bson.class, orderBy)
+            .toBsonDocument(BsonDocument.class, codecRegistry);
+    explanation.withTiming("orderBy", stopWatch.split());
+
+    BsonDocument command;
+    if (selectClause.isAggregate()) {
+      BsonArray pipeline = new BsonArray();
+      List<Map<String, Object>> stages = new ArrayList<>();
+      for (Bson stage : MongoAggregation.toPipeline(selectClause, filter, order, maxResults)) {
+        BsonDocument document = stage.toBsonDocument(BsonDocument.class, codecRegistry);
+        pipeline.add(document);
+        stages.add(toMap(document.toJson(JSON_WRITER_SETTINGS)));
+      }
+      explanation.withPlan("pipeline", stages);
+      command =
+          new BsonDocument("aggregate", new BsonString(storageCoordinates.getCollectionName()))
+              .append("pipeline", pipeline)
+              .append("cursor", new BsonDocument());
+    } else {
+      BsonDocument projections =
+          selectClauseParser
+              .get(Bson.class, select)
+              .toBsonDocument(BsonDocument.class, codecRegistry);
+      explanation
+          .withPlan("filter", toMap(filter.toJson(JSON_WRITER_SETTINGS)))
+          .withPlan("projection", toMap(projections.toJson(JSON_WRITER_SETTINGS)))
+          .withPlan("sort", toMap(order.toJson(JSON_WRITER_SETTINGS)));
+      command =
+          new BsonDocument("find", new BsonString(storageCoordinates.getCollectionName()))
+              .append("filter", filter)
+              .append("projection", projections)
+              .append("sort", order);
+      if (maxResults > 0) {
+        command.append("limit", new BsonInt32(maxResults));
+      }
+    }
+    explanation.withTiming("translate", stopWatch.split());
+
+    List<Map<String, Object>> recommendedIndexes = new ArrayList<>();
+    indexAdvisor
+        .recommend(dataset)
+        .forEach(
+            (indexKeys, served) -> {
+              Map<String, Object> recommendedIndex = new LinkedHashMap<>();
+              recommendedIndex.put("keys", indexKeys.getKeys());
+              recommendedIndex.put("queries", served);
+              recommendedIndexes.add(recommendedIndex);
+            });
+    explanation.withPlan("recommendedIndexes", recommendedIndexes);
+
+    ReadPreference readPreference =
+        new MongoReadProfile(dataset.getReadProfile()).getReadPreference();
+    return database
+        .runCommand(
+            new BsonDocument("explain", command)
+                .append("verbosity", new BsonString("executionStats")),
+            readPreference == null ? ReadPreference.primary() : readPreference)
+        .map(
+            result -> {
+              explanation.withTiming("explain", stopWatch.split());
+              explanation.withTiming("total", stopWatch.stop());
+              return explanation.withExecution(toMap(result.toJson(JSON_WRITER_SETTINGS)));
+            });
+  }
+
+  /**
+   * Pushes an aggregate select clause down to the database, via an aggregation pipeline, so that
+   * only the aggregated rows leave the database. See {@link MongoAggregation}.
+   */
+  private <T> Observable<T> aggregate(
+      Dataset dataset,
+      SelectClause selectClause,
+      String where,
+      Map<String, Object> parameters,
+      String orderBy,
+      int maxResults,
+      Class<T> documentClass) {
+    Bson filter = new BoundBson(whereClauseParser.get(Bson.class, where), parameters);
+    Bson order = orderByClauseParser.get(Bson.class, orderBy);
+
+    List<Bson> pipeline = MongoAggregation.toPipeline(selectClause, filter, order, maxResults);
+    logger.info("Aggregating with pipeline: {}", pipeline);
+
+    MongoReadProfile readProfile = new MongoReadProfile(dataset.getReadProfile());
+    AggregateObservable<T> aggregateObservable =
+        readProfile.applyTo(
+            getCollection(dataset, readProfile, documentClass).aggregate(pipeline, documentClass));
+    return readProfile.batched(aggregateObservable.toObservable());
+  }
+
+  private MongoCollection<Document> getCollection(Dataset dataset, MongoReadProfile readProfile) {
+    return getCollection(dataset, readProfile, Document.class);
+  }
+
+  /**
+   * @return the given {@code dataset}'s collection, decoding to the given {@code documentClass} and
+   *     with the read preference and read concern from the given {@code readProfile}
+   */
+  private <T> MongoCollection<T> getCollection(
+      Dataset dataset, MongoReadProfile readProfile, Class<T> documentClass) {
+    MongoStorageCoordinates storageCoordinates = new MongoStorageCoordinates(dataset.getSource());
+    return readProfile.applyTo(
+        mongoProvider
+            .provide()
+            .getDatabase(storageCoordinates.getDatabaseName())
+            .getCollection(storageCoordinates.getCollectionName(), documentClass));
+  }
+
+  @Override
+  public boolean matchesArrayElements() {
+    return true;
   }
 
   @Override
   public boolean appliesTo(Dataset dataset) {
     return !urlUtils.isUrl(dataset.getSource());
   }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> toMap(String json) {
+    try {
+      return objectMapper.readValue(json, Map.class);
+    } catch (IOException ex) {
+      throw new TransformerException("Failed to deserialise: " + json, ex);
+    }
+  }
+
+  /**
+   * Ensures that the full value of the given sort key is projected and records, in the given {@code
+   * trimmed}, how a row is to be trimmed back to the requested projection once its cursor has been
+   * created:
+   *
+   * <ul>
+   *   <li>If the key, or one of its ancestors, is already projected then there is nothing to do
+   *       unless that projection is an exclusion (only {@code _id} can be excluded) in which case
+   *       the excluded attribute is treated as if it were not projected
+   *   <li>If only descendants of the key are projected then they are replaced by the key (projecting
+   *       both would be a path collision) and the row retains only those descendants
+   *   <li>Otherwise the key is projected and removed from the row
+   * </ul>
+   *
+   * @param projections the requested projection, this is changed in place
+   * @param name a sort key
+   * @param trimmed the paths to be trimmed, each mapped to the paths within it which are to be
+   *     retained, no paths means the whole value is removed
+   */
+  private void projectInFull(
+      BsonDocument projections, String name, Map<String, List<String>> trimmed) {
+    for (String projected : projections.keySet()) {
+      if (projected.equals(name) || name.startsWith(projected + ".")) {
+        if (!isIncluded(projections.get(projected))) {
+          // replace the exclusion with the full value, trimmed to whatever is projected within it
+          projections.remove(projected);
+          projectInFull(projections, projected, trimmed);
+        }
+        return;
+      }
+    }
+
+    List<String> retained = new ArrayList<>();
+    for (String projected : new ArrayList<>(projections.keySet())) {
+      if (projected.startsWith(name + ".")) {
+        retained.add(projected.substring(name.length() + 1));
+        projections.remove(projected);
+      }
+    }
+    projections.append(name, new BsonInt32(1));
+    trimmed.put(name, retained);
+  }
+
+  private boolean isIncluded(BsonValue projection) {
+    return projection.isBoolean()
+        ? projection.asBoolean().getValue()
+        : !projection.isNumber() || projection.asNumber().intValue() != 0;
+  }
+
+  /**
+   * Trims the given {@code name} in the given {@code row} so that it retains only the given {@code
+   * retained} paths, or removes it if there are no such paths. See {@link
+   * #projectInFull(BsonDocument, String, Map)}.
+   */
+  @SuppressWarnings("unchecked")
+  private void trim(Map<String, Object> row, String name, List<String> retained) {
+    String[] path = name.split("\\.");
+    if (retained.isEmpty()) {
+      remove(row, path);
+      return;
+    }
+
+    Map<String, Object> parent = row;
+    for (int i = 0; i < path.length - 1; i++) {
+      Object child = parent.get(path[i]);
+      if (!(child instanceof Map)) {
+        return;
+      }
+      parent = (Map<String, Object>) child;
+    }
+    String last = path[path.length - 1];
+    if (parent.containsKey(last)) {
+      List<String[]> paths = new ArrayList<>();
+      for (String retainedPath : retained) {
+        paths.add(retainedPath.split("\\."));
+      }
+      Object projected = project(parent.get(last), paths);
+      if (projected == null) {
+        remove(row, path);
+      } else {
+        parent.put(last, projected);
+      }
+    }
+  }
+
+  /**
+   * Projects the given {@code paths} from the given {@code value} as MongoDB would: a document
+   * keeps only the given paths, an array keeps the projection of each of its documents and arrays
+   * and any other value is dropped.
+   *
+   * @return the projected value, null if it is dropped
+   */
+  @SuppressWarnings("unchecked")
+  private Object project(Object value, List<String[]> paths) {
+    if (value instanceof List) {
+      List<Object> projected = new ArrayList<>();
+      for (Object element : (List<Object>) value) {
+        Object projectedElement = project(element, paths);
+        if (projectedElement != null) {
+          projected.add(projectedElement);
+        }
+      }
+      return projected;
+    }
+    if (!(value instanceof Map)) {
+      return null;
+    }
+
+    Document projected = new Document();
+    for (Map.Entry<String, Object> entry : ((Map<String, Object>) value).entrySet()) {
+      boolean whole = false;
+      List<String[]> descendants = new ArrayList<>();
+      for (String[] path : paths) {
+        if (path[0].equals(entry.getKey())) {
+          if (path.length == 1) {
+            whole = true;
+          } else {
+            descendants.add(Arrays.copyOfRange(path, 1, path.length));
+          }
+        }
+      }
+      if (whole) {
+        projected.put(entry.getKey(), entry.getValue());
+      } else if (!descendants.isEmpty()) {
+        Object projectedChild = project(entry.getValue(), descendants);
+        if (projectedChild != null) {
+          projected.put(entry.getKey(), projectedChild);
+        }
+      }
+    }
+    return projected;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void remove(Map<String, Object> row, String[] path) {
+    if (path.length == 1) {
+      row.remove(path[0]);
+      return;
+    }
+    Object child = row.get(path[0]);
+    if (child instanceof Map) {
+      Map<String, Object> childRow = (Map<String, Object>) child;
+      remove(childRow, Arrays.copyOfRange(path, 1, path.length));
+      if (childRow.isEmpty()) {
+        row.remove(path[0]);
+      }
+    }
+  }
 }
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.web;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+
+/**
+ * Coalesces many small writes to a chunked {@link HttpServerResponse} into fewer, larger, writes.
+ * Writes are appended to a pending chunk which is only written to the response once it reaches
+ * the given {@code chunkSize}, or when the response is ended. Writing each row (and each separator
+ * between rows) straight to the response would otherwise produce a HTTP chunk per write.
+ *
+ * <p>A chunk cannot be reused once it has been written because the response writes it
+ * asynchronously so each chunk is allocated at its full size up front, this means one allocation
+ * per chunk rather than one per write.
+ *
+ * <p>Instances are not thread safe, they are expected to be used by a single (serialised) writer
+ * such as an RxJava subscriber.
+ */
+public class ChunkedResponseWriter {
+
+  private final HttpServerResponse response;
+  private final int chunkSize;
+  private Buffer chunk;
+
+  /**
+   * @param response the response to be written to, this is expected to be chunked
+   * @param chunkSize the size, in bytes, at which a pending chunk is written to the {@code
+   *     response}, a value less than or equal to zero writes every write straight through
+   */
+  public ChunkedResponseWriter(HttpServerResponse response, int chunkSize) {
+    this.response = response;
+    this.chunkSize = chunkSize;
+    this.chunk = newChunk();
+  }
+
+  public ChunkedResponseWriter write(String content) {
+    chunk.appendString(content);
+    return flushIfFull();
+  }
+
+  public ChunkedResponseWriter write(Buffer content) {
+    chunk.appendBuffer(content);
+    return flushIfFull();
+  }
+
+  /**
+   * Writes the given {@code content} and any pending chunk, then ends the response.
+   *
+   * @param content the last content to be written
+   */
+  public void end(String content) {
+    response.end(chunk.appendString(content));
+  }
+
+  private ChunkedResponseWriter flushIfFull() {
+    if (chunk.length() >= chunkSize) {
+      response.write(chunk);
+      chunk = newChunk();
+    }
+    return this;
+  }
+
+  private Buffer newChunk() {
+    return Buffer.buffer(Math.max(chunkSize, 0));
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.web;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Compressing a small response costs more (in CPU and in framing overhead) than it saves on the
+ * wire. When the server compresses responses, this handler exempts any response whose length is
+ * known (i.e. it is not chunked) and is below a minimum size by marking it as {@code identity}
+ * encoded, the server's compressor leaves alone any response which already has a content encoding.
+ * Chunked responses are of unknown length so they are always eligible for compression.
+ */
+public class CompressionThresholdHandler implements Handler<RoutingContext> {
+
+  private final int minSize;
+
+  public CompressionThresholdHandler(int minSize) {
+    this.minSize = minSize;
+  }
+
+  @Override
+  public void handle(RoutingContext routingContext) {
+    HttpServerResponse response = routingContext.response();
+    routingContext.addHeadersEndHandler(
+        v -> {
+          if (!response.isChunked()
+              && !response.headers().contains(HttpHeaders.CONTENT_ENCODING)
+              && isBelowMinSize(response.headers().get(HttpHeaders.CONTENT_LENGTH))) {
+            response.putHeader(HttpHeaders.CONTENT_ENCODING, HttpHeaders.IDENTITY);
+          }
+        });
+    routingContext.next();
+  }
+
+  private boolean isBelowMinSize(String contentLength) {
+    try {
+      return contentLength != null && Long.parseLong(contentLength) < minSize;
+    } catch (NumberFormatException ex) {
+      return false;
+    }
+  }
+}
@@ -16,6 +16,13 @@
  */
 package io.github.glytching.dragoman.web;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
@@ -26,6 +33,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -36,6 +45,9 @@ import java.util.stream.Collectors;
  *   <li>Interactive querying of the metrics data
  *   <li>The application's dedicated metrics logger
  * </ul>
+ *
+ * <p>The application's own metrics (e.g. parser cache statistics) are supplied as {@link
+ * MetricSet}s and are presented alongside the Vert.x metrics.
  */
 public class MetricsFacade {
   private static final Logger logger = LoggerFactory.getLogger(MetricsFacade.class);
@@ -43,10 +55,19 @@ public class MetricsFacade {
 
   private final HttpServer httpServer;
   private final MetricsService metricsService;
+  private final MetricRegistry applicationMetrics;
 
-  public MetricsFacade(Vertx vertx, HttpServer httpServer, int publicationPeriodInMillis) {
+  public MetricsFacade(
+      Vertx vertx,
+      HttpServer httpServer,
+      Set<MetricSet> metricSets,
+      int publicationPeriodInMillis) {
     this.httpServer = httpServer;
     this.metricsService = MetricsService.create(vertx);
+    this.applicationMetrics = new MetricRegistry();
+    for (MetricSet metricSet : metricSets) {
+      applicationMetrics.registerAll(metricSet);
+    }
 
     logger.info("Scheduling metrics publication every {}ms", publicationPeriodInMillis);
 
@@ -56,7 +77,7 @@ public class MetricsFacade {
         event ->
             vertx.executeBlocking(
                 event1 -> {
-                  JsonObject metrics = metricsService.getMetricsSnapshot(httpServer);
+                  JsonObject metrics = getAll();
                   if (metrics != null) {
                     metricsLogger.info(metrics.encode());
                   }
@@ -74,7 +95,14 @@ public class MetricsFacade {
    * @return the current metrics snapshot in JSON format
    */
   public JsonObject getAll() {
-    return metricsService.getMetricsSnapshot(httpServer);
+    JsonObject all = metricsService.getMetricsSnapshot(httpServer);
+    if (all == null) {
+      all = new JsonObject();
+    }
+    for (Map.Entry<String, Metric> entry : applicationMetrics.getMetrics().entrySet()) {
+      all.put(entry.getKey(), toJson(entry.getValue()));
+    }
+    return all;
   }
 
   /**
@@ -84,7 +112,7 @@ public class MetricsFacade {
    * @return the current metrics snapshot for the given metric name, in JSON format
    */
   public JsonObject getByName(String name) {
-    return metricsService.getMetricsSnapshot(httpServer).getJsonObject(name);
+    return getAll().getJsonObject(name);
   }
 
   /**
@@ -111,4 +139,33 @@ public class MetricsFacade {
 
     return new JsonObject(filtered);
   }
+
+  /**
+   * Renders one of our application metrics in the same shape as Vert.x uses for its own metrics.
+   */
+  private JsonObject toJson(Metric metric) {
+    JsonObject json = new JsonObject();
+    if (metric instanceof Gauge) {
+      json.put("type", "gauge").put("value", ((Gauge<?>) metric).getValue());
+    } else if (metric instanceof Counter) {
+      json.put("type", "counter").put("count", ((Counter) metric).getCount());
+    } else if (metric instanceof Timer) {
+      Timer timer = (Timer) metric;
+      Snapshot snapshot = timer.getSnapshot();
+      json.put("type", "timer")
+          .put("count", timer.getCount())
+          .put("min", toMillis(snapshot.getMin()))
+          .put("max", toMillis(snapshot.getMax()))
+          .put("mean", toMillis(snapshot.getMean()))
+          .put("75%", toMillis(snapshot.get75thPercentile()))
+          .put("95%", toMillis(snapshot.get95thPercentile()))
+          .put("99%", toMillis(snapshot.get99thPercentile()));
+    }
+    return json;
+  }
+
+  // timers record nanoseconds, Vert.x reports its own timers in milliseconds
+  private double toMillis(double nanos) {
+    return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+  }
 }
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.web;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.impl.MimeMapping;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.StaticHandler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves the pre-compressed ({@code .gz}) variant of a static asset, where one exists alongside the
+ * asset and the client accepts gzip, so that large assets (such as the Angular bundles) are not
+ * recompressed on every request. Any request which this handler cannot satisfy is passed on to the
+ * next handler, typically a {@link StaticHandler}, which serves the uncompressed asset.
+ *
+ * <p>The {@code .gz} variants are not kept in source control, they are generated from the assets by
+ * the build (see the {@code gzip-web-assets} execution in the POM) so they cannot drift from them.
+ */
+public class PrecompressedAssetHandler implements Handler<RoutingContext> {
+  private static final String GZIP = "gzip";
+  private static final String GZIP_SUFFIX = ".gz";
+
+  private final String webRoot;
+  private final String mountPath;
+  private final boolean cachingEnabled;
+  private final Map<String, Boolean> precompressed = new ConcurrentHashMap<>();
+
+  /**
+   * @param webRoot the directory (on the file system or the classpath) from which assets are served
+   * @param mountPath the path prefix under which assets are requested e.g. {@code /assets/}
+   * @param cachingEnabled if true the presence (or absence) of a pre-compressed variant is looked
+   *     up once per asset and the response tells the client that it can cache the asset
+   */
+  public PrecompressedAssetHandler(String webRoot, String mountPath, boolean cachingEnabled) {
+    this.webRoot = webRoot;
+    this.mountPath = mountPath;
+    this.cachingEnabled = cachingEnabled;
+  }
+
+  /**
+   * Does the given {@code Accept-Encoding} header accept gzip? A coding with a q value of zero is
+   * not acceptable.
+   *
+   * @param acceptEncoding the request's {@code Accept-Encoding} header, may be null
+   * @return true if the given {@code acceptEncoding} includes gzip (or the wildcard)
+   */
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.split(";");
+      String name = parts[0].trim();
+      if (GZIP.equalsIgnoreCase(name) || "*".equals(name)) {
+        return !hasZeroQuality(parts);
+      }
+    }
+    return false;
+  }
+
+  private static boolean hasZeroQuality(String[] parts) {
+    for (int i = 1; i < parts.length; i++) {
+      String parameter = parts[i].trim();
+      if (parameter.startsWith("q=")) {
+        try {
+          return Double.parseDouble(parameter.substring(2)) == 0;
+        } catch (NumberFormatException ex) {
+          return false;
+        }
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void handle(RoutingContext routingContext) {
+    String path = routingContext.normalisedPath();
+    if (routingContext.request().method() != HttpMethod.GET
+        || !path.startsWith(mountPath)
+        || path.contains("..")
+        || !acceptsGzip(routingContext.request().getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+      routingContext.next();
+      return;
+    }
+
+    String asset = path.substring(mountPath.length());
+    String compressedFile = webRoot + "/" + asset + GZIP_SUFFIX;
+
+    Boolean exists = cachingEnabled ? precompressed.get(compressedFile) : null;
+    if (exists != null) {
+      serve(routingContext, asset, compressedFile, exists);
+      return;
+    }
+
+    routingContext
+        .vertx()
+        .fileSystem()
+        .exists(
+            compressedFile,
+            result -> {
+              boolean found = result.succeeded() && result.result();
+              if (cachingEnabled) {
+                precompressed.put(compressedFile, found);
+              }
+              serve(routingContext, asset, compressedFile, found);
+            });
+  }
+
+  private void serve(
+      RoutingContext routingContext, String asset, String compressedFile, boolean exists) {
+    if (!exists) {
+      routingContext.next();
+      return;
+    }
+
+    HttpServerResponse response = routingContext.response();
+    String contentType = MimeMapping.getMimeTypeForFilename(asset);
+    if (contentType != null) {
+      WebServerUtils.contentType(
+          response, contentType.startsWith("text") ? contentType + ";charset=UTF-8" : contentType);
+    }
+    // the compressor leaves this response alone because it already has a content encoding
+    response.putHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+    response.putHeader("vary", HttpHeaders.ACCEPT_ENCODING);
+    if (cachingEnabled) {
+      response.putHeader(
+          "cache-control", "public, max-age=" + StaticHandler.DEFAULT_MAX_AGE_SECONDS);
+    }
+    response.sendFile(
+        compressedFile,
+        result -> {
+          if (result.failed()) {
+            routingContext.fail(result.cause());
+          }
+        });
+  }
+}
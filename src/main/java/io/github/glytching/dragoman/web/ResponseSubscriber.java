@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.web;
+
+import io.vertx.core.http.HttpServerResponse;
+import rx.Subscriber;
+import rx.functions.Action0;
+import rx.functions.Action1;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Subscriber} which writes to a {@link HttpServerResponse} and only asks its source for
+ * more items while the response's write queue has room for them. So, a slow client slows the read
+ * (e.g. a MongoDB cursor is only advanced as fast as the client consumes) rather than leaving the
+ * unwritten items to pile up in memory. If the client goes away the subscription is cancelled.
+ *
+ * <p>Items are requested in a window of {@code prefetch} items. Once the number of requested but
+ * not yet received items falls to a low watermark (a quarter of the window) the window is topped up
+ * immediately if the write queue is not full, otherwise it is topped up by the response's drain
+ * handler. Both paths race for {@link #awaitingDrain} so only one of them tops up. Requesting a
+ * window, rather than one item at a time, matters to sources which size their reads from the
+ * demand, e.g. the MongoDB Rx driver reads a batch of (at least two) documents per request.
+ *
+ * @param <T> the type of the items to be written
+ */
+public class ResponseSubscriber<T> extends Subscriber<T> {
+
+  private final HttpServerResponse response;
+  private final Action1<T> writer;
+  private final Action1<Throwable> errorHandler;
+  private final Action0 completionHandler;
+  private final int prefetch;
+  private final int lowWatermark;
+  private final AtomicLong outstanding = new AtomicLong();
+  private final AtomicBoolean awaitingDrain = new AtomicBoolean();
+
+  /**
+   * @param response the response to be written to
+   * @param prefetch the number of items requested from the source ahead of them being written
+   * @param writer writes an item to the given {@code response}
+   * @param errorHandler invoked if the source fails
+   * @param completionHandler invoked once the source has no more items, typically to end the given
+   *     {@code response}
+   */
+  public ResponseSubscriber(
+      HttpServerResponse response,
+      int prefetch,
+      Action1<T> writer,
+      Action1<Throwable> errorHandler,
+      Action0 completionHandler) {
+    if (prefetch <= 0) {
+      throw new IllegalArgumentException("The prefetch must be positive but was: " + prefetch);
+    }
+    this.response = response;
+    this.prefetch = prefetch;
+    this.lowWatermark = prefetch / 4;
+    this.writer = writer;
+    this.errorHandler = errorHandler;
+    this.completionHandler = completionHandler;
+  }
+
+  @Override
+  public void onStart() {
+    response.drainHandler(
+        v -> {
+          if (awaitingDrain.compareAndSet(true, false)) {
+            topUp();
+          }
+        });
+    response.closeHandler(v -> unsubscribe());
+    topUp();
+  }
+
+  @Override
+  public void onNext(T item) {
+    writer.call(item);
+
+    if (outstanding.decrementAndGet() <= lowWatermark) {
+      awaitingDrain.set(true);
+      if (!response.writeQueueFull() && awaitingDrain.compareAndSet(true, false)) {
+        topUp();
+      }
+    }
+  }
+
+  /** Requests enough items to restore the window to {@code prefetch} outstanding items. */
+  private synchronized void topUp() {
+    long n = prefetch - outstanding.get();
+    if (n > 0) {
+      outstanding.addAndGet(n);
+      request(n);
+    }
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    errorHandler.call(throwable);
+  }
+
+  @Override
+  public void onCompleted() {
+    completionHandler.call();
+  }
+}
@@ -45,7 +45,11 @@ public class WebServerUtils {
   }
 
   public static HttpServerResponse jsonContentType(HttpServerResponse response) {
-    return response.putHeader("content-type", CONTENT_TYPE_APPLICATION_JSON);
+    return contentType(response, CONTENT_TYPE_APPLICATION_JSON);
+  }
+
+  public static HttpServerResponse contentType(HttpServerResponse response, String contentType) {
+    return response.putHeader("content-type", contentType);
   }
 
   public static void assignUserToSession(Session session, String userName) {
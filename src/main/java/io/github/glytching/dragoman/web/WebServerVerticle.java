@@ -125,6 +125,11 @@ public class WebServerVerticle extends AbstractVerticle {
 
     router.route().handler(ResponseTimeHandler.create());
 
+    if (applicationConfiguration.isHttpCompressionEnabled()) {
+      int minSize = applicationConfiguration.getHttpCompressionMinSize();
+      router.route().handler(new CompressionThresholdHandler(minSize));
+    }
+
     router.route().handler(SessionHandler.create(LocalSessionStore.create(vertx)));
 
     router.route().handler(BodyHandler.create());
@@ -181,8 +186,17 @@ public class WebServerVerticle extends AbstractVerticle {
   }
 
   private void staticHandler(Router router) {
+    boolean cachingEnabled = applicationConfiguration.isViewStaticAssetsCacheEnabled();
+
+    // prefer an asset's pre-compressed variant (if it has one) over compressing it on the fly
+    router
+        .route("/assets/*")
+        .handler(
+            new PrecompressedAssetHandler(
+                StaticHandler.DEFAULT_WEB_ROOT, "/assets/", cachingEnabled));
+
     StaticHandler staticHandler = StaticHandler.create();
-    staticHandler.setCachingEnabled(applicationConfiguration.isViewStaticAssetsCacheEnabled());
+    staticHandler.setCachingEnabled(cachingEnabled);
     staticHandler.setIndexPage(WebServerUtils.withApplicationName("about.hbs"));
     router.route("/assets/*").handler(staticHandler);
   }
@@ -248,6 +262,15 @@ public class WebServerVerticle extends AbstractVerticle {
     options.setLogActivity(true);
     options.setHost("localhost");
     options.setPort(port);
+
+    if (applicationConfiguration.isHttpCompressionEnabled()) {
+      logger.info(
+          "Enabling HTTP compression at level: {} for responses of at least: {} bytes",
+          applicationConfiguration.getHttpCompressionLevel(),
+          applicationConfiguration.getHttpCompressionMinSize());
+      options.setCompressionSupported(true);
+      options.setCompressionLevel(applicationConfiguration.getHttpCompressionLevel());
+    }
     return options;
   }
 }
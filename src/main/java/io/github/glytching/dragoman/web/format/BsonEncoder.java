@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.web.format;
+
+import io.github.glytching.dragoman.reader.Reader;
+import io.github.glytching.dragoman.web.ChunkedResponseWriter;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Writes rows, each of which has already been encoded as a BSON document (see {@link
+ * Reader#readBson(io.github.glytching.dragoman.dataset.Dataset, String, String, String, Integer)}),
+ * as concatenated BSON documents (as written by {@code mongodump}, for example). Each document is
+ * self delimiting since it starts with its own length, so a consumer can decode each row as soon as
+ * it has read the row's bytes.
+ *
+ * <p>Rows read from a pass through source (e.g. MongoDB) are copied from the source's own BSON so
+ * their values keep their BSON types. Rows read from any other source are encoded from the values
+ * that source returns, so a source which only yields strings, numbers, booleans, lists and maps
+ * (e.g. a HTTP source returning JSON) cannot produce dates, object ids etc in its BSON output.
+ */
+public class BsonEncoder implements ContentEncoder<Buffer> {
+
+  @Override
+  public void write(ChunkedResponseWriter writer, Buffer row) {
+    writer.write(row);
+  }
+
+  @Override
+  public void end(ChunkedResponseWriter writer) {
+    writer.end("");
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.web.format;
+
+import io.github.glytching.dragoman.web.ChunkedResponseWriter;
+
+/**
+ * Encodes dataset content into a response body one row at a time, so that the response can be
+ * written as the rows are read rather than once they have all been read. An instance is stateful
+ * (e.g. it knows whether it has written the first row) and serves a single response.
+ *
+ * @param <T> the type of the rows e.g. a {@link io.github.glytching.dragoman.reader.DataEnvelope}
+ *     or a row which has already been encoded as JSON
+ */
+public interface ContentEncoder<T> {
+
+  /**
+   * Encodes the given {@code row} into the given {@code writer}.
+   *
+   * @param writer the response writer
+   * @param row the row to be encoded
+   */
+  void write(ChunkedResponseWriter writer, T row);
+
+  /**
+   * Writes whatever follows the last row (if anything) and ends the response.
+   *
+   * @param writer the response writer
+   */
+  void end(ChunkedResponseWriter writer);
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.web.format;
+
+import io.github.glytching.dragoman.reader.DataEnvelope;
+import io.github.glytching.dragoman.web.ChunkedResponseWriter;
+import io.vertx.core.json.Json;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes rows as comma separated values (as per RFC 4180) with a header row. The columns are those
+ * given on construction, typically the output names of the select clause's projections in the
+ * order in which they were selected. If no columns are given (i.e. everything was selected) then
+ * the columns are the top level attributes of the first row.
+ *
+ * <p>A column such as {@code a.b} is read from the nested attribute {@code b} of {@code a}. A value
+ * which is itself a document or an array is written as JSON.
+ */
+public class CsvEncoder implements ContentEncoder<DataEnvelope> {
+  private static final String LINE_SEPARATOR = "\r\n";
+
+  private final List<String> columns;
+  private boolean headerWritten;
+
+  public CsvEncoder(List<String> columns) {
+    this.columns = new ArrayList<>(columns);
+  }
+
+  @Override
+  public void write(ChunkedResponseWriter writer, DataEnvelope row) {
+    Map<String, Object> payload = row.getPayload();
+    if (!headerWritten) {
+      if (columns.isEmpty()) {
+        columns.addAll(payload.keySet());
+      }
+      writeHeader(writer);
+    }
+
+    StringBuilder line = new StringBuilder();
+    for (int i = 0; i < columns.size(); i++) {
+      if (i > 0) {
+        line.append(',');
+      }
+      line.append(escape(format(get(payload, columns.get(i)))));
+    }
+    writer.write(line.append(LINE_SEPARATOR).toString());
+  }
+
+  @Override
+  public void end(ChunkedResponseWriter writer) {
+    if (!headerWritten && !columns.isEmpty()) {
+      writeHeader(writer);
+    }
+    writer.end("");
+  }
+
+  private void writeHeader(ChunkedResponseWriter writer) {
+    StringBuilder header = new StringBuilder();
+    for (int i = 0; i < columns.size(); i++) {
+      if (i > 0) {
+        header.append(',');
+      }
+      header.append(escape(columns.get(i)));
+    }
+    writer.write(header.append(LINE_SEPARATOR).toString());
+    headerWritten = true;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Object get(Map<String, Object> payload, String column) {
+    if (payload.containsKey(column)) {
+      return payload.get(column);
+    }
+    Object value = payload;
+    for (String name : column.split("\\.")) {
+      if (!(value instanceof Map)) {
+        return null;
+      }
+      value = ((Map<String, Object>) value).get(name);
+    }
+    return value;
+  }
+
+  private String format(Object value) {
+    if (value == null) {
+      return "";
+    }
+    if (value instanceof Map || value instanceof Collection) {
+      return Json.encode(value);
+    }
+    return String.valueOf(value);
+  }
+
+  private String escape(String value) {
+    if (value.indexOf(',') < 0
+        && value.indexOf('"') < 0
+        && value.indexOf('\n') < 0
+        && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
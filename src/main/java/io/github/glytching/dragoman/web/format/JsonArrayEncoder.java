@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.web.format;
+
+import io.github.glytching.dragoman.web.ChunkedResponseWriter;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Writes rows, each of which has already been encoded as a JSON object, as a single JSON array.
+ * The rows are written as is unless {@code pretty} printing is requested.
+ */
+public class JsonArrayEncoder implements ContentEncoder<Buffer> {
+
+  private final boolean pretty;
+  private boolean isFirst = true;
+
+  public JsonArrayEncoder(boolean pretty) {
+    this.pretty = pretty;
+  }
+
+  @Override
+  public void write(ChunkedResponseWriter writer, Buffer row) {
+    if (!isFirst) {
+      writer.write(",");
+    } else {
+      isFirst = false;
+      writer.write("[");
+    }
+    if (pretty) {
+      writer.write(new JsonObject(row).encodePrettily());
+    } else {
+      writer.write(row);
+    }
+  }
+
+  @Override
+  public void end(ChunkedResponseWriter writer) {
+    writer.end(isFirst ? "[]" : "]");
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.web.format;
+
+import io.github.glytching.dragoman.web.ChunkedResponseWriter;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Writes rows, each of which has already been encoded as a JSON object, as newline delimited JSON.
+ * A consumer can use each row as soon as it reads the row's line.
+ */
+public class NdJsonEncoder implements ContentEncoder<Buffer> {
+
+  @Override
+  public void write(ChunkedResponseWriter writer, Buffer row) {
+    writer.write(row).write("\n");
+  }
+
+  @Override
+  public void end(ChunkedResponseWriter writer) {
+    writer.end("");
+  }
+}
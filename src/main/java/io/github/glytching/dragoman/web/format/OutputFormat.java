@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.web.format;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * The formats in which dataset content can be written, chosen by the request's {@code Accept}
+ * header.
+ */
+public enum OutputFormat {
+  /** A single JSON array, this is the default. */
+  JSON("application/json", "*/*", "application/*"),
+  /** Newline delimited JSON i.e. one JSON object per line, for streaming consumers. */
+  NDJSON("application/x-ndjson", "application/ndjson"),
+  /** Comma separated values with a header row, the columns follow the order of the select. */
+  CSV("text/csv"),
+  /** Concatenated BSON documents, a compact binary format for service to service callers. */
+  BSON("application/bson");
+
+  private final String contentType;
+  private final List<String> mediaRanges;
+
+  OutputFormat(String contentType, String... aliases) {
+    this.contentType = contentType;
+    this.mediaRanges = Arrays.asList(aliases);
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  /**
+   * Chooses the output format which best matches the given {@code accept} header, honouring any
+   * quality ({@code q}) values. If the header is absent or names nothing we support then the
+   * default, {@link #JSON}, is used rather than refusing the request.
+   *
+   * @param accept the value of a request's {@code Accept} header, may be null
+   * @return the best matching output format
+   */
+  public static OutputFormat fromAccept(String accept) {
+    if (isBlank(accept)) {
+      return JSON;
+    }
+
+    OutputFormat best = JSON;
+    double bestQuality = 0;
+    for (String mediaRange : accept.split(",")) {
+      String[] parts = mediaRange.split(";");
+      OutputFormat format = forMediaRange(parts[0].trim().toLowerCase(Locale.ENGLISH));
+      double quality = getQuality(parts);
+      if (format != null && quality > bestQuality) {
+        best = format;
+        bestQuality = quality;
+      }
+    }
+    return best;
+  }
+
+  private static OutputFormat forMediaRange(String mediaRange) {
+    for (OutputFormat format : values()) {
+      if (format.contentType.equals(mediaRange) || format.mediaRanges.contains(mediaRange)) {
+        return format;
+      }
+    }
+    return null;
+  }
+
+  private static double getQuality(String[] parts) {
+    for (int i = 1; i < parts.length; i++) {
+      String parameter = parts[i].trim();
+      if (parameter.startsWith("q=")) {
+        try {
+          return Double.parseDouble(parameter.substring(2));
+        } catch (NumberFormatException ex) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+}
@@ -19,13 +19,30 @@ package io.github.glytching.dragoman.web.resource;
 import io.github.glytching.dragoman.configuration.ApplicationConfiguration;
 import io.github.glytching.dragoman.dataset.Dataset;
 import io.github.glytching.dragoman.dataset.DatasetDao;
+import io.github.glytching.dragoman.ql.domain.OrderByClause;
+import io.github.glytching.dragoman.ql.domain.SelectClause;
+import io.github.glytching.dragoman.ql.domain.WhereClause;
+import io.github.glytching.dragoman.ql.listener.tracing.ParseTrace;
+import io.github.glytching.dragoman.ql.parser.OrderByClauseParser;
+import io.github.glytching.dragoman.ql.parser.SelectClauseParser;
+import io.github.glytching.dragoman.ql.parser.WhereClauseParser;
 import io.github.glytching.dragoman.reader.DataEnvelope;
 import io.github.glytching.dragoman.reader.Reader;
+import io.github.glytching.dragoman.repository.Page;
+import io.github.glytching.dragoman.web.ChunkedResponseWriter;
 import io.github.glytching.dragoman.web.GlobalExceptionHandler;
+import io.github.glytching.dragoman.web.ResponseSubscriber;
 import io.github.glytching.dragoman.web.exception.AccessDeniedException;
 import io.github.glytching.dragoman.web.exception.InvalidRequestException;
+import io.github.glytching.dragoman.web.format.BsonEncoder;
+import io.github.glytching.dragoman.web.format.ContentEncoder;
+import io.github.glytching.dragoman.web.format.CsvEncoder;
+import io.github.glytching.dragoman.web.format.JsonArrayEncoder;
+import io.github.glytching.dragoman.web.format.NdJsonEncoder;
+import io.github.glytching.dragoman.web.format.OutputFormat;
 import io.github.glytching.dragoman.web.subscription.SubscriptionManager;
 import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.JsonObject;
@@ -38,15 +55,23 @@ import rx.Observable;
 import javax.inject.Inject;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 import static io.github.glytching.dragoman.web.WebServerUtils.*;
+import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
 /** A {@link RestResource} which eposes all the dataset management endpoints. */
 public class DatasetResource implements RestResource {
+  /** The response header which carries the cursor for the next page of a paginated read. */
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
   private static final Logger logger = LoggerFactory.getLogger(DatasetResource.class);
 
   private final DatasetDao datasetDao;
@@ -54,6 +79,9 @@ public class DatasetResource implements RestResource {
   private final ViewTransformer viewTransformer;
   private final SubscriptionManager subscriptionManager;
   private final ApplicationConfiguration applicationConfiguration;
+  private final SelectClauseParser selectClauseParser;
+  private final WhereClauseParser whereClauseParser;
+  private final OrderByClauseParser orderByClauseParser;
 
   @Inject
   public DatasetResource(
@@ -61,12 +89,18 @@ public class DatasetResource implements RestResource {
       Reader reader,
       ViewTransformer viewTransformer,
       SubscriptionManager subscriptionManager,
-      ApplicationConfiguration applicationConfiguration) {
+      ApplicationConfiguration applicationConfiguration,
+      SelectClauseParser selectClauseParser,
+      WhereClauseParser whereClauseParser,
+      OrderByClauseParser orderByClauseParser) {
     this.datasetDao = datasetDao;
     this.reader = reader;
     this.viewTransformer = viewTransformer;
     this.subscriptionManager = subscriptionManager;
     this.applicationConfiguration = applicationConfiguration;
+    this.selectClauseParser = selectClauseParser;
+    this.whereClauseParser = whereClauseParser;
+    this.orderByClauseParser = orderByClauseParser;
   }
 
   @Override
@@ -98,6 +132,10 @@ public class DatasetResource implements RestResource {
 
     router.get(withApplicationName("dataset/:id/content")).blockingHandler(this::getContent);
 
+    router.get(withApplicationName("dataset/:id/count")).blockingHandler(this::count);
+
+    router.get(withApplicationName("dataset/:id/explain")).blockingHandler(this::explain);
+
     router
         .delete(withApplicationName("dataset/:id/content"))
         .blockingHandler(this::stopSubscription);
@@ -118,12 +156,8 @@ public class DatasetResource implements RestResource {
     String where = routingContext.request().getParam("where");
     String orderBy = routingContext.request().getParam("orderBy");
 
-    String subscriptionFlag = routingContext.request().getParam("subscribe");
-    if (isNotBlank(subscriptionFlag)
-        && !(subscriptionFlag.equalsIgnoreCase("true")
-            || subscriptionFlag.equalsIgnoreCase("false"))) {
-      throw InvalidRequestException.invalidValue("subscribe", subscriptionFlag, "true|false");
-    }
+    String subscriptionFlag = getFlag(routingContext, "subscribe");
+    boolean pretty = Boolean.valueOf(getFlag(routingContext, "pretty"));
 
     logger.info("Getting content for dataset: {}", dataset);
 
@@ -138,15 +172,104 @@ public class DatasetResource implements RestResource {
           dataset, refreshPeriod, LocalDateTime.now(ZoneId.of("UTC")), select, where);
     }
 
-    writeDatasetContents(routingContext, reader.read(dataset, select, where, orderBy, -1));
+    String pageSize = routingContext.request().getParam("pageSize");
+    String cursor = routingContext.request().getParam("cursor");
+    if (isNotBlank(pageSize) || isNotBlank(cursor)) {
+      writeDatasetPage(
+          routingContext,
+          reader.readPage(
+              dataset, select, where, orderBy, toPageSize(pageSize), defaultIfBlank(cursor, null)),
+          pretty);
+    } else {
+      writeDatasetContents(routingContext, dataset, select, where, orderBy, -1, pretty);
+    }
+  }
+
+  /** Counts the dataset's content, the response is a single number. */
+  private void count(RoutingContext routingContext) {
+    Dataset dataset = getDataset(routingContext);
+
+    String where = routingContext.request().getParam("where");
+
+    logger.info("Counting content for dataset: {}", dataset);
+
+    reader
+        .count(dataset, where)
+        .subscribe(
+            count -> jsonContentType(routingContext.response()).end(String.valueOf(count)),
+            throwable -> GlobalExceptionHandler.error(routingContext, throwable));
+  }
+
+  /**
+   * Explains how the given {@code select}, {@code where} and {@code orderBy} would be read from the
+   * dataset's source. The response contains the query as translated for the source, the source's
+   * own execution stats (where the source can supply them) and the time taken by each phase of
+   * preparing the query.
+   *
+   * <p>If the request has {@code trace=true} the response also contains a {@link ParseTrace} for
+   * each of the given clauses. The clauses are re-parsed for this (bypassing the parser cache) so
+   * the trace reflects the cost of a parse even if the query's translations are already cached.
+   */
+  private void explain(RoutingContext routingContext) {
+    Dataset dataset = getDataset(routingContext);
+
+    String select = routingContext.request().getParam("select");
+    String where = routingContext.request().getParam("where");
+    String orderBy = routingContext.request().getParam("orderBy");
+    boolean trace = Boolean.valueOf(getFlag(routingContext, "trace"));
+
+    logger.info("Explaining content for dataset: {}", dataset);
+
+    reader
+        .explain(dataset, select, where, orderBy, -1)
+        .subscribe(
+            explanation -> {
+              Map<String, Object> timings = new LinkedHashMap<>(explanation.getTimings());
+              JsonObject response =
+                  new JsonObject()
+                      .put("source", dataset.getSource())
+                      .put("plan", new JsonObject(explanation.getPlan()))
+                      .put("timings", new JsonObject(timings));
+              if (explanation.getExecution() != null) {
+                response.put("execution", new JsonObject(explanation.getExecution()));
+              }
+              if (trace) {
+                response.put("trace", traceClauses(select, where, orderBy));
+              }
+              jsonContentType(routingContext.response()).end(response.encodePrettily());
+            },
+            throwable -> GlobalExceptionHandler.error(routingContext, throwable));
+  }
+
+  /** @return a trace of parsing each of the given clauses, keyed by clause, blanks are skipped */
+  private JsonObject traceClauses(String select, String where, String orderBy) {
+    JsonObject traces = new JsonObject();
+    if (isNotBlank(select)) {
+      ParseTrace trace = new ParseTrace();
+      selectClauseParser.get(SelectClause.class, select, trace);
+      traces.put("select", new JsonObject(trace.toMap()));
+    }
+    if (isNotBlank(where)) {
+      ParseTrace trace = new ParseTrace();
+      whereClauseParser.get(WhereClause.class, where, trace);
+      traces.put("where", new JsonObject(trace.toMap()));
+    }
+    if (isNotBlank(orderBy)) {
+      ParseTrace trace = new ParseTrace();
+      orderByClauseParser.get(OrderByClause.class, orderBy, trace);
+      traces.put("orderBy", new JsonObject(trace.toMap()));
+    }
+    return traces;
   }
 
   private void getSample(RoutingContext routingContext) {
     Dataset dataset = getDataset(routingContext);
 
+    boolean pretty = Boolean.valueOf(getFlag(routingContext, "pretty"));
+
     logger.info("Sampling dataset: {}", dataset);
 
-    writeDatasetContents(routingContext, reader.read(dataset, "", "", "", 10));
+    writeDatasetContents(routingContext, dataset, "", "", "", 10, pretty);
   }
 
   private void deleteDataset(RoutingContext routingContext) {
@@ -195,24 +318,144 @@ public class DatasetResource implements RestResource {
     return datasetDao.get(id);
   }
 
+  /**
+   * Writes the dataset contents in the {@link OutputFormat} chosen by the request's {@code Accept}
+   * header. The JSON and BSON formats are written from rows which are already encoded (see {@link
+   * Reader#readJson(Dataset, String, String, String, Integer)} and {@link Reader#readBson(Dataset,
+   * String, String, String, Integer)}), CSV is encoded from each row's {@link DataEnvelope}. A
+   * CSV's columns follow the order of the given {@code select}.
+   */
   private void writeDatasetContents(
-      RoutingContext routingContext, Observable<DataEnvelope> datasetContents) {
+      RoutingContext routingContext,
+      Dataset dataset,
+      String select,
+      String where,
+      String orderBy,
+      int maxResults,
+      boolean pretty) {
+    OutputFormat outputFormat =
+        OutputFormat.fromAccept(routingContext.request().getHeader(HttpHeaders.ACCEPT));
+    switch (outputFormat) {
+      case NDJSON:
+        writeDatasetContents(
+            routingContext,
+            outputFormat,
+            reader.readJson(dataset, select, where, orderBy, maxResults),
+            new NdJsonEncoder());
+        break;
+      case CSV:
+        writeDatasetContents(
+            routingContext,
+            outputFormat,
+            reader.read(dataset, select, where, orderBy, maxResults),
+            new CsvEncoder(getColumns(select)));
+        break;
+      case BSON:
+        writeDatasetContents(
+            routingContext,
+            outputFormat,
+            reader.readBson(dataset, select, where, orderBy, maxResults),
+            new BsonEncoder());
+        break;
+      default:
+        writeDatasetContents(
+            routingContext,
+            outputFormat,
+            reader.readJson(dataset, select, where, orderBy, maxResults),
+            new JsonArrayEncoder(pretty));
+    }
+  }
+
+  /**
+   * Writes the dataset contents, chunked, using the given {@code contentEncoder}. The entries are
+   * only read as fast as the client consumes them (see {@link ResponseSubscriber}) and are
+   * coalesced into chunks of the configured size (see {@link ChunkedResponseWriter}).
+   */
+  private <T> void writeDatasetContents(
+      RoutingContext routingContext,
+      OutputFormat outputFormat,
+      Observable<T> datasetContents,
+      ContentEncoder<T> contentEncoder) {
     HttpServerResponse httpServerResponse =
-        jsonContentType(routingContext.response()).setChunked(true);
+        contentType(routingContext.response(), outputFormat.getContentType()).setChunked(true);
+    ChunkedResponseWriter writer =
+        new ChunkedResponseWriter(
+            httpServerResponse, applicationConfiguration.getHttpResponseChunkSize());
 
-    final AtomicBoolean isFirst = new AtomicBoolean(true);
     datasetContents.subscribe(
-        (DataEnvelope dataEnvelope) -> {
-          if (!isFirst.get()) {
-            httpServerResponse.write(",");
-          } else {
-            isFirst.set(false);
-            httpServerResponse.write("[");
+        new ResponseSubscriber<>(
+            httpServerResponse,
+            applicationConfiguration.getHttpResponsePrefetch(),
+            entry -> contentEncoder.write(writer, entry),
+            throwable -> GlobalExceptionHandler.error(routingContext, throwable),
+            () -> contentEncoder.end(writer)));
+  }
+
+  /**
+   * @return the keys which the rows read for the given {@code select} carry, in the order of its
+   *     projections, empty for select all. An aggregated row is keyed by each projection's output
+   *     name, any other row is keyed by the projected attributes' names.
+   */
+  private List<String> getColumns(String select) {
+    SelectClause selectClause = selectClauseParser.get(SelectClause.class, select);
+    return selectClause
+        .getProjections()
+        .stream()
+        .map(
+            projection ->
+                selectClause.isAggregate() ? projection.getOutputName() : projection.getName())
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Writes a page of dataset contents, always as a JSON array. The page is bounded so, unlike
+   * {@link #writeDatasetContents(RoutingContext, OutputFormat, Observable, ContentEncoder)}, this
+   * can write the whole page at once and thus can set the {@link #NEXT_CURSOR_HEADER} before
+   * writing the body.
+   */
+  private void writeDatasetPage(
+      RoutingContext routingContext, Observable<Page<DataEnvelope>> datasetPage, boolean pretty) {
+    datasetPage.subscribe(
+        page -> {
+          HttpServerResponse httpServerResponse = jsonContentType(routingContext.response());
+          if (page.hasNext()) {
+            httpServerResponse.putHeader(NEXT_CURSOR_HEADER, page.getNextCursor());
           }
-          httpServerResponse.write(new JsonObject(dataEnvelope.getPayload()).encodePrettily());
+          StringBuilder body = new StringBuilder("[");
+          for (DataEnvelope dataEnvelope : page.getRows()) {
+            if (body.length() > 1) {
+              body.append(",");
+            }
+            JsonObject row = new JsonObject(dataEnvelope.getPayload());
+            body.append(pretty ? row.encodePrettily() : row.encode());
+          }
+          httpServerResponse.end(body.append("]").toString());
         },
-        throwable -> GlobalExceptionHandler.error(routingContext, throwable),
-        () -> httpServerResponse.end("]"));
+        throwable -> GlobalExceptionHandler.error(routingContext, throwable));
+  }
+
+  /** @return the value of the given true|false parameter, null if it was not supplied */
+  private String getFlag(RoutingContext routingContext, String parameterName) {
+    String flag = routingContext.request().getParam(parameterName);
+    if (isNotBlank(flag) && !(flag.equalsIgnoreCase("true") || flag.equalsIgnoreCase("false"))) {
+      throw InvalidRequestException.invalidValue(parameterName, flag, "true|false");
+    }
+    return flag;
+  }
+
+  private int toPageSize(String pageSize) {
+    if (isBlank(pageSize)) {
+      throw InvalidRequestException.missingParameter("pageSize");
+    }
+    try {
+      int value = Integer.parseInt(pageSize);
+      if (value > 0) {
+        return value;
+      }
+    } catch (NumberFormatException ex) {
+      // handled below
+    }
+    throw InvalidRequestException.invalidValue("pageSize", pageSize, "a positive integer");
   }
 
   private void writeDatasets(RoutingContext routingContext, Observable<Dataset> datasets) {
@@ -221,17 +464,20 @@ public class DatasetResource implements RestResource {
 
     final AtomicBoolean isFirst = new AtomicBoolean(true);
     datasets.subscribe(
-        dataset -> {
-          if (!isFirst.get()) {
-            httpServerResponse.write(",");
-          } else {
-            isFirst.set(false);
-            httpServerResponse.write("[");
-          }
-          httpServerResponse.write(viewTransformer.transform(dataset));
-        },
-        throwable -> GlobalExceptionHandler.error(routingContext, throwable),
-        () -> httpServerResponse.end("]"));
+        new ResponseSubscriber<>(
+            httpServerResponse,
+            applicationConfiguration.getHttpResponsePrefetch(),
+            (Dataset dataset) -> {
+              if (!isFirst.get()) {
+                httpServerResponse.write(",");
+              } else {
+                isFirst.set(false);
+                httpServerResponse.write("[");
+              }
+              httpServerResponse.write(viewTransformer.transform(dataset));
+            },
+            throwable -> GlobalExceptionHandler.error(routingContext, throwable),
+            () -> httpServerResponse.end("]")));
   }
 
   private String getUserId(RoutingContext routingContext) {
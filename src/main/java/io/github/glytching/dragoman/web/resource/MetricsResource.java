@@ -16,6 +16,7 @@
  */
 package io.github.glytching.dragoman.web.resource;
 
+import com.codahale.metrics.MetricSet;
 import io.github.glytching.dragoman.configuration.ApplicationConfiguration;
 import io.github.glytching.dragoman.web.MetricsFacade;
 import io.vertx.core.Vertx;
@@ -25,6 +26,7 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Router;
 
 import javax.inject.Inject;
+import java.util.Set;
 
 import static io.github.glytching.dragoman.web.WebServerUtils.withApplicationName;
 
@@ -32,11 +34,14 @@ import static io.github.glytching.dragoman.web.WebServerUtils.withApplicationNam
 public class MetricsResource implements RestResource {
 
   private final ApplicationConfiguration applicationConfiguration;
+  private final Set<MetricSet> metricSets;
   private MetricsFacade metricsFacade;
 
   @Inject
-  public MetricsResource(ApplicationConfiguration applicationConfiguration) {
+  public MetricsResource(
+      ApplicationConfiguration applicationConfiguration, Set<MetricSet> metricSets) {
     this.applicationConfiguration = applicationConfiguration;
+    this.metricSets = metricSets;
   }
 
   @Override
@@ -72,6 +77,9 @@ public class MetricsResource implements RestResource {
 
     this.metricsFacade =
         new MetricsFacade(
-            vertx, httpServer, applicationConfiguration.getMetricsPublicationPeriod());
+            vertx,
+            httpServer,
+            metricSets,
+            applicationConfiguration.getMetricsPublicationPeriod());
   }
 }
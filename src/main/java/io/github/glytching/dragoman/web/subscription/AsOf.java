@@ -20,12 +20,22 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.apache.commons.lang3.StringUtils.isBlank;
 
+/**
+ * Applies an 'as of' restriction to a subscription's where clause. The restriction is expressed as
+ * a bind parameter so the where clause is the same on every poll and only the parameter value
+ * changes, this allows the parsed (and, for in memory filters, compiled) where clause to be reused
+ * across polls.
+ */
 public class AsOf {
   private static final Logger logger = LoggerFactory.getLogger(AsOf.class);
 
+  static final String AS_OF_PARAMETER = "asOf";
+
   private final String asOfField;
   private final String asOfFieldPattern;
   private final AsOfFormatter asOfFormatter;
@@ -42,13 +52,28 @@ public class AsOf {
     this.lastRead = lastRead;
   }
 
+  /**
+   * @param where the subscription's where clause
+   * @return the given {@code where} clause extended with an asOf predicate whose value is supplied
+   *     by {@link #nextParameters()}
+   */
   public String applyAsOf(String where) {
-    String asOfPredicate = asOfField + " > " + asOfFormatter.format(asOfFieldPattern, lastRead);
+    String asOfPredicate = asOfField + " > :" + AS_OF_PARAMETER;
+    return isBlank(where) ? asOfPredicate : (where + " and " + asOfPredicate);
+  }
+
+  /**
+   * @return the bind parameters for the asOf predicate created by {@link #applyAsOf(String)},
+   *     calling this increments the asOf for the next time around
+   */
+  public Map<String, Object> nextParameters() {
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put(AS_OF_PARAMETER, asOfFormatter.toValue(asOfFieldPattern, lastRead));
 
     // increment the asOf for the next time around
     this.lastRead = LocalDateTime.now();
 
-    logger.info("Derived asOf predicate: {}", asOfPredicate);
-    return isBlank(where) ? asOfPredicate : (where + " and " + asOfPredicate);
+    logger.info("Derived asOf parameters: {}", parameters);
+    return parameters;
   }
 }
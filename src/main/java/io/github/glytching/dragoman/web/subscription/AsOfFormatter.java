@@ -25,18 +25,25 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 public class AsOfFormatter {
   private static final String ISO_8601 = "yyyy-MM-dd'T'HH:mm:ss.SSS";
 
-  public String format(String pattern, LocalDateTime lastRead) {
+  /**
+   * Converts the given {@code lastRead} into a value which can be bound to an asOf parameter.
+   *
+   * @param pattern the asOf field pattern, either a date pattern or {@code L} for epoch millis
+   * @param lastRead
+   * @return a date/time {@link String} for date patterns, a {@link Long} for epoch millis
+   */
+  public Object toValue(String pattern, LocalDateTime lastRead) {
     if (isNotBlank(pattern)) {
       if (isDatePattern(pattern)) {
-        return "'" + DateTimeFormatter.ofPattern(pattern).format(lastRead) + "'";
+        return DateTimeFormatter.ofPattern(pattern).format(lastRead);
       } else if (isEpochMillisPattern(pattern)) {
-        return String.valueOf(lastRead.toInstant(ZoneOffset.UTC).toEpochMilli());
+        return lastRead.toInstant(ZoneOffset.UTC).toEpochMilli();
       } else {
         throw new RuntimeException(
             String.format("Cannot format AsOf for an unsupported pattern: %s!", pattern));
       }
     } else {
-      return "'" + DateTimeFormatter.ofPattern(ISO_8601).format(lastRead) + "'";
+      return DateTimeFormatter.ofPattern(ISO_8601).format(lastRead);
     }
   }
 
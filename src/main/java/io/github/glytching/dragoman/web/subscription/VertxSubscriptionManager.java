@@ -20,6 +20,7 @@ import io.github.glytching.dragoman.dataset.Dataset;
 import io.github.glytching.dragoman.dataset.DatasetDao;
 import io.github.glytching.dragoman.reader.DataEnvelope;
 import io.github.glytching.dragoman.reader.Reader;
+import io.github.glytching.dragoman.repository.QueryPrecompiler;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
@@ -46,16 +47,22 @@ public class VertxSubscriptionManager implements SubscriptionManager {
   private final DatasetDao datasetDao;
   private final Reader reader;
   private final AsOfFactory asOfFactory;
+  private final QueryPrecompiler queryPrecompiler;
   private final Map<String, SubscriptionContext> subscriptions;
   private final WorkerExecutor executor;
 
   @Inject
   public VertxSubscriptionManager(
-      Vertx vertx, DatasetDao datasetDao, Reader reader, AsOfFactory asOfFactory) {
+      Vertx vertx,
+      DatasetDao datasetDao,
+      Reader reader,
+      AsOfFactory asOfFactory,
+      QueryPrecompiler queryPrecompiler) {
     this.vertx = vertx;
     this.datasetDao = datasetDao;
     this.reader = reader;
     this.asOfFactory = asOfFactory;
+    this.queryPrecompiler = queryPrecompiler;
     this.subscriptions = new ConcurrentHashMap<>();
     this.executor = vertx.createSharedWorkerExecutor("subscription-manager");
   }
@@ -86,14 +93,16 @@ public class VertxSubscriptionManager implements SubscriptionManager {
                     (Handler<Future<Void>>) future -> publishContent(dataset, select, where),
                     future -> {}));
 
-    subscriptions.put(
-        subscriptionKey,
-        new SubscriptionContext(
-            timerId,
-            asOfFactory.create(
-                dataset.getSubscriptionControlField(),
-                dataset.getSubscriptionControlFieldPattern(),
-                startTime)));
+    AsOf asOf =
+        asOfFactory.create(
+            dataset.getSubscriptionControlField(),
+            dataset.getSubscriptionControlFieldPattern(),
+            startTime);
+    subscriptions.put(subscriptionKey, new SubscriptionContext(timerId, asOf));
+
+    // the as of predicate is a bind parameter so every publication runs this same query, compile
+    // it now rather than on the first publication
+    queryPrecompiler.precompile(dataset, select, asOf.applyAsOf(where));
   }
 
   @Override
@@ -118,8 +127,16 @@ public class VertxSubscriptionManager implements SubscriptionManager {
       if (subscriptions.containsKey(subscriptionKey)) {
         logger.info("Publishing dataset content for: {}", subscriptionKey);
         SubscriptionContext subscriptionContext = subscriptions.get(subscriptionKey);
+        AsOf asOf = subscriptionContext.getAsOf();
+        // the subscription's read profile (if any) applies to these reads
         Observable<DataEnvelope> read =
-            reader.read(dataset, select, subscriptionContext.getAsOf().applyAsOf(where), "", -1);
+            reader.read(
+                dataset.forSubscription(),
+                select,
+                asOf.applyAsOf(where),
+                asOf.nextParameters(),
+                "",
+                -1);
         read.subscribe(
             dataEnvelope -> publishOne(subscriptionKey, dataset, dataEnvelope),
             throwable -> publishFailure(subscriptionKey, dataset, throwable),
@@ -18,146 +18,155 @@ package io.github.glytching.dragoman.ql.domain;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
+
+import static io.github.glytching.dragoman.ql.domain.Predicate.Operator.BETWEEN;
+import static io.github.glytching.dragoman.ql.domain.Predicate.Operator.EQUALS;
+import static io.github.glytching.dragoman.ql.domain.Predicate.Operator.GREATER_THAN_OR_EQUAL_TO;
+import static io.github.glytching.dragoman.ql.domain.Predicate.Operator.IN;
+import static io.github.glytching.dragoman.ql.domain.Predicate.Operator.IS_NULL;
+import static io.github.glytching.dragoman.ql.domain.Predicate.Operator.LIKE;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class PredicateTest {
 
   @Test
   public void canHandleSimpleEquals() {
-    Predicate predicate = new Predicate("a", "=", "b");
-
-    assertThat(predicate.isQuoted(), is(false));
-    assertThat(predicate.isBetween(), is(false));
-    assertThat(predicate.isNotBetween(), is(false));
-    assertThat(predicate.isIn(), is(false));
-    assertThat(predicate.isNotIn(), is(false));
-    assertThat(predicate.isLike(), is(false));
-    assertThat(predicate.isNotLike(), is(false));
-    assertThat(predicate.isNull(), is(false));
-    assertThat(predicate.isNotNull(), is(false));
-    assertThat(predicate.isGreaterThan(), is(false));
-    assertThat(predicate.isGreaterThanOrEqualTo(), is(false));
-    assertThat(predicate.isLessThan(), is(false));
-    assertThat(predicate.isLessThanOrEqualTo(), is(false));
+    Predicate predicate = new Predicate("a", EQUALS);
+    predicate.addRhs("b");
+
+    assertThat(predicate.getOperator(), is(EQUALS));
     assertThat(predicate.isNegated(), is(false));
-    assertThat(predicate.isNotEquals(), is(false));
-    assertThat(predicate.isEquals(), is(true));
-    assertThat(predicate.toString(), is("a = b"));
+    assertThat(predicate.getOperand(0).getType(), is(Operand.Type.STRING));
+    assertThat(predicate.getOperand(0).isQuoted(), is(true));
+    assertThat(predicate.toString(), is("a = 'b'"));
   }
 
   @Test
   public void canHandleQuotedIn() {
-    Predicate predicate = new Predicate("a", "in", true, false, "b", "c");
-
-    assertThat(predicate.isQuoted(), is(true));
-    assertThat(predicate.isBetween(), is(false));
-    assertThat(predicate.isNotBetween(), is(false));
-    assertThat(predicate.isIn(), is(true));
-    assertThat(predicate.isNotIn(), is(false));
-    assertThat(predicate.isLike(), is(false));
-    assertThat(predicate.isNotLike(), is(false));
-    assertThat(predicate.isNull(), is(false));
-    assertThat(predicate.isNotNull(), is(false));
-    assertThat(predicate.isGreaterThan(), is(false));
-    assertThat(predicate.isGreaterThanOrEqualTo(), is(false));
-    assertThat(predicate.isLessThan(), is(false));
-    assertThat(predicate.isLessThanOrEqualTo(), is(false));
+    Predicate predicate = new Predicate("a", IN);
+    predicate.addRhs("'b'");
+    predicate.addRhs("'c'");
+
+    assertThat(predicate.getOperator(), is(IN));
     assertThat(predicate.isNegated(), is(false));
-    assertThat(predicate.isNotEquals(), is(false));
-    assertThat(predicate.isEquals(), is(false));
+    assertThat(predicate.getOperand(0).getValue(), is("b"));
+    assertThat(predicate.getOperand(1).getValue(), is("c"));
     assertThat(predicate.toString(), is("a in ('b', 'c')"));
   }
 
   @Test
   public void canHandleNumeric() {
-    Predicate predicate = new Predicate("a", ">=", "5");
-
-    assertThat(predicate.isQuoted(), is(false));
-    assertThat(predicate.isBetween(), is(false));
-    assertThat(predicate.isNotBetween(), is(false));
-    assertThat(predicate.isIn(), is(false));
-    assertThat(predicate.isNotIn(), is(false));
-    assertThat(predicate.isLike(), is(false));
-    assertThat(predicate.isNotLike(), is(false));
-    assertThat(predicate.isNull(), is(false));
-    assertThat(predicate.isNotNull(), is(false));
-    assertThat(predicate.isGreaterThan(), is(false));
-    assertThat(predicate.isGreaterThanOrEqualTo(), is(true));
-    assertThat(predicate.isLessThan(), is(false));
-    assertThat(predicate.isLessThanOrEqualTo(), is(false));
-    assertThat(predicate.isNegated(), is(false));
-    assertThat(predicate.isNotEquals(), is(false));
-    assertThat(predicate.isEquals(), is(false));
+    Predicate predicate = new Predicate("a", GREATER_THAN_OR_EQUAL_TO);
+    predicate.addRhs("5");
+
+    assertThat(predicate.getOperator(), is(GREATER_THAN_OR_EQUAL_TO));
+    assertThat(predicate.getOperand(0).getType(), is(Operand.Type.INTEGER));
+    assertThat(predicate.getOperand(0).getValue(), is(5));
     assertThat(predicate.toString(), is("a >= 5"));
   }
 
   @Test
   public void canHandleBetween() {
-    Predicate predicate = new Predicate("a", "between", "5", "10");
-
-    assertThat(predicate.isQuoted(), is(false));
-    assertThat(predicate.isBetween(), is(true));
-    assertThat(predicate.isNotBetween(), is(false));
-    assertThat(predicate.isIn(), is(false));
-    assertThat(predicate.isNotIn(), is(false));
-    assertThat(predicate.isLike(), is(false));
-    assertThat(predicate.isNotLike(), is(false));
-    assertThat(predicate.isNull(), is(false));
-    assertThat(predicate.isNotNull(), is(false));
-    assertThat(predicate.isGreaterThan(), is(false));
-    assertThat(predicate.isGreaterThanOrEqualTo(), is(false));
-    assertThat(predicate.isLessThan(), is(false));
-    assertThat(predicate.isLessThanOrEqualTo(), is(false));
-    assertThat(predicate.isNegated(), is(false));
-    assertThat(predicate.isNotEquals(), is(false));
-    assertThat(predicate.isEquals(), is(false));
-    assertThat(predicate.toString(), is("a between 5 and 10"));
+    Predicate predicate = new Predicate("a", BETWEEN);
+    predicate.addRhs("5");
+    predicate.addRhs("10.5");
+
+    assertThat(predicate.getOperator(), is(BETWEEN));
+    assertThat(predicate.getOperand(0).getValue(), is(5));
+    assertThat(predicate.getOperand(1).getValue(), is(10.5));
+    assertThat(predicate.toString(), is("a between 5 and 10.5"));
   }
 
   @Test
   public void canHandleLike() {
-    Predicate predicate = new Predicate("a", "like", true, false, "foo%");
-
-    assertThat(predicate.isQuoted(), is(true));
-    assertThat(predicate.isBetween(), is(false));
-    assertThat(predicate.isNotBetween(), is(false));
-    assertThat(predicate.isIn(), is(false));
-    assertThat(predicate.isNotIn(), is(false));
-    assertThat(predicate.isLike(), is(true));
-    assertThat(predicate.isNotLike(), is(false));
-    assertThat(predicate.isNull(), is(false));
-    assertThat(predicate.isNotNull(), is(false));
-    assertThat(predicate.isGreaterThan(), is(false));
-    assertThat(predicate.isGreaterThanOrEqualTo(), is(false));
-    assertThat(predicate.isLessThan(), is(false));
-    assertThat(predicate.isLessThanOrEqualTo(), is(false));
-    assertThat(predicate.isNegated(), is(false));
-    assertThat(predicate.isNotEquals(), is(false));
-    assertThat(predicate.isEquals(), is(false));
+    Predicate predicate = new Predicate("a", LIKE);
+    predicate.addRhs("'foo%'");
+
+    assertThat(predicate.getOperator(), is(LIKE));
+    assertThat(predicate.getOperand(0).getText(), is("foo%"));
     assertThat(predicate.toString(), is("a like 'foo%'"));
   }
 
   @Test
   public void canHandleIsNull() {
-    Predicate predicate = new Predicate("a", "is null");
-
-    assertThat(predicate.isQuoted(), is(false));
-    assertThat(predicate.isBetween(), is(false));
-    assertThat(predicate.isNotBetween(), is(false));
-    assertThat(predicate.isIn(), is(false));
-    assertThat(predicate.isNotIn(), is(false));
-    assertThat(predicate.isLike(), is(false));
-    assertThat(predicate.isNotLike(), is(false));
-    assertThat(predicate.isNull(), is(true));
-    assertThat(predicate.isNotNull(), is(false));
-    assertThat(predicate.isGreaterThan(), is(false));
-    assertThat(predicate.isGreaterThanOrEqualTo(), is(false));
-    assertThat(predicate.isLessThan(), is(false));
-    assertThat(predicate.isLessThanOrEqualTo(), is(false));
-    assertThat(predicate.isNegated(), is(false));
-    assertThat(predicate.isNotEquals(), is(false));
-    assertThat(predicate.isEquals(), is(false));
+    Predicate predicate = new Predicate("a", IS_NULL);
+
+    assertThat(predicate.getOperator(), is(IS_NULL));
+    assertThat(predicate.getOperands().isEmpty(), is(true));
     assertThat(predicate.toString(), is("a is null"));
   }
+
+  @Test
+  public void canNegate() {
+    Predicate predicate = new Predicate();
+    predicate.appendLhsPart("a");
+    predicate.negate();
+    predicate.inOperator();
+    predicate.addRhs("1");
+
+    assertThat(predicate.getOperator(), is(Predicate.Operator.NOT_IN));
+    assertThat(predicate.isNegated(), is(true));
+    assertThat(predicate.toString(), is("a not in (1)"));
+  }
+
+  @Test
+  public void canTypeLiterals() {
+    assertThat(Operand.literal("true", false).getValue(), is(true));
+    assertThat(Operand.literal("-2147483648", false).getValue(), is(Integer.MIN_VALUE));
+    assertThat(Operand.literal("2147483648", false).getValue(), is(2147483648L));
+    assertThat(
+        Operand.literal("92233720368547758070", false).getValue(), instanceOf(Double.class));
+    assertThat(Operand.literal("1.2e3", false).getValue(), is(1200.0));
+    assertThat(Operand.literal("1", true).getValue(), is("1"));
+    assertThat(Operand.literal("2017-10-27", true).getType(), is(Operand.Type.DATE));
+    assertThat(Operand.literal("2017-10-27T10:05:45", true).isValid(), is(true));
+    assertThat(Operand.literal("2017-10-27 10:05:45", true).isValid(), is(false));
+    assertThat(Operand.literal("2017-10-27 10:05:45", true).getValue(), nullValue());
+  }
+
+  @Test
+  public void canHandleParameters() {
+    Predicate predicate = new Predicate("a", IN);
+    predicate.addRhs("'b'");
+    predicate.addParameter("c");
+
+    assertThat(predicate.hasParameters(), is(true));
+    assertThat(predicate.getOperand(0).isParameter(), is(false));
+    assertThat(predicate.getOperand(1).isParameter(), is(true));
+    assertThat(predicate.getOperand(1).getText(), is("c"));
+    assertThat(predicate.toString(), is("a in ('b', :c)"));
+  }
+
+  @Test
+  public void canHandleParametersInBetween() {
+    Predicate predicate = new Predicate("a", BETWEEN);
+    predicate.addParameter("from");
+    predicate.addRhs("10");
+
+    assertThat(predicate.hasParameters(), is(true));
+    assertThat(predicate.toString(), is("a between :from and 10"));
+  }
+
+  @Test
+  public void cannotChangeAPredicateOnceItIsPartOfAWhereClause() {
+    Predicate predicate = new Predicate("a", EQUALS);
+    predicate.addRhs("1");
+
+    WhereClause.satisfiable(Collections.singletonList(predicate));
+
+    assertThrows(IllegalStateException.class, () -> predicate.addRhs("2"));
+    assertThrows(IllegalStateException.class, predicate::inOperator);
+    assertThrows(IllegalStateException.class, predicate::negate);
+
+    // freezing does not change the predicate's value
+    Predicate expected = new Predicate("a", EQUALS);
+    expected.addRhs("1");
+    assertThat(predicate, is(expected));
+    assertThat(predicate.hashCode(), is(expected.hashCode()));
+  }
 }
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.domain;
+
+import io.github.glytching.dragoman.ql.parser.WhereClauseParser;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasToString;
+import static org.hamcrest.Matchers.is;
+
+public class WhereClauseNormaliserTest {
+
+  private final WhereClauseParser parser = new WhereClauseParser();
+
+  @Test
+  public void willLeaveDistinctFieldsAsWritten() {
+    assertNormalised("a = 1 and b > 2 and c like 'x%'", "a = 1", "b > 2", "c like 'x%'");
+  }
+
+  @Test
+  public void willRemoveDuplicates() {
+    assertNormalised("a = 1 and a = 1", "a = 1");
+  }
+
+  @Test
+  public void willMergeRanges() {
+    assertNormalised("a > 10 and a > 20", "a > 20");
+    assertNormalised("a > 10 and a >= 10 and a < 30 and a <= 40", "a > 10", "a < 30");
+    assertNormalised("a between 1 and 10 and a between 5 and 20", "a >= 5", "a < 10");
+    assertNormalised("a >= 5 and a <= 5", "a = 5");
+  }
+
+  @Test
+  public void willFoldInLists() {
+    assertNormalised("a in (1, 2, 2, 3)", "a in (1, 2, 3)");
+    assertNormalised("a in (1, 2, 3) and a in (2, 3, 4)", "a in (2, 3)");
+    assertNormalised("a in (1, 2, 3) and a > 2", "a = 3");
+    assertNormalised("a in ('x', 'y', 'z') and a not in ('y')", "a in ('x', 'z')");
+    assertNormalised("a in (1, 2) and a = 2", "a = 2");
+  }
+
+  @Test
+  public void willFoldExclusionsOutsideOfTheRange() {
+    assertNormalised("a > 10 and a != 5 and a != 15", "a > 10", "a != 15");
+    assertNormalised("a != 1 and a not in (2, 3)", "a not in (1, 2, 3)");
+  }
+
+  @Test
+  public void willDetectContradictions() {
+    assertUnsatisfiable("a = 1 and a = 2");
+    assertUnsatisfiable("a = 'x' and a != 'x'");
+    assertUnsatisfiable("a > 10 and a < 5");
+    assertUnsatisfiable("a > 5 and a < 5");
+    assertUnsatisfiable("a between 10 and 5");
+    assertUnsatisfiable("a between 1 and 5 and a between 5 and 10");
+    assertUnsatisfiable("a in (1, 2) and a in (3, 4)");
+    assertUnsatisfiable("a in (1, 2) and a > 2");
+    assertUnsatisfiable("a = 1 and a not in (1, 2)");
+    assertUnsatisfiable("a is null and a is not null");
+    assertUnsatisfiable("a is null and a = 1");
+    assertUnsatisfiable("b = 1 and a = 1 and a = 2");
+  }
+
+  @Test
+  public void willTreatNumericValuesByValue() {
+    assertNormalised("a = 1 and a = 1.0", "a = 1");
+    assertUnsatisfiable("a > 2 and a < 10E-1");
+  }
+
+  @Test
+  public void willNotReasonAboutValuesWhichCannotBeSafelyCompared() {
+    // mixed types
+    assertNormalised("a = 1 and a = '2'", "a = 1", "a = '2'");
+    // dates
+    assertNormalised(
+        "a > '2017-01-01' and a > '2017-06-01'", "a > '2017-01-01'", "a > '2017-06-01'");
+    // bind parameters
+    assertNormalised("a > 1 and a > :b and a > 2", "a > 2", "a > :b");
+  }
+
+  private void assertNormalised(String where, String... expected) {
+    WhereClause whereClause = parser.get(WhereClause.class, where);
+
+    assertThat(whereClause.isUnsatisfiable(), is(false));
+    assertThat(whereClause.getPredicates(), contains(toMatchers(expected)));
+  }
+
+  private void assertUnsatisfiable(String where) {
+    assertThat(parser.get(WhereClause.class, where).isUnsatisfiable(), is(true));
+  }
+
+  @SuppressWarnings("unchecked")
+  private org.hamcrest.Matcher<? super Predicate>[] toMatchers(String... expected) {
+    org.hamcrest.Matcher<? super Predicate>[] matchers = new org.hamcrest.Matcher[expected.length];
+    for (int i = 0; i < expected.length; i++) {
+      matchers[i] = hasToString(expected[i]);
+    }
+    return matchers;
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine;
+
+import com.google.common.collect.Maps;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Map;
+
+import static io.github.glytching.dragoman.util.MapMaker.makeEntry;
+import static io.github.glytching.dragoman.util.MapMaker.makeMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * The filter and projection semantics which every {@link ExpressionEngine} must honour. Each
+ * engine's test extends this and adds tests for whatever is specific to that engine.
+ */
+public abstract class AbstractExpressionEngineTest {
+
+  protected abstract ExpressionEngine getEngine();
+
+  @Test
+  public void testComparisons() {
+    String where = "a = 1 and b = 'hello' and c > 2.2 and d <= 10 and e != true";
+
+    Map<String, Object> document =
+        makeMap(
+            makeEntry("a", 1L),
+            makeEntry("b", "hello"),
+            makeEntry("c", new BigDecimal("2.3")),
+            makeEntry("d", 10),
+            makeEntry("e", false));
+
+    assertThat(filter(where, document), is(true));
+
+    // test the flip side to avoid a false positive
+    document.put("c", 2.2);
+    assertThat(filter(where, document), is(false));
+  }
+
+  @Test
+  public void testNumericEqualityIsByValue() {
+    Map<String, Object> document = makeMap(makeEntry("a", 1.0), makeEntry("b", 2));
+
+    assertThat(filter("a = 1 and b = 2.0", document), is(true));
+  }
+
+  @Test
+  public void testLiteralsWhichOverflowADouble() {
+    Map<String, Object> document = makeMap(makeEntry("a", 1), makeEntry("b", Double.MAX_VALUE));
+    String hugeInteger = "1" + String.join("", Collections.nCopies(400, "0"));
+
+    assertThat(filter("a < 1e400 and a > -1e400", document), is(true));
+    assertThat(filter("a > 1e400", document), is(false));
+    assertThat(filter("b < " + hugeInteger, document), is(true));
+  }
+
+  @Test
+  public void testIncomparableValues() {
+    Map<String, Object> document = makeMap(makeEntry("a", "1"));
+
+    assertThat(filter("a = 1", document), is(false));
+    assertThat(filter("a > 0", document), is(false));
+    assertThat(filter("a != 1", document), is(true));
+    assertThat(filter("b < 1", document), is(false));
+  }
+
+  @Test
+  public void testBetweenAndIn() {
+    String where = "a between 1 and 5 and b not between 2.5 and 4.5 and c in ('x', 'y')";
+
+    Map<String, Object> document =
+        makeMap(makeEntry("a", 1), makeEntry("b", 5), makeEntry("c", "y"));
+
+    assertThat(filter(where, document), is(true));
+
+    document.put("a", 5);
+    assertThat(filter(where, document), is(false));
+  }
+
+  @Test
+  public void testNotIn() {
+    Map<String, Object> document = makeMap(makeEntry("a", 3));
+
+    assertThat(filter("a not in (1, 2)", document), is(true));
+    assertThat(filter("a not in (2, 3)", document), is(false));
+  }
+
+  @Test
+  public void testLike() {
+    String where =
+        "a like 'foo%' and b like '%usic' and c like '%ancin%' and d like 'f%d.s' "
+            + "and e not like 'x%'";
+
+    Map<String, Object> document =
+        makeMap(
+            makeEntry("a", "food"),
+            makeEntry("b", "music"),
+            makeEntry("c", "dancing"),
+            makeEntry("d", "food.s"),
+            makeEntry("e", "y"));
+
+    assertThat(filter(where, document), is(true));
+
+    document.put("d", "foodXs");
+    assertThat(filter(where, document), is(false));
+  }
+
+  @Test
+  public void testNull() {
+    Map<String, Object> document = Maps.newHashMap();
+    document.put("a", null);
+    document.put("b", "x");
+
+    assertThat(filter("a is null and b is not null and c is null", document), is(true));
+    assertThat(filter("b is null", document), is(false));
+  }
+
+  @Test
+  public void testNestedReferences() {
+    Map<String, Object> document =
+        makeMap(makeEntry("a", makeMap(makeEntry("b", 2))), makeEntry("c", "d"));
+
+    assertThat(filter("a.b > 1 and a.b < 3", document), is(true));
+    assertThat(filter("c.d = 1", document), is(false));
+  }
+
+  @Test
+  public void testParameters() {
+    Map<String, Object> document = makeMap(makeEntry("a", 5), makeEntry("b", "2017-10-27"));
+
+    Map<String, Object> parameters = Maps.newHashMap();
+    parameters.put("low", 1L);
+    parameters.put("asOf", "2017-10-26");
+
+    Filter filter = getEngine().createFilter("a > :low and b > :asOf");
+    assertThat(filter.filter(document, parameters), is(true));
+
+    parameters.put("low", 5);
+    assertThat(filter.filter(document, parameters), is(false));
+  }
+
+  @Test
+  public void testStringLiteralsAreEscaped() {
+    // escape sequences in a where clause are not interpreted so the value holds both backslashes
+    Map<String, Object> document = makeMap(makeEntry("a", "x\"y\\\\z"));
+
+    assertThat(filter("a = 'x\"y\\\\z'", document), is(true));
+  }
+
+  @Test
+  public void testEmptyAndUnsatisfiableWhereClauses() {
+    Map<String, Object> document = makeMap(makeEntry("a", 1));
+
+    assertThat(filter("", document), is(true));
+    assertThat(filter("a = 1 and a = 2", document), is(false));
+  }
+
+  @Test
+  public void testProjections() {
+    Map<String, Object> document =
+        makeMap(
+            makeEntry("a", 1),
+            makeEntry("b", makeMap(makeEntry("c", 2), makeEntry("d", 3))),
+            makeEntry("e", "hello"));
+
+    Mapper mapper = getEngine().createProjector("a, e, b.c");
+    Map<String, Object> actual = mapper.map(document);
+
+    assertThat(actual.size(), is(3));
+    assertThat(actual, hasEntry("a", 1));
+    assertThat(actual, hasEntry("b.c", 2));
+    assertThat(actual, hasEntry("e", "hello"));
+  }
+
+  @Test
+  public void testStarProjection() {
+    Map<String, Object> document = makeMap(makeEntry("a", 1), makeEntry("b", 2));
+
+    assertThat(getEngine().createProjector("*").map(document), is(document));
+    assertThat(getEngine().createProjector("").map(document), is(document));
+  }
+
+  private boolean filter(String where, Map<String, Object> document) {
+    return getEngine().createFilter(where).filter(document);
+  }
+}
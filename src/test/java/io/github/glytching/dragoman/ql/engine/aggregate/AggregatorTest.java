@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine.aggregate;
+
+import io.github.glytching.dragoman.ql.domain.SelectClause;
+import io.github.glytching.dragoman.ql.parser.SelectClauseParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class AggregatorTest {
+
+  private final SelectClauseParser selectClauseParser = new SelectClauseParser();
+  private final AggregatorFactory aggregatorFactory = new AggregatorFactory();
+
+  @Test
+  public void canAggregateWithoutGroupBy() {
+    List<Map<String, Object>> results =
+        aggregate(
+            "count(*), count(a), sum(a), avg(a), min(a), max(a)",
+            row("a", 1),
+            row("a", 5L),
+            row("b", 2),
+            row("a", 3));
+
+    assertThat(results.size(), is(1));
+    Map<String, Object> result = results.get(0);
+    assertThat(result.get("count"), is(4L));
+    assertThat(result.get("count_a"), is(3L));
+    assertThat(result.get("sum_a"), is(9L));
+    assertThat(result.get("avg_a"), is(3.0));
+    assertThat(result.get("min_a"), is(1L));
+    assertThat(result.get("max_a"), is(5L));
+  }
+
+  @Test
+  public void willSwitchToDoublesOnTheFirstNonIntegralValue() {
+    List<Map<String, Object>> results =
+        aggregate(
+            "sum(a), min(a), max(a)",
+            row("a", 2),
+            row("a", 1.5),
+            row("a", 4));
+
+    Map<String, Object> result = results.get(0);
+    assertThat(result.get("sum_a"), is(7.5));
+    assertThat(result.get("min_a"), is(1.5));
+    assertThat(result.get("max_a"), is(4.0));
+  }
+
+  @Test
+  public void willIgnoreNonNumericValuesWhenSumming() {
+    List<Map<String, Object>> results =
+        aggregate("sum(a), avg(b)", row("a", "x"), row("b", "y"));
+
+    Map<String, Object> result = results.get(0);
+    assertThat(result.get("sum_a"), is(0L));
+    assertThat(result.get("avg_b"), nullValue());
+  }
+
+  @Test
+  public void canFindTheMinAndMaxOfNonNumericValues() {
+    List<Map<String, Object>> results =
+        aggregate(
+            "min(a), max(a)", row("a", "b"), row("a", "a"), row("a", "c"));
+
+    Map<String, Object> result = results.get(0);
+    assertThat(result.get("min_a"), is("a"));
+    assertThat(result.get("max_a"), is("c"));
+  }
+
+  @Test
+  public void canGroupByNestedAttributes() {
+    List<Map<String, Object>> results =
+        aggregate(
+            "a.b, c, count(*) as total, sum(d) group by a.b, c",
+            row("a", row("b", "x"), "c", 1, "d", 1),
+            row("a", row("b", "y"), "c", 1, "d", 2),
+            row("a", row("b", "x"), "c", 1, "d", 3),
+            row("a", row("b", "x"), "c", 2, "d", 4));
+
+    assertThat(
+        results,
+        contains(
+            row("a.b", "x", "c", 1, "total", 2L, "sum_d", 4L),
+            row("a.b", "y", "c", 1, "total", 1L, "sum_d", 2L),
+            row("a.b", "x", "c", 2, "total", 1L, "sum_d", 4L)));
+  }
+
+  @Test
+  public void willProduceNothingForNoRows() {
+    assertThat(aggregate("count(*)"), empty());
+  }
+
+  @Test
+  public void willRememberTheNumberOfGroups() {
+    aggregate("a, count(*) group by a", row("a", 1), row("a", 2));
+
+    assertThat(aggregatorFactory.getExpectedGroups("key"), is(Optional.of(2)));
+  }
+
+  private Map<String, Object> row(Object... keysAndValues) {
+    Map<String, Object> row = new LinkedHashMap<>();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      row.put((String) keysAndValues[i], keysAndValues[i + 1]);
+    }
+    return row;
+  }
+
+  @SafeVarargs
+  private final List<Map<String, Object>> aggregate(String select, Map<String, Object>... rows) {
+    SelectClause selectClause = selectClauseParser.get(SelectClause.class, select);
+    Aggregator aggregator = aggregatorFactory.create("key", selectClause);
+    for (Map<String, Object> row : rows) {
+      aggregator.accept(row);
+    }
+    return aggregator.getResults();
+  }
+}
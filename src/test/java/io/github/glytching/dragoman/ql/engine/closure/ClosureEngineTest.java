@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine.closure;
+
+import com.google.common.collect.Maps;
+import io.github.glytching.dragoman.ql.engine.AbstractExpressionEngineTest;
+import io.github.glytching.dragoman.ql.engine.ExpressionEngine;
+import io.github.glytching.dragoman.ql.engine.RowOperator;
+import io.github.glytching.dragoman.ql.parser.SelectClauseParser;
+import io.github.glytching.dragoman.ql.parser.WhereClauseParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.github.glytching.dragoman.util.MapMaker.makeEntry;
+import static io.github.glytching.dragoman.util.MapMaker.makeMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ClosureEngineTest extends AbstractExpressionEngineTest {
+
+  private final ClosureEngine engine =
+      new ClosureEngine(new SelectClauseParser(), new WhereClauseParser());
+
+  @Override
+  protected ExpressionEngine getEngine() {
+    return engine;
+  }
+
+  @Test
+  public void testOperatorFiltersAndProjects() {
+    RowOperator operator = engine.createOperator("a, b.c", "a > 1 and b.d = 'x'");
+
+    Map<String, Object> matching =
+        makeMap(
+            makeEntry("a", 2),
+            makeEntry("b", makeMap(makeEntry("c", 3), makeEntry("d", "x"))),
+            makeEntry("e", "hello"));
+    Map<String, Object> actual = operator.apply(matching);
+
+    assertThat(actual.size(), is(2));
+    assertThat(actual, hasEntry("a", 2));
+    assertThat(actual, hasEntry("b.c", 3));
+    assertThat(actual, is(makeMap(makeEntry("a", 2), makeEntry("b.c", 3))));
+
+    Map<String, Object> notMatching =
+        makeMap(makeEntry("a", 1), makeEntry("b", makeMap(makeEntry("d", "x"))));
+    assertThat(operator.apply(notMatching), nullValue());
+  }
+
+  @Test
+  public void testOperatorProjectsMissingAttributesAsNull() {
+    Map<String, Object> actual =
+        engine.createOperator("a, z", "").apply(makeMap(makeEntry("a", 1)));
+
+    assertThat(actual.size(), is(2));
+    assertThat(actual.containsKey("z"), is(true));
+    assertThat(actual.get("z"), nullValue());
+  }
+
+  @Test
+  public void testOperatorWithStarProjection() {
+    Map<String, Object> document = makeMap(makeEntry("a", 1), makeEntry("b", 2));
+
+    assertThat(engine.createOperator("*", "a = 1").apply(document), sameInstance(document));
+    assertThat(engine.createOperator("*", "a = 2").apply(document), nullValue());
+  }
+
+  @Test
+  public void testOperatorWithParametersAndUnsatisfiableWhereClause() {
+    Map<String, Object> document = makeMap(makeEntry("a", 5));
+    Map<String, Object> parameters = Maps.newHashMap();
+    parameters.put("low", 1);
+
+    assertThat(engine.createOperator("a", "a > :low").apply(document, parameters), notNullValue());
+    assertThat(engine.createOperator("a", "a = 1 and a = 2").apply(document), nullValue());
+  }
+
+  @Test
+  public void testProjectedRowValuesCanBeReplacedButKeysAreFixed() {
+    Map<String, Object> actual =
+        engine.createOperator("a", "").apply(makeMap(makeEntry("a", 1), makeEntry("b", 2)));
+
+    actual.put("a", 2);
+    assertThat(actual.get("a"), is(2));
+    assertThrows(UnsupportedOperationException.class, () -> actual.put("b", 2));
+  }
+
+  @Test
+  public void willExposeMetrics() {
+    engine.createFilter("a = 1");
+    engine.createProjector("a");
+
+    assertThat(engine.getCreateCount(), is(2L));
+    assertThat(engine.getMetrics(), hasKey("closure-create-count"));
+    assertThat(engine.getMetrics(), hasKey("closure-create-latency"));
+  }
+}
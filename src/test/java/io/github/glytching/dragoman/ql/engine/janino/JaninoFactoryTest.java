@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine.janino;
+
+import io.github.glytching.dragoman.ql.engine.AbstractExpressionEngineTest;
+import io.github.glytching.dragoman.ql.engine.ExpressionEngine;
+import io.github.glytching.dragoman.ql.parser.SelectClauseParser;
+import io.github.glytching.dragoman.ql.parser.WhereClauseParser;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class JaninoFactoryTest extends AbstractExpressionEngineTest {
+
+  private final JaninoFactory factory =
+      new JaninoFactory(new SelectClauseParser(), new WhereClauseParser());
+
+  @Override
+  protected ExpressionEngine getEngine() {
+    return factory;
+  }
+
+  @Test
+  public void testFiltersAreCached() {
+    assertThat(factory.createFilter("a = 1"), sameInstance(factory.createFilter("a = 1")));
+  }
+
+  @Test
+  public void willExposeMetrics() {
+    factory.createFilter("a = 1");
+    factory.createFilter("a = 1");
+
+    assertThat(factory.getCompileCount(), is(1L));
+    assertThat(factory.getMetrics(), hasKey("janino-compile-count"));
+    assertThat(factory.getMetrics(), hasKey("janino-compile-latency"));
+    assertThat(factory.getMetrics(), hasKey("janino-cache-size"));
+    assertThat(factory.getMetrics(), hasKey("janino-cache-hit-rate"));
+  }
+}
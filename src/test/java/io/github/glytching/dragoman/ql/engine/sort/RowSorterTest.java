@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.engine.sort;
+
+import io.github.glytching.dragoman.ql.domain.OrderByClause;
+import io.github.glytching.dragoman.ql.parser.OrderByClauseParser;
+import org.junit.jupiter.api.Test;
+import rx.Observable;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RowSorterTest {
+
+  private final OrderByClauseParser orderByClauseParser = new OrderByClauseParser();
+  private final RowSorterFactory rowSorterFactory = new RowSorterFactory(4);
+
+  @Test
+  public void canSortInMemory() {
+    List<Map<String, Object>> rows =
+        sort(
+            rowSorterFactory.create(orderBy("a asc, b desc"), -1),
+            row("a", 2, "b", "x"),
+            row("a", 1, "b", "x"),
+            row("a", 2, "b", "y"));
+
+    assertThat(
+        rows,
+        contains(row("a", 1, "b", "x"), row("a", 2, "b", "y"), row("a", 2, "b", "x")));
+  }
+
+  @Test
+  public void canSortOnAttributesWhichAreNotProjected() {
+    RowSorter rowSorter = rowSorterFactory.create(orderBy("b.c asc"), -1);
+    rowSorter.accept(row("a", 1, "b", row("c", 2)), row("a", 1));
+    rowSorter.accept(row("a", 2, "b", row("c", 1)), row("a", 2));
+
+    List<Map<String, Object>> rows = rowSorter.getResults().toList().toBlocking().single();
+
+    assertThat(rows, contains(row("a", 2), row("a", 1)));
+  }
+
+  @Test
+  public void willOrderValuesOfDifferentTypes() {
+    List<Map<String, Object>> rows =
+        sort(
+            rowSorterFactory.create(orderBy("a asc"), -1),
+            row("a", true),
+            row("a", "x"),
+            row("a", 1.5),
+            row("b", 1),
+            row("a", 1));
+
+    assertThat(
+        rows, contains(row("b", 1), row("a", 1), row("a", 1.5), row("a", "x"), row("a", true)));
+  }
+
+  @Test
+  public void canSortTheTopN() {
+    List<Map<String, Object>> input = shuffled(100);
+
+    List<Map<String, Object>> rows =
+        sort(rowSorterFactory.create(orderBy("a desc"), 3), input.toArray(new Map[0]));
+
+    assertThat(rows, contains(row("a", 99), row("a", 98), row("a", 97)));
+  }
+
+  @Test
+  public void theTopNIsStable() {
+    List<Map<String, Object>> rows =
+        sort(
+            rowSorterFactory.create(orderBy("a asc"), 2),
+            row("a", 1, "b", 1),
+            row("a", 1, "b", 2),
+            row("a", 0, "b", 3),
+            row("a", 1, "b", 4));
+
+    assertThat(rows, contains(row("a", 0, "b", 3), row("a", 1, "b", 1)));
+  }
+
+  @Test
+  public void canSpillAndMerge() {
+    List<Map<String, Object>> input = shuffled(20);
+    SpillingRowSorter rowSorter = (SpillingRowSorter) rowSorterFactory.create(orderBy("a"), -1);
+    for (Map<String, Object> row : input) {
+      rowSorter.accept(row, row);
+    }
+
+    // a run is spilled for every 4 rows
+    assertThat(rowSorter.getRunCount(), is(5));
+
+    List<Object> values =
+        rowSorter
+            .getResults()
+            .toList()
+            .toBlocking()
+            .single()
+            .stream()
+            .map(row -> row.get("a"))
+            .collect(Collectors.toList());
+
+    List<Object> expected = new ArrayList<>();
+    for (int i = 19; i >= 0; i--) {
+      expected.add(i);
+    }
+    assertThat(values, is(expected));
+  }
+
+  @Test
+  public void aSpillPreservesTheTypesOfKeysAndRows() {
+    List<Map<String, Object>> input = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      input.add(
+          row(
+              "d", new Date(1000L * (i % 3)),
+              "n", new BigDecimal("1.1").add(BigDecimal.valueOf(i)),
+              "i", i,
+              "l", (long) i));
+    }
+    Collections.shuffle(input, new Random(7));
+
+    SpillingRowSorter spilling =
+        (SpillingRowSorter) rowSorterFactory.create(orderBy("d asc, n desc"), -1);
+    SpillingRowSorter inMemory =
+        (SpillingRowSorter) new RowSorterFactory(100).create(orderBy("d asc, n desc"), -1);
+    for (Map<String, Object> row : input) {
+      spilling.accept(row, row);
+      inMemory.accept(row, row);
+    }
+    assertThat(spilling.getRunCount(), is(2));
+    assertThat(inMemory.getRunCount(), is(0));
+
+    List<Map<String, Object>> spilled = spilling.getResults().toList().toBlocking().single();
+    List<Map<String, Object>> unspilled = inMemory.getResults().toList().toBlocking().single();
+
+    // the output does not depend on the spill threshold, not even on the types of its values
+    assertThat(unspilled, is(spilled));
+    for (Map<String, Object> row : spilled) {
+      assertThat(row.get("d"), instanceOf(Date.class));
+      assertThat(row.get("n"), instanceOf(BigDecimal.class));
+      assertThat(row.get("i"), instanceOf(Integer.class));
+      assertThat(row.get("l"), instanceOf(Long.class));
+    }
+  }
+
+  @Test
+  public void willDeleteTheRunsIfTheSourceFailsAfterASpill() {
+    List<SpillingRowSorter> created = new ArrayList<>();
+    RowSorterFactory recordingFactory =
+        new RowSorterFactory(4) {
+          @Override
+          public RowSorter create(OrderByClause orderByClause, int maxResults) {
+            RowSorter rowSorter = super.create(orderByClause, maxResults);
+            created.add((SpillingRowSorter) rowSorter);
+            return rowSorter;
+          }
+        };
+
+    List<Path> spilled = new ArrayList<>();
+    Observable<Map<String, Object>> failing =
+        Observable.from(shuffled(10))
+            .concatWith(
+                Observable.defer(
+                    () -> {
+                      spilled.addAll(created.get(0).getRuns());
+                      return Observable.error(new RuntimeException("boom!"));
+                    }));
+
+    RuntimeException actual =
+        assertThrows(
+            RuntimeException.class,
+            () -> recordingFactory.sort(failing, row -> row, orderBy("a"), -1).toBlocking().last());
+    assertThat(actual.getMessage(), is("boom!"));
+
+    assertThat(spilled.size(), is(2));
+    for (Path run : spilled) {
+      assertThat(Files.exists(run), is(false));
+    }
+  }
+
+  @Test
+  public void willDeleteTheRunsWhenClosedEvenIfTheResultsAreNeverRead() {
+    SpillingRowSorter rowSorter = (SpillingRowSorter) rowSorterFactory.create(orderBy("a"), -1);
+    for (Map<String, Object> row : shuffled(10)) {
+      rowSorter.accept(row, row);
+    }
+    List<Path> spilled = rowSorter.getRuns();
+    assertThat(spilled.size(), is(2));
+
+    // the merge now owns the runs but it is never subscribed to
+    rowSorter.getResults();
+    rowSorter.close();
+
+    for (Path run : spilled) {
+      assertThat(Files.exists(run), is(false));
+    }
+  }
+
+  @Test
+  public void theMergeIsStable() {
+    List<Map<String, Object>> rows =
+        sort(
+            rowSorterFactory.create(orderBy("a asc"), -1),
+            row("a", 1, "b", 1),
+            row("a", 1, "b", 2),
+            row("a", 0, "b", 3),
+            row("a", 1, "b", 4),
+            row("a", 0, "b", 5));
+
+    assertThat(
+        rows,
+        contains(
+            row("a", 0, "b", 3),
+            row("a", 0, "b", 5),
+            row("a", 1, "b", 1),
+            row("a", 1, "b", 2),
+            row("a", 1, "b", 4)));
+  }
+
+  private OrderByClause orderBy(String orderBy) {
+    return orderByClauseParser.get(OrderByClause.class, orderBy);
+  }
+
+  private List<Map<String, Object>> shuffled(int count) {
+    List<Map<String, Object>> rows = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      rows.add(row("a", i));
+    }
+    Collections.shuffle(rows, new Random(count));
+    return rows;
+  }
+
+  private Map<String, Object> row(Object... keysAndValues) {
+    Map<String, Object> row = new LinkedHashMap<>();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      row.put((String) keysAndValues[i], keysAndValues[i + 1]);
+    }
+    return row;
+  }
+
+  @SafeVarargs
+  private final List<Map<String, Object>> sort(RowSorter rowSorter, Map<String, Object>... rows) {
+    for (Map<String, Object> row : rows) {
+      rowSorter.accept(row, row);
+    }
+    return rowSorter.getResults().toList().toBlocking().single();
+  }
+}
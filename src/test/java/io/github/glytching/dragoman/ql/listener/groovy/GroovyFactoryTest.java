@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.listener.groovy;
+
+import groovy.lang.GroovyClassLoader;
+import io.github.glytching.dragoman.ql.engine.Filter;
+import io.github.glytching.dragoman.ql.parser.SelectClauseParser;
+import io.github.glytching.dragoman.ql.parser.WhereClauseParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.github.glytching.dragoman.util.MapMaker.makeEntry;
+import static io.github.glytching.dragoman.util.MapMaker.makeMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class GroovyFactoryTest {
+
+  private final GroovyClassLoader parent = new GroovyClassLoader();
+  private final GroovyFactory factory =
+      new GroovyFactory(parent, new SelectClauseParser(), new WhereClauseParser());
+
+  @Test
+  public void willCompileEachScriptOnce() {
+    Filter filter = factory.createFilter("a = 1");
+
+    assertThat(factory.createFilter("a = 1"), sameInstance(filter));
+    assertThat(factory.getCompileCount(), is(1L));
+    assertThat(factory.getLiveClassCount(), greaterThan(0L));
+    assertThat(filter.filter(makeMap(makeEntry("a", 1))), is(true));
+  }
+
+  @Test
+  public void willCompileEachScriptInItsOwnClassLoader() {
+    ClassLoader one = factory.createFilter("a = 1").getClass().getClassLoader();
+    ClassLoader two = factory.createFilter("a = 2").getClass().getClassLoader();
+
+    assertThat(one, not(sameInstance(two)));
+    // nothing is compiled into the shared class loader
+    assertThat(parent.getLoadedClasses().length, is(0));
+  }
+
+  @Test
+  public void willReleaseClassesOnEviction() {
+    factory.createFilter("a = 1");
+    factory.createProjector("a, b");
+    assertThat(factory.getLiveClassCount(), greaterThan(0L));
+
+    factory.clear();
+
+    assertThat(factory.getLiveClassCount(), is(0L));
+    assertThat(factory.getCompileCount(), is(2L));
+  }
+
+  @Test
+  public void willLoadPersistedScriptsRatherThanRecompiling(@TempDir Path directory)
+      throws Exception {
+    GroovyFactory first = create(directory);
+    first.createFilter("a = 1");
+    assertThat(first.getCompileCount(), is(1L));
+    assertThat(Files.list(directory).count(), is(1L));
+
+    // a restarted node
+    GroovyFactory second = create(directory);
+    Filter filter = second.createFilter("a = 1");
+
+    assertThat(second.getCompileCount(), is(0L));
+    assertThat(filter.filter(makeMap(makeEntry("a", 1))), is(true));
+    assertThat(filter.filter(makeMap(makeEntry("a", 2))), is(false));
+  }
+
+  @Test
+  public void willRecompileIfThePersistedScriptIsUnreadable(@TempDir Path directory)
+      throws Exception {
+    create(directory).createFilter("a = 1");
+    Path persisted = Files.list(directory).findFirst().get();
+    Files.write(persisted, new byte[] {1, 2, 3});
+
+    GroovyFactory factory = create(directory);
+    Filter filter = factory.createFilter("a = 1");
+
+    assertThat(factory.getCompileCount(), is(1L));
+    assertThat(filter.filter(makeMap(makeEntry("a", 1))), is(true));
+  }
+
+  @Test
+  public void willExposeMetrics() {
+    factory.createFilter("a = 1");
+    factory.createFilter("a = 1");
+
+    assertThat(factory.getMetrics(), hasKey("groovy-compile-count"));
+    assertThat(factory.getMetrics(), hasKey("groovy-compile-latency"));
+    assertThat(factory.getMetrics(), hasKey("groovy-live-classes"));
+    assertThat(factory.getMetrics(), hasKey("groovy-cache-size"));
+    assertThat(factory.getMetrics(), hasKey("groovy-cache-hit-rate"));
+  }
+
+  private GroovyFactory create(Path directory) {
+    return new GroovyFactory(
+        new GroovyClassLoader(),
+        new SelectClauseParser(),
+        new WhereClauseParser(),
+        new CompiledScriptStore(directory));
+  }
+}
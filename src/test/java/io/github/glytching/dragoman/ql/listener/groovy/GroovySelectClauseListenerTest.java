@@ -19,6 +19,7 @@ package io.github.glytching.dragoman.ql.listener.groovy;
 import com.google.common.collect.Maps;
 import groovy.lang.GroovyClassLoader;
 import io.github.glytching.dragoman.ql.SqlParserException;
+import io.github.glytching.dragoman.ql.engine.Mapper;
 import io.github.glytching.dragoman.ql.parser.SelectClauseParser;
 import io.github.glytching.dragoman.ql.parser.WhereClauseParser;
 import org.junit.jupiter.api.Test;
@@ -18,6 +18,8 @@ package io.github.glytching.dragoman.ql.listener.groovy;
 
 import com.google.common.collect.Maps;
 import groovy.lang.GroovyClassLoader;
+import io.github.glytching.dragoman.ql.SqlParserException;
+import io.github.glytching.dragoman.ql.engine.Filter;
 import io.github.glytching.dragoman.ql.parser.SelectClauseParser;
 import io.github.glytching.dragoman.ql.parser.WhereClauseParser;
 import io.github.glytching.dragoman.util.MapMaker;
@@ -28,7 +30,9 @@ import org.slf4j.LoggerFactory;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class GroovyWhereClauseListenerTest {
   private static final Logger logger = LoggerFactory.getLogger(GroovyWhereClauseListenerTest.class);
@@ -155,6 +159,42 @@ public class GroovyWhereClauseListenerTest {
     assertThat(filter(where, document), is(false));
   }
 
+  @Test
+  public void testLikeIsAnchored() throws Exception {
+    String where = "a like 'foo%' and b like '%usic' and c like 'dancing'";
+
+    Map<String, Object> document =
+        MapMaker.makeMap(
+            MapMaker.makeEntry("a", "food"),
+            MapMaker.makeEntry("b", "music"),
+            MapMaker.makeEntry("c", "dancing"));
+
+    assertThat(filter(where, document), is(true));
+
+    // a prefix must be at the start of the value
+    document.put("a", "seafood");
+    assertThat(filter(where, document), is(false));
+
+    // a suffix must be at the end of the value
+    document.put("a", "food");
+    document.put("b", "musical");
+    assertThat(filter(where, document), is(false));
+  }
+
+  @Test
+  public void testLikeWithEmbeddedWildcard() throws Exception {
+    String where = "a like 'f%d.s' and b not like 'x%y'";
+
+    Map<String, Object> document =
+        MapMaker.makeMap(MapMaker.makeEntry("a", "food.s"), MapMaker.makeEntry("b", "xy z"));
+
+    assertThat(filter(where, document), is(true));
+
+    // the '.' is a literal, not a regex wildcard
+    document.put("a", "foodXs");
+    assertThat(filter(where, document), is(false));
+  }
+
   @Test
   public void testNotLike() throws Exception {
     String where = "a not like 'foo%'";
@@ -285,6 +325,40 @@ public class GroovyWhereClauseListenerTest {
     assertThat(filter(where, document), is(true));
   }
 
+  @Test
+  public void testBindParameters() throws Exception {
+    String where = "a = :a and b > :b and c in (:c, 'x') and d between :low and :high";
+
+    Map<String, Object> parameters =
+        MapMaker.makeMap(
+            MapMaker.makeEntry("a", "hello"),
+            MapMaker.makeEntry("b", 5),
+            MapMaker.makeEntry("c", "y"),
+            MapMaker.makeEntry("low", 10),
+            MapMaker.makeEntry("high", 20));
+
+    Map<String, Object> document =
+        MapMaker.makeMap(
+            MapMaker.makeEntry("a", "hello"),
+            MapMaker.makeEntry("b", 6),
+            MapMaker.makeEntry("c", "y"),
+            MapMaker.makeEntry("d", 15));
+
+    Filter filter = filterFactory.createFilter(where);
+    assertThat(filter.filter(document, parameters), is(true));
+
+    // the same filter instance can be reused with different values
+    parameters.put("b", 6);
+    assertThat(filter.filter(document, parameters), is(false));
+  }
+
+  @Test
+  public void testBindParametersAreNotSupportedForLike() {
+    SqlParserException actual =
+        assertThrows(SqlParserException.class, () -> filterFactory.createFilter("a like :a"));
+    assertThat(actual.getMessage(), containsString("mismatched input ':'"));
+  }
+
   private boolean filter(String where, Map<String, Object> document) throws Exception {
     Filter filter = filterFactory.createFilter(where);
 
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.listener.mongo;
+
+import io.github.glytching.dragoman.ql.domain.SelectClause;
+import io.github.glytching.dragoman.ql.parser.OrderByClauseParser;
+import io.github.glytching.dragoman.ql.parser.SelectClauseParser;
+import io.github.glytching.dragoman.ql.parser.WhereClauseParser;
+import org.bson.BsonDocument;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.mongodb.rx.client.MongoClients.getDefaultCodecRegistry;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+public class MongoAggregationTest {
+
+  private final SelectClauseParser selectClauseParser = new SelectClauseParser();
+  private final WhereClauseParser whereClauseParser = new WhereClauseParser();
+  private final OrderByClauseParser orderByClauseParser = new OrderByClauseParser();
+
+  @Test
+  public void canAggregateWithoutGroupBy() {
+    List<BsonDocument> pipeline = toPipeline("count(*), sum(a.b) as total", "", "", -1);
+
+    assertThat(
+        pipeline,
+        contains(
+            BsonDocument.parse("{$match: {}}"),
+            BsonDocument.parse(
+                "{$group: {_id: null, a0: {$sum: 1}, a1: {$sum: '$a.b'}}}"),
+            BsonDocument.parse("{$project: {_id: 0, count: '$a0', total: '$a1'}}")));
+  }
+
+  @Test
+  public void canAggregateWithGroupBy() {
+    List<BsonDocument> pipeline =
+        toPipeline(
+            "a, c.d, avg(b), min(b), max(b) group by a, c.d", "x = 1", "avg_b desc", 10);
+
+    assertThat(
+        pipeline,
+        contains(
+            BsonDocument.parse("{$match: {x: 1}}"),
+            BsonDocument.parse(
+                "{$group: {_id: {g0: '$a', g1: '$c.d'}, a0: {$avg: '$b'}, a1: {$min: '$b'}, "
+                    + "a2: {$max: '$b'}}}"),
+            BsonDocument.parse(
+                "{$project: {_id: 0, a: '$_id.g0', 'c.d': '$_id.g1', avg_b: '$a0', "
+                    + "min_b: '$a1', max_b: '$a2'}}"),
+            BsonDocument.parse("{$sort: {avg_b: -1}}"),
+            BsonDocument.parse("{$limit: 10}")));
+  }
+
+  @Test
+  public void canCountAnAttribute() {
+    List<BsonDocument> pipeline = toPipeline("count(a)", "", "", -1);
+
+    assertThat(
+        pipeline.get(1),
+        is(
+            BsonDocument.parse(
+                "{$group: {_id: null, "
+                    + "a0: {$sum: {$cond: [{$eq: [{$ifNull: ['$a', null]}, null]}, 0, 1]}}}}")));
+  }
+
+  private List<BsonDocument> toPipeline(
+      String select, String where, String orderBy, int maxResults) {
+    SelectClause selectClause = selectClauseParser.get(SelectClause.class, select);
+    Bson filter = whereClauseParser.get(Bson.class, where);
+    Bson order = orderByClauseParser.get(Bson.class, orderBy);
+
+    return MongoAggregation.toPipeline(selectClause, filter, order, maxResults)
+        .stream()
+        .map(bson -> bson.toBsonDocument(BsonDocument.class, getDefaultCodecRegistry()))
+        .collect(Collectors.toList());
+  }
+}
@@ -88,6 +88,15 @@ public class MongoSelectClauseListenerTest {
         containsString("Line: 1, Position: 3: no viable alternative at input '<EOF>'"));
   }
 
+  @Test
+  public void testAliasedAttribute() {
+    // an inclusion projection cannot rename an attribute so the alias is rejected rather than
+    // silently ignored
+    SqlParserException actual =
+        assertThrows(SqlParserException.class, () -> sqlParser.get(Bson.class, "a, b as x"));
+    assertThat(actual.getMessage(), containsString("the attribute: b cannot be aliased as: x"));
+  }
+
   private BsonDocument parse(String select) {
     Bson bson = sqlParser.get(Bson.class, select);
 
@@ -16,8 +16,10 @@
  */
 package io.github.glytching.dragoman.ql.listener.mongo;
 
+import com.mongodb.client.model.Filters;
 import io.github.glytching.dragoman.ql.SqlParserException;
 import io.github.glytching.dragoman.ql.parser.WhereClauseParser;
+import io.github.glytching.dragoman.web.exception.InvalidRequestException;
 import org.bson.*;
 import org.bson.codecs.BsonValueCodecProvider;
 import org.bson.codecs.ValueCodecProvider;
@@ -29,9 +31,13 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static java.lang.String.format;
+import static java.util.Collections.singletonMap;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -58,6 +64,32 @@ public class MongoWhereClauseListenerTest {
     assertThat(bsonDocument, hasEntry("c", new BsonDocument("$ne", new BsonInt32(1))));
   }
 
+  @Test
+  public void testAlternativeNotEquals() {
+    BsonDocument bsonDocument = parse("a <> 'b' and c ^= 1");
+
+    assertThat(bsonDocument.size(), is(2));
+    assertThat(bsonDocument, hasEntry("a", new BsonDocument("$ne", new BsonString("b"))));
+    assertThat(bsonDocument, hasEntry("c", new BsonDocument("$ne", new BsonInt32(1))));
+  }
+
+  @Test
+  public void testQuotedNumbersAndBooleansAreCoerced() {
+    BsonDocument bsonDocument = parse("a = '1' and b = 'true' and c = '1.5' and d = 'x1'");
+
+    assertThat(bsonDocument.size(), is(4));
+    assertThat(bsonDocument, hasEntry("a", new BsonInt32(1)));
+    assertThat(bsonDocument, hasEntry("b", new BsonBoolean(true)));
+    assertThat(bsonDocument, hasEntry("c", new BsonDouble(1.5)));
+    assertThat(bsonDocument, hasEntry("d", new BsonString("x1")));
+  }
+
+  @Test
+  public void testQuotedNumbersAreCoercedBeforeTheyAreNormalised() {
+    // as strings '9' > '10' so the merged bound would be the wrong one
+    assertThat(parse("a > '10' and a > '9'"), is(render(Filters.gt("a", 10))));
+  }
+
   @Test
   public void testGreaterThan() {
     BsonDocument bsonDocument = parse("a > 1 and b >= 2");
@@ -88,6 +120,40 @@ public class MongoWhereClauseListenerTest {
             new BsonDocument().append("$gte", new BsonInt32(5)).append("$lt", new BsonInt32(10))));
   }
 
+  @Test
+  public void testNotBetween() {
+    BsonDocument bsonDocument = parse("a not between 5 and 10");
+
+    assertThat(bsonDocument, is(render(Filters.or(Filters.lt("a", 5), Filters.gte("a", 10)))));
+  }
+
+  @Test
+  public void testPredicatesWhichAnArrayFieldCouldSatisfyAreTranslatedAsWritten() {
+    // each of these can be satisfied by the elements of an array field e.g. {a: [1, 2]} or
+    // {a: [1, 5]} so none of them can be folded or short circuited
+    assertThat(
+        parse("a = 1 and a = 2"), is(render(Filters.and(Filters.eq("a", 1), Filters.eq("a", 2)))));
+    assertThat(
+        parse("a > 5 and a < 3"), is(render(Filters.and(Filters.gt("a", 5), Filters.lt("a", 3)))));
+    assertThat(
+        parse("a in (1, 2, 3) and a > 2"),
+        is(render(Filters.and(Filters.in("a", 1, 2, 3), Filters.gt("a", 2)))));
+    assertThat(
+        parse("a >= 5 and a <= 5"),
+        is(render(Filters.and(Filters.gte("a", 5), Filters.lte("a", 5)))));
+    assertThat(
+        parse("a is null and a is not null"),
+        is(render(Filters.and(Filters.eq("a", null), Filters.ne("a", null)))));
+  }
+
+  @Test
+  public void testDuplicatesAreRemovedAndRangesInTheSameDirectionAreMerged() {
+    assertThat(parse("a = 1 and a = 1"), is(render(Filters.eq("a", 1))));
+    assertThat(
+        parse("a > 10 and a = 12 and a > 20 and a <= 40 and a < 30"),
+        is(render(Filters.and(Filters.gt("a", 20), Filters.lt("a", 30), Filters.eq("a", 12)))));
+  }
+
   @Test
   public void testIn() {
     BsonDocument bsonDocument = parse("a in ('this', 'that') and b in (5, 10)");
@@ -140,6 +206,20 @@ public class MongoWhereClauseListenerTest {
     assertThat(bsonDocument, hasEntry("c", new BsonRegularExpression("^z", "")));
   }
 
+  @Test
+  public void testLikeWithoutWildcardsIsAnEquality() {
+    BsonDocument bsonDocument = parse("a like 'x'");
+
+    assertThat(bsonDocument, hasEntry("a", new BsonString("x")));
+  }
+
+  @Test
+  public void testLikeWithEmbeddedWildcard() {
+    BsonDocument bsonDocument = parse("a like 'x%y.z%'");
+
+    assertThat(bsonDocument, hasEntry("a", new BsonRegularExpression("^x.*y\\.z", "")));
+  }
+
   @Test
   public void testNotLike() {
     BsonDocument bsonDocument = parse("a not like '%x%' and b not like '%y' and c not like 'z%'");
@@ -356,9 +436,73 @@ public class MongoWhereClauseListenerTest {
                 + "Line: 1, Position: 28: no viable alternative at input '<EOF>'"));
   }
 
+  @Test
+  public void testBindParameters() {
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("a", "foo");
+    parameters.put("b", 1L);
+    parameters.put("c", "2017-09-12T10:00:00");
+    parameters.put("d", 5);
+
+    BsonDocument bsonDocument = parse("a = :a and b > :b and c < :c and d in (:d, 6)", parameters);
+
+    assertThat(bsonDocument.size(), is(4));
+    assertThat(bsonDocument, hasEntry("a", new BsonString("foo")));
+    assertThat(bsonDocument, hasEntry("b", new BsonDocument("$gt", new BsonInt64(1))));
+    assertThat(
+        bsonDocument,
+        hasEntry(
+            "c",
+            new BsonDocument(
+                "$lt",
+                new BsonDateTime(
+                    LocalDateTime.parse("2017-09-12T10:00:00")
+                        .toInstant(ZoneOffset.UTC)
+                        .toEpochMilli()))));
+    assertThat(
+        bsonDocument,
+        hasEntry(
+            "d",
+            new BsonDocument(
+                "$in", new BsonArray(newArrayList(new BsonInt32(5), new BsonInt32(6))))));
+  }
+
+  @Test
+  public void testBindParametersCanBeRebound() {
+    Bson template = sqlParser.get(Bson.class, "a = :a");
+
+    assertThat(
+        render(new BoundBson(template, singletonMap("a", 1))),
+        hasEntry("a", new BsonInt32(1)));
+    assertThat(
+        render(new BoundBson(template, singletonMap("a", 2))),
+        hasEntry("a", new BsonInt32(2)));
+  }
+
+  @Test
+  public void testMissingBindParameter() {
+    InvalidRequestException actual =
+        assertThrows(
+            InvalidRequestException.class, () -> parse("a = :a", Collections.emptyMap()));
+    assertThat(actual.getMessage(), is("No value supplied for parameter: a!"));
+  }
+
+  @Test
+  public void testBindParametersAreNotSupportedForLike() {
+    SqlParserException actual =
+        assertThrows(SqlParserException.class, () -> sqlParser.get(Bson.class, "a like :a"));
+    assertThat(actual.getMessage(), containsString("mismatched input ':'"));
+  }
+
+  private BsonDocument parse(String where, Map<String, Object> parameters) {
+    return render(new BoundBson(sqlParser.get(Bson.class, where), parameters));
+  }
+
   private BsonDocument parse(String where) {
-    Bson bson = sqlParser.get(Bson.class, where);
+    return render(sqlParser.get(Bson.class, where));
+  }
 
+  private BsonDocument render(Bson bson) {
     return bson.toBsonDocument(
         BsonDocument.class,
         CodecRegistries.fromProviders(new BsonValueCodecProvider(), new ValueCodecProvider()));
@@ -16,6 +16,8 @@
  */
 package io.github.glytching.dragoman.ql.parser;
 
+import io.github.glytching.dragoman.ql.domain.OrderBy;
+import io.github.glytching.dragoman.ql.domain.OrderByClause;
 import org.bson.BsonDocument;
 import org.bson.BsonInt32;
 import org.bson.codecs.BsonValueCodecProvider;
@@ -41,13 +43,27 @@ public class OrderByClauseParserTest {
     assertThat(bsonDocument, hasEntry("b", new BsonInt32(-1)));
   }
 
+  @Test
+  public void testParseToOrderByClause() {
+    OrderByClause orderByClause = parser.get(OrderByClause.class, "a.b asc, c");
+
+    assertThat(
+        orderByClause.getOrderBys(), contains(new OrderBy("a.b", true), new OrderBy("c", false)));
+  }
+
+  @Test
+  public void testParseEmptyToOrderByClause() {
+    assertThat(parser.get(OrderByClause.class, "").isEmpty(), is(true));
+  }
+
   @Test
   public void cannotParseToAnUnsupportedType() {
     IllegalArgumentException actual =
         assertThrows(IllegalArgumentException.class, () -> parser.get(String.class, "a, b"));
     assertThat(
         actual.getMessage(),
-        containsString("Type: 'String' is not supported, the supported types are: [Bson]"));
+        containsString(
+            "Type: 'String' is not supported, the supported types are: [Bson, OrderByClause]"));
   }
 
   private BsonDocument toBsonDocument(Bson bson) {
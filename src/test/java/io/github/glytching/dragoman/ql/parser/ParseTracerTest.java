@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.parser;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import io.github.glytching.dragoman.ql.listener.tracing.ParseTrace;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ParseTracerTest {
+
+  @Test
+  public void willNotTraceWhenDisabled() {
+    ParseTracer tracer = new ParseTracer(false);
+    WhereClauseParser parser = new WhereClauseParser(new ParsedClauseCache(10), tracer);
+
+    parser.get(Bson.class, "a = 1");
+
+    assertThat(tracer.getAggregate().getParseStats().isEmpty(), is(true));
+    assertThat(tracer.getAggregate().getWalkStats().isEmpty(), is(true));
+  }
+
+  @Test
+  public void willAggregateTracesWhenEnabled() {
+    ParseTracer tracer = new ParseTracer(true);
+    WhereClauseParser parser = new WhereClauseParser(new ParsedClauseCache(10), tracer);
+
+    parser.get(Bson.class, "a = 1");
+    parser.get(Bson.class, "b = 2");
+    // a cache hit involves no parse so there is nothing to trace
+    parser.get(Bson.class, "b = 2");
+
+    ParseTrace aggregate = tracer.getAggregate();
+    assertThat(aggregate.getParseStats(), hasKey("search_condition"));
+    assertThat(aggregate.getParseStats().get("search_condition").getCount(), is(2L));
+    assertThat(aggregate.getWalkStats().get("search_condition").getCount(), is(4L));
+    assertThat(tracer.getTracedCount(), is(2L));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void willPublishTheAggregateAsMetrics() {
+    ParseTracer tracer = new ParseTracer(true);
+    WhereClauseParser parser = new WhereClauseParser(new ParsedClauseCache(10), tracer);
+
+    parser.get(Bson.class, "a = 1");
+
+    Map<String, Metric> metrics = tracer.getMetrics();
+    assertThat(((Gauge<Long>) metrics.get("parser-trace-count")).getValue(), is(1L));
+    Map<String, Object> rules =
+        ((Gauge<Map<String, Object>>) metrics.get("parser-trace-rules")).getValue();
+    assertThat((Map<String, Object>) rules.get("parse"), hasKey("search_condition"));
+    assertThat((Map<String, Object>) rules.get("walk"), hasKey("search_condition"));
+  }
+
+  @Test
+  public void canTraceASingleParseOnRequest() {
+    ParseTracer tracer = new ParseTracer(false);
+    SelectClauseParser parser = new SelectClauseParser(new ParsedClauseCache(10), tracer);
+    parser.get(Bson.class, "a, b");
+
+    ParseTrace trace = new ParseTrace();
+    Bson traced = parser.get(Bson.class, "a, b", trace);
+
+    assertThat(traced, notNullValue());
+    assertThat(trace.getParseStats(), hasKey("select_list"));
+    assertThat(trace.getWalkStats(), hasKey("select_list"));
+    assertThat(trace.getParseStats().get("select_list").getElapsedNanos(), greaterThan(0L));
+    // a requested trace is not added to the aggregate
+    assertThat(tracer.getAggregate().getParseStats().isEmpty(), is(true));
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.parser;
+
+import io.github.glytching.dragoman.ql.SqlParserException;
+import io.github.glytching.dragoman.ql.domain.Operand;
+import io.github.glytching.dragoman.ql.domain.Predicate;
+import io.github.glytching.dragoman.ql.domain.Projection;
+import io.github.glytching.dragoman.ql.domain.SelectClause;
+import io.github.glytching.dragoman.ql.domain.WhereClause;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ParsedClauseCacheTest {
+
+  private final ParsedClauseCache cache = new ParsedClauseCache(10);
+
+  @Test
+  public void willReuseTranslationForTheSameExpression() {
+    WhereClauseParser parser = new WhereClauseParser(cache);
+
+    String first = parser.get(String.class, "a = 1");
+    String second = parser.get(String.class, "a = 1");
+
+    assertThat(second, is(first));
+    assertThat(cache.getStats().missCount(), is(1L));
+    assertThat(cache.getStats().hitCount(), is(1L));
+  }
+
+  @Test
+  public void willDistinguishByClauseTargetTypeAndExpression() {
+    WhereClauseParser whereClauseParser = new WhereClauseParser(cache);
+    SelectClauseParser selectClauseParser = new SelectClauseParser(cache);
+
+    whereClauseParser.get(String.class, "a = 1");
+    whereClauseParser.get(Bson.class, "a = 1");
+    whereClauseParser.get(String.class, "a = 2");
+    selectClauseParser.get(Bson.class, "a");
+    selectClauseParser.get(String.class, "a");
+
+    assertThat(cache.size(), is(5L));
+    assertThat(cache.getStats().hitCount(), is(0L));
+    assertThat(cache.getStats().missCount(), is(5L));
+  }
+
+  @Test
+  public void willEvictWhenFull() {
+    ParsedClauseCache smallCache = new ParsedClauseCache(1);
+    WhereClauseParser parser = new WhereClauseParser(smallCache);
+
+    parser.get(String.class, "a = 1");
+    parser.get(String.class, "a = 2");
+
+    assertThat(smallCache.size(), is(1L));
+    assertThat(smallCache.getStats().evictionCount(), is(1L));
+  }
+
+  @Test
+  public void willNotExposeTheCachedDocument() {
+    SelectClauseParser parser = new SelectClauseParser(cache);
+
+    BsonDocument first = (BsonDocument) parser.get(Bson.class, "a, b");
+    first.put("c", new BsonInt32(1));
+
+    BsonDocument second = (BsonDocument) parser.get(Bson.class, "a, b");
+
+    assertThat(second, not(hasKey("c")));
+    assertThat(second.size(), is(3));
+  }
+
+  @Test
+  public void willNotAllowTheCachedWhereClauseToBeChanged() {
+    WhereClauseParser parser = new WhereClauseParser(cache);
+
+    WhereClause first = parser.get(WhereClause.class, "a = 1");
+    Predicate predicate = first.getPredicates().get(0);
+
+    assertThrows(IllegalStateException.class, () -> predicate.appendLhsPart("b"));
+    assertThrows(
+        IllegalStateException.class, () -> predicate.setOperator(Predicate.Operator.LESS_THAN));
+    assertThrows(IllegalStateException.class, predicate::negate);
+    assertThrows(IllegalStateException.class, () -> predicate.addRhs("2"));
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> predicate.getOperands().add(Operand.literal("2")));
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> first.getPredicates().add(new Predicate("b", Predicate.Operator.EQUALS)));
+
+    WhereClause second = parser.get(WhereClause.class, "a = 1");
+
+    assertThat(second.toString(), is("[a = 1]"));
+    assertThat(cache.getStats().hitCount(), is(1L));
+  }
+
+  @Test
+  public void willNotAllowTheCachedSelectClauseToBeChanged() {
+    SelectClauseParser parser = new SelectClauseParser(cache);
+
+    SelectClause first = parser.get(SelectClause.class, "a, sum(b) as total group by a");
+    Projection attribute = first.getProjections().get(0);
+    Projection aggregate = first.getProjections().get(1);
+
+    assertThrows(IllegalStateException.class, () -> attribute.appendNamePart("c"));
+    assertThrows(IllegalStateException.class, () -> aggregate.setAlias("other"));
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> first.getProjections().add(new Projection("c")));
+
+    SelectClause second = parser.get(SelectClause.class, "a, sum(b) as total group by a");
+
+    assertThat(second.getProjections().get(0).getName(), is("a"));
+    assertThat(second.getProjections().get(1).getOutputName(), is("total"));
+    assertThat(cache.getStats().hitCount(), is(1L));
+  }
+
+  @Test
+  public void willPropagateParserFailures() {
+    WhereClauseParser parser = new WhereClauseParser(cache);
+
+    assertThrows(SqlParserException.class, () -> parser.get(String.class, "a = "));
+    assertThat(cache.size(), is(0L));
+  }
+
+  @Test
+  public void canClear() {
+    WhereClauseParser parser = new WhereClauseParser(cache);
+    parser.get(String.class, "a = 1");
+
+    cache.clear();
+
+    assertThat(cache.size(), is(0L));
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.ql.parser;
+
+import io.github.glytching.dragoman.configuration.ApplicationConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+public class ParserWarmerTest {
+
+  @Mock private ApplicationConfiguration applicationConfiguration;
+
+  private ParserWarmer parserWarmer;
+
+  @BeforeEach
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+
+    parserWarmer =
+        new ParserWarmer(
+            applicationConfiguration,
+            new SelectClauseParser(),
+            new WhereClauseParser(),
+            new OrderByClauseParser());
+  }
+
+  @Test
+  public void canWarmUpFromAClasspathCorpus() {
+    when(applicationConfiguration.getParserWarmUpCorpus()).thenReturn("parser-warmup.txt");
+
+    assertThat(parserWarmer.warmUp() > 0, is(true));
+  }
+
+  @Test
+  public void willSkipInvalidLinesInTheCorpus() throws IOException {
+    File corpus = File.createTempFile("parser-warmup", ".txt");
+    corpus.deleteOnExit();
+    Files.write(
+        corpus.toPath(),
+        Arrays.asList(
+            "# a comment",
+            "",
+            "select: a, b",
+            "where: a = 1 and b > 2",
+            "orderBy: a desc",
+            "where: a = ",
+            "groupBy: a",
+            "no separator"),
+        StandardCharsets.UTF_8);
+    when(applicationConfiguration.getParserWarmUpCorpus()).thenReturn(corpus.getAbsolutePath());
+
+    assertThat(parserWarmer.warmUp(), is(3));
+  }
+
+  @Test
+  public void willDoNothingIfNoCorpusIsConfigured() {
+    when(applicationConfiguration.getParserWarmUpCorpus()).thenReturn("");
+
+    assertThat(parserWarmer.warmUp(), is(0));
+  }
+
+  @Test
+  public void willDoNothingIfTheCorpusDoesNotExist() {
+    when(applicationConfiguration.getParserWarmUpCorpus()).thenReturn("does-not-exist.txt");
+
+    assertThat(parserWarmer.warmUp(), is(0));
+  }
+}
@@ -16,6 +16,9 @@
  */
 package io.github.glytching.dragoman.ql.parser;
 
+import io.github.glytching.dragoman.ql.SqlParserException;
+import io.github.glytching.dragoman.ql.domain.Projection;
+import io.github.glytching.dragoman.ql.domain.SelectClause;
 import org.bson.BsonDocument;
 import org.bson.BsonInt32;
 import org.bson.codecs.BsonValueCodecProvider;
@@ -23,6 +26,8 @@ import org.bson.codecs.configuration.CodecRegistries;
 import org.bson.conversions.Bson;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -48,6 +53,7 @@ public class SelectClauseParserTest {
 
     String expected =
         "package io.github.glytching.dragoman.ql.listener.groovy\n"
+            + "import io.github.glytching.dragoman.ql.engine.Mapper;\n"
             + "import java.util.Map;\n"
             + "class GroovyMapper implements Mapper {\n"
             + "    @Override\n"
@@ -61,13 +67,94 @@ public class SelectClauseParserTest {
     assertThat(script, is(expected));
   }
 
+  @Test
+  public void testParseToSelectClause() {
+    SelectClause selectClause = parser.get(SelectClause.class, "a, b.c");
+
+    assertThat(selectClause.isSelectAll(), is(false));
+    assertThat(
+        selectClause.getProjections(),
+        contains(new Projection("a"), new Projection("b.c")));
+    assertThat(parser.get(SelectClause.class, "*").isSelectAll(), is(true));
+  }
+
+  @Test
+  public void testParseAggregatesToSelectClause() {
+    SelectClause selectClause =
+        parser.get(
+            SelectClause.class,
+            "a, b.c, count(*), sum(d.e) as total, avg(f), min(g), max(h) group by a, b.c");
+
+    assertThat(selectClause.isAggregate(), is(true));
+    assertThat(selectClause.getGroupBy(), contains("a", "b.c"));
+
+    List<Projection> projections = selectClause.getProjections();
+    assertThat(projections.size(), is(7));
+    assertThat(projections.get(0), is(new Projection("a")));
+    assertThat(projections.get(1), is(new Projection("b.c")));
+    assertThat(projections.get(2), is(new Projection("*", Projection.Function.COUNT)));
+    assertThat(projections.get(2).getOutputName(), is("count"));
+    assertThat(projections.get(3).getName(), is("d.e"));
+    assertThat(projections.get(3).getFunction(), is(Projection.Function.SUM));
+    assertThat(projections.get(3).getOutputName(), is("total"));
+    assertThat(projections.get(4).getFunction(), is(Projection.Function.AVG));
+    assertThat(projections.get(4).getOutputName(), is("avg_f"));
+    assertThat(projections.get(5).getFunction(), is(Projection.Function.MIN));
+    assertThat(projections.get(6).getFunction(), is(Projection.Function.MAX));
+  }
+
+  @Test
+  public void testParseAggregateWithoutGroupBy() {
+    SelectClause selectClause = parser.get(SelectClause.class, "count(*), sum(a.b)");
+
+    assertThat(selectClause.isAggregate(), is(true));
+    assertThat(selectClause.getGroupBy().isEmpty(), is(true));
+    assertThat(selectClause.getProjections().get(1).getOutputName(), is("sum_a_b"));
+    assertThat(parser.get(SelectClause.class, "a, b").isAggregate(), is(false));
+  }
+
+  @Test
+  public void cannotSelectAnUngroupedAttributeInAnAggregate() {
+    SqlParserException actual =
+        assertThrows(
+            SqlParserException.class,
+            () -> parser.get(SelectClause.class, "a, b, count(*) group by a"));
+    assertThat(
+        actual.getMessage(),
+        containsString(
+            "The attribute: b must either appear in the group by clause or be used in an aggregate"
+                + " function!"));
+  }
+
+  @Test
+  public void cannotAliasAPlainAttribute() {
+    for (String select : new String[] {"a as x", "a as x, count(*) group by a"}) {
+      SqlParserException actual =
+          assertThrows(SqlParserException.class, () -> parser.get(SelectClause.class, select));
+      assertThat(
+          actual.getMessage(),
+          containsString(
+              "Aliases are only supported for aggregate functions, the attribute: a cannot be"
+                  + " aliased as: x"));
+    }
+  }
+
+  @Test
+  public void cannotUseAnUnsupportedAggregate() {
+    SqlParserException actual =
+        assertThrows(SqlParserException.class, () -> parser.get(SelectClause.class, "every(a)"));
+    assertThat(actual.getMessage(), containsString("Unsupported aggregate function: every"));
+  }
+
   @Test
   public void cannotParseToAnUnsupportedType() {
     IllegalArgumentException actual =
         assertThrows(IllegalArgumentException.class, () -> parser.get(Object.class, "a, b"));
     assertThat(
         actual.getMessage(),
-        containsString("Type: 'Object' is not supported, the supported types are: [String, Bson]"));
+        containsString(
+            "Type: 'Object' is not supported, the supported types are: "
+                + "[String, Bson, SelectClause]"));
   }
 
   private BsonDocument toBsonDocument(Bson bson) {
@@ -16,6 +16,7 @@
  */
 package io.github.glytching.dragoman.ql.parser;
 
+import io.github.glytching.dragoman.ql.SqlParserException;
 import org.bson.BsonDocument;
 import org.bson.BsonInt32;
 import org.bson.codecs.BsonValueCodecProvider;
@@ -47,9 +48,10 @@ public class WhereClauseParserTest {
 
     String expected =
         "package io.github.glytching.dragoman.ql.listener.groovy\n"
+            + "import io.github.glytching.dragoman.ql.engine.Filter\n"
             + "class GroovyFilter implements Filter {\n"
             + "    @Override\n"
-            + "    boolean filter(Object incoming) {\n"
+            + "    boolean filter(Object incoming, Map<String, Object> parameters) {\n"
             + "        boolean isSame = incoming?.a==1\n"
             + "        return isSame\n"
             + "    }\n"
@@ -63,7 +65,17 @@ public class WhereClauseParserTest {
         assertThrows(IllegalArgumentException.class, () -> parser.get(Object.class, "a, b"));
     assertThat(
         actual.getMessage(),
-        containsString("Type: 'Object' is not supported, the supported types are: [String, Bson]"));
+        containsString("Type: 'Object' is not supported, the supported types are: [String, Bson, WhereClause]"));
+  }
+
+  @Test
+  public void canReuseTheParserAfterAFailedParse() {
+    // parsers are reused on a given thread so a failed parse must not leak into the next parse
+    assertThrows(SqlParserException.class, () -> parser.get(Bson.class, "a = "));
+
+    BsonDocument bsonDocument = toBsonDocument(parser.get(Bson.class, "b = 2"));
+    assertThat(bsonDocument.size(), is(1));
+    assertThat(bsonDocument, hasEntry("b", new BsonInt32(2)));
   }
 
   private BsonDocument toBsonDocument(Bson bson) {
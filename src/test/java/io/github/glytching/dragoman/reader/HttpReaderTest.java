@@ -17,6 +17,7 @@
 package io.github.glytching.dragoman.reader;
 
 import io.github.glytching.dragoman.dataset.Dataset;
+import io.github.glytching.dragoman.ql.parser.WhereClauseParser;
 import io.github.glytching.dragoman.repository.Repository;
 import io.github.glytching.dragoman.repository.router.RepositoryRouter;
 import io.github.glytching.dragoman.util.TestFixture;
@@ -29,6 +30,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import rx.Observable;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -42,7 +44,7 @@ import static org.mockito.Mockito.when;
 public class HttpReaderTest {
 
   private final String select = "aSelect";
-  private final String where = "aWhere";
+  private final String where = "a = 1";
   private final String orderBy = "anOrderBy";
   @Random private Dataset dataset;
   @Mock private RepositoryRouter repositoryRouter;
@@ -55,7 +57,7 @@ public class HttpReaderTest {
 
     when(repositoryRouter.get(dataset)).thenReturn(repository);
 
-    reader = new ReaderImpl(repositoryRouter);
+    reader = new ReaderImpl(repositoryRouter, new WhereClauseParser());
   }
 
   @Test
@@ -65,7 +67,8 @@ public class HttpReaderTest {
 
     Observable<Map<String, Object>> response = Observable.just(one, two);
 
-    when(repository.find(dataset, select, where, orderBy, -1)).thenReturn(response);
+    when(repository.find(dataset, select, where, Collections.emptyMap(), orderBy, -1))
+        .thenReturn(response);
 
     List<DataEnvelope> dataEnvelopes =
         reader.read(dataset, select, where, orderBy, -1).toList().toBlocking().single();
@@ -17,24 +17,41 @@
 package io.github.glytching.dragoman.reader;
 
 import io.github.glytching.dragoman.dataset.Dataset;
+import io.github.glytching.dragoman.ql.parser.WhereClauseParser;
 import io.github.glytching.dragoman.repository.Repository;
 import io.github.glytching.dragoman.repository.router.RepositoryRouter;
+import io.github.glytching.dragoman.store.mongo.repository.DecoratingMongoRepository;
 import io.github.glytching.junit.extension.random.Random;
 import io.github.glytching.junit.extension.random.RandomBeansExtension;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import rx.Observable;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import static io.github.glytching.dragoman.util.TestFixture.anyMap;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SuppressWarnings("FieldCanBeLocal")
@@ -42,7 +59,7 @@ import static org.mockito.Mockito.when;
 public class MongoReaderTest {
 
   private final String select = "aSelect";
-  private final String where = "aWhere";
+  private final String where = "a = 1";
   private final String orderBy = "anOrderBy";
   @Mock private RepositoryRouter repositoryRouter;
   @Mock private Repository<Map<String, Object>> repository;
@@ -55,7 +72,7 @@ public class MongoReaderTest {
 
     when(repositoryRouter.get(dataset)).thenReturn(repository);
 
-    reader = new ReaderImpl(repositoryRouter);
+    reader = new ReaderImpl(repositoryRouter, new WhereClauseParser());
   }
 
   @Test
@@ -65,7 +82,8 @@ public class MongoReaderTest {
 
     Observable<Map<String, Object>> response = Observable.just(one, two);
 
-    when(repository.find(dataset, select, where, orderBy, -1)).thenReturn(response);
+    when(repository.find(dataset, select, where, Collections.emptyMap(), orderBy, -1))
+        .thenReturn(response);
 
     List<DataEnvelope> dataEnvelopes =
         reader.read(dataset, select, where, orderBy, -1).toList().toBlocking().single();
@@ -74,4 +92,95 @@ public class MongoReaderTest {
     assertThat(dataEnvelopes, hasItem(new DataEnvelope(dataset.getSource(), one)));
     assertThat(dataEnvelopes, hasItem(new DataEnvelope(dataset.getSource(), two)));
   }
+
+  @Test
+  public void canReadJsonFromARepositoryWhichCannotPassThrough() {
+    Map<String, Object> one = anyMap();
+
+    when(repository.find(dataset, select, where, orderBy, -1)).thenReturn(Observable.just(one));
+
+    List<Buffer> json =
+        reader.readJson(dataset, select, where, orderBy, -1).toList().toBlocking().single();
+
+    assertThat(json.size(), is(1));
+    assertThat(new JsonObject(json.get(0)), is(new JsonObject(one)));
+  }
+
+  @Test
+  public void canReadJsonFromARepositoryWhichCanPassThrough() {
+    DecoratingMongoRepository passThroughRepository = mock(DecoratingMongoRepository.class);
+    when(repositoryRouter.get(dataset)).thenReturn(passThroughRepository);
+
+    Buffer one = Buffer.buffer("{\"a\": 1}");
+    when(passThroughRepository.findJson(dataset, select, where, orderBy, -1))
+        .thenReturn(Observable.just(one));
+
+    List<Buffer> json =
+        reader.readJson(dataset, select, where, orderBy, -1).toList().toBlocking().single();
+
+    assertThat(json, contains(one));
+    verify(passThroughRepository, never())
+        .find(any(Dataset.class), anyString(), anyString(), anyString(), anyInt());
+  }
+
+  @Test
+  public void canReadBsonFromARepositoryWhichCannotPassThrough() {
+    Map<String, Object> one = Collections.singletonMap("a", Arrays.asList(1L, "b"));
+    when(repository.find(dataset, select, where, orderBy, -1)).thenReturn(Observable.just(one));
+
+    List<Buffer> bson =
+        reader.readBson(dataset, select, where, orderBy, -1).toList().toBlocking().single();
+
+    assertThat(bson.size(), is(1));
+    assertThat(
+        new RawBsonDocument(bson.get(0).getBytes()),
+        is(new RawBsonDocument(new Document(one), new DocumentCodec())));
+  }
+
+  @Test
+  public void canReadBsonFromARepositoryWhichCanPassThrough() {
+    DecoratingMongoRepository passThroughRepository = mock(DecoratingMongoRepository.class);
+    when(repositoryRouter.get(dataset)).thenReturn(passThroughRepository);
+
+    Buffer one = Buffer.buffer(new byte[] {5, 0, 0, 0, 0});
+    when(passThroughRepository.findBson(dataset, select, where, orderBy, -1))
+        .thenReturn(Observable.just(one));
+
+    List<Buffer> bson =
+        reader.readBson(dataset, select, where, orderBy, -1).toList().toBlocking().single();
+
+    assertThat(bson, contains(one));
+    verify(passThroughRepository, never())
+        .find(any(Dataset.class), anyString(), anyString(), anyString(), anyInt());
+  }
+
+  @Test
+  public void willNotReadFromTheRepositoryIfTheWhereClauseCanNeverBeSatisfied() {
+    List<DataEnvelope> dataEnvelopes =
+        reader.read(dataset, select, "a = 1 and a = 2", orderBy, -1).toList().toBlocking().single();
+
+    assertThat(dataEnvelopes.isEmpty(), is(true));
+    verify(repository, never())
+        .find(
+            any(Dataset.class),
+            anyString(),
+            anyString(),
+            ArgumentMatchers.anyMap(),
+            anyString(),
+            anyInt());
+  }
+
+  @Test
+  public void willReadFromARepositoryWhichMatchesArrayElementsEvenIfNoSingleValueCouldMatch() {
+    Map<String, Object> one = Collections.singletonMap("a", Arrays.asList(1, 2));
+
+    when(repository.matchesArrayElements()).thenReturn(true);
+    when(repository.find(dataset, select, "a = 1 and a = 2", Collections.emptyMap(), orderBy, -1))
+        .thenReturn(Observable.just(one));
+
+    List<DataEnvelope> dataEnvelopes =
+        reader.read(dataset, select, "a = 1 and a = 2", orderBy, -1).toList().toBlocking().single();
+
+    assertThat(dataEnvelopes, contains(new DataEnvelope(dataset.getSource(), one)));
+  }
 }
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.repository;
+
+import io.github.glytching.dragoman.configuration.ApplicationConfiguration;
+import io.github.glytching.dragoman.dataset.Dataset;
+import io.github.glytching.dragoman.dataset.SavedQuery;
+import io.github.glytching.dragoman.repository.router.RepositoryRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class QueryPrecompilerTest {
+
+  @Mock private RepositoryRouter repositoryRouter;
+  @Mock private Repository<Map<String, Object>> repository;
+  @Mock private ApplicationConfiguration applicationConfiguration;
+
+  private Dataset dataset;
+  private QueryPrecompiler queryPrecompiler;
+
+  @BeforeEach
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+
+    dataset = new Dataset("owner", "name", "http://host/path");
+    when(repositoryRouter.get(dataset)).thenReturn(repository);
+    when(applicationConfiguration.getQueryCompileThreads()).thenReturn(1);
+
+    queryPrecompiler = new QueryPrecompiler(repositoryRouter, applicationConfiguration);
+  }
+
+  @Test
+  public void canPrecompileSavedQueries() throws Exception {
+    dataset.setSavedQueries(
+        Arrays.asList(new SavedQuery("a, b", "a = 1"), new SavedQuery("", "b > :asOf")));
+
+    queryPrecompiler.precompile(dataset).get(5, TimeUnit.SECONDS);
+
+    verify(repository).prepare("a, b", "a = 1");
+    verify(repository).prepare("", "b > :asOf");
+  }
+
+  @Test
+  public void canPrecompileAQuery() throws Exception {
+    queryPrecompiler.precompile(dataset, "a", "b = 2").get(5, TimeUnit.SECONDS);
+
+    verify(repository).prepare("a", "b = 2");
+  }
+
+  @Test
+  public void willContinueIfASavedQueryCannotBeCompiled() throws Exception {
+    dataset.setSavedQueries(
+        Arrays.asList(new SavedQuery("a", "a = "), new SavedQuery("b", "b = 1")));
+    doThrow(new RuntimeException("boom!")).when(repository).prepare("a", "a = ");
+
+    queryPrecompiler.precompile(dataset).get(5, TimeUnit.SECONDS);
+
+    verify(repository).prepare("b", "b = 1");
+  }
+}
@@ -22,9 +22,13 @@ import com.google.inject.Guice;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
 import com.google.inject.util.Modules;
+import io.github.glytching.dragoman.configuration.guice.ConfigurationModule;
 import io.github.glytching.dragoman.configuration.guice.HttpModule;
 import io.github.glytching.dragoman.dataset.Dataset;
+import io.github.glytching.dragoman.repository.Explanation;
+import io.github.glytching.dragoman.repository.Page;
 import io.github.glytching.dragoman.store.http.AbstractHttpTestCase;
+import io.github.glytching.dragoman.web.exception.InvalidRequestException;
 import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,8 +40,13 @@ import java.util.Map;
 
 import static io.github.glytching.dragoman.util.TestFixture.anyDataset;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -53,7 +62,9 @@ public class HttpRepositoryTest extends AbstractHttpTestCase {
   @BeforeEach
   public void setUp() {
     Injector injector =
-        Guice.createInjector(Modules.override(new HttpModule()).with(new HttpOverrideModule()));
+        Guice.createInjector(
+            Modules.override(new ConfigurationModule(), new HttpModule())
+                .with(new HttpOverrideModule()));
     injector.injectMembers(this);
 
     bill = Maps.newHashMap();
@@ -119,6 +130,30 @@ public class HttpRepositoryTest extends AbstractHttpTestCase {
         is(new Document().append("name", bill.get("name")).append("age", bill.get("age"))));
   }
 
+  @Test
+  public void canCount() {
+    assertThat(repository.count(dataset, "age > 10").toBlocking().single(), is(2L));
+    assertThat(repository.count(dataset, "name = 'Bill'").toBlocking().single(), is(1L));
+    assertThat(repository.count(dataset, "").toBlocking().single(), is(2L));
+  }
+
+  @Test
+  public void canExplain() {
+    Explanation explanation =
+        repository
+            .explain(dataset, "name", "age > 10", "name desc", 5)
+            .toBlocking()
+            .single();
+
+    assertThat(explanation.getPlan(), hasKey("engine"));
+    assertThat(explanation.getPlan().get("orderBy"), is("[name desc]"));
+    assertThat(explanation.getPlan().get("sort"), is("top 5"));
+    assertThat(explanation.getExecution(), nullValue());
+    assertThat(
+        explanation.getTimings().keySet(),
+        contains("select", "where", "orderBy", "compile", "total"));
+  }
+
   @Test
   public void withMaxResults() {
     String expression = "name is not null";
@@ -230,6 +265,121 @@ public class HttpRepositoryTest extends AbstractHttpTestCase {
     assertThat(results, hasItem(bill));
   }
 
+  @Test
+  public void withAggregates() {
+    String select =
+        "count(*), count(rating), sum(age) as totalAge, min(shoeSize), max(shoeSize), avg(age)";
+
+    List<Map<String, Object>> results = toList(repository.find(dataset, select, "", "", -1));
+
+    Map<String, Object> expected = Maps.newHashMap();
+    expected.put("count", 2L);
+    expected.put("count_rating", 1L);
+    expected.put("totalAge", 1191L);
+    expected.put("min_shoeSize", 4.5);
+    expected.put("max_shoeSize", 9.0);
+    expected.put("avg_age", 595.5);
+    assertThat(results.size(), is(1));
+    assertThat(results.get(0), is(expected));
+  }
+
+  @Test
+  public void withGroupBy() {
+    String select = "biped, type, count(*) as total group by biped, type";
+
+    List<Map<String, Object>> results =
+        toList(repository.find(dataset, select, "age > 10", "", -1));
+
+    assertThat(results.size(), is(2));
+    assertThat(results, hasItem(aGroup(true, "Human", 1L)));
+    assertThat(results, hasItem(aGroup(false, "Martian", 1L)));
+  }
+
+  @Test
+  public void withGroupByAndMaxResults() {
+    String select = "biped, count(*) group by biped";
+
+    List<Map<String, Object>> results = toList(repository.find(dataset, select, "", "", 1));
+
+    assertThat(results.size(), is(1));
+  }
+
+  @Test
+  public void withOrderBy() {
+    List<Map<String, Object>> results =
+        toList(repository.find(dataset, "name", "", "age desc", -1));
+
+    assertThat(results.size(), is(2));
+    assertThat(results.get(0).get("name"), is("Martin"));
+    assertThat(results.get(1).get("name"), is("Bill"));
+  }
+
+  @Test
+  public void withOrderByAndMaxResults() {
+    List<Map<String, Object>> results =
+        toList(repository.find(dataset, "name", "", "shoeSize asc", 1));
+
+    assertThat(results.size(), is(1));
+    assertThat(results.get(0).get("name"), is("Martin"));
+  }
+
+  @Test
+  public void withGroupByAndOrderBy() {
+    String select = "type, count(*) as total group by type";
+
+    List<Map<String, Object>> results = toList(repository.find(dataset, select, "", "type", -1));
+
+    assertThat(results.size(), is(2));
+    assertThat(results.get(0).get("type"), is("Martian"));
+    assertThat(results.get(1).get("type"), is("Human"));
+  }
+
+  @Test
+  public void canReadPages() {
+    when(dataset.getId()).thenReturn("anId");
+
+    Page<Map<String, Object>> first =
+        repository.findPage(dataset, "name", "", "age asc", 1, null).toBlocking().single();
+    assertThat(first.getRows().size(), is(1));
+    assertThat(first.getRows().get(0).get("name"), is("Bill"));
+    assertThat(first.hasNext(), is(true));
+
+    Page<Map<String, Object>> second =
+        repository
+            .findPage(dataset, "name", "", "age asc", 1, first.getNextCursor())
+            .toBlocking()
+            .single();
+    assertThat(second.getRows().size(), is(1));
+    assertThat(second.getRows().get(0).get("name"), is("Martin"));
+    assertThat(second.hasNext(), is(false));
+  }
+
+  @Test
+  public void cannotReadAPageWithACursorForAnotherQuery() {
+    when(dataset.getId()).thenReturn("anId");
+
+    Page<Map<String, Object>> first =
+        repository.findPage(dataset, "name", "", "age asc", 1, null).toBlocking().single();
+
+    InvalidRequestException actual =
+        assertThrows(
+            InvalidRequestException.class,
+            () ->
+                repository
+                    .findPage(dataset, "name", "", "age desc", 1, first.getNextCursor())
+                    .toBlocking()
+                    .single());
+    assertThat(actual.getMessage(), containsString("was not created for this query"));
+  }
+
+  private Map<String, Object> aGroup(boolean biped, String type, long total) {
+    Map<String, Object> group = Maps.newHashMap();
+    group.put("biped", biped);
+    group.put("type", type);
+    group.put("total", total);
+    return group;
+  }
+
   private List<Map<String, Object>> toList(Observable<Map<String, Object>> observable) {
     return observable.toList().toBlocking().single();
   }
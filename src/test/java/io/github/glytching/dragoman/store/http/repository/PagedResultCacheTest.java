@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.store.http.repository;
+
+import io.github.glytching.dragoman.repository.Page;
+import io.github.glytching.dragoman.web.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PagedResultCacheTest {
+  private static final String QUERY = "a, b";
+
+  private final PagedResultCache pagedResultCache = new PagedResultCache(10, 60);
+
+  @Test
+  public void canPageThroughACachedResult() {
+    List<Map<String, Object>> rows = rows(5);
+
+    Page<Map<String, Object>> first = pagedResultCache.first("a", QUERY, rows, 2);
+    assertThat(first.getRows(), is(rows.subList(0, 2)));
+    assertThat(first.getNextCursor(), notNullValue());
+    assertThat(pagedResultCache.size(), is(1L));
+
+    Page<Map<String, Object>> second =
+        pagedResultCache.next("a", QUERY, first.getNextCursor(), 2);
+    assertThat(second.getRows(), is(rows.subList(2, 4)));
+    assertThat(second.getNextCursor(), notNullValue());
+
+    Page<Map<String, Object>> third =
+        pagedResultCache.next("a", QUERY, second.getNextCursor(), 2);
+    assertThat(third.getRows(), is(rows.subList(4, 5)));
+    assertThat(third.hasNext(), is(false));
+
+    // the result is released once its last page has been read
+    assertThat(pagedResultCache.size(), is(0L));
+  }
+
+  @Test
+  public void willNotCacheASinglePageResult() {
+    List<Map<String, Object>> rows = rows(2);
+
+    Page<Map<String, Object>> first = pagedResultCache.first("a", QUERY, rows, 2);
+
+    assertThat(first.getRows(), is(rows));
+    assertThat(first.getNextCursor(), nullValue());
+    assertThat(pagedResultCache.size(), is(0L));
+  }
+
+  @Test
+  public void cannotUseACursorWithAnotherDataset() {
+    Page<Map<String, Object>> first = pagedResultCache.first("a", QUERY, rows(5), 2);
+
+    InvalidRequestException actual =
+        assertThrows(
+            InvalidRequestException.class,
+            () -> pagedResultCache.next("b", QUERY, first.getNextCursor(), 2));
+    assertThat(actual.getMessage(), containsString("Invalid cursor"));
+  }
+
+  @Test
+  public void cannotUseACursorWithAnotherQuery() {
+    Page<Map<String, Object>> first = pagedResultCache.first("a", QUERY, rows(5), 2);
+
+    InvalidRequestException actual =
+        assertThrows(
+            InvalidRequestException.class,
+            () -> pagedResultCache.next("a", "a", first.getNextCursor(), 2));
+    assertThat(actual.getMessage(), containsString("was not created for this query"));
+  }
+
+  @Test
+  public void cannotUseAnExpiredCursor() {
+    Page<Map<String, Object>> first = pagedResultCache.first("a", QUERY, rows(5), 2);
+    Page<Map<String, Object>> second =
+        pagedResultCache.next("a", QUERY, first.getNextCursor(), 2);
+    pagedResultCache.next("a", QUERY, second.getNextCursor(), 2);
+
+    // the last page has been read so the result is no longer cached
+    InvalidRequestException actual =
+        assertThrows(
+            InvalidRequestException.class,
+            () -> pagedResultCache.next("a", QUERY, second.getNextCursor(), 2));
+    assertThat(actual.getMessage(), containsString("has expired"));
+  }
+
+  @Test
+  public void cannotUseAnInvalidCursor() {
+    assertThrows(InvalidRequestException.class, () -> pagedResultCache.next("a", QUERY, "!!", 2));
+  }
+
+  @Test
+  public void cannotUseACursorWithAnOffsetOutsideOfTheResult() {
+    Page<Map<String, Object>> first = pagedResultCache.first("a", QUERY, rows(5), 2);
+
+    for (String offset : new String[] {"-2", "6"}) {
+      String cursor = withOffset(first.getNextCursor(), offset);
+
+      InvalidRequestException actual =
+          assertThrows(
+              InvalidRequestException.class, () -> pagedResultCache.next("a", QUERY, cursor, 2));
+      assertThat(actual.getMessage(), containsString("Invalid cursor"));
+    }
+  }
+
+  private String withOffset(String cursor, String offset) {
+    String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    String tampered = decoded.substring(0, decoded.lastIndexOf(':') + 1) + offset;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(tampered.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private List<Map<String, Object>> rows(int count) {
+    List<Map<String, Object>> rows = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      rows.add(Collections.singletonMap("a", i));
+    }
+    return rows;
+  }
+}
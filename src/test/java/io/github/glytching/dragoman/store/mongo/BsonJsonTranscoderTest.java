@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.store.mongo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class BsonJsonTranscoderTest {
+
+  private final DocumentTransformer documentTransformer =
+      new DocumentTransformer(new ObjectMapper());
+
+  private BsonJsonTranscoder transcoder;
+
+  @BeforeEach
+  public void setUp() {
+    transcoder = new BsonJsonTranscoder();
+  }
+
+  @Test
+  public void canTranscodeToTheSameJsonAsTheDocumentTransformer() {
+    Document document =
+        new Document("_id", new ObjectId())
+            .append("name", "Bill")
+            .append("age", 35)
+            .append("population", 7_000_000_000L)
+            .append("rating", 1.2)
+            .append("biped", true)
+            .append("comments", null)
+            .append("createdAt", new Date(1509062400000L))
+            .append("address", new Document("line1", "a").append("id", new ObjectId()))
+            .append("aliases", Arrays.asList("William", new Document("short", "Billy")));
+
+    JsonObject transcoded = new JsonObject(transcoder.transcode(toRaw(document)));
+
+    assertThat(transcoded.containsKey("_id"), is(false));
+    assertThat(transcoded, is(new JsonObject(toMap(document))));
+  }
+
+  @Test
+  public void canTranscodeMultiByteCharacters() {
+    Document document = new Document("a", "caf\u00e9 \u20ac \ud83d\ude00");
+
+    Buffer transcoded = transcoder.transcode(toRaw(document));
+
+    // the writer escapes characters outside the basic multilingual plane
+    assertThat(
+        transcoded.toString("UTF-8"),
+        is("{ \"a\" : \"caf\u00e9 \u20ac \\ud83d\\ude00\" }"));
+    assertThat(
+        new JsonObject(transcoded).getString("a"), is("caf\u00e9 \u20ac \ud83d\ude00"));
+  }
+
+  @Test
+  public void canTranscodeAnEmptyDocument() {
+    Buffer transcoded = transcoder.transcode(toRaw(new Document("_id", new ObjectId())));
+
+    assertThat(new JsonObject(transcoded).isEmpty(), is(true));
+  }
+
+  private RawBsonDocument toRaw(Document document) {
+    return new RawBsonDocument(document, new DocumentCodec());
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> toMap(Document document) {
+    return documentTransformer.transform(Map.class, new Document(document));
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.store.mongo;
+
+import io.vertx.core.buffer.Buffer;
+import org.bson.BsonDocument;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class RawBsonCopierTest {
+
+  private RawBsonCopier copier;
+
+  @BeforeEach
+  public void setUp() {
+    copier = new RawBsonCopier();
+  }
+
+  @Test
+  public void willDropTheIdAndKeepTheBsonTypes() {
+    Document document =
+        new Document("_id", new ObjectId())
+            .append("name", "Bill")
+            .append("population", 7_000_000_000L)
+            .append("createdAt", new Date(1509062400000L))
+            .append("ref", new ObjectId())
+            .append("address", new Document("_id", "nested").append("line1", "a"))
+            .append("aliases", Arrays.asList("William", new Document("short", "Billy")));
+
+    BsonDocument copied = toBson(copier.copy(toRaw(document)));
+
+    Document withoutId = new Document(document);
+    withoutId.remove("_id");
+    assertThat(copied, is(toRaw(withoutId)));
+    assertThat(copied.get("population").getBsonType(), is(BsonType.INT64));
+    assertThat(copied.get("createdAt").getBsonType(), is(BsonType.DATE_TIME));
+    assertThat(copied.get("ref").getBsonType(), is(BsonType.OBJECT_ID));
+    // only the top level _id is dropped
+    assertThat(copied.getDocument("address").getString("_id").getValue(), is("nested"));
+  }
+
+  @Test
+  public void willDropAnIdWhichIsNotTheFirstField() {
+    Document document = new Document("name", "Bill").append("_id", 1).append("age", 35);
+
+    BsonDocument copied = toBson(copier.copy(toRaw(document)));
+
+    assertThat(copied, is(toRaw(new Document("name", "Bill").append("age", 35))));
+  }
+
+  @Test
+  public void willCopyADocumentWithoutAnIdAsIs() {
+    RawBsonDocument raw = toRaw(new Document("name", "Bill"));
+
+    Buffer copied = copier.copy(raw);
+
+    assertThat(copied.length(), is(raw.getByteBuffer().remaining()));
+    assertThat(toBson(copied), is(raw));
+  }
+
+  @Test
+  public void canCopyADocumentWhichIsASliceOfALargerArray() {
+    byte[] one = toBytes(toRaw(new Document("_id", 1).append("name", "Bill")));
+    byte[] two = toBytes(toRaw(new Document("_id", 2).append("name", "Martin")));
+    byte[] both = new byte[one.length + two.length];
+    System.arraycopy(one, 0, both, 0, one.length);
+    System.arraycopy(two, 0, both, one.length, two.length);
+
+    BsonDocument copied = toBson(copier.copy(new RawBsonDocument(both, one.length, two.length)));
+
+    assertThat(copied, is(toRaw(new Document("name", "Martin"))));
+  }
+
+  private RawBsonDocument toRaw(Document document) {
+    return new RawBsonDocument(document, new DocumentCodec());
+  }
+
+  private byte[] toBytes(RawBsonDocument document) {
+    ByteBuffer byteBuffer = document.getByteBuffer().asNIO();
+    byte[] bytes = new byte[byteBuffer.remaining()];
+    byteBuffer.get(bytes);
+    return bytes;
+  }
+
+  private BsonDocument toBson(Buffer buffer) {
+    return new RawBsonDocument(buffer.getBytes());
+  }
+}
@@ -23,9 +23,11 @@ import io.github.glytching.dragoman.configuration.guice.ConfigurationModule;
 import io.github.glytching.dragoman.configuration.guice.DatasetModule;
 import io.github.glytching.dragoman.dataset.Dataset;
 import io.github.glytching.dragoman.dataset.DatasetDao;
+import io.github.glytching.dragoman.dataset.ReadProfile;
 import io.github.glytching.dragoman.store.mongo.AbstractMongoDBTest;
 import io.github.glytching.dragoman.store.mongo.MongoProvider;
 import io.github.glytching.dragoman.store.mongo.repository.MongoOverrideModule;
+import io.github.glytching.dragoman.web.exception.InvalidRequestException;
 import io.github.glytching.junit.extension.random.Random;
 import io.github.glytching.junit.extension.random.RandomBeansExtension;
 import org.junit.jupiter.api.BeforeEach;
@@ -41,6 +43,7 @@ import static io.github.glytching.dragoman.util.TestFixture.anyDataset;
 import static java.lang.String.format;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(RandomBeansExtension.class)
@@ -59,6 +62,10 @@ public class MongoDatasetDaoTest extends AbstractMongoDBTest {
     injector.injectMembers(this);
 
     when(mongoProvider.provide()).thenReturn(getMongoClient());
+
+    // the random read profiles would not pass validation
+    dataset.setReadProfile(new ReadProfile(100, "secondaryPreferred", "majority", 2000L, "{a: 1}"));
+    dataset.setSubscriptionReadProfile(new ReadProfile(null, "secondary", null, null, null));
   }
 
   @Test
@@ -68,6 +75,16 @@ public class MongoDatasetDaoTest extends AbstractMongoDBTest {
     assertThat(actual, is(dataset));
   }
 
+  @Test
+  public void cannotCreateADatasetWithAnInvalidReadProfile() {
+    dataset.setSubscriptionReadProfile(new ReadProfile(null, "anywhere", null, null, null));
+
+    InvalidRequestException actual =
+        assertThrows(InvalidRequestException.class, () -> datasetDao.write(dataset));
+    assertThat(actual.getMessage(), containsString("readPreference"));
+    assertThat(exists(dataset), is(false));
+  }
+
   @Test
   public void existsIfThereIsADatasetForTheGivenId() {
     Dataset actual = write(dataset);
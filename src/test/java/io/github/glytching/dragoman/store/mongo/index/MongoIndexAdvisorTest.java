@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.store.mongo.index;
+
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.rx.client.MongoClient;
+import com.mongodb.rx.client.MongoCollection;
+import com.mongodb.rx.client.MongoDatabase;
+import io.github.glytching.dragoman.dataset.Dataset;
+import io.github.glytching.dragoman.ql.domain.Operand;
+import io.github.glytching.dragoman.ql.domain.OrderBy;
+import io.github.glytching.dragoman.ql.domain.OrderByClause;
+import io.github.glytching.dragoman.ql.domain.Predicate;
+import io.github.glytching.dragoman.ql.domain.WhereClause;
+import io.github.glytching.dragoman.store.mongo.MongoProvider;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import rx.Observable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MongoIndexAdvisorTest {
+
+  private MongoCollection<Document> collection;
+  private MongoIndexAdvisor advisor;
+  private Dataset dataset;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    collection = mock(MongoCollection.class);
+    when(collection.createIndex(any(BsonDocument.class), any(IndexOptions.class)))
+        .thenReturn(Observable.just("anIndex"));
+    MongoDatabase database = mock(MongoDatabase.class);
+    when(database.getCollection("aCollection")).thenReturn(collection);
+    MongoClient mongoClient = mock(MongoClient.class);
+    when(mongoClient.getDatabase("aDatabase")).thenReturn(database);
+    MongoProvider mongoProvider = mock(MongoProvider.class);
+    when(mongoProvider.provide()).thenReturn(mongoClient);
+
+    advisor = new MongoIndexAdvisor(2, 3, mongoProvider);
+
+    dataset = new Dataset("anOwner", "aName", "aDatabase:aCollection");
+  }
+
+  @Test
+  public void willOrderKeysByEqualitySortAndThenRange() {
+    IndexKeys indexKeys =
+        IndexKeys.of(
+            where(
+                predicate("ts", Predicate.Operator.GREATER_THAN, "1"),
+                predicate("type", Predicate.Operator.EQUALS, "'a'"),
+                predicate("name", Predicate.Operator.NOT_EQUALS, "'b'"),
+                predicate("age", Predicate.Operator.EQUALS, "2")),
+            orderBy(new OrderBy("rating", false)));
+
+    assertThat(indexKeys.getKeys(), is(keys("age", 1, "type", 1, "rating", -1, "ts", 1)));
+  }
+
+  @Test
+  public void willNotRecordAQueryWithNoPredicatesOrOrdering() {
+    advisor.record(dataset, where(), orderBy());
+
+    assertThat(advisor.recommend(dataset).isEmpty(), is(true));
+  }
+
+  @Test
+  public void willRecommendTheSubscriptionControlFieldFirst() {
+    dataset.setSubscriptionControlField("updatedAt");
+
+    advisor.record(dataset, where(predicate("a", Predicate.Operator.EQUALS, "1")), orderBy());
+
+    assertThat(
+        advisor.recommend(dataset).keySet(),
+        contains(new IndexKeys(keys("updatedAt", 1)), new IndexKeys(keys("a", 1))));
+  }
+
+  @Test
+  public void willNotRecommendAnIndexWhichLeadsAnotherRecommendedIndex() {
+    advisor.record(dataset, where(predicate("a", Predicate.Operator.EQUALS, "1")), orderBy());
+    advisor.record(
+        dataset,
+        where(predicate("a", Predicate.Operator.EQUALS, "1")),
+        orderBy(new OrderBy("b", true)));
+    advisor.record(
+        dataset,
+        where(predicate("a", Predicate.Operator.EQUALS, "1")),
+        orderBy(new OrderBy("b", true)));
+
+    Map<IndexKeys, Long> recommendations = advisor.recommend(dataset);
+
+    assertThat(recommendations.keySet(), contains(new IndexKeys(keys("a", 1, "b", 1))));
+    // the {a: 1, b: 1} index serves all three queries
+    assertThat(recommendations.get(new IndexKeys(keys("a", 1, "b", 1))), is(3L));
+  }
+
+  @Test
+  public void willRankIndexesByTheNumberOfQueriesWhichTheyServe() {
+    advisor = new MongoIndexAdvisor(1000, 1, mock(MongoProvider.class));
+
+    record(100, where(predicate("a", Predicate.Operator.EQUALS, "1")), orderBy());
+    record(50, where(predicate("x", Predicate.Operator.EQUALS, "1")), orderBy());
+    record(
+        1,
+        where(predicate("a", Predicate.Operator.EQUALS, "1")),
+        orderBy(new OrderBy("b", true)));
+
+    Map<IndexKeys, Long> recommendations = advisor.recommend(dataset);
+
+    // {a: 1, b: 1} serves 101 queries, more than {x: 1} so {a: 1} is not left unserved
+    assertThat(recommendations.keySet(), contains(new IndexKeys(keys("a", 1, "b", 1))));
+    assertThat(recommendations.get(new IndexKeys(keys("a", 1, "b", 1))), is(101L));
+  }
+
+  @Test
+  public void willRecommendAnIndexForTheQueriesWhichAreNotYetServed() {
+    record(10, where(predicate("a", Predicate.Operator.EQUALS, "1")), orderBy());
+    record(
+        1,
+        where(predicate("a", Predicate.Operator.EQUALS, "1")),
+        orderBy(new OrderBy("b", true)));
+    record(5, where(predicate("x", Predicate.Operator.EQUALS, "1")), orderBy());
+
+    Map<IndexKeys, Long> recommendations = advisor.recommend(dataset);
+
+    // {a: 1} is folded into {a: 1, b: 1} and is not recommended on its own
+    assertThat(
+        recommendations.keySet(),
+        contains(new IndexKeys(keys("a", 1, "b", 1)), new IndexKeys(keys("x", 1))));
+  }
+
+  @Test
+  public void willFoldTheSubscriptionControlFieldIntoAnIndexWhichItLeads() {
+    dataset.setSubscriptionControlField("updatedAt");
+
+    record(
+        2,
+        where(predicate("updatedAt", Predicate.Operator.EQUALS, "1")),
+        orderBy(new OrderBy("name", true)));
+    record(3, where(predicate("b", Predicate.Operator.EQUALS, "1")), orderBy());
+
+    // the index led by the subscription control field is still recommended first
+    assertThat(
+        advisor.recommend(dataset).keySet(),
+        contains(new IndexKeys(keys("updatedAt", 1, "name", 1)), new IndexKeys(keys("b", 1))));
+  }
+
+  @Test
+  public void willBuildTheRecommendedIndexesIfTheDatasetAllowsIt() {
+    dataset.setAutoIndex(true);
+    dataset.setSubscriptionControlField("updatedAt");
+
+    WhereClause whereClause = where(predicate("a", Predicate.Operator.EQUALS, "1"));
+    advisor.record(dataset, whereClause, orderBy());
+    verify(collection, never()).createIndex(any(BsonDocument.class), any(IndexOptions.class));
+
+    // reaches the threshold
+    advisor.record(dataset, whereClause, orderBy());
+    // beyond the threshold, nothing more is built
+    advisor.record(dataset, whereClause, orderBy());
+
+    ArgumentCaptor<BsonDocument> keys = ArgumentCaptor.forClass(BsonDocument.class);
+    ArgumentCaptor<IndexOptions> options = ArgumentCaptor.forClass(IndexOptions.class);
+    verify(collection, times(2)).createIndex(keys.capture(), options.capture());
+    assertThat(
+        keys.getAllValues(),
+        contains(BsonDocument.parse("{updatedAt: 1}"), BsonDocument.parse("{a: 1}")));
+    assertThat(options.getValue().isBackground(), is(true));
+  }
+
+  @Test
+  public void willBuildTheRecommendedIndexesIfTheDatasetAllowsItAfterTheThresholdIsReached() {
+    WhereClause whereClause = where(predicate("a", Predicate.Operator.EQUALS, "1"));
+    record(3, whereClause, orderBy());
+    verify(collection, never()).createIndex(any(BsonDocument.class), any(IndexOptions.class));
+
+    dataset.setAutoIndex(true);
+    advisor.record(dataset, whereClause, orderBy());
+
+    verify(collection).createIndex(eq(BsonDocument.parse("{a: 1}")), any(IndexOptions.class));
+  }
+
+  @Test
+  public void willRetryAFailedBuild() {
+    dataset.setAutoIndex(true);
+    when(collection.createIndex(any(BsonDocument.class), any(IndexOptions.class)))
+        .thenReturn(Observable.error(new RuntimeException("boom")))
+        .thenReturn(Observable.just("anIndex"));
+
+    WhereClause whereClause = where(predicate("a", Predicate.Operator.EQUALS, "1"));
+    record(3, whereClause, orderBy());
+
+    verify(collection, times(2))
+        .createIndex(eq(BsonDocument.parse("{a: 1}")), any(IndexOptions.class));
+  }
+
+  @Test
+  public void willNotBuildIndexesIfTheDatasetDoesNotAllowIt() {
+    WhereClause whereClause = where(predicate("a", Predicate.Operator.EQUALS, "1"));
+    for (int i = 0; i < 5; i++) {
+      advisor.record(dataset, whereClause, orderBy());
+    }
+
+    verify(collection, never()).createIndex(any(BsonDocument.class), any(IndexOptions.class));
+  }
+
+  private void record(int times, WhereClause whereClause, OrderByClause orderByClause) {
+    for (int i = 0; i < times; i++) {
+      advisor.record(dataset, whereClause, orderByClause);
+    }
+  }
+
+  private Predicate predicate(String lhs, Predicate.Operator operator, String rhs) {
+    return new Predicate(lhs, operator, Operand.infer(rhs));
+  }
+
+  private WhereClause where(Predicate... predicates) {
+    return WhereClause.satisfiable(Arrays.asList(predicates));
+  }
+
+  private OrderByClause orderBy(OrderBy... orderBys) {
+    return new OrderByClause(Arrays.asList(orderBys));
+  }
+
+  private Map<String, Integer> keys(Object... namesAndDirections) {
+    Map<String, Integer> keys = new LinkedHashMap<>();
+    for (int i = 0; i < namesAndDirections.length; i += 2) {
+      keys.put((String) namesAndDirections[i], (Integer) namesAndDirections[i + 1]);
+    }
+    return Collections.unmodifiableMap(keys);
+  }
+}
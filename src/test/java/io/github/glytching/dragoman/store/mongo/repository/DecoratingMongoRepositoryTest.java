@@ -18,10 +18,16 @@ package io.github.glytching.dragoman.store.mongo.repository;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.glytching.dragoman.dataset.Dataset;
+import io.github.glytching.dragoman.store.mongo.BsonJsonTranscoder;
 import io.github.glytching.dragoman.store.mongo.DocumentTransformer;
+import io.github.glytching.dragoman.store.mongo.RawBsonCopier;
 import io.github.glytching.junit.extension.random.Random;
 import io.github.glytching.junit.extension.random.RandomBeansExtension;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,6 +35,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import rx.Observable;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -59,7 +66,9 @@ public class DecoratingMongoRepositoryTest {
 
     documentTransformer = new DocumentTransformer(objectMapper);
 
-    repository = new DecoratingMongoRepository(delegate, documentTransformer);
+    repository =
+        new DecoratingMongoRepository(
+            delegate, documentTransformer, new BsonJsonTranscoder(), new RawBsonCopier());
   }
 
   @Test
@@ -73,7 +82,7 @@ public class DecoratingMongoRepositoryTest {
 
   @Test
   public void willDelegateThenTransformTheResponse() {
-    when(delegate.find(dataset, select, where, orderBy, maxResults))
+    when(delegate.find(dataset, select, where, Collections.emptyMap(), orderBy, maxResults))
         .thenReturn(Observable.just(one, two));
 
     List<Map<String, Object>> results =
@@ -84,6 +93,55 @@ public class DecoratingMongoRepositoryTest {
     assertThat(results, hasItem(documentTransformer.transform(two)));
   }
 
+  @Test
+  public void willDelegateThenTranscodeTheRawResponse() {
+    when(delegate.findRaw(dataset, select, where, orderBy, maxResults))
+        .thenReturn(Observable.just(toRaw(one), toRaw(two)));
+
+    List<Buffer> results =
+        repository
+            .findJson(dataset, select, where, orderBy, maxResults)
+            .toList()
+            .toBlocking()
+            .single();
+
+    assertThat(results.size(), is(2));
+    assertThat(new JsonObject(results.get(0)), is(new JsonObject(toMap(one))));
+    assertThat(new JsonObject(results.get(1)), is(new JsonObject(toMap(two))));
+  }
+
+  @Test
+  public void willDelegateThenCopyTheRawResponseWithoutItsId() {
+    when(delegate.findRaw(dataset, select, where, orderBy, maxResults))
+        .thenReturn(Observable.just(toRaw(one), toRaw(two)));
+
+    List<Buffer> results =
+        repository
+            .findBson(dataset, select, where, orderBy, maxResults)
+            .toList()
+            .toBlocking()
+            .single();
+
+    assertThat(results.size(), is(2));
+    assertThat(new RawBsonDocument(results.get(0).getBytes()), is(toRaw(withoutId(one))));
+    assertThat(new RawBsonDocument(results.get(1).getBytes()), is(toRaw(withoutId(two))));
+  }
+
+  private Document withoutId(Document document) {
+    Document copy = new Document(document);
+    copy.remove("_id");
+    return copy;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> toMap(Document document) {
+    return documentTransformer.transform(Map.class, new Document(document));
+  }
+
+  private RawBsonDocument toRaw(Document document) {
+    return new RawBsonDocument(document, new DocumentCodec());
+  }
+
   private List<Map<String, Object>> toList(Observable<Map<String, Object>> observable) {
     return observable.toList().toBlocking().single();
   }
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.store.mongo.repository;
+
+import io.github.glytching.dragoman.ql.domain.OrderByClause;
+import io.github.glytching.dragoman.ql.parser.OrderByClauseParser;
+import io.github.glytching.dragoman.web.exception.InvalidRequestException;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import static com.mongodb.rx.client.MongoClients.getDefaultCodecRegistry;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class KeysetTest {
+
+  private final OrderByClauseParser orderByClauseParser = new OrderByClauseParser();
+
+  @Test
+  public void willBreakTiesOnId() {
+    Keyset keyset = keyset("a asc, b.c desc");
+
+    assertThat(
+        toBsonDocument(keyset.getSort()), is(BsonDocument.parse("{a: 1, 'b.c': -1, _id: 1}")));
+  }
+
+  @Test
+  public void canReadTheFirstPage() {
+    assertThat(toBsonDocument(keyset("a").after(null)), is(new BsonDocument()));
+  }
+
+  @Test
+  public void canReadTheRowsAfterACursor() {
+    Keyset keyset = keyset("a asc, b desc");
+    ObjectId id = new ObjectId();
+    String cursor = keyset.cursorFor(new Document("_id", id).append("a", 1).append("b", "x"));
+
+    BsonDocument expected =
+        BsonDocument.parse(
+            "{$or: ["
+                + "{a: {$gt: 1}}, "
+                + "{a: 1, $or: [{b: {$lt: 'x'}}, {b: null}]}, "
+                + "{a: 1, b: 'x', _id: {$gt: {$oid: '"
+                + id.toHexString()
+                + "'}}}"
+                + "]}");
+    assertThat(toBsonDocument(keyset.after(cursor)), is(expected));
+  }
+
+  @Test
+  public void willIncludeNullValuesAfterACursorInDescendingOrder() {
+    Keyset keyset = keyset("a desc");
+    ObjectId id = new ObjectId();
+    String cursor = keyset.cursorFor(new Document("_id", id).append("a", 5));
+
+    // null is the lowest value so every null (or missing) value sorts after 5 in descending order
+    BsonDocument expected =
+        BsonDocument.parse(
+            "{$or: ["
+                + "{$or: [{a: {$lt: 5}}, {a: null}]}, "
+                + "{a: 5, _id: {$gt: {$oid: '"
+                + id.toHexString()
+                + "'}}}"
+                + "]}");
+    assertThat(toBsonDocument(keyset.after(cursor)), is(expected));
+  }
+
+  @Test
+  public void canReadTheRowsAfterANullValue() {
+    Keyset keyset = keyset("a asc, b desc");
+    ObjectId id = new ObjectId();
+    String cursor = keyset.cursorFor(new Document("_id", id));
+
+    // nothing sorts after a null in descending order so there is no range on b
+    BsonDocument expected =
+        BsonDocument.parse(
+            "{$or: ["
+                + "{a: {$ne: null}}, "
+                + "{a: null, b: null, _id: {$gt: {$oid: '"
+                + id.toHexString()
+                + "'}}}"
+                + "]}");
+    assertThat(toBsonDocument(keyset.after(cursor)), is(expected));
+  }
+
+  @Test
+  public void cannotUseACursorWithAnotherOrderBy() {
+    String cursor = keyset("a").cursorFor(new Document("_id", new ObjectId()).append("a", 1));
+
+    InvalidRequestException actual =
+        assertThrows(InvalidRequestException.class, () -> keyset("b").after(cursor));
+    assertThat(actual.getMessage(), containsString("was not created for the order by"));
+  }
+
+  @Test
+  public void cannotUseAnInvalidCursor() {
+    InvalidRequestException actual =
+        assertThrows(InvalidRequestException.class, () -> keyset("a").after("abc"));
+    assertThat(actual.getMessage(), containsString("Invalid cursor: abc"));
+  }
+
+  private Keyset keyset(String orderBy) {
+    return new Keyset(orderByClauseParser.get(OrderByClause.class, orderBy));
+  }
+
+  private BsonDocument toBsonDocument(Bson bson) {
+    return bson.toBsonDocument(BsonDocument.class, getDefaultCodecRegistry());
+  }
+}
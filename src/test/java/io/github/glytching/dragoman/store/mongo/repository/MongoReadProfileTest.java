@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.store.mongo.repository;
+
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadConcernLevel;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.model.CountOptions;
+import com.mongodb.rx.client.FindObservable;
+import com.mongodb.rx.client.MongoCollection;
+import io.github.glytching.dragoman.dataset.Dataset;
+import io.github.glytching.dragoman.dataset.ReadProfile;
+import io.github.glytching.dragoman.web.exception.InvalidRequestException;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import rx.Observable;
+import rx.observers.TestSubscriber;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class MongoReadProfileTest {
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void canApplyAReadProfile() {
+    MongoReadProfile readProfile =
+        new MongoReadProfile(
+            new ReadProfile(100, "secondaryPreferred", "majority", 2000L, "{a: 1, b: -1}"));
+
+    MongoCollection<Document> collection = mock(MongoCollection.class);
+    when(collection.withReadPreference(any(ReadPreference.class))).thenReturn(collection);
+    when(collection.withReadConcern(any(ReadConcern.class))).thenReturn(collection);
+    readProfile.applyTo(collection);
+    verify(collection).withReadPreference(ReadPreference.secondaryPreferred());
+    verify(collection).withReadConcern(new ReadConcern(ReadConcernLevel.MAJORITY));
+
+    FindObservable<Document> findObservable = mock(FindObservable.class);
+    readProfile.applyTo(findObservable);
+    verify(findObservable).maxTime(2000L, TimeUnit.MILLISECONDS);
+    verify(findObservable).hint(BsonDocument.parse("{a: 1, b: -1}"));
+
+    CountOptions countOptions = readProfile.toCountOptions();
+    assertThat(countOptions.getMaxTime(TimeUnit.MILLISECONDS), is(2000L));
+    assertThat(countOptions.getHint(), is(BsonDocument.parse("{a: 1, b: -1}")));
+  }
+
+  @Test
+  public void canBatchRequests() {
+    MongoReadProfile readProfile = new MongoReadProfile(new ReadProfile(2, null, null, null, null));
+
+    TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+    Observable<Integer> source =
+        Observable.range(1, 5).doOnRequest(requested -> assertThat(requested <= 2, is(true)));
+    readProfile.batched(source).subscribe(subscriber);
+
+    subscriber.assertValues(1, 2, 3, 4, 5);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void willApplyNothingWithoutAReadProfile() {
+    MongoReadProfile readProfile = new MongoReadProfile(null);
+
+    MongoCollection<Document> collection = mock(MongoCollection.class);
+    assertThat(readProfile.applyTo(collection), is(collection));
+    verifyZeroInteractions(collection);
+
+    FindObservable<Document> findObservable = mock(FindObservable.class);
+    readProfile.applyTo(findObservable);
+    verify(findObservable, never()).maxTime(any(Long.class), any(TimeUnit.class));
+    verify(findObservable, never()).hint(any());
+
+    assertThat(readProfile.getReadPreference(), nullValue());
+  }
+
+  @Test
+  public void cannotUseAnInvalidReadPreference() {
+    InvalidRequestException actual =
+        assertThrows(
+            InvalidRequestException.class,
+            () -> new MongoReadProfile(new ReadProfile(null, "anywhere", null, null, null)));
+    assertThat(
+        actual.getMessage(),
+        is(
+            "Invalid value: anywhere for parameter: readPreference, valid values are: "
+                + "primary|primaryPreferred|secondary|secondaryPreferred|nearest!"));
+  }
+
+  @Test
+  public void cannotUseAnInvalidHint() {
+    assertThrows(
+        InvalidRequestException.class,
+        () -> new MongoReadProfile(new ReadProfile(null, null, null, null, "{a: ")));
+  }
+
+  @Test
+  public void cannotUseANonPositiveBatchSize() {
+    assertThrows(
+        InvalidRequestException.class,
+        () -> new MongoReadProfile(new ReadProfile(0, null, null, null, null)));
+  }
+
+  @Test
+  public void canValidateBothOfADatasetsReadProfiles() {
+    Dataset dataset = new Dataset("anOwner", "aName", "aDatabase:aCollection");
+    MongoReadProfile.validate(dataset);
+
+    dataset.setReadProfile(new ReadProfile(100, "secondaryPreferred", null, null, null));
+    dataset.setSubscriptionReadProfile(new ReadProfile(null, null, null, null, "{a: "));
+    assertThrows(InvalidRequestException.class, () -> MongoReadProfile.validate(dataset));
+  }
+}
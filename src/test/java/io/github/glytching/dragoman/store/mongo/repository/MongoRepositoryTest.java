@@ -23,11 +23,17 @@ import com.google.inject.util.Modules;
 import io.github.glytching.dragoman.configuration.guice.ConfigurationModule;
 import io.github.glytching.dragoman.configuration.guice.MongoModule;
 import io.github.glytching.dragoman.dataset.Dataset;
+import io.github.glytching.dragoman.repository.Explanation;
+import io.github.glytching.dragoman.repository.Page;
 import io.github.glytching.dragoman.store.mongo.AbstractMongoDBTest;
 import io.github.glytching.dragoman.store.mongo.MongoProvider;
 import io.github.glytching.dragoman.store.mongo.MongoStorageCoordinates;
 import io.github.glytching.dragoman.util.StopWatch;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -38,12 +44,16 @@ import rx.Observable;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.List;
 
 import static io.github.glytching.dragoman.util.TestFixture.anyDataset;
 import static java.lang.String.format;
+import static java.util.Collections.singletonMap;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -165,6 +175,164 @@ public class MongoRepositoryTest extends AbstractMongoDBTest {
     assertThat(documents.get(0), is(bill));
   }
 
+  @Test
+  public void willMatchTheElementsOfAnArrayField() {
+    Document scores = new Document("name", "Scores").append("scores", Arrays.asList(1, 5));
+    MongoStorageCoordinates arrayCoordinates = seed(scores);
+    Dataset arrayDataset = mock(Dataset.class);
+    when(arrayDataset.getSource())
+        .thenReturn(
+            arrayCoordinates.getDatabaseName() + ":" + arrayCoordinates.getCollectionName());
+
+    // each predicate is satisfied by a different element, none of these can be folded
+    for (String where :
+        Arrays.asList(
+            "scores = 1 and scores = 5",
+            "scores > 4 and scores < 2",
+            "scores in (1, 2, 3) and scores > 2",
+            "scores >= 5 and scores <= 1")) {
+      List<Document> documents = toList(repository.find(arrayDataset, "name", where, "", -1));
+
+      assertThat(where, documents, contains(new Document("name", "Scores")));
+    }
+
+    getMongoClient().getDatabase(arrayCoordinates.getDatabaseName()).drop().toBlocking().single();
+  }
+
+  @Test
+  public void canFindRaw() {
+    List<RawBsonDocument> documents =
+        repository
+            .findRaw(dataset, "name, age", "age > 1000", "", -1)
+            .toList()
+            .toBlocking()
+            .single();
+
+    assertThat(documents.size(), is(1));
+    assertThat(
+        documents.get(0),
+        is(new BsonDocument("name", new BsonString("Martin")).append("age", new BsonInt32(1156))));
+  }
+
+  @Test
+  public void canReadPagesInDescendingOrderWhenSomeSortKeysAreNull() {
+    // martin's rating is null, which sorts after bill's rating in descending order
+    Page<Document> first =
+        repository.findPage(dataset, "name", "", "rating desc", 1, null).toBlocking().single();
+    assertThat(first.getRows(), contains(new Document("name", "Bill")));
+
+    Page<Document> second =
+        repository
+            .findPage(dataset, "name", "", "rating desc", 1, first.getNextCursor())
+            .toBlocking()
+            .single();
+    assertThat(second.getRows(), contains(new Document("name", "Martin")));
+    assertThat(second.hasNext(), is(false));
+  }
+
+  @Test
+  public void canReadPages() {
+    Page<Document> first =
+        repository.findPage(dataset, "name", "", "age asc", 1, null).toBlocking().single();
+    assertThat(first.getRows(), contains(new Document("name", "Bill")));
+    assertThat(first.hasNext(), is(true));
+
+    Page<Document> second =
+        repository
+            .findPage(dataset, "name", "", "age asc", 1, first.getNextCursor())
+            .toBlocking()
+            .single();
+    assertThat(second.getRows(), contains(new Document("name", "Martin")));
+    assertThat(second.hasNext(), is(false));
+  }
+
+  @Test
+  public void canReadPagesWhenOnlyPartOfTheSortKeyIsProjected() {
+    MongoStorageCoordinates nestedCoordinates =
+        seed(
+            new Document("name", "A").append("a", new Document("b", nested(1, "x"))),
+            new Document("name", "B").append("a", new Document("b", nested(2, "y"))));
+    Dataset nestedDataset = mock(Dataset.class);
+    when(nestedDataset.getSource())
+        .thenReturn(
+            nestedCoordinates.getDatabaseName() + ":" + nestedCoordinates.getCollectionName());
+
+    // the cursor must be created from the whole of a.b, not just the projected a.b.c
+    Page<Document> first =
+        repository.findPage(nestedDataset, "a.b.c", "", "a.b asc", 1, null).toBlocking().single();
+    assertThat(first.getRows(), contains(new Document("a", new Document("b", nested(1)))));
+    assertThat(first.hasNext(), is(true));
+
+    Page<Document> second =
+        repository
+            .findPage(nestedDataset, "a.b.c", "", "a.b asc", 1, first.getNextCursor())
+            .toBlocking()
+            .single();
+    assertThat(second.getRows(), contains(new Document("a", new Document("b", nested(2)))));
+    assertThat(second.hasNext(), is(false));
+
+    getMongoClient().getDatabase(nestedCoordinates.getDatabaseName()).drop().toBlocking().single();
+  }
+
+  @Test
+  public void canReadPagesWhenPartOfTheIdIsProjected() {
+    Page<Document> first =
+        repository.findPage(dataset, "name, _id.x", "", "age asc", 1, null).toBlocking().single();
+    assertThat(first.getRows(), contains(new Document("name", "Bill")));
+
+    Page<Document> second =
+        repository
+            .findPage(dataset, "name, _id.x", "", "age asc", 1, first.getNextCursor())
+            .toBlocking()
+            .single();
+    assertThat(second.getRows(), contains(new Document("name", "Martin")));
+  }
+
+  @Test
+  public void canCount() {
+    assertThat(repository.count(dataset, "age > 1000").toBlocking().single(), is(1L));
+    assertThat(repository.count(dataset, "").toBlocking().single(), is(2L));
+  }
+
+  @Test
+  public void canExplain() {
+    Explanation explanation =
+        repository.explain(dataset, "name", "age > 10", "age asc", 1).toBlocking().single();
+
+    assertThat(
+        explanation.getPlan().get("filter"), is(singletonMap("age", singletonMap("$gt", 10))));
+    assertThat(explanation.getPlan().get("sort"), is(singletonMap("age", 1)));
+    assertThat(explanation.getExecution(), hasKey("executionStats"));
+    assertThat(explanation.getTimings(), hasKey("explain"));
+  }
+
+  @Test
+  public void withAggregates() {
+    String select = "count(*), sum(age) as totalAge, min(shoeSize), max(shoeSize)";
+
+    List<Document> documents = toList(repository.find(dataset, select, "", "", -1));
+
+    assertThat(documents.size(), is(1));
+    assertThat(
+        documents.get(0),
+        is(
+            new Document("count", 2)
+                .append("totalAge", 1191)
+                .append("min_shoeSize", 4.5)
+                .append("max_shoeSize", 9)));
+  }
+
+  @Test
+  public void withGroupBy() {
+    String select = "biped, count(*) group by biped";
+
+    List<Document> documents = toList(repository.find(dataset, select, "", "biped asc", -1));
+
+    assertThat(documents.size(), is(2));
+    assertThat(documents.get(0), is(new Document("biped", false).append("count", 1)));
+    assertThat(documents.get(1), is(new Document("biped", true).append("count", 1)));
+  }
+
   @Test
   public void withGreaterThanAndLessThan() {
     String expression = "age > 1000 and shoeSize < 5";
@@ -249,6 +417,26 @@ public class MongoRepositoryTest extends AbstractMongoDBTest {
     assertThat(documents, hasItem(bill));
   }
 
+  @Test
+  public void withLikePrefixOnAnArrayField() {
+    Document aliases = new Document("name", "Aliases").append("aliases", Arrays.asList("b", "zzz"));
+    MongoStorageCoordinates arrayCoordinates = seed(aliases);
+    Dataset arrayDataset = mock(Dataset.class);
+    when(arrayDataset.getSource())
+        .thenReturn(
+            arrayCoordinates.getDatabaseName() + ":" + arrayCoordinates.getCollectionName());
+
+    // no single element starts with 'c' even though one is below 'd' and another is above 'c'
+    assertThat(
+        toList(repository.find(arrayDataset, "name", "aliases like 'c%'", "", -1)).isEmpty(),
+        is(true));
+    assertThat(
+        toList(repository.find(arrayDataset, "name", "aliases like 'zz%'", "", -1)),
+        contains(new Document("name", "Aliases")));
+
+    getMongoClient().getDatabase(arrayCoordinates.getDatabaseName()).drop().toBlocking().single();
+  }
+
   @Test
   public void withBoolean() {
     String expression = "biped = true";
@@ -287,4 +475,12 @@ public class MongoRepositoryTest extends AbstractMongoDBTest {
   private List<Document> toList(Observable<Document> observable) {
     return observable.toList().toBlocking().single();
   }
+
+  private Document nested(int c) {
+    return new Document("c", c);
+  }
+
+  private Document nested(int c, String d) {
+    return nested(c).append("d", d);
+  }
 }
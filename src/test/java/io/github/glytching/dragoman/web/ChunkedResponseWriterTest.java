@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.web;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ChunkedResponseWriterTest {
+
+  @Mock private HttpServerResponse response;
+
+  @BeforeEach
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+  }
+
+  @Test
+  public void willCoalesceWritesIntoChunks() {
+    ChunkedResponseWriter writer = new ChunkedResponseWriter(response, 8);
+
+    writer.write("[").write(Buffer.buffer("{\"a\":1}"));
+    writer.write(",").write("{\"a\":2}");
+    writer.write(",");
+
+    ArgumentCaptor<Buffer> chunks = ArgumentCaptor.forClass(Buffer.class);
+    verify(response, times(2)).write(chunks.capture());
+    assertThat(chunks.getAllValues().get(0).toString(), is("[{\"a\":1}"));
+    assertThat(chunks.getAllValues().get(1).toString(), is(",{\"a\":2}"));
+
+    writer.end("]");
+
+    ArgumentCaptor<Buffer> last = ArgumentCaptor.forClass(Buffer.class);
+    verify(response).end(last.capture());
+    assertThat(last.getValue().toString(), is(",]"));
+  }
+
+  @Test
+  public void willWriteNothingUntilEndedIfTheChunkSizeIsNeverReached() {
+    ChunkedResponseWriter writer = new ChunkedResponseWriter(response, 1024);
+
+    writer.write("[").write("{\"a\":1}");
+    verify(response, never()).write(any(Buffer.class));
+
+    writer.end("]");
+
+    ArgumentCaptor<Buffer> last = ArgumentCaptor.forClass(Buffer.class);
+    verify(response).end(last.capture());
+    assertThat(last.getValue().toString(), is("[{\"a\":1}]"));
+  }
+
+  @Test
+  public void willWriteEverythingStraightThroughIfThereIsNoChunkSize() {
+    ChunkedResponseWriter writer = new ChunkedResponseWriter(response, 0);
+
+    writer.write("[").write("{\"a\":1}");
+
+    verify(response, times(2)).write(any(Buffer.class));
+  }
+}
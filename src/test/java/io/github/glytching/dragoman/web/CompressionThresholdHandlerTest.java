@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.web;
+
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.CaseInsensitiveHeaders;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CompressionThresholdHandlerTest {
+
+  @Mock private RoutingContext routingContext;
+  @Mock private HttpServerResponse response;
+
+  private MultiMap headers;
+  private CompressionThresholdHandler handler;
+
+  @BeforeEach
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+
+    headers = new CaseInsensitiveHeaders();
+    when(routingContext.response()).thenReturn(response);
+    when(response.headers()).thenReturn(headers);
+    when(response.putHeader(any(CharSequence.class), any(CharSequence.class)))
+        .thenAnswer(
+            invocation -> {
+              headers.set(
+                  (CharSequence) invocation.getArgument(0),
+                  (CharSequence) invocation.getArgument(1));
+              return response;
+            });
+
+    handler = new CompressionThresholdHandler(1024);
+  }
+
+  @Test
+  public void willExemptASmallResponseFromCompression() {
+    headers.set(HttpHeaders.CONTENT_LENGTH, "1023");
+
+    handleThenEndHeaders();
+
+    assertThat(headers.get(HttpHeaders.CONTENT_ENCODING), is("identity"));
+  }
+
+  @Test
+  public void willNotExemptAResponseWhichIsAtLeastTheMinSize() {
+    headers.set(HttpHeaders.CONTENT_LENGTH, "1024");
+
+    handleThenEndHeaders();
+
+    assertThat(headers.get(HttpHeaders.CONTENT_ENCODING), nullValue());
+  }
+
+  @Test
+  public void willNotExemptAChunkedResponse() {
+    when(response.isChunked()).thenReturn(true);
+
+    handleThenEndHeaders();
+
+    assertThat(headers.get(HttpHeaders.CONTENT_ENCODING), nullValue());
+  }
+
+  @Test
+  public void willNotReplaceAnExistingContentEncoding() {
+    headers.set(HttpHeaders.CONTENT_LENGTH, "10");
+    headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+    handleThenEndHeaders();
+
+    assertThat(headers.get(HttpHeaders.CONTENT_ENCODING), is("gzip"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private void handleThenEndHeaders() {
+    handler.handle(routingContext);
+
+    verify(routingContext).next();
+
+    ArgumentCaptor<Handler<Void>> headersEndHandler = ArgumentCaptor.forClass(Handler.class);
+    verify(routingContext).addHeadersEndHandler(headersEndHandler.capture());
+    headersEndHandler.getValue().handle(null);
+  }
+}
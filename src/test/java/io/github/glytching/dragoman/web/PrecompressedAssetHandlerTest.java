@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static io.github.glytching.dragoman.web.PrecompressedAssetHandler.acceptsGzip;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+public class PrecompressedAssetHandlerTest {
+
+  @Test
+  public void willAcceptGzip() {
+    assertThat(acceptsGzip("gzip"), is(true));
+    assertThat(acceptsGzip("deflate, gzip;q=0.8"), is(true));
+    assertThat(acceptsGzip("GZIP"), is(true));
+    assertThat(acceptsGzip("*"), is(true));
+  }
+
+  @Test
+  public void willNotAcceptGzip() {
+    assertThat(acceptsGzip(null), is(false));
+    assertThat(acceptsGzip(""), is(false));
+    assertThat(acceptsGzip("deflate, br"), is(false));
+    assertThat(acceptsGzip("identity"), is(false));
+    assertThat(acceptsGzip("deflate, gzip;q=0"), is(false));
+    assertThat(acceptsGzip("gzip; q=0.0"), is(false));
+  }
+
+  @Test
+  public void willHaveAnUpToDatePrecompressedVariantOfEachVendoredAsset()
+      throws IOException, URISyntaxException {
+    List<Path> assets = vendoredAssets("webroot/scripts/libs", "webroot/stylesheets/libs");
+    assertThat(assets, not(empty()));
+
+    for (Path asset : assets) {
+      Path compressed = asset.resolveSibling(asset.getFileName() + ".gz");
+      assertThat("No pre-compressed variant of: " + asset, Files.exists(compressed), is(true));
+      try (InputStream in = new GZIPInputStream(Files.newInputStream(compressed))) {
+        assertThat(
+            "The pre-compressed variant of: " + asset + " differs from the asset",
+            Arrays.equals(in.readAllBytes(), Files.readAllBytes(asset)),
+            is(true));
+      }
+    }
+  }
+
+  private List<Path> vendoredAssets(String... directories) throws IOException, URISyntaxException {
+    List<Path> assets = new ArrayList<>();
+    for (String directory : directories) {
+      URL url = getClass().getClassLoader().getResource(directory);
+      assertThat("No such directory on the classpath: " + directory, url != null, is(true));
+      try (Stream<Path> files = Files.list(Paths.get(url.toURI()))) {
+        assets.addAll(
+            files
+                .filter(
+                    path -> {
+                      String name = path.getFileName().toString();
+                      return name.endsWith(".js") || name.endsWith(".css");
+                    })
+                .collect(Collectors.toList()));
+      }
+    }
+    return assets;
+  }
+}
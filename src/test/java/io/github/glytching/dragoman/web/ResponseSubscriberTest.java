@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.web;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import rx.Observable;
+import rx.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ResponseSubscriberTest {
+
+  @Mock private HttpServerResponse response;
+
+  private List<Integer> written;
+  private AtomicBoolean completed;
+
+  @BeforeEach
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+
+    written = new ArrayList<>();
+    completed = new AtomicBoolean();
+  }
+
+  @Test
+  public void willWriteEverythingWhileTheWriteQueueHasRoom() {
+    when(response.writeQueueFull()).thenReturn(false);
+
+    Observable.range(1, 5).subscribe(subscriber());
+
+    assertThat(written, contains(1, 2, 3, 4, 5));
+    assertThat(completed.get(), is(true));
+  }
+
+  @Test
+  public void willOnlyReadAsFastAsTheWriteQueueDrains() {
+    when(response.writeQueueFull()).thenReturn(true);
+
+    AtomicInteger emitted = new AtomicInteger();
+    Observable.range(1, 3).doOnNext(i -> emitted.incrementAndGet()).subscribe(subscriber());
+
+    // the write queue is full so nothing more is read until it drains
+    assertThat(written, contains(1));
+    assertThat(emitted.get(), is(1));
+
+    Handler<Void> drainHandler = captureDrainHandler();
+    drainHandler.handle(null);
+    assertThat(written, contains(1, 2));
+    assertThat(emitted.get(), is(2));
+
+    drainHandler.handle(null);
+    assertThat(written, contains(1, 2, 3));
+    assertThat(completed.get(), is(true));
+
+    // a drain which is not awaited does not request more
+    drainHandler.handle(null);
+    assertThat(emitted.get(), is(3));
+  }
+
+  @Test
+  public void willRequestAWindowOfItemsAndTopItUpAtTheLowWatermark() {
+    when(response.writeQueueFull()).thenReturn(false);
+
+    List<Long> requests = new ArrayList<>();
+    Observable.range(1, 10).doOnRequest(requests::add).subscribe(subscriber(4));
+
+    assertThat(written, contains(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+    assertThat(completed.get(), is(true));
+    // the window is requested up front and topped up once only one requested item is outstanding
+    assertThat(requests.get(0), is(4L));
+    assertThat(requests.get(1), is(3L));
+  }
+
+  @Test
+  public void willOnlyTopUpTheWindowWhenTheWriteQueueDrains() {
+    when(response.writeQueueFull()).thenReturn(true);
+
+    AtomicInteger emitted = new AtomicInteger();
+    Observable.range(1, 10).doOnNext(i -> emitted.incrementAndGet()).subscribe(subscriber(4));
+
+    // the items already requested are written but the window is not topped up
+    assertThat(written, contains(1, 2, 3, 4));
+    assertThat(emitted.get(), is(4));
+
+    captureDrainHandler().handle(null);
+    assertThat(written, contains(1, 2, 3, 4, 5, 6, 7, 8));
+    assertThat(emitted.get(), is(8));
+  }
+
+  @Test
+  public void willStopReadingIfTheClientGoesAway() {
+    when(response.writeQueueFull()).thenReturn(true);
+
+    ResponseSubscriber<Integer> subscriber = subscriber();
+    Subscription subscription = Observable.range(1, 3).subscribe(subscriber);
+
+    ArgumentCaptor<Handler<Void>> closeHandler = handlerCaptor();
+    verify(response).closeHandler(closeHandler.capture());
+    closeHandler.getValue().handle(null);
+
+    assertThat(subscription.isUnsubscribed(), is(true));
+
+    captureDrainHandler().handle(null);
+    assertThat(written, contains(1));
+    assertThat(completed.get(), is(false));
+  }
+
+  private ResponseSubscriber<Integer> subscriber() {
+    return subscriber(1);
+  }
+
+  private ResponseSubscriber<Integer> subscriber(int prefetch) {
+    return new ResponseSubscriber<>(
+        response,
+        prefetch,
+        written::add,
+        throwable -> {
+          throw new RuntimeException(throwable);
+        },
+        () -> completed.set(true));
+  }
+
+  private Handler<Void> captureDrainHandler() {
+    ArgumentCaptor<Handler<Void>> drainHandler = handlerCaptor();
+    verify(response).drainHandler(drainHandler.capture());
+    return drainHandler.getValue();
+  }
+
+  @SuppressWarnings("unchecked")
+  private ArgumentCaptor<Handler<Void>> handlerCaptor() {
+    return ArgumentCaptor.forClass(Handler.class);
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.web.format;
+
+import io.github.glytching.dragoman.reader.DataEnvelope;
+import io.github.glytching.dragoman.web.ChunkedResponseWriter;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.verify;
+
+public class CsvEncoderTest {
+
+  @Mock private HttpServerResponse response;
+
+  private ChunkedResponseWriter writer;
+
+  @BeforeEach
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+
+    writer = new ChunkedResponseWriter(response, 1024);
+  }
+
+  @Test
+  public void canWriteTheSelectedColumnsInOrder() {
+    CsvEncoder encoder = new CsvEncoder(Arrays.asList("b", "a"));
+
+    encoder.write(writer, row("a", 1, "b", "x"));
+    encoder.write(writer, row("a", 2, "c", "y"));
+    encoder.end(writer);
+
+    assertThat(written(), is("b,a\r\nx,1\r\n,2\r\n"));
+  }
+
+  @Test
+  public void canWriteEverythingWhenNoColumnsAreSelected() {
+    CsvEncoder encoder = new CsvEncoder(Collections.emptyList());
+
+    encoder.write(writer, row("a", 1, "b", "x"));
+    encoder.write(writer, row("b", "y", "a", 2));
+    encoder.end(writer);
+
+    assertThat(written(), is("a,b\r\n1,x\r\n2,y\r\n"));
+  }
+
+  @Test
+  public void canWriteNestedAndSpecialValues() {
+    CsvEncoder encoder = new CsvEncoder(Arrays.asList("a.b", "c", "d"));
+
+    encoder.write(
+        writer, row("a", map("b", "line\nbreak"), "c", "say \"hi\"", "d", Arrays.asList(1, 2)));
+    encoder.end(writer);
+
+    assertThat(written(), is("a.b,c,d\r\n\"line\nbreak\",\"say \"\"hi\"\"\",\"[1,2]\"\r\n"));
+  }
+
+  @Test
+  public void willWriteTheHeaderEvenIfThereAreNoRows() {
+    CsvEncoder encoder = new CsvEncoder(Arrays.asList("a", "b"));
+
+    encoder.end(writer);
+
+    assertThat(written(), is("a,b\r\n"));
+  }
+
+  private DataEnvelope row(Object... keysAndValues) {
+    return new DataEnvelope("aSource", map(keysAndValues));
+  }
+
+  private Map<String, Object> map(Object... keysAndValues) {
+    Map<String, Object> map = new LinkedHashMap<>();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+    }
+    return map;
+  }
+
+  private String written() {
+    ArgumentCaptor<Buffer> body = ArgumentCaptor.forClass(Buffer.class);
+    verify(response).end(body.capture());
+    return body.getValue().toString();
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.glytching.dragoman.web.format;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class OutputFormatTest {
+
+  @Test
+  public void willDefaultToJson() {
+    assertThat(OutputFormat.fromAccept(null), is(OutputFormat.JSON));
+    assertThat(OutputFormat.fromAccept(""), is(OutputFormat.JSON));
+    assertThat(OutputFormat.fromAccept("*/*"), is(OutputFormat.JSON));
+    assertThat(OutputFormat.fromAccept("text/html, image/png"), is(OutputFormat.JSON));
+  }
+
+  @Test
+  public void canChooseByMediaType() {
+    assertThat(OutputFormat.fromAccept("application/json"), is(OutputFormat.JSON));
+    assertThat(OutputFormat.fromAccept("application/x-ndjson"), is(OutputFormat.NDJSON));
+    assertThat(OutputFormat.fromAccept("application/ndjson"), is(OutputFormat.NDJSON));
+    assertThat(OutputFormat.fromAccept("TEXT/CSV; charset=utf-8"), is(OutputFormat.CSV));
+    assertThat(OutputFormat.fromAccept("application/bson"), is(OutputFormat.BSON));
+  }
+
+  @Test
+  public void canChooseByQuality() {
+    assertThat(
+        OutputFormat.fromAccept("application/json;q=0.5, text/csv;q=0.8, */*;q=0.1"),
+        is(OutputFormat.CSV));
+
+    // the first of equally acceptable formats is chosen
+    assertThat(OutputFormat.fromAccept("text/csv, application/json"), is(OutputFormat.CSV));
+
+    // a format which is not acceptable is not chosen
+    assertThat(OutputFormat.fromAccept("text/csv;q=0"), is(OutputFormat.JSON));
+  }
+}
@@ -29,6 +29,9 @@ import io.github.glytching.dragoman.web.RestOverridesModule;
 import io.github.glytching.dragoman.web.WebServerVerticle;
 import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.slf4j.Logger;
@@ -38,7 +41,9 @@ import javax.inject.Inject;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.format;
 
@@ -99,6 +104,34 @@ public abstract class AbstractResourceTest {
     return httpClient.get(url);
   }
 
+  /**
+   * Reads the given {@code endpoint} with the given {@code Accept} header. This uses a Vert.x
+   * client, rather than the {@link HttpClient}, since the response body may be binary.
+   *
+   * @return the response's content type and body
+   */
+  protected Pair<String, Buffer> read(String endpoint, String accept) {
+    CompletableFuture<Pair<String, Buffer>> response = new CompletableFuture<>();
+    vertx
+        .createHttpClient()
+        .get(port, "localhost", "/dragoman/" + endpoint)
+        .putHeader(HttpHeaders.ACCEPT, accept)
+        .handler(
+            httpClientResponse ->
+                httpClientResponse.bodyHandler(
+                    body ->
+                        response.complete(
+                            Pair.of(
+                                httpClientResponse.getHeader(HttpHeaders.CONTENT_TYPE), body))))
+        .exceptionHandler(response::completeExceptionally)
+        .end();
+    try {
+      return response.get(10, TimeUnit.SECONDS);
+    } catch (Exception ex) {
+      throw new RuntimeException("Failed to read: " + endpoint, ex);
+    }
+  }
+
   protected HttpResponse post(String endpoint, String payload) {
     String url = getUrl(endpoint);
     return httpClient.post(url, payload);
@@ -18,6 +18,7 @@ package io.github.glytching.dragoman.web.resource;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
 import com.jayway.awaitility.Awaitility;
 import io.github.glytching.dragoman.configuration.ApplicationConfiguration;
 import io.github.glytching.dragoman.dataset.Dataset;
@@ -25,6 +26,8 @@ import io.github.glytching.dragoman.dataset.DatasetDao;
 import io.github.glytching.dragoman.http.HttpResponse;
 import io.github.glytching.dragoman.reader.DataEnvelope;
 import io.github.glytching.dragoman.reader.Reader;
+import io.github.glytching.dragoman.repository.Explanation;
+import io.github.glytching.dragoman.repository.Page;
 import io.github.glytching.dragoman.web.WebServerUtils;
 import io.github.glytching.dragoman.web.subscription.SubscriptionEvent;
 import io.github.glytching.junit.extension.random.Random;
@@ -33,8 +36,18 @@ import io.github.glytching.junit.extension.system.SystemProperty;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import org.apache.commons.lang3.tuple.Pair;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -46,6 +59,8 @@ import rx.Observable;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -55,6 +70,8 @@ import java.util.concurrent.atomic.AtomicReference;
 import static io.github.glytching.dragoman.util.TestFixture.aPersistedDataset;
 import static io.github.glytching.dragoman.util.TestFixture.anyDataEnvelope;
 import static io.netty.handler.codec.http.HttpResponseStatus.*;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -284,7 +301,7 @@ public class DatasetResourceTest extends AbstractResourceTest {
     DataEnvelope one = anyDataEnvelope();
     DataEnvelope two = anyDataEnvelope();
 
-    when(reader.read(dataset, "", "", "", 10)).thenReturn(Observable.just(one, two));
+    when(reader.readJson(dataset, "", "", "", 10)).thenReturn(toJson(one, two));
 
     List<Map<String, Object>> response = readList("dataset/" + dataset.getId() + "/sample");
 
@@ -300,7 +317,7 @@ public class DatasetResourceTest extends AbstractResourceTest {
     when(datasetDao.get(dataset.getId())).thenReturn(dataset);
 
     Throwable exception = new RuntimeException("boom!");
-    when(reader.read(dataset, "", "", "", 10)).thenReturn(Observable.error(exception));
+    when(reader.readJson(dataset, "", "", "", 10)).thenReturn(Observable.error(exception));
 
     String endpoint = "dataset/" + dataset.getId() + "/sample";
     HttpResponse response = read(endpoint);
@@ -324,7 +341,7 @@ public class DatasetResourceTest extends AbstractResourceTest {
     String where = "aWhere";
     String orderBy = "anOrderBy";
 
-    when(reader.read(dataset, select, where, orderBy, -1)).thenReturn(Observable.just(one, two));
+    when(reader.readJson(dataset, select, where, orderBy, -1)).thenReturn(toJson(one, two));
 
     List<Map<String, Object>> response =
         readList(
@@ -342,6 +359,262 @@ public class DatasetResourceTest extends AbstractResourceTest {
     assertThat(response, hasItem(two.getPayload()));
   }
 
+  @Test
+  public void willWriteDatasetContentsCompactlyUnlessPrettyIsRequested() {
+    Dataset dataset = aPersistedDataset();
+
+    when(datasetDao.get(dataset.getId())).thenReturn(dataset);
+
+    DataEnvelope one = anyDataEnvelope();
+    DataEnvelope two = anyDataEnvelope();
+
+    when(reader.readJson(eq(dataset), any(), any(), any(), eq(-1)))
+        .thenReturn(toJson(one, two))
+        .thenReturn(toJson(one, two));
+
+    String compact = read("dataset/" + dataset.getId() + "/content").getPayload();
+    assertThat(compact, not(containsString("\n")));
+    assertThat(
+        new JsonArray(compact), is(new JsonArray(asList(one.getPayload(), two.getPayload()))));
+
+    String pretty = read("dataset/" + dataset.getId() + "/content?pretty=true").getPayload();
+    assertThat(pretty, containsString("\n"));
+    assertThat(new JsonArray(pretty), is(new JsonArray(compact)));
+  }
+
+  @Test
+  public void canGetDatasetContentsAsNewlineDelimitedJson() {
+    Dataset dataset = aPersistedDataset();
+
+    when(datasetDao.get(dataset.getId())).thenReturn(dataset);
+
+    DataEnvelope one = anyDataEnvelope();
+    DataEnvelope two = anyDataEnvelope();
+
+    when(reader.readJson(eq(dataset), any(), any(), any(), eq(-1))).thenReturn(toJson(one, two));
+
+    Pair<String, Buffer> response =
+        read("dataset/" + dataset.getId() + "/content", "application/x-ndjson");
+
+    assertThat(response.getLeft(), is("application/x-ndjson"));
+    String[] lines = response.getRight().toString().split("\n");
+    assertThat(lines.length, is(2));
+    assertThat(new JsonObject(lines[0]), is(new JsonObject(one.getPayload())));
+    assertThat(new JsonObject(lines[1]), is(new JsonObject(two.getPayload())));
+  }
+
+  @Test
+  public void canGetDatasetContentsAsCsv() {
+    Dataset dataset = aPersistedDataset();
+
+    when(datasetDao.get(dataset.getId())).thenReturn(dataset);
+
+    Map<String, Object> one = new HashMap<>();
+    one.put("name", "Bill");
+    one.put("address", singletonMap("city", "Dublin, Ireland"));
+    Map<String, Object> two = new HashMap<>();
+    two.put("name", "Martin");
+
+    String select = "address.city,name";
+    when(reader.read(dataset, select, null, null, -1))
+        .thenReturn(
+            Observable.just(
+                new DataEnvelope(dataset.getSource(), one),
+                new DataEnvelope(dataset.getSource(), two)));
+
+    Pair<String, Buffer> response =
+        read("dataset/" + dataset.getId() + "/content?select=" + select, "text/csv");
+
+    assertThat(response.getLeft(), is("text/csv"));
+    assertThat(
+        response.getRight().toString(),
+        is("address.city,name\r\n\"Dublin, Ireland\",Bill\r\n,Martin\r\n"));
+  }
+
+  @Test
+  public void canGetAggregatedDatasetContentsAsCsv() {
+    Dataset dataset = aPersistedDataset();
+
+    when(datasetDao.get(dataset.getId())).thenReturn(dataset);
+
+    // aggregated rows are keyed by each projection's output name, including any alias
+    Map<String, Object> one = new LinkedHashMap<>();
+    one.put("type", "Human");
+    one.put("total", 2L);
+    one.put("max_age", 40);
+
+    String select = "type, count(*) as total, max(age) group by type";
+    when(reader.read(dataset, select, null, null, -1))
+        .thenReturn(Observable.just(new DataEnvelope(dataset.getSource(), one)));
+
+    Pair<String, Buffer> response =
+        read(
+            "dataset/"
+                + dataset.getId()
+                + "/content?select=type,%20count(*)%20as%20total,%20max(age)%20group%20by%20type",
+            "text/csv");
+
+    assertThat(response.getLeft(), is("text/csv"));
+    assertThat(response.getRight().toString(), is("type,total,max_age\r\nHuman,2,40\r\n"));
+  }
+
+  @Test
+  public void canGetDatasetContentsAsBson() {
+    Dataset dataset = aPersistedDataset();
+
+    when(datasetDao.get(dataset.getId())).thenReturn(dataset);
+
+    BsonDocument one = new BsonDocument("name", new BsonString("Bill"));
+    BsonDocument two = new BsonDocument("name", new BsonString("Martin"));
+    when(reader.readBson(eq(dataset), any(), any(), any(), eq(-1)))
+        .thenReturn(Observable.just(toBson(one), toBson(two)));
+
+    Pair<String, Buffer> response =
+        read("dataset/" + dataset.getId() + "/content", "application/bson;q=0.9, text/html");
+
+    assertThat(response.getLeft(), is("application/bson"));
+    // each document starts with its own length
+    byte[] body = response.getRight().getBytes();
+    int firstLength = response.getRight().getIntLE(0);
+    assertThat(new RawBsonDocument(body, 0, firstLength), is(one));
+    assertThat(new RawBsonDocument(body, firstLength, body.length - firstLength), is(two));
+  }
+
+  @Test
+  public void canGetAPageOfDatasetContents() {
+    Dataset dataset = aPersistedDataset();
+
+    when(datasetDao.get(dataset.getId())).thenReturn(dataset);
+
+    DataEnvelope one = anyDataEnvelope();
+    DataEnvelope two = anyDataEnvelope();
+
+    when(reader.readPage(dataset, "aSelect", "aWhere", "anOrderBy", 2, null))
+        .thenReturn(Observable.just(new Page<>(Lists.newArrayList(one, two), "aCursor")));
+
+    HttpResponse response =
+        read(
+            "dataset/"
+                + dataset.getId()
+                + "/content?select=aSelect&where=aWhere&orderBy=anOrderBy&pageSize=2");
+
+    assertThat(response.getStatusCode(), is(OK.code()));
+    assertThat(getHeader(response, DatasetResource.NEXT_CURSOR_HEADER), is("aCursor"));
+    List<Map<String, Object>> payload =
+        viewTransformer.transform(List.class, response.getPayload());
+    assertThat(payload.size(), is(2));
+    assertThat(payload, hasItem(one.getPayload()));
+    assertThat(payload, hasItem(two.getPayload()));
+  }
+
+  @Test
+  public void canGetTheLastPageOfDatasetContents() {
+    Dataset dataset = aPersistedDataset();
+
+    when(datasetDao.get(dataset.getId())).thenReturn(dataset);
+
+    DataEnvelope one = anyDataEnvelope();
+
+    when(reader.readPage(dataset, null, null, null, 2, "aCursor"))
+        .thenReturn(Observable.just(new Page<>(Lists.newArrayList(one), null)));
+
+    HttpResponse response =
+        read("dataset/" + dataset.getId() + "/content?pageSize=2&cursor=aCursor");
+
+    assertThat(response.getStatusCode(), is(OK.code()));
+    assertThat(getHeader(response, DatasetResource.NEXT_CURSOR_HEADER), nullValue());
+    List<Map<String, Object>> payload =
+        viewTransformer.transform(List.class, response.getPayload());
+    assertThat(payload.size(), is(1));
+    assertThat(payload, hasItem(one.getPayload()));
+  }
+
+  @Test
+  public void canCountDatasetContents() {
+    Dataset dataset = aPersistedDataset();
+
+    when(datasetDao.get(dataset.getId())).thenReturn(dataset);
+
+    when(reader.count(dataset, "aWhere")).thenReturn(Observable.just(42L));
+
+    HttpResponse response = read("dataset/" + dataset.getId() + "/count?where=aWhere");
+
+    assertThat(response.getStatusCode(), is(OK.code()));
+    assertThat(response.getPayload(), is("42"));
+  }
+
+  @Test
+  public void canExplainDatasetContents() {
+    Dataset dataset = aPersistedDataset();
+
+    when(datasetDao.get(dataset.getId())).thenReturn(dataset);
+
+    Map<String, Object> execution = new HashMap<>();
+    execution.put("executionStats", singletonMap("totalKeysExamined", 2));
+    when(reader.explain(dataset, "aSelect", "aWhere", "anOrderBy", -1))
+        .thenReturn(
+            Observable.just(
+                new Explanation()
+                    .withPlan("filter", singletonMap("a", 1))
+                    .withExecution(execution)
+                    .withTiming("where", 5)));
+
+    HttpResponse response =
+        read(
+            "dataset/"
+                + dataset.getId()
+                + "/explain?select=aSelect&where=aWhere&orderBy=anOrderBy");
+
+    assertThat(response.getStatusCode(), is(OK.code()));
+    Map<String, Object> payload = viewTransformer.transform(Map.class, response.getPayload());
+    assertThat(payload.get("source"), is(dataset.getSource()));
+    assertThat(payload.get("plan"), is(singletonMap("filter", singletonMap("a", 1))));
+    assertThat(payload.get("execution"), is(execution));
+    assertThat(payload.get("timings"), is(singletonMap("where", 5)));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void canTraceTheParseWhenExplainingDatasetContents() {
+    Dataset dataset = aPersistedDataset();
+
+    when(datasetDao.get(dataset.getId())).thenReturn(dataset);
+    when(reader.explain(dataset, "a, b", "a = 1", null, -1))
+        .thenReturn(Observable.just(new Explanation()));
+
+    HttpResponse response =
+        read("dataset/" + dataset.getId() + "/explain?select=a,%20b&where=a%20=%201&trace=true");
+
+    assertThat(response.getStatusCode(), is(OK.code()));
+    Map<String, Object> payload = viewTransformer.transform(Map.class, response.getPayload());
+    Map<String, Object> trace = (Map<String, Object>) payload.get("trace");
+    assertThat(trace.keySet(), containsInAnyOrder("select", "where"));
+    Map<String, Object> selectTrace = (Map<String, Object>) trace.get("select");
+    assertThat((Map<String, Object>) selectTrace.get("parse"), hasKey("select_list"));
+    Map<String, Object> whereTrace = (Map<String, Object>) trace.get("where");
+    assertThat((Map<String, Object>) whereTrace.get("walk"), hasKey("search_condition"));
+  }
+
+  @Test
+  public void dodgyPageSizeWhenGettingDatasetContents() {
+    Dataset dataset = aPersistedDataset();
+
+    when(datasetDao.get(dataset.getId())).thenReturn(dataset);
+
+    String endpoint = "dataset/" + dataset.getId() + "/content?pageSize=0";
+    HttpResponse response = read(endpoint);
+    assertThat(response.getStatusCode(), is(BAD_REQUEST.code()));
+
+    assertThatErrorResponseIsCorrect(
+        response.getPayload(),
+        "Invalid value: 0 for parameter: pageSize, valid values are: a positive integer!",
+        endpoint,
+        BAD_REQUEST);
+
+    verify(reader, never())
+        .readPage(any(Dataset.class), any(), any(), any(), anyInt(), any());
+  }
+
   @Test
   public void dodgySubscribeParameterWhenGettingDatasetContents() {
     Dataset dataset = aPersistedDataset();
@@ -370,7 +643,7 @@ public class DatasetResourceTest extends AbstractResourceTest {
     when(datasetDao.get(dataset.getId())).thenReturn(dataset);
 
     Throwable exception = new RuntimeException("boom!");
-    when(reader.read(eq(dataset), anyString(), anyString(), anyString(), eq(-1)))
+    when(reader.readJson(eq(dataset), anyString(), anyString(), anyString(), eq(-1)))
         .thenReturn(Observable.error(exception));
 
     String endpoint =
@@ -404,10 +677,9 @@ public class DatasetResourceTest extends AbstractResourceTest {
     String where = "aWhere";
     String orderBy = "anOrderBy";
 
-    Observable<DataEnvelope> initialContent = Observable.just(one, two);
-    when(reader.read(dataset, select, where, orderBy, -1)).thenReturn(initialContent);
+    when(reader.readJson(dataset, select, where, orderBy, -1)).thenReturn(toJson(one, two));
     Observable<DataEnvelope> subsequentContent = Observable.just(three);
-    when(reader.read(eq(dataset), eq(select), anyString(), eq(""), eq(-1)))
+    when(reader.read(eq(dataset), eq(select), anyString(), anyMap(), eq(""), eq(-1)))
         .thenReturn(subsequentContent);
 
     String endpoint =
@@ -434,8 +706,23 @@ public class DatasetResourceTest extends AbstractResourceTest {
     assertThat(
         subscriptionData.get().getMap().get("payload"), is(new JsonObject(three.getPayload())));
 
-    verify(reader, times(2))
-        .read(any(Dataset.class), anyString(), anyString(), anyString(), anyInt());
+    // the initial read is unparameterised, the subscription's read binds its asOf
+    verify(reader, times(1))
+        .readJson(any(Dataset.class), anyString(), anyString(), anyString(), anyInt());
+    verify(reader, times(1))
+        .read(any(Dataset.class), anyString(), anyString(), anyMap(), anyString(), anyInt());
+  }
+
+  private Observable<Buffer> toJson(DataEnvelope... dataEnvelopes) {
+    return Observable.from(dataEnvelopes)
+        .map(dataEnvelope -> new JsonObject(dataEnvelope.getPayload()).toBuffer());
+  }
+
+  private Buffer toBson(BsonDocument document) {
+    BasicOutputBuffer outputBuffer = new BasicOutputBuffer();
+    new BsonDocumentCodec()
+        .encode(new BsonBinaryWriter(outputBuffer), document, EncoderContext.builder().build());
+    return Buffer.buffer(outputBuffer.toByteArray());
   }
 
   private void subscriber(
@@ -476,6 +763,17 @@ public class DatasetResourceTest extends AbstractResourceTest {
                 });
   }
 
+  private String getHeader(HttpResponse response, String name) {
+    return response
+        .getHeaders()
+        .entrySet()
+        .stream()
+        .filter(header -> name.equalsIgnoreCase(header.getKey()))
+        .map(header -> header.getValue().get(0))
+        .findFirst()
+        .orElse(null);
+  }
+
   private void assertThatErrorResponseIsCorrect(
       String response,
       String exceptionMessage,
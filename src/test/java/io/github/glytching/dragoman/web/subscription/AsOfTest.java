@@ -23,6 +23,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -41,42 +42,63 @@ public class AsOfTest {
   }
 
   @Test
-  public void willFormatTheAsOfClauseUsingTheGivenDateTimeLiteral() {
+  public void willApplyTheAsOfClauseAsABindParameter() {
+    AsOf asOf = new AsOf("updatedAt", "", lastRead, asOfFormatter);
+
+    assertThat(asOf.applyAsOf("x > 1"), is("x > 1 and updatedAt > :asOf"));
+    assertThat(asOf.applyAsOf(""), is("updatedAt > :asOf"));
+  }
+
+  @Test
+  public void willApplyTheSameAsOfClauseOnEveryCall() {
+    AsOf asOf = new AsOf("updatedAt", "", lastRead, asOfFormatter);
+
+    String first = asOf.applyAsOf("x > 1");
+    asOf.nextParameters();
+    String second = asOf.applyAsOf("x > 1");
+
+    assertThat(second, is(first));
+  }
+
+  @Test
+  public void willFormatTheAsOfParameterUsingTheGivenDateTimeLiteral() {
     String asOfFieldPattern = "yyyy-MM-dd'T'HH:mm:ss.SSS";
     AsOf asOf = new AsOf("updatedAt", asOfFieldPattern, lastRead, asOfFormatter);
 
-    String actual = asOf.applyAsOf("x > 1");
+    Map<String, Object> actual = asOf.nextParameters();
 
     assertThat(
-        actual,
-        is(
-            "x > 1 and updatedAt > '"
-                + DateTimeFormatter.ofPattern(asOfFieldPattern).format(lastRead)
-                + "'"));
+        actual.get("asOf"), is(DateTimeFormatter.ofPattern(asOfFieldPattern).format(lastRead)));
   }
 
   @Test
-  public void willFormatTheAsOfClauseUsingTheEpochMillisIfANumericPatternIsSupplied() {
+  public void willFormatTheAsOfParameterUsingTheEpochMillisIfANumericPatternIsSupplied() {
     AsOf asOf = new AsOf("updatedAt", "L", lastRead, asOfFormatter);
 
-    String actual = asOf.applyAsOf("x > 1");
+    Map<String, Object> actual = asOf.nextParameters();
 
-    assertThat(
-        actual, is("x > 1 and updatedAt > " + lastRead.toInstant(ZoneOffset.UTC).toEpochMilli()));
+    assertThat(actual.get("asOf"), is(lastRead.toInstant(ZoneOffset.UTC).toEpochMilli()));
   }
 
   @Test
-  public void willFormatTheAsOfClauseUsingTheDefaultDateTimeLiteralIfNoPatternIsSupplied() {
+  public void willFormatTheAsOfParameterUsingTheDefaultDateTimeLiteralIfNoPatternIsSupplied() {
     AsOf asOf = new AsOf("updatedAt", "", lastRead, asOfFormatter);
 
-    String actual = asOf.applyAsOf("x > 1");
+    Map<String, Object> actual = asOf.nextParameters();
 
     assertThat(
-        actual,
-        is(
-            "x > 1 and updatedAt > '"
-                + DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS").format(lastRead)
-                + "'"));
+        actual.get("asOf"),
+        is(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS").format(lastRead)));
+  }
+
+  @Test
+  public void willIncrementTheAsOfParameterOnEachCall() {
+    AsOf asOf = new AsOf("updatedAt", "L", lastRead.minusDays(1), asOfFormatter);
+
+    long first = (Long) asOf.nextParameters().get("asOf");
+    long second = (Long) asOf.nextParameters().get("asOf");
+
+    assertThat(second > first, is(true));
   }
 
   @Test
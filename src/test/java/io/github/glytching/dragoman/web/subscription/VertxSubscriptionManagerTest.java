@@ -20,8 +20,10 @@ import com.google.common.collect.Lists;
 import com.jayway.awaitility.Awaitility;
 import io.github.glytching.dragoman.dataset.Dataset;
 import io.github.glytching.dragoman.dataset.DatasetDao;
+import io.github.glytching.dragoman.dataset.ReadProfile;
 import io.github.glytching.dragoman.reader.DataEnvelope;
 import io.github.glytching.dragoman.reader.Reader;
+import io.github.glytching.dragoman.repository.QueryPrecompiler;
 import io.github.glytching.dragoman.util.TestFixture;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
@@ -29,6 +31,7 @@ import io.vertx.core.eventbus.Message;
 import io.vertx.core.json.JsonObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.slf4j.Logger;
@@ -53,6 +56,7 @@ public class VertxSubscriptionManagerTest {
   @Mock private Reader reader;
   @Mock private DatasetDao datasetDao;
   @Mock private AsOfFactory asOfFactory;
+  @Mock private QueryPrecompiler queryPrecompiler;
 
   private Vertx vertx;
   private String select;
@@ -83,7 +87,8 @@ public class VertxSubscriptionManagerTest {
             any(LocalDateTime.class)))
         .thenReturn(asOf);
 
-    subscriptionManager = new VertxSubscriptionManager(vertx, datasetDao, reader, asOfFactory);
+    subscriptionManager =
+        new VertxSubscriptionManager(vertx, datasetDao, reader, asOfFactory, queryPrecompiler);
   }
 
   @Test
@@ -94,7 +99,7 @@ public class VertxSubscriptionManagerTest {
     DataEnvelope two = TestFixture.anyDataEnvelope();
     DataEnvelope three = TestFixture.anyDataEnvelope();
     //noinspection unchecked
-    when(reader.read(dataset, select, asOf.applyAsOf(where), "", -1))
+    when(reader.read(eq(dataset), eq(select), eq(where), anyMap(), eq(""), eq(-1)))
         .thenReturn(
             // return something
             Observable.just(one, two),
@@ -119,6 +124,33 @@ public class VertxSubscriptionManagerTest {
     assertThat(consumed, hasItem(new JsonObject(one.getPayload())));
     assertThat(consumed, hasItem(new JsonObject(two.getPayload())));
     assertThat(consumed, hasItem(new JsonObject(three.getPayload())));
+
+    verify(queryPrecompiler).precompile(dataset, select, where);
+  }
+
+  @Test
+  public void willReadWithTheSubscriptionReadProfile() {
+    when(datasetDao.exists(dataset.getId())).thenReturn(true);
+
+    ReadProfile subscriptionReadProfile = new ReadProfile(null, "secondary", null, null, null);
+    dataset.setSubscriptionReadProfile(subscriptionReadProfile);
+
+    ArgumentCaptor<Dataset> read = ArgumentCaptor.forClass(Dataset.class);
+    when(reader.read(read.capture(), eq(select), eq(where), anyMap(), eq(""), eq(-1)))
+        .thenReturn(Observable.empty());
+
+    Subscriber subscriber = new Subscriber(dataset.getId());
+
+    long subscriptionInterval = 100L;
+    subscriptionManager.start(
+        dataset, Optional.of(subscriptionInterval), LocalDateTime.now(), select, where);
+
+    Awaitility.await()
+        .atMost((subscriptionInterval + 500), TimeUnit.MILLISECONDS)
+        .until(() -> subscriber.isCompleted(1));
+
+    assertThat(read.getValue().getId(), is(dataset.getId()));
+    assertThat(read.getValue().getReadProfile(), is(subscriptionReadProfile));
   }
 
   @Test
@@ -150,7 +182,7 @@ public class VertxSubscriptionManagerTest {
 
     Subscriber subscriber = new Subscriber(dataset.getId());
 
-    when(reader.read(dataset, select, asOf.applyAsOf(where), "", -1))
+    when(reader.read(eq(dataset), eq(select), eq(where), anyMap(), eq(""), eq(-1)))
         .thenReturn(Observable.error(new RuntimeException("boom!")));
 
     long subscriptionInterval = 50L;
@@ -170,7 +202,7 @@ public class VertxSubscriptionManagerTest {
     when(datasetDao.exists(dataset.getId())).thenReturn(true);
 
     DataEnvelope one = TestFixture.anyDataEnvelope();
-    when(reader.read(dataset, select, asOf.applyAsOf(where), "", -1))
+    when(reader.read(eq(dataset), eq(select), eq(where), anyMap(), eq(""), eq(-1)))
         .thenReturn(
             // return something
             Observable.just(one));
@@ -190,7 +222,7 @@ public class VertxSubscriptionManagerTest {
 
     // should only have been one call to the reader since we cancelled as soon as we got a response
     verify(reader, times(1))
-        .read(any(Dataset.class), anyString(), anyString(), anyString(), anyInt());
+        .read(any(Dataset.class), anyString(), anyString(), anyMap(), anyString(), anyInt());
   }
 
   @Test
@@ -200,7 +232,7 @@ public class VertxSubscriptionManagerTest {
     subscriptionManager.start(dataset, Optional.of(10L), LocalDateTime.now(), select, where);
 
     verify(reader, never())
-        .read(any(Dataset.class), anyString(), anyString(), anyString(), anyInt());
+        .read(any(Dataset.class), anyString(), anyString(), anyMap(), anyString(), anyInt());
   }
 
   @Test